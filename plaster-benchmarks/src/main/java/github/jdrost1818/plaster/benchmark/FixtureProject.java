@@ -0,0 +1,175 @@
+package github.jdrost1818.plaster.benchmark;
+
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.service.ConfigurationService;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A synthetic maven project for the benchmarks to run against. Besides a handful of
+ * domain classes, which are the custom types the benchmarks look for, the project
+ * holds as many generated classes as asked for, spread over nested packages:
+ *
+ *      src/main/java/com/example/bench/domain/Customer.java
+ *      src/main/java/com/example/bench/group3/pkg31/Generated3170.java
+ *
+ * Projects are generated under target/fixtures, relative to the working directory,
+ * and are reused by later runs as long as they were generated completely.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class FixtureProject {
+
+    public static final String GROUP_ID = "com.example.bench";
+
+    /**
+     * Custom types every fixture project holds, in the domain package
+     */
+    public static final List<String> DOMAIN_CLASSES = Arrays.asList("Customer", "Address", "Order", "LineItem");
+
+    private static final String FIXTURE_DIR = "target/fixtures";
+
+    private static final String BASE_PATH = "src/main/java";
+
+    private static final String APP_PATH = "com/example/bench";
+
+    private static final String COMPLETE_MARKER = ".complete";
+
+    private static final int CLASSES_PER_PACKAGE = 100;
+
+    private static final int PACKAGES_PER_GROUP = 10;
+
+    /**
+     * Path to the root of the project, relative to the working directory
+     */
+    private final String path;
+
+    private final int classCount;
+
+    /**
+     * Gets the fixture project with the given name, generating it if it does not exist yet
+     *
+     * @param name
+     *          name of the project, which is the name of its directory
+     * @param classCount
+     *          how many classes to generate besides the domain classes
+     * @return the project
+     */
+    public static FixtureProject create(String name, int classCount) {
+        FixtureProject project = new FixtureProject(FIXTURE_DIR + "/" + name + "-" + classCount, classCount);
+
+        File root = project.getRoot();
+        if (!new File(root, COMPLETE_MARKER).exists()) {
+            project.generate();
+        }
+
+        return project;
+    }
+
+    public File getRoot() {
+        return new File(this.path);
+    }
+
+    /**
+     * Loads the configuration of this project the same way plaster loads it when run
+     * in the root of a project
+     *
+     * @return the configuration
+     */
+    public ConfigurationService load() {
+        ConfigurationService configurationService = new ConfigurationService().load(this.path);
+        configurationService.put(Setting.PROJECT_PATH, this.path);
+
+        return configurationService;
+    }
+
+    /**
+     * Deletes the persisted indexes, so the next search has to walk the whole tree again
+     */
+    public void deleteIndexes() {
+        delete(new File(this.getRoot(), ".plaster"));
+    }
+
+    /**
+     * Deletes a directory inside the app package of the project, such as one that files were generated in
+     *
+     * @param relPath
+     *          path of the directory, relative to the app package
+     */
+    public void deleteAppDirectory(String relPath) {
+        delete(new File(this.getRoot(), BASE_PATH + "/" + APP_PATH + "/" + relPath));
+    }
+
+    private void generate() {
+        File root = this.getRoot();
+        delete(root);
+
+        write(new File(root, "pom.xml"), pom());
+
+        File appDir = new File(root, BASE_PATH + "/" + APP_PATH);
+        for (String domainClass : DOMAIN_CLASSES) {
+            write(new File(appDir, "domain/" + domainClass + ".java"), source(GROUP_ID + ".domain", domainClass));
+        }
+
+        for (int i = 0; i < this.classCount; i++) {
+            int pkg = i / CLASSES_PER_PACKAGE;
+            int group = pkg / PACKAGES_PER_GROUP;
+
+            String relPackage = "group" + group + "/pkg" + pkg;
+            String packageName = GROUP_ID + "." + relPackage.replace('/', '.');
+            String className = "Generated" + i;
+
+            write(new File(appDir, relPackage + "/" + className + ".java"), source(packageName, className));
+        }
+
+        write(new File(root, COMPLETE_MARKER), String.valueOf(this.classCount));
+    }
+
+    private static String pom() {
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">\n"
+                + "    <modelVersion>4.0.0</modelVersion>\n"
+                + "\n"
+                + "    <groupId>" + GROUP_ID + "</groupId>\n"
+                + "    <artifactId>bench</artifactId>\n"
+                + "    <version>1.0-SNAPSHOT</version>\n"
+                + "</project>\n";
+    }
+
+    private static String source(String packageName, String className) {
+        return "package " + packageName + ";\n"
+                + "\n"
+                + "public class " + className + " {\n"
+                + "\n"
+                + "}\n";
+    }
+
+    private static void write(File file, String contents) {
+        try {
+            FileUtils.writeStringToFile(file, contents, "UTF-8");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write fixture file: " + file, e);
+        }
+    }
+
+    private static void delete(File dir) {
+        if (!dir.exists()) {
+            return;
+        }
+
+        try {
+            FileUtils.deleteDirectory(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete fixture directory: " + dir, e);
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package github.jdrost1818.plaster.benchmark;
+
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.data.TemplateType;
+import github.jdrost1818.plaster.domain.FileInformation;
+import github.jdrost1818.plaster.domain.GenTypeModel;
+import github.jdrost1818.plaster.service.template.TemplateService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders each type of template for a class with a handful of fields, with each
+ * renderer. The fields are resolved once up front, so only the rendering itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RenderBenchmark {
+
+    @Param({"MODEL", "REPOSITORY", "SERVICE", "CONTROLLER"})
+    public TemplateType templateType;
+
+    @Param({"false", "true"})
+    public boolean lombokEnabled;
+
+    @Param({"jtwig", "java"})
+    public String renderer;
+
+    private TemplateService templateService;
+
+    private FileInformation fileInformation;
+
+    private GenTypeModel genTypeModel;
+
+    @Setup
+    public void setUp() {
+        ScaffoldFixture fixture = new ScaffoldFixture(FixtureProject.create("render", 1000));
+        fixture.getConfigurationService().put(Setting.RENDERER, this.renderer);
+
+        this.templateService = fixture.getTemplateService(this.templateType);
+        this.fileInformation = fixture.createFileInformation("Invoice");
+        this.genTypeModel = new GenTypeModel(this.fileInformation.getClassName(), this.lombokEnabled);
+    }
+
+    @Benchmark
+    public String renderTemplate() {
+        return this.templateService.renderTemplate(this.fileInformation, this.genTypeModel);
+    }
+
+}
@@ -0,0 +1,82 @@
+package github.jdrost1818.plaster.benchmark;
+
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.data.TemplateType;
+import github.jdrost1818.plaster.domain.FileInformation;
+import github.jdrost1818.plaster.service.modifier.GenerateService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaffolds a model along with its repository, service and controller, from resolving
+ * the types of its fields to writing the files, as `plaster generate scaffold` does.
+ *
+ * Every invocation generates into a new sub directory, since plaster refuses to overwrite
+ * files. Everything generated is deleted after each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ScaffoldBenchmark {
+
+    private static final String SUB_DIR_PREFIX = "bench";
+
+    @Param({"1000", "10000"})
+    public int classCount;
+
+    private ScaffoldFixture fixture;
+
+    private int invocation;
+
+    @Setup
+    public void setUp() {
+        this.fixture = new ScaffoldFixture(FixtureProject.create("scaffold", this.classCount));
+
+        // Files left behind by an earlier run which was cut short
+        this.deleteGeneratedFiles();
+    }
+
+    /**
+     * Deletes the packages of every template type. The fixture project only
+     * ever holds the domain classes and generated classes elsewhere.
+     */
+    @TearDown(Level.Iteration)
+    public void deleteGeneratedFiles() {
+        for (TemplateType templateType : TemplateType.values()) {
+            this.fixture.getProject().deleteAppDirectory(this.fixture.getConfigurationService().get(templateType.relPathSetting));
+        }
+
+        this.invocation = 0;
+    }
+
+    @Benchmark
+    public void scaffold() {
+        this.fixture.getConfigurationService().put(Setting.SUB_DIR_PATH, SUB_DIR_PREFIX + this.invocation++);
+        this.fixture.getTypeResolutionCache().clear();
+
+        FileInformation fileInformation = this.fixture.createFileInformation("Invoice");
+
+        GenerateService generateService = this.fixture.getGenerateService();
+        generateService.modifyModel(fileInformation);
+        generateService.modifyRepository(fileInformation);
+        generateService.modifyService(fileInformation);
+        generateService.modifyController(fileInformation);
+    }
+
+}
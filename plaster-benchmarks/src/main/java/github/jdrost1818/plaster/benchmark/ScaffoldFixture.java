@@ -0,0 +1,129 @@
+package github.jdrost1818.plaster.benchmark;
+
+import github.jdrost1818.plaster.data.TemplateType;
+import github.jdrost1818.plaster.domain.Field;
+import github.jdrost1818.plaster.domain.FileInformation;
+import github.jdrost1818.plaster.service.ClassIndexService;
+import github.jdrost1818.plaster.service.ConfigurationService;
+import github.jdrost1818.plaster.service.JarIndexService;
+import github.jdrost1818.plaster.service.SearchService;
+import github.jdrost1818.plaster.service.TypeRegistry;
+import github.jdrost1818.plaster.service.TypeResolutionCache;
+import github.jdrost1818.plaster.service.TypeService;
+import github.jdrost1818.plaster.service.modifier.GenerateService;
+import github.jdrost1818.plaster.service.template.ControllerTemplateService;
+import github.jdrost1818.plaster.service.template.ModelTemplateService;
+import github.jdrost1818.plaster.service.template.RepositoryTemplateService;
+import github.jdrost1818.plaster.service.template.ServiceTemplateService;
+import github.jdrost1818.plaster.service.template.TemplateCache;
+import github.jdrost1818.plaster.service.template.TemplateService;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The services plaster generates files with, wired the same way as in
+ * {@link github.jdrost1818.plaster.service.ServiceProvider}, but against a
+ * {@link FixtureProject} rather than the working directory.
+ */
+@Getter
+public class ScaffoldFixture {
+
+    /**
+     * Fields of the generated classes, a mix of simple, generic and custom types
+     */
+    private static final Map<String, String> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("name", "String");
+        FIELDS.put("createdAt", "Date");
+        FIELDS.put("customer", "Customer");
+        FIELDS.put("shippingAddresses", "List<Address>");
+        FIELDS.put("lineItemsByOrder", "Map<Order, List<LineItem>>");
+        FIELDS.put("tags", "Set<String>");
+    }
+
+    private final FixtureProject project;
+
+    private final ConfigurationService configurationService;
+
+    private final TypeResolutionCache typeResolutionCache;
+
+    private final TypeService typeService;
+
+    private final TemplateCache templateCache;
+
+    private final ModelTemplateService modelTemplateService;
+
+    private final ControllerTemplateService controllerTemplateService;
+
+    private final ServiceTemplateService serviceTemplateService;
+
+    private final RepositoryTemplateService repositoryTemplateService;
+
+    private final GenerateService generateService;
+
+    public ScaffoldFixture(FixtureProject project) {
+        this.project = project;
+        this.configurationService = project.load();
+
+        SearchService searchService = new SearchService(
+                this.configurationService,
+                new ClassIndexService(this.configurationService),
+                new JarIndexService(this.configurationService));
+
+        this.typeResolutionCache = new TypeResolutionCache();
+        this.typeService = new TypeService(searchService, this.typeResolutionCache, new TypeRegistry(this.configurationService));
+
+        this.templateCache = new TemplateCache();
+        this.modelTemplateService = new ModelTemplateService(this.configurationService, this.templateCache);
+        this.controllerTemplateService = new ControllerTemplateService(this.configurationService, this.templateCache);
+        this.serviceTemplateService = new ServiceTemplateService(this.configurationService, this.templateCache);
+        this.repositoryTemplateService = new RepositoryTemplateService(this.configurationService, this.templateCache);
+
+        this.generateService = new GenerateService(
+                this.configurationService,
+                this.modelTemplateService,
+                this.controllerTemplateService,
+                this.serviceTemplateService,
+                this.repositoryTemplateService);
+    }
+
+    public TemplateService getTemplateService(TemplateType templateType) {
+        switch (templateType) {
+            case MODEL:
+                return this.modelTemplateService;
+            case REPOSITORY:
+                return this.repositoryTemplateService;
+            case SERVICE:
+                return this.serviceTemplateService;
+            case CONTROLLER:
+                return this.controllerTemplateService;
+            default:
+                throw new IllegalArgumentException("Unknown template type: " + templateType);
+        }
+    }
+
+    /**
+     * Resolves the types of the fields of a class to generate, as plaster
+     * does after reading them from the command line
+     *
+     * @param className
+     *          name of the class to generate
+     * @return the information needed to generate the class
+     */
+    public FileInformation createFileInformation(String className) {
+        Field id = new Field(this.typeService.convertToTypeDeclaration("Long"), "id");
+
+        List<Field> fields = new ArrayList<>();
+        for (Map.Entry<String, String> field : FIELDS.entrySet()) {
+            fields.add(new Field(this.typeService.convertToTypeDeclaration(field.getValue()), field.getKey()));
+        }
+
+        return new FileInformation(className, id, fields);
+    }
+
+}
@@ -0,0 +1,78 @@
+package github.jdrost1818.plaster.benchmark;
+
+import github.jdrost1818.plaster.service.ClassIndexService;
+import github.jdrost1818.plaster.service.ConfigurationService;
+import github.jdrost1818.plaster.service.JarIndexService;
+import github.jdrost1818.plaster.service.SearchService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches for a class by name in source trees of growing size. The index can be
+ *
+ *      warm    = already built during this run, only the lookup is measured
+ *      refresh = persisted, but has to be checked against the tree as a new run would
+ *      cold    = missing, so the whole tree is walked
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int classCount;
+
+    @Param({"warm", "refresh", "cold"})
+    public String index;
+
+    private FixtureProject project;
+
+    private ClassIndexService classIndexService;
+
+    private JarIndexService jarIndexService;
+
+    private SearchService searchService;
+
+    @Setup
+    public void setUp() {
+        this.project = FixtureProject.create("search", this.classCount);
+
+        ConfigurationService configurationService = this.project.load();
+        this.classIndexService = new ClassIndexService(configurationService);
+        this.jarIndexService = new JarIndexService(configurationService);
+        this.searchService = new SearchService(configurationService, this.classIndexService, this.jarIndexService);
+
+        // Persists the index, for the warm and refresh benchmarks to start from
+        this.project.deleteIndexes();
+        this.searchService.findClassesWithName("Customer");
+    }
+
+    @Benchmark
+    public List<String> findClassesWithName() {
+        if ("cold".equals(this.index)) {
+            this.project.deleteIndexes();
+        }
+        if (!"warm".equals(this.index)) {
+            this.classIndexService.invalidate();
+            this.jarIndexService.invalidate();
+        }
+
+        return this.searchService.findClassesWithName("Customer");
+    }
+
+}
@@ -0,0 +1,80 @@
+package github.jdrost1818.plaster.benchmark;
+
+import github.jdrost1818.plaster.domain.TypeDeclaration;
+import github.jdrost1818.plaster.service.ClassIndexService;
+import github.jdrost1818.plaster.service.ConfigurationService;
+import github.jdrost1818.plaster.service.JarIndexService;
+import github.jdrost1818.plaster.service.SearchService;
+import github.jdrost1818.plaster.service.TypeRegistry;
+import github.jdrost1818.plaster.service.TypeResolutionCache;
+import github.jdrost1818.plaster.service.TypeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Converts type strings of growing depth into type declarations. The index of the
+ * project is kept warm, so this measures the parsing of the type along with the
+ * lookup of its custom types, which are resolved again on every call unless cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TypeResolutionBenchmark {
+
+    @Param({
+            "Integer",
+            "List<Customer>",
+            "Map<String, List<Customer>>",
+            "Map<String, List<Map<Integer, Set<Customer>>>>",
+            "Map<Customer, Map<Address, Map<Order, List<LineItem>>>>"
+    })
+    public String typeString;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private TypeResolutionCache typeResolutionCache;
+
+    private TypeService typeService;
+
+    @Setup
+    public void setUp() {
+        FixtureProject project = FixtureProject.create("types", 1000);
+
+        ConfigurationService configurationService = project.load();
+        SearchService searchService = new SearchService(
+                configurationService,
+                new ClassIndexService(configurationService),
+                new JarIndexService(configurationService));
+
+        this.typeResolutionCache = new TypeResolutionCache();
+        this.typeService = new TypeService(searchService, this.typeResolutionCache, new TypeRegistry(configurationService));
+
+        // Builds the index, which every benchmark then shares
+        this.typeService.convertToTypeDeclaration(this.typeString);
+    }
+
+    @Benchmark
+    public TypeDeclaration convertToTypeDeclaration() {
+        if (!this.cached) {
+            this.typeResolutionCache.clear();
+        }
+
+        return this.typeService.convertToTypeDeclaration(this.typeString);
+    }
+
+}
@@ -1,22 +1,42 @@
 package github.jdrost1818.plaster;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import github.jdrost1818.plaster.daemon.PlasterDaemon;
 import github.jdrost1818.plaster.data.Arg;
 import github.jdrost1818.plaster.data.Mode;
 import github.jdrost1818.plaster.data.Setting;
 import github.jdrost1818.plaster.domain.Field;
+import github.jdrost1818.plaster.domain.FileChange;
 import github.jdrost1818.plaster.domain.FileInformation;
+import github.jdrost1818.plaster.domain.ImportResult;
+import github.jdrost1818.plaster.domain.batch.BatchManifest;
 import github.jdrost1818.plaster.exception.PlasterException;
+import github.jdrost1818.plaster.pipeline.StdinPipeline;
+import github.jdrost1818.plaster.service.BatchService;
 import github.jdrost1818.plaster.service.ConfigurationService;
 import github.jdrost1818.plaster.service.FieldService;
 import github.jdrost1818.plaster.service.ServiceProvider;
+import github.jdrost1818.plaster.service.TypeResolutionCache;
+import github.jdrost1818.plaster.service.importer.ImportService;
+import github.jdrost1818.plaster.service.output.OutputService;
+import github.jdrost1818.plaster.service.output.VirtualFileTree;
 import github.jdrost1818.plaster.util.ArgParseUtil;
+import github.jdrost1818.plaster.util.DiffUtil;
+import github.jdrost1818.plaster.util.PathUtil;
 import lombok.experimental.UtilityClass;
 import net.sourceforge.argparse4j.inf.ArgumentParser;
 import net.sourceforge.argparse4j.inf.ArgumentParserException;
 import net.sourceforge.argparse4j.inf.Namespace;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Main entry point
@@ -25,6 +45,27 @@ import java.util.List;
  *
  * plaster MODE MODE_SCOPE CLASS_NAME [FIELD:TYPE...]
  * plaster g scaffold Something name:string
+ *
+ * Running "plaster batch MANIFEST" generates every class listed in the manifest
+ * at once, see {@link BatchService}. Along with how many classes were generated, it
+ * reports how often a custom type was found in the {@link TypeResolutionCache} rather
+ * than searched for, and so does an import.
+ *
+ * Running "plaster import FORMAT FILE" generates a class for each table, or the like,
+ * described by the file as it is read, see {@link ImportService}.
+ *
+ * Running "plaster --stdin" runs the commands read from stdin, one per line,
+ * see {@link StdinPipeline}.
+ *
+ * Adding "--dry-run" to a command or a batch generates into memory instead of writing
+ * to disk, and lists how the generated files compare to the ones on disk. Adding
+ * "--diff" as well shows the differences as a unified diff instead.
+ *
+ * Adding "--regenerate" replaces files which already exist, but only those whose
+ * content changed, see {@link github.jdrost1818.plaster.service.output.HashManifest}.
+ *
+ * Running "plaster daemon" keeps plaster loaded for the current project,
+ * which {@link github.jdrost1818.plaster.daemon.PlasterClient} then forwards commands to.
  */
 @UtilityClass
 public class Plaster {
@@ -33,7 +74,100 @@ public class Plaster {
 
     private static FieldService fieldService = ServiceProvider.getFieldService();
 
+    private static BatchService batchService = ServiceProvider.getBatchService();
+
+    private static ImportService importService = ServiceProvider.getImportService();
+
+    private static OutputService outputService = ServiceProvider.getOutputService();
+
+    private static TypeResolutionCache typeResolutionCache = ServiceProvider.getTypeResolutionCache();
+
+    private static final String DRY_RUN_FLAG = "--dry-run";
+
+    private static final String DIFF_FLAG = "--diff";
+
+    private static final String REGENERATE_FLAG = "--regenerate";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     public static void main(String[] args) {
+        if (PlasterDaemon.isStartCommand(args)) {
+            startDaemon();
+            return;
+        }
+
+        if (StdinPipeline.isStdinCommand(args)) {
+            runStdin();
+            return;
+        }
+
+        if (!run(args)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs a command, or a dry run or a regeneration of it if asked for
+     *
+     * @return false if a dry run generated files which differ from the ones on disk
+     */
+    private static boolean run(String[] args) {
+        List<String> commandArgs = new ArrayList<>(Arrays.asList(args));
+        boolean diff = commandArgs.remove(DIFF_FLAG);
+        boolean dryRun = commandArgs.remove(DRY_RUN_FLAG) || diff;
+        boolean regenerate = commandArgs.remove(REGENERATE_FLAG);
+        String[] command = commandArgs.toArray(new String[commandArgs.size()]);
+
+        if (dryRun) {
+            return runDryRun(command, diff);
+        }
+
+        if (regenerate) {
+            outputService.startRegenerate(configurationService.get(Setting.PROJECT_PATH));
+            try {
+                runCommand(command);
+            } finally {
+                outputService.stopRegenerate();
+            }
+        } else {
+            runCommand(command);
+        }
+
+        return true;
+    }
+
+    /**
+     * Runs a command with everything it generates kept in memory, then reports how
+     * it compares to the files on disk
+     *
+     * @return true if every generated file is the same as the one on disk
+     */
+    private static boolean runDryRun(String[] args, boolean diff) {
+        PrintStream stdOut = System.out;
+        VirtualFileTree tree = outputService.startDryRun();
+        try {
+            // Only the report goes to stdout, so another program can read it
+            System.setOut(System.err);
+            runCommand(args);
+        } finally {
+            System.setOut(stdOut);
+            outputService.stopDryRun();
+        }
+
+        return reportDryRun(outputService.compareToDisk(tree), diff);
+    }
+
+    private static void runCommand(String[] args) {
+        if (BatchService.isBatchCommand(args)) {
+            runBatch(new File(args[1]));
+            return;
+        }
+
+        if (ImportService.isImportCommand(args)) {
+            runImport(args[1], new File(args[2]));
+            return;
+        }
+
         ArgumentParser parser = ArgParseUtil.getArgParser();
         Namespace parsedArgs;
         try {
@@ -44,42 +178,180 @@ public class Plaster {
         }
 
         ArgParseUtil.validateParsedArgs(parsedArgs);
-        setCommandLineArgs(parsedArgs);
-
         FileInformation fileInformation = buildFileInformation(parsedArgs);
+
+        try {
+            perform(parsedArgs, fileInformation);
+        } catch (PlasterException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    private static void perform(Namespace parsedArgs, FileInformation fileInformation) {
         Mode mode = Mode.getMode(parsedArgs.getString(Arg.MODE.key));
         String modeScope = parsedArgs.getString(Arg.MODE_SCOPE.key);
 
+        mode.perform(modeScope, fileInformation);
+    }
+
+    private static void runBatch(File manifestFile) {
         try {
-            mode.perform(modeScope, fileInformation);
+            BatchManifest manifest = batchService.load(manifestFile);
+            List<String> failures = batchService.generate(manifest);
+
+            failures.forEach(System.out::println);
+
+            int total = manifest.getEntities().size();
+            System.out.println(String.format("Generated %d of %d classes", total - failures.size(), total));
+            reportTypeResolution();
         } catch (PlasterException e) {
             System.out.println(e.getMessage());
         }
     }
 
-    private static void setCommandLineArgs(Namespace parsedArgs) {
+    private static void runImport(String format, File file) {
+        try {
+            ImportResult result = importService.importFile(format, file);
+
+            result.getFailures().forEach(System.out::println);
+
+            System.out.println(String.format("Generated %d of %d classes", result.getGenerated(), result.getTotal()));
+            reportTypeResolution();
+        } catch (PlasterException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Prints how many custom types are held resolved, and how often looking one up was
+     * answered by an earlier search rather than a new one
+     */
+    private static void reportTypeResolution() {
+        System.out.println(String.format("Resolved types: %d cached, %d hits, %d misses",
+                typeResolutionCache.getSize(), typeResolutionCache.getHits(), typeResolutionCache.getMisses()));
+    }
+
+    /**
+     * Prints how the files generated during a dry run compare to the ones on disk,
+     * either as a line of json per file or as a unified diff of the files which differ.
+     * Files are given by their path from the root of the project, as git does.
+     *
+     * @return true if every generated file is the same as the one on disk
+     */
+    private static boolean reportDryRun(List<FileChange> changes, boolean diff) {
+        String projectPath = configurationService.get(Setting.PROJECT_PATH);
+
+        boolean unchanged = true;
+        for (FileChange change : changes) {
+            unchanged &= change.getType() == FileChange.Type.UNCHANGED;
+
+            String location = PathUtil.relativize(projectPath, change.getLocation());
+            if (!diff) {
+                ObjectNode line = MAPPER.createObjectNode();
+                line.put("location", location);
+                line.put("change", change.getType().name().toLowerCase());
+                try {
+                    System.out.println(MAPPER.writeValueAsString(line));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException(e);
+                }
+            } else if (change.getType() != FileChange.Type.UNCHANGED) {
+                String originalName = change.getType() == FileChange.Type.ADDED ? "/dev/null" : "a/" + location;
+                DiffUtil.unifiedDiff(originalName, "b/" + location,
+                        change.getCurrentContent(), change.getGeneratedContent())
+                        .forEach(System.out::println);
+            }
+        }
+
+        return unchanged;
+    }
+
+    /**
+     * Runs the commands read from stdin, writing the result of each as a line of json,
+     * see {@link StdinPipeline}. Each command is parsed and validated as soon as it is
+     * read, while the types of its fields are only resolved once the commands before
+     * it have run, as those may have generated them. The index only lists again the
+     * directories that changed, so bringing it up to date after each command is cheap.
+     */
+    private static void runStdin() {
+        ServiceProvider.getTemplateCache().warmUp();
+
+        int failures = new StdinPipeline(System.in, System.out, args -> {
+            Namespace parsedArgs;
+            try {
+                parsedArgs = ArgParseUtil.getArgParser().parseArgs(args);
+            } catch (ArgumentParserException e) {
+                throw new PlasterException(e.getMessage());
+            }
+
+            ArgParseUtil.validateParsedArgs(parsedArgs);
+
+            return () -> {
+                perform(parsedArgs, buildFileInformation(parsedArgs));
+
+                // Let the commands after this one find the classes it generated
+                ServiceProvider.getClassIndexService().invalidate();
+                typeResolutionCache.clear();
+            };
+        }).run();
+
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Serves requests for the current project until stopped, see {@link PlasterDaemon}.
+     * Before each request everything left over from the previous one is reset, while
+     * the settings, the class index and the parsed templates stay loaded. Resolved types
+     * are kept for the lifetime of the daemon, only those whose classes were added, moved
+     * or removed since the last request are searched for again. When pom.xml or plaster.yml
+     * changed, the source roots and dependencies may have too, so all of them are.
+     */
+    private static void startDaemon() {
+        ServiceProvider.getTemplateCache().warmUp();
+
+        File projectDir = new File(configurationService.get(Setting.PROJECT_PATH));
+        PlasterDaemon daemon = new PlasterDaemon(projectDir, args -> {
+            boolean reloaded = configurationService.refresh();
+            Set<String> changedClassNames = ServiceProvider.getSearchService().refresh();
+            if (reloaded) {
+                typeResolutionCache.clear();
+            } else {
+                typeResolutionCache.forget(changedClassNames);
+                typeResolutionCache.resetCounts();
+            }
+
+            if (!run(args)) {
+                throw new PlasterException("Generated files differ from the ones on disk");
+            }
+        });
+
+        daemon.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(daemon::stop));
+        daemon.serve();
+    }
+
+    private static FileInformation buildFileInformation(Namespace parsedArgs) {
+        String className = parsedArgs.getString(Arg.CLASS_NAME.key);
+
         /*
-            Set the key if provided
+            Use the key if provided
          */
         String customKey = parsedArgs.getString(Arg.KEY.key);
         String keyString = StringUtils.isNotBlank(customKey) ? customKey : configurationService.get(Setting.KEY);
+        Field key = fieldService.convertToField(keyString);
 
-        configurationService.put(Setting.KEY, keyString);
+        List<Field> fields = fieldService.convertToFields(parsedArgs.getList(Arg.FIELD.key));
 
         /*
-            Set the custom directory if provided
+            Use the custom directory if provided. This is only for the current
+            command, so it is not stored in the settings
          */
-        String customSubDir = parsedArgs.get(Arg.DIR.key);
-        String safeCustomSubDir = StringUtils.isBlank(customSubDir) ? "" : "/" + customSubDir;
-        configurationService.put(Setting.SUB_DIR_PATH, safeCustomSubDir);
-    }
-
-    private static FileInformation buildFileInformation(Namespace parsedArgs) {
-        String className = parsedArgs.getString(Arg.CLASS_NAME.key);
-        Field key = fieldService.convertToField(configurationService.get(Setting.KEY));
-        List<Field> fields = fieldService.convertToFields(parsedArgs.getList(Arg.FIELD.key));
+        String customSubDir = parsedArgs.getString(Arg.DIR.key);
+        String subDirPath = StringUtils.isBlank(customSubDir) ? "" : "/" + customSubDir;
 
-        return new FileInformation(className, key, fields);
+        return new FileInformation(className, key, fields, subDirPath);
     }
 
 }
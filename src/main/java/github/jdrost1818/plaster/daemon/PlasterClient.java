@@ -0,0 +1,128 @@
+package github.jdrost1818.plaster.daemon;
+
+import github.jdrost1818.plaster.Plaster;
+import github.jdrost1818.plaster.pipeline.StdinPipeline;
+import lombok.experimental.UtilityClass;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Thin entry point which forwards the command line to the {@link PlasterDaemon} running
+ * in the current project. This avoids loading any of plaster's services, so if no daemon
+ * is running, or the daemon does not serve the current directory, it simply falls back
+ * to running {@link Plaster} in this process.
+ */
+@UtilityClass
+public class PlasterClient {
+
+    public static void main(String[] args) {
+        File projectDir = new File("").getAbsoluteFile();
+
+        // Commands read from stdin are run here, as the daemon has no way to read this process's stdin
+        if (PlasterDaemon.isStartCommand(args) || StdinPipeline.isStdinCommand(args)) {
+            Plaster.main(args);
+            return;
+        }
+
+        Integer status = send(projectDir, args, System.out, System.err);
+        if (isNull(status)) {
+            if (PlasterDaemon.isStopCommand(args)) {
+                System.out.println("No plaster daemon is running in " + projectDir);
+            } else {
+                Plaster.main(args);
+            }
+        } else if (status != PlasterDaemon.STATUS_OK) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Sends the arguments to the daemon running in the project, and prints its response
+     *
+     * @param projectDir
+     *          root of the project, where the daemon advertises itself
+     * @param args
+     *          command line arguments to run
+     * @param out
+     *          where to print the standard output of the run, may be null
+     * @param err
+     *          where to print the error output of the run, may be null
+     * @return the status of the run, or null if no daemon could be reached or it rejected the request
+     */
+    public static Integer send(File projectDir, String[] args, PrintStream out, PrintStream err) {
+        File daemonFile = PlasterDaemon.getDaemonFile(projectDir);
+        if (!daemonFile.isFile()) {
+            return null;
+        }
+
+        int port;
+        String secret;
+        try {
+            List<String> lines = Files.readAllLines(daemonFile.toPath(), StandardCharsets.UTF_8);
+            port = Integer.parseInt(lines.get(0).trim());
+            secret = lines.get(1).trim();
+        } catch (IOException | RuntimeException e) {
+            // The daemon is still starting up, or the file is left over from one that was killed
+            return null;
+        }
+
+        Socket socket;
+        try {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        } catch (IOException e) {
+            return null;
+        }
+
+        // Once connected the request may already be running, so it must not be run again here
+        try (Socket connected = socket) {
+            DataOutputStream request = new DataOutputStream(connected.getOutputStream());
+            request.writeUTF(secret);
+            request.writeUTF(projectDir.getAbsolutePath());
+            request.writeInt(args.length);
+            for (String arg : args) {
+                request.writeUTF(arg);
+            }
+            request.flush();
+
+            DataInputStream response = new DataInputStream(connected.getInputStream());
+            int status = response.readInt();
+            if (status == PlasterDaemon.STATUS_REJECTED) {
+                // Such as a daemon serving a parent directory, nothing was run so it can be run here
+                return null;
+            }
+
+            print(response, out);
+            print(response, err);
+
+            return status;
+        } catch (IOException e) {
+            if (nonNull(err)) {
+                err.println("Lost connection to the plaster daemon: " + e.getMessage());
+            }
+            return PlasterDaemon.STATUS_FAILED;
+        }
+    }
+
+    private static void print(DataInputStream response, PrintStream stream) throws IOException {
+        byte[] bytes = new byte[response.readInt()];
+        response.readFully(bytes);
+
+        if (nonNull(stream)) {
+            stream.print(new String(bytes, StandardCharsets.UTF_8));
+            stream.flush();
+        }
+    }
+
+}
@@ -0,0 +1,295 @@
+package github.jdrost1818.plaster.daemon;
+
+import github.jdrost1818.plaster.exception.PlasterException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Keeps plaster running for a single project, so the services, settings and class
+ * index only have to be warmed up once instead of on every invocation.
+ *
+ * The daemon listens on a loopback socket. The port, along with a secret the client
+ * must send with each request, is written to .plaster/daemon in the project, which is
+ * where {@link PlasterClient} finds it. Requests are run one at a time, and everything
+ * a run prints is sent back to the client. A connection which does not send its whole
+ * request in time is dropped, so a client which stalls cannot hold up the ones after it.
+ *
+ *      plaster daemon          -   starts the daemon in the current project
+ *      plaster daemon stop     -   stops the daemon running in the current project
+ */
+public class PlasterDaemon {
+
+    public static final String COMMAND = "daemon";
+
+    public static final String STOP_COMMAND = "stop";
+
+    static final String DAEMON_FILE = ".plaster/daemon";
+
+    static final int STATUS_OK = 0;
+
+    static final int STATUS_FAILED = 1;
+
+    static final int STATUS_REJECTED = 2;
+
+    /**
+     * How long a client has to send its request once connected
+     */
+    private static final int REQUEST_TIMEOUT_MILLIS = 10000;
+
+    /**
+     * Requests carry a handful of arguments, anything more is not from a client
+     */
+    private static final int MAX_ARGS = 1024;
+
+    private final File projectDir;
+
+    private final Consumer<String[]> command;
+
+    private final int requestTimeoutMillis;
+
+    private final PrintStream console = System.out;
+
+    private ServerSocket serverSocket;
+
+    private String secret;
+
+    /**
+     * @param projectDir
+     *          root of the project this daemon serves
+     * @param command
+     *          runs a single plaster invocation with the given arguments
+     */
+    public PlasterDaemon(File projectDir, Consumer<String[]> command) {
+        this(projectDir, command, REQUEST_TIMEOUT_MILLIS);
+    }
+
+    PlasterDaemon(File projectDir, Consumer<String[]> command, int requestTimeoutMillis) {
+        this.projectDir = projectDir.getAbsoluteFile();
+        this.command = command;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+    }
+
+    /**
+     * Whether the arguments ask for a daemon to be started
+     *
+     * @param args
+     *          command line arguments
+     * @return true if the arguments are exactly "daemon"
+     */
+    public static boolean isStartCommand(String[] args) {
+        return args.length == 1 && COMMAND.equals(args[0]);
+    }
+
+    /**
+     * Whether the arguments ask for the running daemon to be stopped
+     *
+     * @param args
+     *          command line arguments
+     * @return true if the arguments are exactly "daemon stop"
+     */
+    public static boolean isStopCommand(String[] args) {
+        return args.length == 2 && COMMAND.equals(args[0]) && STOP_COMMAND.equals(args[1]);
+    }
+
+    static File getDaemonFile(File projectDir) {
+        return new File(projectDir, DAEMON_FILE);
+    }
+
+    /**
+     * Opens the socket and advertises it in the project, after this
+     * clients can connect, though requests are only run by {@link #serve()}
+     */
+    public void start() {
+        File daemonFile = getDaemonFile(this.projectDir);
+        if (daemonFile.exists() && nonNull(PlasterClient.send(this.projectDir, new String[] { COMMAND }, null, null))) {
+            throw new PlasterException("A plaster daemon is already running in " + this.projectDir);
+        }
+
+        try {
+            this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            this.secret = UUID.randomUUID().toString();
+
+            File daemonDir = daemonFile.getParentFile();
+            if (!daemonDir.exists() && !daemonDir.mkdirs()) {
+                throw new IOException("Cannot create " + daemonDir);
+            }
+
+            // Only the owner should be able to read the secret
+            Files.write(daemonFile.toPath(), new byte[0]);
+            daemonFile.setReadable(false, false);
+            daemonFile.setReadable(true, true);
+            Files.write(daemonFile.toPath(),
+                    (this.serverSocket.getLocalPort() + "\n" + this.secret + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            this.stop();
+            throw new PlasterException("Could not start the plaster daemon", e);
+        }
+
+        this.console.println("Plaster daemon serving " + this.projectDir + " on port " + this.serverSocket.getLocalPort());
+    }
+
+    /**
+     * Runs requests until the daemon is stopped
+     */
+    public void serve() {
+        while (!this.serverSocket.isClosed()) {
+            try (Socket socket = this.serverSocket.accept()) {
+                socket.setSoTimeout(this.requestTimeoutMillis);
+                this.handle(socket);
+            } catch (SocketTimeoutException e) {
+                this.console.println("Dropped a request which was not sent in time");
+            } catch (SocketException e) {
+                // The socket was closed by stop()
+            } catch (IOException e) {
+                this.console.println("Failed to handle request: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops accepting requests and removes the advertised socket from the project
+     */
+    public synchronized void stop() {
+        try {
+            if (nonNull(this.serverSocket)) {
+                this.serverSocket.close();
+            }
+        } catch (IOException e) {
+            // Already closed
+        }
+
+        File daemonFile = getDaemonFile(this.projectDir);
+        if (nonNull(this.secret) && daemonFile.exists() && this.isOwnDaemonFile(daemonFile)) {
+            daemonFile.delete();
+        }
+    }
+
+    private void handle(Socket socket) throws IOException {
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+
+        String requestSecret = in.readUTF();
+        if (!this.secret.equals(requestSecret)) {
+            respond(out, STATUS_REJECTED, "", "Plaster daemon rejected the request");
+            return;
+        }
+
+        String workingDir = in.readUTF();
+        int argCount = in.readInt();
+        if (argCount < 0 || argCount > MAX_ARGS) {
+            respond(out, STATUS_REJECTED, "", "Plaster daemon rejected the request");
+            return;
+        }
+
+        String[] args = new String[argCount];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = in.readUTF();
+        }
+
+        if (!this.projectDir.equals(new File(workingDir).getAbsoluteFile())) {
+            respond(out, STATUS_REJECTED, "", "Plaster daemon serves " + this.projectDir + ", not " + workingDir);
+            return;
+        }
+
+        if (isStartCommand(args)) {
+            respond(out, STATUS_OK, "Plaster daemon already running on port " + this.serverSocket.getLocalPort() + "\n", "");
+            return;
+        }
+
+        if (isStopCommand(args)) {
+            respond(out, STATUS_OK, "Plaster daemon stopped\n", "");
+            this.console.println("Stopped by client");
+            this.stop();
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        ByteArrayOutputStream runOut = new ByteArrayOutputStream();
+        ByteArrayOutputStream runErr = new ByteArrayOutputStream();
+        int status = this.run(args, runOut, runErr);
+
+        respond(out, status, toString(runOut), toString(runErr));
+
+        this.console.println(String.format("%s (%d ms)",
+                StringUtils.join(args, " "), System.currentTimeMillis() - start));
+    }
+
+    /**
+     * Runs the command with everything it prints captured. Since requests
+     * are run one at a time, the standard streams can simply be swapped.
+     */
+    private int run(String[] args, ByteArrayOutputStream runOut, ByteArrayOutputStream runErr) {
+        PrintStream stdOut = System.out;
+        PrintStream stdErr = System.err;
+
+        try (PrintStream out = newPrintStream(runOut); PrintStream err = newPrintStream(runErr)) {
+            System.setOut(out);
+            System.setErr(err);
+
+            try {
+                this.command.accept(args);
+                return STATUS_OK;
+            } catch (PlasterException e) {
+                err.println(e.getMessage());
+                return STATUS_FAILED;
+            } catch (RuntimeException e) {
+                e.printStackTrace(err);
+                return STATUS_FAILED;
+            }
+        } finally {
+            System.setOut(stdOut);
+            System.setErr(stdErr);
+        }
+    }
+
+    private boolean isOwnDaemonFile(File daemonFile) {
+        try {
+            return new String(Files.readAllBytes(daemonFile.toPath()), StandardCharsets.UTF_8).contains(this.secret);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void respond(DataOutputStream out, int status, String stdOut, String stdErr) throws IOException {
+        byte[] outBytes = stdOut.getBytes(StandardCharsets.UTF_8);
+        byte[] errBytes = stdErr.getBytes(StandardCharsets.UTF_8);
+
+        out.writeInt(status);
+        out.writeInt(outBytes.length);
+        out.write(outBytes);
+        out.writeInt(errBytes.length);
+        out.write(errBytes);
+        out.flush();
+    }
+
+    private static PrintStream newPrintStream(ByteArrayOutputStream stream) {
+        try {
+            return new PrintStream(stream, true, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toString(ByteArrayOutputStream stream) {
+        return new String(stream.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
@@ -63,13 +63,30 @@ public enum Mode {
      *          name of the scope to get
      */
     public void perform(String scopeKey, FileInformation fileInformation) {
-        ModeScope scope = ModeScope.valueOf(StringUtils.upperCase(scopeKey));
+        this.performFunction.execute(this.getScope(scopeKey), fileInformation);
+    }
+
+    /**
+     * Gets a scope this mode supports
+     *
+     * @param scopeKey
+     *          name of the scope to get
+     * @return the scope
+     * @throws PlasterException if there is no such scope, or this mode does not support it
+     */
+    public ModeScope getScope(String scopeKey) {
+        ModeScope scope;
+        try {
+            scope = ModeScope.valueOf(StringUtils.upperCase(scopeKey));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new PlasterException("Cannot find scope for: " + scopeKey);
+        }
 
         if (!this.scopes.contains(scope)) {
             throw new PlasterException(this.name() + " does not support: " + scope.name());
         }
 
-        this.performFunction.execute(scope, fileInformation);
+        return scope;
     }
 
     private interface Perform {
@@ -11,7 +11,7 @@ import java.util.List;
 public enum ModeScope {
 
     SCAFFOLD(
-            Lists.newArrayList(Modify.MODEL, Modify.CONTROLLER, Modify.SERVICE, Modify.REPOSITORY)),
+            Lists.newArrayList(Modify.SCAFFOLD)),
     MODEL(
             Lists.newArrayList(Modify.MODEL)),
     CONTROLLER(
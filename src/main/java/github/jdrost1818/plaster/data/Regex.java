@@ -15,4 +15,8 @@ public class Regex {
 
     public static final Pattern JAVA_CLASS_NAME_WITH_PRIMITIVES = Pattern.compile(className + "|" + primitives);
 
+    public static final Pattern JAVA_QUALIFIED_CLASS_NAME = Pattern.compile("([a-z_][a-zA-Z0-9_]*\\.)+" + className);
+
+    public static final Pattern JAVA_IDENTIFIER = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
 }
@@ -0,0 +1,48 @@
+package github.jdrost1818.plaster.data;
+
+import github.jdrost1818.plaster.exception.PlasterException;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The ways plaster can render the files it generates. Both render exactly the same files.
+ */
+public enum Renderer {
+
+    /**
+     * Renders the .twig templates, the default
+     */
+    JTWIG("jtwig"),
+
+    /**
+     * Writes the files directly in java, which is faster when generating many files
+     */
+    JAVA("java");
+
+    public final String name;
+
+    Renderer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Gets the renderer with the given name
+     *
+     * @param name
+     *          name of the renderer, the default is used if blank
+     * @return the renderer
+     */
+    public static Renderer getRenderer(String name) {
+        if (StringUtils.isBlank(name)) {
+            return JTWIG;
+        }
+
+        for (Renderer renderer : Renderer.values()) {
+            if (renderer.name.equalsIgnoreCase(name.trim())) {
+                return renderer;
+            }
+        }
+
+        throw new PlasterException("Cannot find renderer for: " + name);
+    }
+
+}
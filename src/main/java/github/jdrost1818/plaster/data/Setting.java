@@ -130,4 +130,61 @@ public enum Setting {
      */
     SHOULD_USE_PRIMITIVES,
 
+    /**
+     * int string defining how many threads may be used to walk the source tree when
+     * searching for classes. Defaults to the number of available processors.
+     *
+     * This is determined by inspecting the plaster.yml file
+     */
+    SEARCH_THREADS,
+
+    /**
+     * comma separated list of .gitignore style patterns, relative to the root of the project,
+     * defining paths which are never searched for classes. These are applied after the rules
+     * found in the project's .gitignore file.
+     *
+     * This is determined by inspecting the plaster.yml file
+     *
+     * Example:
+     *
+     *      generated/,legacy/**
+     */
+    SEARCH_EXCLUDE,
+
+    /**
+     * string defining the path to the local maven repository. The jars of the project's
+     * dependencies are searched for classes which are not part of the project.
+     *
+     * This can be configured via plaster.yml file
+     *
+     * Example:
+     *
+     *      /home/user/.m2/repository
+     */
+    MAVEN_REPOSITORY,
+
+    /**
+     * comma separated list of alias=class pairs, giving types which are not part of the
+     * project a name they can be used by without searching for them. Each class is also
+     * known by its simple name.
+     *
+     * This is determined by inspecting the plaster.yml file
+     *
+     * Example:
+     *
+     *      uuid=java.util.UUID,money=org.joda.money.Money
+     */
+    TYPE_ALIASES,
+
+    /**
+     * string naming the {@link Renderer} used to render generated files, either jtwig or java
+     *
+     * This is determined by inspecting the plaster.yml file
+     *
+     * Example:
+     *
+     *      java
+     */
+    RENDERER,
+
 }
@@ -2,58 +2,76 @@ package github.jdrost1818.plaster.data;
 
 import com.google.common.collect.Lists;
 import github.jdrost1818.plaster.domain.Dependency;
+import github.jdrost1818.plaster.domain.RegisteredType;
 import github.jdrost1818.plaster.domain.Type;
 import github.jdrost1818.plaster.exception.EnumSearchException;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 
 public enum StoredJavaType {
 
     INTEGER(
-            new Type("Integer"),
-            new Type("int"),
+            Type.of("Integer"),
+            Type.of("int"),
             Lists.newArrayList("int", "integer")),
     LONG(
-            new Type("Long"),
-            new Type("long"),
+            Type.of("Long"),
+            Type.of("long"),
             Lists.newArrayList("long")),
     FLOAT(
-            new Type("Float"),
-            new Type("float"),
+            Type.of("Float"),
+            Type.of("float"),
             Lists.newArrayList("float")),
     DOUBLE(
-            new Type("Double"),
-            new Type("double"),
+            Type.of("Double"),
+            Type.of("double"),
             Lists.newArrayList("double", "dbl")),
     BOOLEAN(
-            new Type("Boolean"),
-            new Type("boolean"),
+            Type.of("Boolean"),
+            Type.of("boolean"),
             Lists.newArrayList("bool", "boolean")),
     STRING(
-            new Type("String"),
+            Type.of("String"),
             Lists.newArrayList("string", "str")),
     DATE(
-            new Type("Date", new Dependency("java.util.Date")),
+            Type.of("Date", Dependency.of("java.util.Date")),
             Lists.newArrayList("date")),
     TIMESTAMP(
-            new Type("Timestamp", new Dependency("java.util.Timestamp")),
+            Type.of("Timestamp", Dependency.of("java.util.Timestamp")),
             Lists.newArrayList("timestamp")),
 
     LIST(
-            new Type("List", new Dependency("java.util.List")),
+            Type.of("List", Dependency.of("java.util.List")),
             Lists.newArrayList("list"),
             1),
     SET(
-            new Type("Set", new Dependency("java.util.Set")),
+            Type.of("Set", Dependency.of("java.util.Set")),
             Lists.newArrayList("set"),
             1),
     MAP(
-            new Type("Map", new Dependency("java.util.Map")),
+            Type.of("Map", Dependency.of("java.util.Map")),
             Lists.newArrayList("map"),
             2);
 
+    private static final Map<String, StoredJavaType> BY_SEARCH_TERM;
+
+    static {
+        Map<String, StoredJavaType> bySearchTerm = new HashMap<>();
+        for (StoredJavaType storedJavaType : StoredJavaType.values()) {
+            for (String searchTerm : storedJavaType.searchTerms) {
+                bySearchTerm.put(searchTerm, storedJavaType);
+            }
+        }
+
+        BY_SEARCH_TERM = Collections.unmodifiableMap(bySearchTerm);
+    }
+
     private final Type type;
     private final Type primitiveType;
     private final List<String> searchTerms;
@@ -79,14 +97,20 @@ public enum StoredJavaType {
     }
 
     public static StoredJavaType getStoredJavaType(String searchTerm) throws EnumSearchException {
-        String lowerSearch = searchTerm.toLowerCase();
-        for (StoredJavaType storedJavaType : StoredJavaType.values()) {
-            if (storedJavaType.searchTerms.contains(lowerSearch)) {
-                return storedJavaType;
-            }
+        StoredJavaType storedJavaType = BY_SEARCH_TERM.get(searchTerm.toLowerCase());
+        if (isNull(storedJavaType)) {
+            throw new EnumSearchException("Cannot find java type for: " + searchTerm);
         }
 
-        throw new EnumSearchException("Cannot find java type for: " + searchTerm);
+        return storedJavaType;
+    }
+
+    public List<String> getSearchTerms() {
+        return Collections.unmodifiableList(this.searchTerms);
+    }
+
+    public RegisteredType toRegisteredType() {
+        return new RegisteredType(this.type, this.primitiveType, this.numTypedArgsRequired);
     }
 
     public Type getType(boolean shouldUsePrimitive) {
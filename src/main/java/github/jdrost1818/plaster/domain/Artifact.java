@@ -0,0 +1,39 @@
+package github.jdrost1818.plaster.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A maven dependency of the project, as declared in a pom
+ *
+ * Example:
+ *
+ *      groupId     = org.joda
+ *      artifactId  = joda-money
+ *      version     = 0.12
+ */
+@Data
+@AllArgsConstructor
+public class Artifact {
+
+    private String groupId;
+
+    private String artifactId;
+
+    /**
+     * null if the version could not be determined from the poms
+     */
+    private String version;
+
+    /**
+     * Path of the directory holding every version of this artifact, relative to the root of a maven repository
+     *
+     * Example:
+     *
+     *      org/joda/joda-money
+     */
+    public String getRepositoryPath() {
+        return this.groupId.replace('.', '/') + "/" + this.artifactId;
+    }
+
+}
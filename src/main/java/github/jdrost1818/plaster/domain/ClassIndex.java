@@ -0,0 +1,117 @@
+package github.jdrost1818.plaster.domain;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.commons.io.FilenameUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Index of every java source file found beneath a search root. This is what gets
+ * persisted to disk between runs so that finding a class is a lookup rather
+ * than a walk over the entire source tree.
+ *
+ * Directories are keyed by their path relative to the base path of the project
+ * (most commonly src/main/java), so an entry looks like:
+ *
+ *      com/example/app/dir1 -> [Duplicate.java, Example.java], [nested]
+ */
+@NoArgsConstructor
+public class ClassIndex {
+
+    @Getter
+    private Map<String, IndexedDirectory> directories = new HashMap<>();
+
+    /**
+     * Rules the directories were walked with, see {@link IgnoreRules#getPatterns()}.
+     * Null for an index written before rules were recorded, which is never trusted.
+     */
+    @Getter
+    @Setter
+    private List<String> ignoreRules;
+
+    private Map<String, List<String>> classPaths = new HashMap<>();
+
+    public ClassIndex(Map<String, IndexedDirectory> directories) {
+        this.setDirectories(directories);
+    }
+
+    public ClassIndex(Map<String, IndexedDirectory> directories, List<String> ignoreRules) {
+        this.setDirectories(directories);
+        this.ignoreRules = ignoreRules;
+    }
+
+    /**
+     * Replaces the indexed directories and rebuilds the class name lookup from them
+     *
+     * @param directories
+     *          directories keyed by their path relative to the base path
+     */
+    public void setDirectories(Map<String, IndexedDirectory> directories) {
+        this.directories = directories;
+
+        Map<String, List<String>> lookup = new HashMap<>();
+        for (Map.Entry<String, IndexedDirectory> entry : directories.entrySet()) {
+            String dirPath = entry.getKey();
+            for (String sourceFile : entry.getValue().getSourceFiles()) {
+                String className = FilenameUtils.removeExtension(sourceFile).toLowerCase();
+                String classPath = dirPath.isEmpty() ? sourceFile : dirPath + "/" + sourceFile;
+
+                lookup.computeIfAbsent(className, k -> new ArrayList<>()).add(classPath);
+            }
+        }
+
+        this.classPaths = lookup;
+    }
+
+    /**
+     * Finds the paths, relative to the base path, of all classes with the given
+     * name, ignoring case
+     *
+     * @param className
+     *          simple name of the class to find
+     * @return the paths of all matching classes, empty if none
+     */
+    public List<String> find(String className) {
+        List<String> found = this.classPaths.get(className.toLowerCase());
+
+        return isNull(found) ? new ArrayList<>() : new ArrayList<>(found);
+    }
+
+    /**
+     * Finds the names of the classes which were added, moved or removed since the given
+     * index was built, such as a class which was generated in the meantime
+     *
+     * @param previous
+     *          an earlier index of the same search root
+     * @return the lower-cased names of the classes whose paths differ between the indexes
+     */
+    public Set<String> findChangedClassNames(ClassIndex previous) {
+        Set<String> classNames = new HashSet<>(this.classPaths.keySet());
+        classNames.addAll(previous.classPaths.keySet());
+
+        Set<String> changed = new HashSet<>();
+        for (String className : classNames) {
+            Set<String> paths = new HashSet<>(this.find(className));
+            if (!paths.equals(new HashSet<>(previous.find(className)))) {
+                changed.add(className);
+            }
+        }
+
+        return changed;
+    }
+
+    public static ClassIndex empty() {
+        return new ClassIndex(Collections.emptyMap());
+    }
+
+}
@@ -0,0 +1,57 @@
+package github.jdrost1818.plaster.domain;
+
+import github.jdrost1818.plaster.util.PathUtil;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.apache.commons.io.FilenameUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of searching the project for a custom type. A resolution is kept whether
+ * or not the search was successful, so that a type which could not be found, or which
+ * matched more than one class, does not have to be searched for again.
+ *
+ * Only when exactly one class matched does the resolution hold a {@link Type}.
+ */
+@Getter
+@EqualsAndHashCode
+public class CustomTypeResolution {
+
+    private final String typeName;
+
+    private final List<String> matchingClassPaths;
+
+    private final Type type;
+
+    public CustomTypeResolution(String typeName, List<String> matchingClassPaths) {
+        this.typeName = typeName;
+        this.matchingClassPaths = Collections.unmodifiableList(new ArrayList<>(matchingClassPaths));
+        this.type = this.isFound() ? toType(matchingClassPaths.get(0)) : null;
+    }
+
+    public boolean isFound() {
+        return this.matchingClassPaths.size() == 1;
+    }
+
+    public boolean isAmbiguous() {
+        return this.matchingClassPaths.size() > 1;
+    }
+
+    /**
+     * Builds the type for a class from its path relative to the base path, or to the root of its jar
+     *
+     * Example:
+     *
+     *      com/example/app/Something.java -> Something:com.example.app.Something
+     *      org/joda/money/Money.class -> Money:org.joda.money.Money
+     */
+    private static Type toType(String classPath) {
+        String extensionlessClassPath = FilenameUtils.removeExtension(classPath);
+
+        return Type.of(FilenameUtils.getBaseName(classPath), Dependency.of(PathUtil.pathToPackage(extensionlessClassPath)));
+    }
+
+}
@@ -1,18 +1,46 @@
 package github.jdrost1818.plaster.domain;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
 
+/**
+ * The import a {@link Type} needs in order to be used in a file
+ *
+ * Dependencies are never changed once built. Those plaster resolves are shared
+ * through {@link #of(String)}, so two dependencies on the same class are the
+ * same instance.
+ */
 @Getter
+@ToString
 @EqualsAndHashCode
-public class Dependency implements PlasterTemplate {
+public final class Dependency implements PlasterTemplate {
 
-    public String path;
+    /**
+     * Held weakly, so a dependency no longer used by any type can still be collected
+     */
+    private static final Interner<Dependency> INTERNER = Interners.newWeakInterner();
 
-    public Dependency(String path) {
+    private final String path;
+
+    public Dependency(@NonNull String path) {
         this.path = path;
     }
 
+    /**
+     * Gets the shared dependency on the given class
+     *
+     * @param path
+     *          fully qualified name of the class
+     * @return the dependency, the same instance for every call with an equal path
+     */
+    public static Dependency of(String path) {
+        return INTERNER.intern(new Dependency(path));
+    }
+
     /**
      * {@inheritDoc}
      */
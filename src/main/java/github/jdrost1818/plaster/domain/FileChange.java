@@ -0,0 +1,48 @@
+package github.jdrost1818.plaster.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+
+import static java.util.Objects.isNull;
+
+/**
+ * How a file generated during a dry run compares to the file on disk
+ */
+@Getter
+@AllArgsConstructor
+public class FileChange {
+
+    public enum Type {
+        /**
+         * The file does not exist on disk
+         */
+        ADDED,
+        /**
+         * The file on disk has different content
+         */
+        MODIFIED,
+        UNCHANGED
+    }
+
+    private final String location;
+
+    private final Type type;
+
+    /**
+     * Content of the file on disk, null if it does not exist
+     */
+    private final byte[] current;
+
+    private final byte[] generated;
+
+    public String getCurrentContent() {
+        return isNull(this.current) ? "" : new String(this.current, StandardCharsets.UTF_8);
+    }
+
+    public String getGeneratedContent() {
+        return new String(this.generated, StandardCharsets.UTF_8);
+    }
+
+}
@@ -14,10 +14,21 @@ public class FileInformation {
 
     private List<Field> fields;
 
+    /**
+     * Sub directory to generate in, such as /billing. When null, the one of the
+     * current run is used, see {@link github.jdrost1818.plaster.data.Setting#SUB_DIR_PATH}
+     */
+    private String subDirPath;
+
     public FileInformation(String className, Field id, List<Field> fields) {
+        this(className, id, fields, null);
+    }
+
+    public FileInformation(String className, Field id, List<Field> fields, String subDirPath) {
         this.className = TypeUtil.normalizeTypeString(className);
         this.id = id;
         this.fields = fields;
+        this.subDirPath = subDirPath;
     }
 
 }
@@ -0,0 +1,43 @@
+package github.jdrost1818.plaster.domain;
+
+import github.jdrost1818.plaster.util.CacheFileUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A file generated by plaster as it was last seen on disk, so that a later
+ * regeneration can tell whether the file changed without reading it again.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeneratedFile {
+
+    /**
+     * SHA-256 of the content, in hex
+     */
+    private String hash;
+
+    private long size;
+
+    private long lastModified;
+
+    private long recordedAt;
+
+    /**
+     * Determines whether the hash held here can still be trusted for a file
+     * which currently has the given size and modification time.
+     *
+     * @param currentSize
+     *          size of the file on disk
+     * @param currentLastModified
+     *          modification time of the file on disk
+     * @return whether the file has to be read again
+     */
+    public boolean isUpToDate(long currentSize, long currentLastModified) {
+        return this.size == currentSize
+                && CacheFileUtil.isUnchanged(this.lastModified, this.recordedAt, currentLastModified);
+    }
+
+}
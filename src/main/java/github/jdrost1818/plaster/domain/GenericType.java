@@ -0,0 +1,149 @@
+package github.jdrost1818.plaster.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A type as written in a declaration, along with its type arguments, parsed into a tree.
+ * Once the classes are known, every node of the tree also holds its {@link Type}.
+ *
+ * Example:
+ *
+ *      Map<String, List<Integer>>  ->  Map
+ *                                      |-- String
+ *                                      |-- List
+ *                                          |-- Integer
+ *
+ * Trees are never changed once built, resolving the types builds a new one.
+ */
+@Getter
+@EqualsAndHashCode
+public final class GenericType {
+
+    private final String name;
+
+    /**
+     * null until the class of this type has been resolved
+     */
+    private final Type type;
+
+    private final List<GenericType> arguments;
+
+    public GenericType(String name, List<GenericType> arguments) {
+        this(name, null, arguments);
+    }
+
+    public GenericType(@NonNull String name, Type type, @NonNull List<GenericType> arguments) {
+        this.name = name;
+        this.type = type;
+        this.arguments = Collections.unmodifiableList(new ArrayList<>(arguments));
+    }
+
+    /**
+     * Gets the number of type arguments, 0 for a raw or non-generic type
+     *
+     * @return the number of type arguments
+     */
+    public int getArity() {
+        return this.arguments.size();
+    }
+
+    /**
+     * Gets the name of this type and all of its type arguments, in the order they are written
+     *
+     * Example:
+     *
+     *      Map<String, List<Integer>> -> [Map, String, List, Integer]
+     *
+     * @return every name in the tree
+     */
+    public List<String> getNames() {
+        List<String> names = new ArrayList<>();
+        for (GenericType genericType : this.flatten()) {
+            names.add(genericType.name);
+        }
+
+        return names;
+    }
+
+    /**
+     * Gets the resolved types of this type and all of its type arguments, in the
+     * order they are written. Types which have not been resolved are left out.
+     *
+     * @return every resolved type in the tree
+     */
+    public List<Type> getTypes() {
+        List<Type> types = new ArrayList<>();
+        for (GenericType genericType : this.flatten()) {
+            if (nonNull(genericType.type)) {
+                types.add(genericType.type);
+            }
+        }
+
+        return types;
+    }
+
+    /**
+     * Writes the type as it would be declared in java
+     *
+     * Example:
+     *
+     *      Map<String, List<Integer>>
+     *
+     * @return the declaration of the type
+     */
+    public String getDeclaration() {
+        StringBuilder declaration = new StringBuilder();
+        this.appendDeclaration(declaration);
+
+        return declaration.toString();
+    }
+
+    @Override
+    public String toString() {
+        return this.getDeclaration();
+    }
+
+    private List<GenericType> flatten() {
+        List<GenericType> genericTypes = new ArrayList<>();
+
+        Deque<GenericType> remaining = new ArrayDeque<>();
+        remaining.push(this);
+        while (!remaining.isEmpty()) {
+            GenericType genericType = remaining.pop();
+            genericTypes.add(genericType);
+
+            for (int i = genericType.arguments.size() - 1; i >= 0; i--) {
+                remaining.push(genericType.arguments.get(i));
+            }
+        }
+
+        return genericTypes;
+    }
+
+    private void appendDeclaration(StringBuilder declaration) {
+        declaration.append(this.name);
+        if (this.arguments.isEmpty()) {
+            return;
+        }
+
+        declaration.append('<');
+        for (int i = 0; i < this.arguments.size(); i++) {
+            if (i > 0) {
+                declaration.append(", ");
+            }
+            this.arguments.get(i).appendDeclaration(declaration);
+        }
+        declaration.append('>');
+    }
+
+}
@@ -0,0 +1,165 @@
+package github.jdrost1818.plaster.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Decides which paths should be left out when walking the source tree. Rules are
+ * written the same way as in a .gitignore file and are matched against paths relative
+ * to the root of the project:
+ *
+ *      target/             ->  any directory named target
+ *      /build              ->  only build at the root of the project
+ *      *.generated.java    ->  any file ending in .generated.java
+ *      !Keep.java          ->  do not leave out Keep.java, even if an earlier rule did
+ *
+ * Like git, the last rule matching a path wins, and nothing beneath a left out
+ * directory can be brought back, as the directory is never opened.
+ *
+ * Regardless of the rules, directories whose name could never be part of a
+ * package, such as .git or generated-sources, are always left out.
+ */
+public class IgnoreRules {
+
+    private static final Pattern PACKAGE_NAME = Pattern.compile("\\p{javaJavaIdentifierStart}\\p{javaJavaIdentifierPart}*");
+
+    /**
+     * Rules exactly as they were given, used to tell whether anything was indexed with different rules
+     */
+    @Getter
+    private final List<String> patterns;
+
+    private final List<Rule> rules = new ArrayList<>();
+
+    public IgnoreRules(List<String> patterns) {
+        this.patterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+
+        for (String pattern : patterns) {
+            Rule rule = Rule.parse(pattern);
+            if (nonNull(rule)) {
+                this.rules.add(rule);
+            }
+        }
+    }
+
+    public static IgnoreRules none() {
+        return new IgnoreRules(Collections.emptyList());
+    }
+
+    /**
+     * Determines whether the file or directory at the given path should be left out
+     *
+     * @param path
+     *          path relative to the root of the project, separated by /
+     * @param isDirectory
+     *          whether the path is a directory
+     * @return true if the path, and anything beneath it, should not be searched
+     */
+    public boolean isIgnored(String path, boolean isDirectory) {
+        String name = path.substring(path.lastIndexOf('/') + 1);
+        if (isDirectory && !PACKAGE_NAME.matcher(name).matches()) {
+            return true;
+        }
+
+        boolean ignored = false;
+        for (Rule rule : this.rules) {
+            if ((isDirectory || !rule.directoryOnly) && rule.regex.matcher(path).matches()) {
+                ignored = !rule.negated;
+            }
+        }
+
+        return ignored;
+    }
+
+    @AllArgsConstructor
+    private static class Rule {
+
+        private final Pattern regex;
+
+        private final boolean negated;
+
+        private final boolean directoryOnly;
+
+        /**
+         * Parses a single line of a .gitignore file
+         *
+         * @param line
+         *          line to parse
+         * @return the rule, null if the line is blank or a comment
+         */
+        private static Rule parse(String line) {
+            String pattern = line.trim();
+            if (pattern.isEmpty() || pattern.startsWith("#")) {
+                return null;
+            }
+
+            boolean negated = pattern.startsWith("!");
+            if (negated) {
+                pattern = pattern.substring(1);
+            } else if (pattern.startsWith("\\")) {
+                pattern = pattern.substring(1);
+            }
+
+            boolean directoryOnly = pattern.endsWith("/");
+            while (pattern.endsWith("/")) {
+                pattern = pattern.substring(0, pattern.length() - 1);
+            }
+
+            if (pattern.isEmpty()) {
+                return null;
+            }
+
+            // A pattern with a slash in it is relative to the root, otherwise it matches at any depth
+            boolean anchored = pattern.contains("/");
+            if (pattern.startsWith("/")) {
+                pattern = pattern.substring(1);
+            }
+
+            String regex = (anchored ? "" : "(?:.*/)?") + globToRegex(pattern);
+
+            return new Rule(Pattern.compile(regex), negated, directoryOnly);
+        }
+
+        private static String globToRegex(String glob) {
+            StringBuilder regex = new StringBuilder();
+
+            int i = 0;
+            while (i < glob.length()) {
+                char c = glob.charAt(i);
+
+                if (glob.startsWith("**/", i)) {
+                    regex.append("(?:.*/)?");
+                    i += 3;
+                } else if (glob.startsWith("**", i)) {
+                    regex.append(".*");
+                    i += 2;
+                } else if (c == '*') {
+                    regex.append("[^/]*");
+                    i++;
+                } else if (c == '?') {
+                    regex.append("[^/]");
+                    i++;
+                } else if (c == '[' && glob.indexOf(']', i) > i + 1) {
+                    int end = glob.indexOf(']', i);
+                    String group = glob.substring(i + 1, end).replace("\\", "\\\\");
+                    regex.append('[').append(group.startsWith("!") ? "^" + group.substring(1) : group).append(']');
+                    i = end + 1;
+                } else {
+                    regex.append(Pattern.quote(String.valueOf(c)));
+                    i++;
+                }
+            }
+
+            return regex.toString();
+        }
+
+    }
+
+}
@@ -0,0 +1,32 @@
+package github.jdrost1818.plaster.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * What came of generating the classes read from a file, see
+ * {@link github.jdrost1818.plaster.service.importer.ImportService}
+ */
+@Getter
+@AllArgsConstructor
+public class ImportResult {
+
+    /**
+     * Number of classes read from the file
+     */
+    private final int total;
+
+    /**
+     * Number of classes which were generated
+     */
+    private final int generated;
+
+    /**
+     * Why each class that could not be generated failed, and why the
+     * file could not be read to the end if it is malformed
+     */
+    private final List<String> failures;
+
+}
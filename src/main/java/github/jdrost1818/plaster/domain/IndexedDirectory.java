@@ -0,0 +1,40 @@
+package github.jdrost1818.plaster.domain;
+
+import github.jdrost1818.plaster.util.CacheFileUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A single directory as it was seen the last time a {@link ClassIndex} was refreshed.
+ * Holds only names, the paths are built from the key the directory is stored under.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexedDirectory {
+
+    private long lastModified;
+
+    private long scannedAt;
+
+    private List<String> sourceFiles = new ArrayList<>();
+
+    private List<String> subDirectories = new ArrayList<>();
+
+    /**
+     * Determines whether the listing held here can still be trusted for a directory
+     * which currently has the given modification time.
+     *
+     * @param currentLastModified
+     *          modification time of the directory on disk
+     * @return whether the directory has to be listed again
+     */
+    public boolean isUpToDate(long currentLastModified) {
+        return CacheFileUtil.isUnchanged(this.lastModified, this.scannedAt, currentLastModified);
+    }
+
+}
@@ -0,0 +1,30 @@
+package github.jdrost1818.plaster.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The classes of a single jar as they were seen the last time it was read. The listing
+ * is trusted for as long as the jar's modification time stays the same.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexedJar {
+
+    private long lastModified;
+
+    /**
+     * paths of the top level classes in the jar
+     *
+     * Example:
+     *
+     *      org/joda/money/Money.class
+     */
+    private List<String> classFiles = new ArrayList<>();
+
+}
@@ -0,0 +1,60 @@
+package github.jdrost1818.plaster.domain;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * A type whose class is known without searching for it, either one plaster knows
+ * about or one the project gave an alias in plaster.yml
+ *
+ * Example:
+ *
+ *      int     -> Integer, or int when primitives are used
+ *      uuid    -> UUID:java.util.UUID
+ */
+@Getter
+@EqualsAndHashCode
+public class RegisteredType {
+
+    /**
+     * Number of type arguments of a type whose type arguments are not known
+     */
+    public static final int ANY_TYPE_ARGUMENTS = -1;
+
+    private final Type type;
+
+    /**
+     * null if the type has no primitive equivalent
+     */
+    private final Type primitiveType;
+
+    private final int numTypedArgsRequired;
+
+    public RegisteredType(@NonNull Type type, Type primitiveType, int numTypedArgsRequired) {
+        this.type = type;
+        this.primitiveType = primitiveType;
+        this.numTypedArgsRequired = numTypedArgsRequired;
+    }
+
+    public Type getType(boolean shouldUsePrimitive) {
+        return nonNull(this.primitiveType) && shouldUsePrimitive ? this.primitiveType : this.type;
+    }
+
+    /**
+     * Checks whether the type may be given the number of type arguments. A raw
+     * type, without any type arguments, is always allowed.
+     *
+     * @param numTypedArgs
+     *          number of type arguments given
+     * @return whether the number is allowed
+     */
+    public boolean acceptsTypedArgs(int numTypedArgs) {
+        return numTypedArgs == 0
+                || this.numTypedArgsRequired == ANY_TYPE_ARGUMENTS
+                || numTypedArgs == this.numTypedArgsRequired;
+    }
+
+}
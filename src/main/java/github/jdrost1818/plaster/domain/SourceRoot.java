@@ -0,0 +1,29 @@
+package github.jdrost1818.plaster.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A directory of java sources that can be searched for classes. A single module
+ * project has one of these, a multi-module project has one for each module.
+ *
+ * Example:
+ *
+ *      basePath = module-a/src/main/java
+ *      appPath  = com/example/app
+ */
+@Data
+@AllArgsConstructor
+public class SourceRoot {
+
+    /**
+     * path from the root of the project to where packages start
+     */
+    private String basePath;
+
+    /**
+     * path from the base path to the module's code, derived from its maven group id
+     */
+    private String appPath;
+
+}
@@ -1,8 +1,13 @@
 package github.jdrost1818.plaster.domain;
 
-import lombok.Data;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.ToString;
+
+import static java.util.Objects.isNull;
 
 /**
  * A type represents a single class usage in a file. It contains the class's name and
@@ -20,14 +25,21 @@ import lombok.NonNull;
  *  Map<Integer, String>
  *
  *  For complex types see {@link TypeDeclaration}
+ *
+ * Types are never changed once built. Those plaster resolves are shared through
+ * {@link #of(String, Dependency)}, so the same class used by many fields is only
+ * held once.
  */
-@Data
+@Getter
+@ToString
 @EqualsAndHashCode
-public class Type implements PlasterTemplate {
+public final class Type implements PlasterTemplate {
 
-    private String className;
+    private static final Interner<Type> INTERNER = Interners.newWeakInterner();
 
-    private Dependency dependency;
+    private final String className;
+
+    private final Dependency dependency;
 
     public Type(String type) {
         this(type, null);
@@ -38,6 +50,25 @@ public class Type implements PlasterTemplate {
         this.dependency = dependency;
     }
 
+    public static Type of(String className) {
+        return of(className, null);
+    }
+
+    /**
+     * Gets the shared type of the given class. Its dependency is shared as well.
+     *
+     * @param className
+     *          name of the class
+     * @param dependency
+     *          import the class needs, null if it needs none
+     * @return the type, the same instance for every call with an equal class and dependency
+     */
+    public static Type of(String className, Dependency dependency) {
+        Dependency sharedDependency = isNull(dependency) ? null : Dependency.of(dependency.getPath());
+
+        return INTERNER.intern(new Type(className, sharedDependency));
+    }
+
     @Override
     public String getTemplate() {
         return this.className;
@@ -1,9 +1,12 @@
 package github.jdrost1818.plaster.domain;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import github.jdrost1818.plaster.util.TypeUtil;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -12,20 +15,47 @@ import java.util.List;
  *
  *  private int var; ->                             TypeDeclaration represents "int"
  *  private Map<List<Integer>, SomeClass> map; ->   TypeDeclaration represents "Map<List<Integer>, SomeClass>"
+ *
+ * Declarations plaster resolves are shared through {@link #of(GenericType)}, so a
+ * declaration such as List<Long> repeated across many fields is only held once.
  */
 @Getter
 @EqualsAndHashCode
 public class TypeDeclaration implements PlasterTemplate {
 
+    private static final Interner<TypeDeclaration> INTERNER = Interners.newWeakInterner();
+
     private final String declaration;
 
     private final List<Type> types;
 
+    /**
+     * Creates the declaration of a type whose classes have all been resolved
+     *
+     * @param genericType
+     *          the resolved type, see {@link GenericType#getType()}
+     */
+    public TypeDeclaration(GenericType genericType) {
+        this.declaration = genericType.getDeclaration();
+        this.types = Collections.unmodifiableList(genericType.getTypes());
+    }
+
     public TypeDeclaration(String declaration, List<Type> types) {
         this.declaration = TypeUtil.normalizeTypeString(declaration);
         this.types = types;
     }
 
+    /**
+     * Gets the shared declaration of a type whose classes have all been resolved
+     *
+     * @param genericType
+     *          the resolved type, see {@link GenericType#getType()}
+     * @return the declaration, the same instance for every call with an equal type
+     */
+    public static TypeDeclaration of(GenericType genericType) {
+        return INTERNER.intern(new TypeDeclaration(genericType));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,126 @@
+package github.jdrost1818.plaster.domain.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import github.jdrost1818.plaster.exception.PlasterException;
+import github.jdrost1818.plaster.util.TypeTokens;
+import github.jdrost1818.plaster.util.TypeUtil;
+import lombok.Data;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * A class to generate as part of a {@link BatchManifest}. Each property stands
+ * for the command line argument of the same name.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchEntity {
+
+    /**
+     * Name of the class to generate
+     */
+    private String name;
+
+    /**
+     * What to generate for the class, scaffold unless given
+     */
+    private String scope = "scaffold";
+
+    /**
+     * name:type pairs of the fields of the class
+     */
+    private List<String> fields = new ArrayList<>();
+
+    /**
+     * name:type pair of the key of the class. When not given, the key
+     * configured for the project is used
+     */
+    private String key;
+
+    /**
+     * Sub directory in which to generate the class, if any
+     */
+    private String dir;
+
+    /**
+     * An empty list rather than null when the file leaves the fields empty
+     */
+    public List<String> getFields() {
+        return isNull(this.fields) ? new ArrayList<>() : this.fields;
+    }
+
+    /**
+     * Gets the name of every type the key and fields use, such as List and Address for
+     * addresses:List<Address>. A type which cannot be parsed is left out, it is reported
+     * once the fields are resolved.
+     *
+     * @return the names of the types, as they are written
+     */
+    public Set<String> findTypeNames() {
+        List<String> fieldPairs = new ArrayList<>(this.getFields());
+        if (StringUtils.isNotBlank(this.key)) {
+            fieldPairs.add(this.key);
+        }
+
+        Set<String> typeNames = new LinkedHashSet<>();
+        for (String fieldPair : fieldPairs) {
+            try {
+                typeNames.addAll(TypeUtil.parseType(StringUtils.substringAfter(fieldPair, ":")).getNames());
+            } catch (PlasterException e) {
+                // Left for resolving the fields to report
+            }
+        }
+
+        return typeNames;
+    }
+
+    /**
+     * Replaces the names of types the key and fields use, such as Status by string in
+     * status:Status, keeping the rest of each type as it is
+     *
+     * @param replacements
+     *          type to use in place of each name
+     * @return whether any name was replaced
+     */
+    public boolean replaceTypeNames(Map<String, String> replacements) {
+        if (replacements.isEmpty()) {
+            return false;
+        }
+
+        List<String> fields = new ArrayList<>();
+        for (String fieldPair : this.getFields()) {
+            fields.add(replaceTypeNames(fieldPair, replacements));
+        }
+        String key = StringUtils.isBlank(this.key) ? this.key : replaceTypeNames(this.key, replacements);
+
+        boolean replaced = !fields.equals(this.getFields()) || !StringUtils.equals(key, this.key);
+        this.fields = fields;
+        this.key = key;
+
+        return replaced;
+    }
+
+    private static String replaceTypeNames(String fieldPair, Map<String, String> replacements) {
+        String fieldName = StringUtils.substringBefore(fieldPair, ":");
+        TypeTokens tokens = TypeTokens.tokenize(StringUtils.substringAfter(fieldPair, ":"));
+
+        StringBuilder type = new StringBuilder(tokens.getSource());
+        for (int i = tokens.size() - 1; i >= 0; i--) {
+            String replacement = tokens.isName(i) ? replacements.get(tokens.getText(i)) : null;
+            if (nonNull(replacement)) {
+                type.replace(tokens.getStart(i), tokens.getEnd(i), replacement);
+            }
+        }
+
+        return fieldName + ":" + type;
+    }
+
+}
@@ -0,0 +1,35 @@
+package github.jdrost1818.plaster.domain.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Every class to generate in a single run of plaster, read from a yml or json file.
+ *
+ *      entities:
+ *        - name: Customer
+ *          dir: billing
+ *          key: id:Long
+ *          fields:
+ *            - name:String
+ *            - address:Address
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchManifest {
+
+    private List<BatchEntity> entities = new ArrayList<>();
+
+    /**
+     * An empty list rather than null when the file leaves the entities empty
+     */
+    public List<BatchEntity> getEntities() {
+        return isNull(this.entities) ? new ArrayList<>() : this.entities;
+    }
+
+}
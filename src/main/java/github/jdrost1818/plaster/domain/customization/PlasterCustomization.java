@@ -3,6 +3,8 @@ package github.jdrost1818.plaster.domain.customization;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
 
+import java.util.Map;
+
 @Data
 public class PlasterCustomization {
 
@@ -15,4 +17,17 @@ public class PlasterCustomization {
     @JsonIgnoreProperties(ignoreUnknown = true)
     PropertyCustomization property;
 
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    SearchCustomization search;
+
+    /**
+     * Maps each alias to the fully qualified class it stands for
+     */
+    Map<String, String> types;
+
+    /**
+     * Name of the renderer to generate files with
+     */
+    String renderer;
+
 }
@@ -0,0 +1,20 @@
+package github.jdrost1818.plaster.domain.customization;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SearchCustomization {
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private Integer threads;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private List<String> exclude;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private String repository;
+
+}
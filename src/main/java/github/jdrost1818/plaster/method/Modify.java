@@ -14,6 +14,8 @@ public class Modify {
 
     public static final PlasterMethod REPOSITORY = (PlasterMethod<RepositoryModifier>) RepositoryModifier::modifyRepository;
 
+    public static final PlasterMethod SCAFFOLD = (PlasterMethod<ScaffoldModifier>) ScaffoldModifier::modifyScaffold;
+
     public static final PlasterMethod FIELDS = (PlasterMethod<FieldModifier>) FieldModifier::modifyField;
 
 }
@@ -0,0 +1,267 @@
+package github.jdrost1818.plaster.pipeline;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import github.jdrost1818.plaster.exception.PlasterException;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Runs plaster commands read from a stream, one per line, in the same syntax
+ * as the command line:
+ *
+ *      plaster --stdin < commands.txt
+ *
+ *      g model Address street:string
+ *      g scaffold Customer name:string addresses:list<address> -k code:string
+ *
+ * While a command runs, the lines after it are already being read and parsed on
+ * another thread. The commands themselves are run one at a time in the order they
+ * arrive, since a later one may use a class generated by an earlier one.
+ *
+ * The result of each command is written as a single line of json as soon as it is
+ * done, for example:
+ *
+ *      {"line":1,"command":"g model Address street:string","status":"ok","output":""}
+ *      {"line":2,"command":"g model 1","status":"failed","output":"","error":"Plaster doesn't support..."}
+ *
+ * Blank lines are skipped.
+ */
+public class StdinPipeline {
+
+    public static final String COMMAND = "--stdin";
+
+    static final String STATUS_OK = "ok";
+
+    static final String STATUS_FAILED = "failed";
+
+    /**
+     * How many parsed commands may be waiting to run before reading pauses
+     */
+    private static final int QUEUE_SIZE = 64;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final InputStream in;
+
+    private final PrintStream out;
+
+    private final Function<String[], Runnable> prepare;
+
+    /**
+     * @param in
+     *          where to read commands from
+     * @param out
+     *          where to write the result of each command
+     * @param prepare
+     *          parses and validates the arguments of a command, returning what runs it.
+     *          Called on the reading thread, so it must not depend on earlier commands
+     *          having been run. Throws a {@link PlasterException} if the command is invalid.
+     */
+    public StdinPipeline(InputStream in, PrintStream out, Function<String[], Runnable> prepare) {
+        this.in = in;
+        this.out = out;
+        this.prepare = prepare;
+    }
+
+    /**
+     * Whether the arguments ask for commands to be read from stdin
+     *
+     * @param args
+     *          command line arguments
+     * @return true if the arguments are exactly "--stdin"
+     */
+    public static boolean isStdinCommand(String[] args) {
+        return args.length == 1 && COMMAND.equals(args[0]);
+    }
+
+    /**
+     * Runs every command until the end of the stream is reached
+     *
+     * @return how many of the commands failed
+     */
+    public int run() {
+        BlockingQueue<Command> commands = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        Reader reader = new Reader(commands);
+
+        Thread readThread = new Thread(reader, "plaster-stdin");
+        readThread.setDaemon(true);
+        readThread.start();
+
+        int failures = 0;
+        try {
+            Command command = commands.take();
+            while (!command.isEnd()) {
+                if (!this.execute(command)) {
+                    failures++;
+                }
+                command = commands.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PlasterException("Interrupted while reading commands", e);
+        }
+
+        if (nonNull(reader.failure)) {
+            throw new PlasterException("Could not read commands from stdin", reader.failure);
+        }
+
+        return failures;
+    }
+
+    /**
+     * Runs a single command, with everything it prints captured into its result.
+     * Since commands are run one at a time, the standard output can simply be swapped.
+     *
+     * @return whether the command succeeded
+     */
+    private boolean execute(Command command) {
+        String error = command.error;
+        ByteArrayOutputStream runOut = new ByteArrayOutputStream();
+
+        if (isNull(error)) {
+            PrintStream stdOut = System.out;
+            try (PrintStream captured = newPrintStream(runOut)) {
+                System.setOut(captured);
+                command.runnable.run();
+            } catch (PlasterException e) {
+                error = e.getMessage();
+            } catch (RuntimeException e) {
+                error = e.toString();
+            } finally {
+                System.setOut(stdOut);
+            }
+        }
+
+        ObjectNode result = MAPPER.createObjectNode();
+        result.put("line", command.lineNumber);
+        result.put("command", command.line);
+        result.put("status", isNull(error) ? STATUS_OK : STATUS_FAILED);
+        result.put("output", new String(runOut.toByteArray(), StandardCharsets.UTF_8));
+        if (nonNull(error)) {
+            result.put("error", error);
+        }
+
+        try {
+            this.out.println(MAPPER.writeValueAsString(result));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        this.out.flush();
+
+        return isNull(error);
+    }
+
+    private static PrintStream newPrintStream(ByteArrayOutputStream stream) {
+        try {
+            return new PrintStream(stream, true, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads and prepares commands ahead of the ones being run
+     */
+    private class Reader implements Runnable {
+
+        private final BlockingQueue<Command> commands;
+
+        private volatile IOException failure;
+
+        private Reader(BlockingQueue<Command> commands) {
+            this.commands = commands;
+        }
+
+        @Override
+        public void run() {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(StdinPipeline.this.in, StandardCharsets.UTF_8));
+
+            try {
+                int lineNumber = 0;
+                String line;
+                while (nonNull(line = reader.readLine())) {
+                    lineNumber++;
+                    if (StringUtils.isNotBlank(line)) {
+                        this.commands.put(this.prepare(lineNumber, line.trim()));
+                    }
+                }
+            } catch (IOException e) {
+                this.failure = e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                this.end();
+            }
+        }
+
+        /**
+         * Tells the running side there is nothing more to come. The queue
+         * is always being drained, so there will be room for the marker.
+         */
+        private void end() {
+            try {
+                this.commands.put(Command.END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private Command prepare(int lineNumber, String line) {
+            try {
+                Runnable runnable = StdinPipeline.this.prepare.apply(StringUtils.split(line));
+
+                return new Command(lineNumber, line, runnable, null);
+            } catch (PlasterException e) {
+                return new Command(lineNumber, line, null, e.getMessage());
+            } catch (RuntimeException e) {
+                return new Command(lineNumber, line, null, e.toString());
+            }
+        }
+
+    }
+
+    /**
+     * A line read from the stream, either ready to run or with why it cannot be
+     */
+    private static class Command {
+
+        private static final Command END = new Command(0, null, null, null);
+
+        private final int lineNumber;
+
+        private final String line;
+
+        private final Runnable runnable;
+
+        private final String error;
+
+        private Command(int lineNumber, String line, Runnable runnable, String error) {
+            this.lineNumber = lineNumber;
+            this.line = line;
+            this.runnable = runnable;
+            this.error = error;
+        }
+
+        private boolean isEnd() {
+            return this == END;
+        }
+
+    }
+
+}
@@ -0,0 +1,303 @@
+package github.jdrost1818.plaster.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import github.jdrost1818.plaster.data.Mode;
+import github.jdrost1818.plaster.data.ModeScope;
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.domain.Field;
+import github.jdrost1818.plaster.domain.FileInformation;
+import github.jdrost1818.plaster.domain.batch.BatchEntity;
+import github.jdrost1818.plaster.domain.batch.BatchManifest;
+import github.jdrost1818.plaster.exception.PlasterException;
+import github.jdrost1818.plaster.service.modifier.GenerateService;
+import github.jdrost1818.plaster.service.template.TemplateCache;
+import github.jdrost1818.plaster.util.ArgParseUtil;
+import lombok.AllArgsConstructor;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Generates every class listed in a {@link BatchManifest} in a single run of plaster.
+ *
+ * The settings, the index of the project and the templates are loaded once for the
+ * whole batch. Every entity is validated before anything is generated. The classes
+ * are then generated in parallel, each independently of the others, so one failing
+ * does not keep the rest from being generated.
+ *
+ * An entity may use another entity of the manifest as the type of a field. Entities
+ * are therefore generated in levels: each entity is generated only once every entity
+ * it uses has been, after which the index of the project is brought up to date so
+ * that it can find them.
+ *
+ *      entities:                       level 1: customer
+ *        - name: order                 level 2: order
+ *          fields: [customer:customer]
+ *        - name: customer
+ *
+ *      plaster batch manifest.yml
+ */
+@AllArgsConstructor
+public class BatchService {
+
+    public static final String COMMAND = "batch";
+
+    private final ConfigurationService configurationService;
+
+    private final FieldService fieldService;
+
+    private final GenerateService generateService;
+
+    private final TemplateCache templateCache;
+
+    private final ClassIndexService classIndexService;
+
+    private final TypeResolutionCache typeResolutionCache;
+
+    /**
+     * Whether the arguments ask for a batch to be generated
+     *
+     * @param args
+     *          command line arguments
+     * @return true if the arguments are "batch" followed by a manifest
+     */
+    public static boolean isBatchCommand(String[] args) {
+        return args.length == 2 && COMMAND.equals(args[0]);
+    }
+
+    /**
+     * Reads a manifest, which is either yml or json depending on its extension
+     *
+     * @param manifestFile
+     *          file to read
+     * @return the manifest
+     * @throws PlasterException if the file does not exist or cannot be read
+     */
+    public BatchManifest load(File manifestFile) {
+        if (!manifestFile.isFile()) {
+            throw new PlasterException("Cannot find batch manifest: " + manifestFile.getPath());
+        }
+
+        ObjectMapper mapper;
+        switch (FilenameUtils.getExtension(manifestFile.getName()).toLowerCase()) {
+            case "yml":
+            case "yaml":
+                mapper = new ObjectMapper(new YAMLFactory());
+                break;
+            case "json":
+                mapper = new ObjectMapper();
+                break;
+            default:
+                throw new PlasterException("Batch manifest must be a .yml or .json file: " + manifestFile.getPath());
+        }
+
+        try {
+            BatchManifest manifest = mapper.readValue(manifestFile, BatchManifest.class);
+
+            return isNull(manifest) ? new BatchManifest() : manifest;
+        } catch (IOException e) {
+            throw new PlasterException("Batch manifest is malformed: " + manifestFile.getPath(), e);
+        }
+    }
+
+    /**
+     * Generates every entity of the manifest
+     *
+     * @param manifest
+     *          entities to generate
+     * @return why each entity that could not be generated failed, in the order of the manifest
+     * @throws PlasterException if any entity is invalid, in which case nothing is generated
+     */
+    public List<String> generate(BatchManifest manifest) {
+        List<BatchEntity> entities = manifest.getEntities();
+        if (entities.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<ModeScope> scopes = this.validate(entities);
+        List<Set<Integer>> dependencies = findDependencies(entities);
+        List<String> names = entities.stream().map(BatchEntity::getName).collect(Collectors.toList());
+        String defaultKey = this.configurationService.get(Setting.KEY);
+
+        this.templateCache.warmUp();
+
+        int threads = Math.min(entities.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "plaster-batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Why each entity failed, by its position in the manifest
+        Map<Integer, String> failures = new TreeMap<>();
+        Set<Integer> remaining = IntStream.range(0, entities.size()).boxed().collect(Collectors.toCollection(LinkedHashSet::new));
+        try {
+            while (!remaining.isEmpty()) {
+                List<Integer> level = remaining.stream()
+                        .filter(i -> dependencies.get(i).stream().noneMatch(remaining::contains))
+                        .collect(Collectors.toList());
+
+                if (level.isEmpty()) {
+                    // Every entity left waits on another one left
+                    for (int i : remaining) {
+                        String waitingOn = dependencies.get(i).stream()
+                                .filter(remaining::contains)
+                                .map(d -> describe(entities, d))
+                                .collect(Collectors.joining(", "));
+                        failures.put(i, describe(entities, i) + ": Uses classes of the batch which cannot be generated before it: " + waitingOn);
+                    }
+                    break;
+                }
+
+                if (remaining.size() < entities.size()) {
+                    // Let this level find the classes generated by the ones before
+                    this.classIndexService.invalidate();
+                    this.typeResolutionCache.forget(names);
+                }
+
+                remaining.removeAll(level);
+                this.generateLevel(entities, scopes, level, defaultKey, pool, failures);
+            }
+
+            return new ArrayList<>(failures.values());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PlasterException("Interrupted while generating batch", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Generates a level of entities in parallel. Each entity has its key and fields
+     * resolved on its own, so an entity whose types cannot be found fails alone.
+     */
+    private void generateLevel(List<BatchEntity> entities, List<ModeScope> scopes, List<Integer> level, String defaultKey,
+                               ExecutorService pool, Map<Integer, String> failures) throws InterruptedException {
+        Map<Integer, Future<?>> generations = new LinkedHashMap<>();
+        for (int i : level) {
+            FileInformation fileInformation;
+            try {
+                fileInformation = this.resolve(entities.get(i), defaultKey);
+            } catch (PlasterException e) {
+                failures.put(i, describe(entities, i) + ": " + e.getMessage());
+                continue;
+            }
+
+            ModeScope scope = scopes.get(i);
+            generations.put(i, pool.submit(() -> scope.modify(this.generateService, fileInformation)));
+        }
+
+        for (Map.Entry<Integer, Future<?>> generation : generations.entrySet()) {
+            try {
+                generation.getValue().get();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                String reason = cause instanceof PlasterException ? cause.getMessage() : cause.toString();
+                failures.put(generation.getKey(), describe(entities, generation.getKey()) + ": " + reason);
+            }
+        }
+    }
+
+    /**
+     * Validates every entity up front, the same way the command line arguments are
+     *
+     * @return the scope of each entity
+     * @throws PlasterException listing every invalid entity
+     */
+    private List<ModeScope> validate(List<BatchEntity> entities) {
+        List<ModeScope> scopes = new ArrayList<>();
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            BatchEntity entity = entities.get(i);
+            try {
+                ArgParseUtil.validateClassName(entity.getName());
+                scopes.add(Mode.GENERATE.getScope(entity.getScope()));
+                entity.getFields().forEach(FieldService::validateFieldPair);
+                ArgParseUtil.validateDir(entity.getDir());
+                if (StringUtils.isNotBlank(entity.getKey())) {
+                    FieldService.validateFieldPair(entity.getKey());
+                }
+            } catch (PlasterException e) {
+                errors.add(describe(entities, i) + ": " + e.getMessage());
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new PlasterException("Invalid batch manifest, nothing was generated:"
+                    + System.lineSeparator() + "\t"
+                    + StringUtils.join(errors, System.lineSeparator() + "\t"));
+        }
+
+        return scopes;
+    }
+
+    /**
+     * Finds the other entities of the manifest which each entity uses, anywhere in the
+     * type of its key or of one of its fields. Class names are matched ignoring case,
+     * the same way the project is searched.
+     *
+     * @return the positions of the entities each entity uses
+     */
+    private static List<Set<Integer>> findDependencies(List<BatchEntity> entities) {
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            positions.putIfAbsent(entities.get(i).getName().toLowerCase(), i);
+        }
+
+        List<Set<Integer>> dependencies = new ArrayList<>();
+        for (int i = 0; i < entities.size(); i++) {
+            Set<Integer> used = new HashSet<>();
+            for (String typeName : entities.get(i).findTypeNames()) {
+                Integer position = positions.get(typeName.toLowerCase());
+                if (nonNull(position) && position != i) {
+                    used.add(position);
+                }
+            }
+            dependencies.add(used);
+        }
+
+        return dependencies;
+    }
+
+    /**
+     * Resolves the key and fields of an entity. A custom type is only searched for
+     * once in the whole batch, see {@link TypeResolutionCache}.
+     */
+    private FileInformation resolve(BatchEntity entity, String defaultKey) {
+        Field key = this.fieldService.convertToField(StringUtils.isNotBlank(entity.getKey()) ? entity.getKey() : defaultKey);
+        List<Field> fields = this.fieldService.convertToFields(entity.getFields());
+
+        String subDirPath = StringUtils.isBlank(entity.getDir()) ? "" : "/" + entity.getDir();
+
+        return new FileInformation(entity.getName(), key, fields, subDirPath);
+    }
+
+    private static String describe(List<BatchEntity> entities, int index) {
+        String name = entities.get(index).getName();
+
+        return StringUtils.isBlank(name) ? "Entity " + (index + 1) : name;
+    }
+
+}
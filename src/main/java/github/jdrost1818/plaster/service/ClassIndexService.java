@@ -0,0 +1,382 @@
+package github.jdrost1818.plaster.service;
+
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.domain.ClassIndex;
+import github.jdrost1818.plaster.domain.IgnoreRules;
+import github.jdrost1818.plaster.domain.IndexedDirectory;
+import github.jdrost1818.plaster.domain.SourceRoot;
+import github.jdrost1818.plaster.util.CacheFileUtil;
+import github.jdrost1818.plaster.util.PathUtil;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Keeps a {@link ClassIndex} for each searched source root, persisted under
+ * .plaster/index in the project. The first time an index is requested during a run
+ * it is brought up to date by comparing the modification time of every directory
+ * with the one stored in the index, only directories which changed are listed again.
+ * After that, every lookup for the rest of the run is served from memory.
+ *
+ * The walk fans out over a fork/join pool with one task per directory. The size of
+ * the pool is configured by {@link Setting#SEARCH_THREADS}. When a project has several
+ * source roots, such as the modules of a maven reactor, they are all walked at once.
+ *
+ * Paths matched by the project's .gitignore or {@link Setting#SEARCH_EXCLUDE} are pruned
+ * during the walk, see {@link IgnoreRules}.
+ */
+@RequiredArgsConstructor
+public class ClassIndexService {
+
+    private static final String INDEX_DIR = ".plaster/index";
+
+    private final ConfigurationService configurationService;
+
+    private final Map<String, ClassIndex> refreshedIndexes = new HashMap<>();
+
+    /**
+     * Each index as it was first refreshed since the last {@link #refresh(String, List)},
+     * which is kept through {@link #invalidate()} so that the next refresh can tell what changed
+     */
+    private final Map<String, ClassIndex> baselineIndexes = new HashMap<>();
+
+    private ForkJoinPool pool;
+
+    /**
+     * Gets the up-to-date index of all java files under the search path
+     *
+     * @param projectPath
+     *          path to the root of the project, this is where the index is stored
+     * @param basePath
+     *          path from the project to the app's code, all indexed paths are relative to this
+     * @param searchPath
+     *          path from the base path at which to start indexing
+     * @return the index, empty if the search path does not exist
+     */
+    public ClassIndex getIndex(String projectPath, String basePath, String searchPath) {
+        return this.getIndexes(projectPath, Collections.singletonList(new SourceRoot(basePath, searchPath))).get(0);
+    }
+
+    /**
+     * Gets the up-to-date index for each of the given source roots. All the source roots
+     * which still need to be refreshed during this run are walked at the same time,
+     * sharing the one pool of threads.
+     *
+     * @param projectPath
+     *          path to the root of the project, this is where the indexes are stored
+     * @param sourceRoots
+     *          source roots to index
+     * @return the index of each source root, in the same order as the source roots
+     */
+    public synchronized List<ClassIndex> getIndexes(String projectPath, List<SourceRoot> sourceRoots) {
+        List<ClassIndex> indexes = new ArrayList<>();
+        List<PendingRefresh> pendingRefreshes = new ArrayList<>();
+        IgnoreRules ignoreRules = this.loadIgnoreRules(projectPath);
+        long now = System.currentTimeMillis();
+
+        for (SourceRoot sourceRoot : sourceRoots) {
+            File baseDir = new File(PathUtil.joinPath(projectPath, sourceRoot.getBasePath()));
+            String relSearchPath = PathUtil.normalize(StringUtils.defaultString(sourceRoot.getAppPath()), "/");
+            File searchDir = new File(baseDir, relSearchPath);
+            File indexFile = this.getIndexFile(projectPath, sourceRoot.getBasePath(), relSearchPath);
+
+            ClassIndex index = this.refreshedIndexes.get(indexFile.getPath());
+            if (!searchDir.isDirectory()) {
+                index = ClassIndex.empty();
+            } else if (isNull(index)) {
+                // Anything indexed under different rules may hold directories which should now be left out
+                ClassIndex stored = CacheFileUtil.read(indexFile, ClassIndex.class, ClassIndex.empty());
+                Map<String, IndexedDirectory> known = ignoreRules.getPatterns().equals(stored.getIgnoreRules())
+                        ? stored.getDirectories()
+                        : Collections.emptyMap();
+
+                pendingRefreshes.add(new PendingRefresh(indexes.size(), indexFile, known, searchDir, relSearchPath,
+                        PathUtil.normalize(sourceRoot.getBasePath(), "/"), ignoreRules, now));
+            }
+
+            indexes.add(index);
+        }
+
+        if (pendingRefreshes.isEmpty()) {
+            return indexes;
+        }
+
+        List<RefreshDirectoryTask> tasks = pendingRefreshes.stream()
+                .map(p -> new RefreshDirectoryTask(p.searchDir.toPath(), p.relSearchPath, null, p))
+                .collect(Collectors.toList());
+        this.getPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+
+        for (PendingRefresh pendingRefresh : pendingRefreshes) {
+            ClassIndex index = new ClassIndex(pendingRefresh.refreshed, ignoreRules.getPatterns());
+            if (!pendingRefresh.refreshed.equals(pendingRefresh.known)) {
+                CacheFileUtil.write(pendingRefresh.indexFile, index);
+            }
+
+            this.refreshedIndexes.put(pendingRefresh.indexFile.getPath(), index);
+            this.baselineIndexes.putIfAbsent(pendingRefresh.indexFile.getPath(), index);
+            indexes.set(pendingRefresh.position, index);
+        }
+
+        return indexes;
+    }
+
+    /**
+     * Forgets that any index has been refreshed during this run, so the next
+     * request for an index will check the disk for changes again.
+     */
+    public synchronized void invalidate() {
+        this.refreshedIndexes.clear();
+    }
+
+    /**
+     * Checks the disk for changes to the indexes of the given source roots, the same as
+     * {@link #invalidate()} followed by {@link #getIndexes(String, List)}, and tells which
+     * classes changed since the last time this was done. A source root which was not
+     * indexed before counts all of its classes as changed.
+     *
+     * @param projectPath
+     *          path to the root of the project, this is where the indexes are stored
+     * @param sourceRoots
+     *          source roots to index
+     * @return the lower-cased names of the classes which were added, moved or removed
+     */
+    public synchronized Set<String> refresh(String projectPath, List<SourceRoot> sourceRoots) {
+        Map<String, ClassIndex> previousIndexes = new HashMap<>(this.baselineIndexes);
+        this.baselineIndexes.clear();
+        this.invalidate();
+        this.getIndexes(projectPath, sourceRoots);
+
+        Set<String> changed = new HashSet<>();
+        for (Map.Entry<String, ClassIndex> previous : previousIndexes.entrySet()) {
+            ClassIndex current = this.refreshedIndexes.getOrDefault(previous.getKey(), ClassIndex.empty());
+            changed.addAll(current.findChangedClassNames(previous.getValue()));
+        }
+        for (Map.Entry<String, ClassIndex> current : this.refreshedIndexes.entrySet()) {
+            if (!previousIndexes.containsKey(current.getKey())) {
+                changed.addAll(current.getValue().findChangedClassNames(ClassIndex.empty()));
+            }
+        }
+
+        return changed;
+    }
+
+    private ForkJoinPool getPool() {
+        int threads = this.configurationService.getInt(Setting.SEARCH_THREADS);
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        if (isNull(this.pool) || this.pool.getParallelism() != parallelism) {
+            if (nonNull(this.pool)) {
+                this.pool.shutdown();
+            }
+            this.pool = new ForkJoinPool(parallelism);
+        }
+
+        return this.pool;
+    }
+
+    /**
+     * A source root whose index has not yet been refreshed during this run
+     */
+    @RequiredArgsConstructor
+    private static class PendingRefresh {
+
+        private final int position;
+
+        private final File indexFile;
+
+        private final Map<String, IndexedDirectory> known;
+
+        private final File searchDir;
+
+        private final String relSearchPath;
+
+        /**
+         * path from the project to the base path, which the ignore rules are relative to
+         */
+        private final String basePath;
+
+        private final IgnoreRules ignoreRules;
+
+        /**
+         * time at which this refresh started
+         */
+        private final long now;
+
+        /**
+         * directories that have been brought up to date so far
+         */
+        private final Map<String, IndexedDirectory> refreshed = new ConcurrentHashMap<>();
+
+    }
+
+    /**
+     * Brings a single directory up to date and forks a task for each of its sub directories.
+     * A directory whose modification time has not changed keeps its stored listing, and
+     * only needs to have the modification times of its sub directories checked.
+     *
+     * Listing a directory reads the attributes of each entry exactly once, and those
+     * attributes are handed down to the sub directory tasks so they are not read again.
+     */
+    @AllArgsConstructor
+    private static class RefreshDirectoryTask extends RecursiveAction {
+
+        /**
+         * directory to refresh
+         */
+        private final Path dir;
+
+        /**
+         * path of the directory relative to the base path
+         */
+        private final String relPath;
+
+        /**
+         * modification time of the directory if it was read while listing its parent
+         */
+        private final Long lastModified;
+
+        /**
+         * source root this directory belongs to
+         */
+        private final PendingRefresh refresh;
+
+        @Override
+        protected void compute() {
+            Long currentLastModified = nonNull(this.lastModified) ? this.lastModified : readLastModified(this.dir);
+
+            // The directory was removed since it was last seen
+            if (isNull(currentLastModified)) {
+                return;
+            }
+
+            IndexedDirectory directory = this.refresh.known.get(this.relPath);
+            Map<String, Long> subDirModifiedTimes = new HashMap<>();
+            if (isNull(directory) || !directory.isUpToDate(currentLastModified)) {
+                directory = this.scanDirectory(currentLastModified, subDirModifiedTimes);
+            }
+
+            if (isNull(directory)) {
+                return;
+            }
+
+            this.refresh.refreshed.put(this.relPath, directory);
+
+            List<RefreshDirectoryTask> subTasks = new ArrayList<>();
+            for (String subDirectory : directory.getSubDirectories()) {
+                String subPath = this.relPath.isEmpty() ? subDirectory : this.relPath + "/" + subDirectory;
+                subTasks.add(new RefreshDirectoryTask(
+                        this.dir.resolve(subDirectory),
+                        subPath,
+                        subDirModifiedTimes.get(subDirectory),
+                        this.refresh));
+            }
+
+            invokeAll(subTasks);
+        }
+
+        private static Long readLastModified(Path dir) {
+            try {
+                return Files.readAttributes(dir, BasicFileAttributes.class).lastModifiedTime().toMillis();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Lists the directory, leaving out anything matched by the ignore rules.
+         * Ignored directories are never listed themselves, so nothing beneath them is read.
+         */
+        private IndexedDirectory scanDirectory(long lastModified, Map<String, Long> subDirModifiedTimes) {
+            List<String> sourceFiles = new ArrayList<>();
+            List<String> subDirectories = new ArrayList<>();
+            String projectRelPath = Stream.of(this.refresh.basePath, this.relPath)
+                    .filter(StringUtils::isNotEmpty)
+                    .collect(Collectors.joining("/"));
+
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(this.dir)) {
+                for (Path entry : entries) {
+                    String name = entry.getFileName().toString();
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    } catch (IOException e) {
+                        // Such as a dangling symlink, or an entry deleted while listing. Only it is left out
+                        continue;
+                    }
+
+                    String entryPath = projectRelPath.isEmpty() ? name : projectRelPath + "/" + name;
+                    if (this.refresh.ignoreRules.isIgnored(entryPath, attributes.isDirectory())) {
+                        continue;
+                    }
+
+                    if (attributes.isDirectory()) {
+                        subDirectories.add(name);
+                        subDirModifiedTimes.put(name, attributes.lastModifiedTime().toMillis());
+                    } else if (attributes.isRegularFile() && name.toLowerCase().endsWith(".java")) {
+                        sourceFiles.add(name);
+                    }
+                }
+            } catch (IOException e) {
+                return null;
+            }
+
+            return new IndexedDirectory(lastModified, this.refresh.now, sourceFiles, subDirectories);
+        }
+
+    }
+
+    /**
+     * Gathers the rules of the project's .gitignore file, followed by those in {@link Setting#SEARCH_EXCLUDE}
+     */
+    private IgnoreRules loadIgnoreRules(String projectPath) {
+        List<String> patterns = new ArrayList<>();
+
+        File gitignore = new File(PathUtil.joinPath(projectPath, ".gitignore"));
+        if (gitignore.isFile()) {
+            try {
+                patterns.addAll(Files.readAllLines(gitignore.toPath(), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                // An unreadable .gitignore is treated as if there were none
+            }
+        }
+
+        patterns.addAll(this.configurationService.getList(Setting.SEARCH_EXCLUDE));
+
+        return new IgnoreRules(patterns);
+    }
+
+    private File getIndexFile(String projectPath, String basePath, String searchPath) {
+        String indexName = PathUtil.normalize(PathUtil.joinPath(basePath, searchPath), ".");
+
+        return new File(PathUtil.joinPath(projectPath, INDEX_DIR, StringUtils.defaultIfBlank(indexName, "root") + ".json"));
+    }
+
+}
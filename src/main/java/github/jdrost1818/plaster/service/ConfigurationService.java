@@ -2,18 +2,25 @@ package github.jdrost1818.plaster.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import github.jdrost1818.plaster.data.Regex;
+import github.jdrost1818.plaster.data.Renderer;
 import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.domain.Artifact;
+import github.jdrost1818.plaster.domain.SourceRoot;
 import github.jdrost1818.plaster.domain.customization.DirectoryCustomization;
 import github.jdrost1818.plaster.domain.customization.LombokCustomization;
 import github.jdrost1818.plaster.domain.customization.PlasterCustomization;
 import github.jdrost1818.plaster.domain.customization.PropertyCustomization;
+import github.jdrost1818.plaster.domain.customization.SearchCustomization;
 import github.jdrost1818.plaster.exception.PlasterException;
 import github.jdrost1818.plaster.util.PathUtil;
 import lombok.NoArgsConstructor;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.math.NumberUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.SAXException;
 
@@ -22,8 +29,13 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
@@ -35,6 +47,26 @@ public class ConfigurationService {
 
     private String applicationRoot;
 
+    /**
+     * Maps the path of each module, from the root of the project, to its app path
+     */
+    private Map<String, String> modulePaths = new LinkedHashMap<>();
+
+    /**
+     * Dependencies declared by the project and its modules
+     */
+    private List<Artifact> dependencies = new ArrayList<>();
+
+    /**
+     * Settings as they were when last loaded, before any command line arguments were applied
+     */
+    private Map<Setting, String> loadedSettings = new HashMap<>();
+
+    /**
+     * Modification time of every file the settings were loaded from
+     */
+    private Map<File, Long> loadedFiles = new HashMap<>();
+
     /**
      * This should not be used anywhere but when we are parsing the command
      * line arguments in {@link github.jdrost1818.plaster.Plaster}
@@ -56,14 +88,107 @@ public class ConfigurationService {
         return Boolean.valueOf(this.configMap.get(setting));
     }
 
+    public int getInt(Setting setting) {
+        return NumberUtils.toInt(this.configMap.get(setting));
+    }
+
+    public List<String> getList(Setting setting) {
+        String value = this.configMap.get(setting);
+
+        return StringUtils.isBlank(value) ? new ArrayList<>() : new ArrayList<>(Arrays.asList(value.split(",")));
+    }
+
+    /**
+     * Gets a setting made of comma separated key=value pairs, such as {@link Setting#TYPE_ALIASES}
+     *
+     * @param setting
+     *          setting to get
+     * @return the pairs, in the order they were given
+     */
+    public Map<String, String> getMap(Setting setting) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String entry : this.getList(setting)) {
+            int separator = entry.indexOf('=');
+            if (separator > 0) {
+                map.put(entry.substring(0, separator), entry.substring(separator + 1));
+            }
+        }
+
+        return map;
+    }
+
+    /**
+     * Gets every directory of java sources in the project. The first is always the
+     * project's own {@link Setting#BASE_PATH}, followed by one for each module declared
+     * in the pom, or in the poms of those modules.
+     *
+     * @return the source roots of the project
+     */
+    public List<SourceRoot> getSourceRoots() {
+        String basePath = this.get(Setting.BASE_PATH);
+
+        List<SourceRoot> sourceRoots = new ArrayList<>();
+        sourceRoots.add(new SourceRoot(basePath, this.get(Setting.APP_PATH)));
+        for (Map.Entry<String, String> module : this.modulePaths.entrySet()) {
+            sourceRoots.add(new SourceRoot(PathUtil.joinPath(module.getKey(), basePath), module.getValue()));
+        }
+
+        return sourceRoots;
+    }
+
+    /**
+     * Gets the dependencies declared in the pom, and in the poms of any modules,
+     * which are available to the project's main code. Test and runtime scoped
+     * dependencies are left out.
+     *
+     * @return the dependencies of the project
+     */
+    public List<Artifact> getDependencies() {
+        return new ArrayList<>(this.dependencies);
+    }
+
     public ConfigurationService load(String applicationRoot) {
+        this.loadedFiles.clear();
+
         this.loadDefaultSettings(applicationRoot);
         this.loadFromPom();
         this.loadFromSettingsFile();
 
+        this.loadedSettings = new HashMap<>(this.configMap);
+        this.watchFile("pom.xml");
+        this.watchFile("plaster.yml");
+        for (String modulePath : this.modulePaths.keySet()) {
+            this.watchFile(PathUtil.joinPath(modulePath, "pom.xml"));
+        }
+
         return this;
     }
 
+    /**
+     * Prepares the settings for another run in the same process. Anything put since
+     * the last load, such as command line arguments, is forgotten. If the pom.xml or
+     * plaster.yml files changed since they were loaded, they are loaded again.
+     *
+     * @return true if the files had changed and the settings were loaded again
+     */
+    public boolean refresh() {
+        for (Map.Entry<File, Long> loadedFile : this.loadedFiles.entrySet()) {
+            if (loadedFile.getKey().lastModified() != loadedFile.getValue()) {
+                this.load(this.applicationRoot);
+                return true;
+            }
+        }
+
+        this.configMap = new HashMap<>(this.loadedSettings);
+        return false;
+    }
+
+    private void watchFile(String relPath) {
+        File file = new File(FilenameUtils.concat(this.applicationRoot, relPath));
+
+        this.loadedFiles.put(file, file.lastModified());
+    }
+
     /**
      * Here we set all the settings to some default values
      * so that we never have an instance where a setting
@@ -81,6 +206,10 @@ public class ConfigurationService {
      *  REL_SERVICE_PACKAGE     = service
      *  REL_CONTROLLER_PACKAGE  = controller
      *  SHOULD_USE_PRIMITIVES   = false
+     *  SEARCH_THREADS          = number of available processors
+     *  SEARCH_EXCLUDE          =
+     *  MAVEN_REPOSITORY        = ~/.m2/repository
+     *  TYPE_ALIASES            =
      *
      * *  = This can only be configured at invocation as a command-line argumnet
      *
@@ -90,6 +219,8 @@ public class ConfigurationService {
      */
     private void loadDefaultSettings(String applicationRoot) {
         this.applicationRoot = applicationRoot;
+        this.modulePaths.clear();
+        this.dependencies.clear();
 
         this.configMap.put(Setting.KEY, "id:int");
         this.configMap.put(Setting.IS_LOMBOK_ENABLED, "false");
@@ -101,6 +232,11 @@ public class ConfigurationService {
         this.configMap.put(Setting.REL_SERVICE_PACKAGE, "service");
         this.configMap.put(Setting.REL_CONTROLLER_PACKAGE, "controller");
         this.configMap.put(Setting.SHOULD_USE_PRIMITIVES, "false");
+        this.configMap.put(Setting.SEARCH_THREADS, String.valueOf(Runtime.getRuntime().availableProcessors()));
+        this.configMap.put(Setting.SEARCH_EXCLUDE, "");
+        this.configMap.put(Setting.MAVEN_REPOSITORY, new File(System.getProperty("user.home"), ".m2/repository").getPath());
+        this.configMap.put(Setting.TYPE_ALIASES, "");
+        this.configMap.put(Setting.RENDERER, Renderer.JTWIG.name);
     }
 
     /**
@@ -109,55 +245,260 @@ public class ConfigurationService {
      * by reading information in the pom
      *
      *  IS_LOMBOK_ENABLED   = true if found in dependencies
-     *  MAVEN_GROUP_ID      = found in pom under the group-id tag
+     *  MAVEN_GROUP_ID      = found in pom under the group-id tag, or the parent's if not declared
      *  BASE_PATH           = "src/main/java" in most (nearly all) cases
      *  APP_PATH            = if group id == "com.example.app" app_path = "com/example/app/
      *
+     * Any modules declared in the pom are loaded as well, see {@link #getSourceRoots()}
+     * and {@link #getDependencies()}
      */
     private void loadFromPom() {
-        try {
-            File pom = new File(FilenameUtils.concat(this.applicationRoot, "pom.xml"));
-            if (!pom.exists()) {
-                throw new PlasterException("Cannot find pom.xml, are you sure you are in the root of a project?");
+        File pom = new File(FilenameUtils.concat(this.applicationRoot, "pom.xml"));
+        if (!pom.exists()) {
+            throw new PlasterException("Cannot find pom.xml, are you sure you are in the root of a project?");
+        }
+
+        Document doc = readPom(pom);
+        String mavenGroupId = getGroupId(doc, null);
+
+        this.configMap.put(Setting.MAVEN_GROUP_ID, mavenGroupId);
+        this.configMap.put(Setting.APP_PATH, PathUtil.
+                normalize(mavenGroupId.replace(".", "/"), "/"));
+
+        /*
+            This part inspects the dependencies to see what we can turn on
+         */
+        NodeList dependencies = doc.getElementsByTagName("dependency");
+        for (int i=0; i < dependencies.getLength(); i++) {
+            Element curDependency = (Element) dependencies.item(i);
+
+            // Since we are in a dependency, there should only ever be one
+            NodeList curGroupIds = curDependency.getElementsByTagName("groupId");
+            if (curGroupIds.getLength() > 0) {
+
+                // Search for lombok
+                String dependencyId = curGroupIds.item(0).getTextContent();
+                if (dependencyId.contains("org.projectlombok")) {
+                    this.configMap.put(Setting.IS_LOMBOK_ENABLED, "true");
+                }
+
+            }
+        }
+
+        Map<String, String> properties = new HashMap<>();
+        Map<String, String> managedVersions = new HashMap<>();
+        this.loadDependencies(doc, properties, managedVersions);
+
+        this.loadModules(doc, "", mavenGroupId, properties, managedVersions);
+    }
+
+    /**
+     * Records the dependencies declared directly by the given pom. Versions may be given
+     * through properties or dependency management, in this pom or the poms declaring it.
+     *
+     * @param doc
+     *          parsed pom
+     * @param properties
+     *          properties inherited from the declaring poms, this pom's are added to it
+     * @param managedVersions
+     *          versions inherited from the declaring poms keyed by groupId:artifactId,
+     *          this pom's are added to it
+     */
+    private void loadDependencies(Document doc, Map<String, String> properties, Map<String, String> managedVersions) {
+        Element project = doc.getDocumentElement();
+
+        for (Element property : getChildren(getChild(project, "properties"), null)) {
+            properties.put(property.getNodeName(), property.getTextContent().trim());
+        }
+
+        Element parent = getChild(project, "parent");
+        String version = getChildText(project, "version");
+        if (isNull(version) && nonNull(parent)) {
+            version = getChildText(parent, "version");
+        }
+        if (nonNull(version)) {
+            properties.put("project.version", version);
+        }
+
+        Element dependencyManagement = getChild(project, "dependencyManagement");
+        if (nonNull(dependencyManagement)) {
+            for (Element dependency : getChildren(getChild(dependencyManagement, "dependencies"), "dependency")) {
+                String managedVersion = resolveProperties(getChildText(dependency, "version"), properties);
+                if (nonNull(managedVersion)) {
+                    String key = getChildText(dependency, "groupId") + ":" + getChildText(dependency, "artifactId");
+                    managedVersions.put(resolveProperties(key, properties), managedVersion);
+                }
+            }
+        }
+
+        for (Element dependency : getChildren(getChild(project, "dependencies"), "dependency")) {
+            String scope = getChildText(dependency, "scope");
+            String type = getChildText(dependency, "type");
+            if ("test".equals(scope) || "runtime".equals(scope) || (nonNull(type) && !"jar".equals(type))) {
+                continue;
             }
 
+            String groupId = resolveProperties(getChildText(dependency, "groupId"), properties);
+            String artifactId = resolveProperties(getChildText(dependency, "artifactId"), properties);
+            if (isNull(groupId) || isNull(artifactId)) {
+                continue;
+            }
+
+            String dependencyVersion = resolveProperties(getChildText(dependency, "version"), properties);
+            if (isNull(dependencyVersion)) {
+                dependencyVersion = managedVersions.get(groupId + ":" + artifactId);
+            }
+
+            Artifact artifact = new Artifact(groupId, artifactId, dependencyVersion);
+            if (!this.dependencies.contains(artifact)) {
+                this.dependencies.add(artifact);
+            }
+        }
+    }
+
+    /**
+     * Replaces every ${property} in the value
+     *
+     * @param value
+     *          value to resolve
+     * @param properties
+     *          known properties
+     * @return the resolved value, null if the value is null or uses an unknown property
+     */
+    private static String resolveProperties(String value, Map<String, String> properties) {
+        if (isNull(value)) {
+            return null;
+        }
+
+        String resolved = value;
+        for (int i = 0; resolved.contains("${") && i < 10; i++) {
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                resolved = resolved.replace("${" + property.getKey() + "}", property.getValue());
+            }
+        }
+
+        return resolved.contains("${") ? null : resolved;
+    }
+
+    /**
+     * Recursively loads the modules declared in the given pom. Each module is recorded
+     * with its path from the root of the project and the app path derived from its
+     * group id, which is inherited from the declaring pom when the module has none.
+     * Only the modules of the project itself are loaded, not those of its profiles,
+     * which may not be active.
+     *
+     * @param doc
+     *          parsed pom declaring the modules
+     * @param relPath
+     *          path from the root of the project to the declaring pom's directory
+     * @param inheritedGroupId
+     *          group id of the declaring pom
+     * @param properties
+     *          properties of the declaring pom
+     * @param managedVersions
+     *          managed dependency versions of the declaring pom
+     */
+    private void loadModules(Document doc, String relPath, String inheritedGroupId,
+                             Map<String, String> properties, Map<String, String> managedVersions) {
+        for (Element module : getChildren(getChild(doc.getDocumentElement(), "modules"), "module")) {
+            String modulePath = PathUtil.joinPath(relPath, module.getTextContent().trim());
+
+            String modulePomPath = FilenameUtils.concat(this.applicationRoot, modulePath + "/pom.xml");
+            if (isNull(modulePomPath) || !new File(modulePomPath).exists() || this.modulePaths.containsKey(modulePath)) {
+                continue;
+            }
+
+            Document moduleDoc = readPom(new File(modulePomPath));
+            String moduleGroupId = getGroupId(moduleDoc, inheritedGroupId);
+
+            this.modulePaths.put(modulePath, PathUtil.normalize(moduleGroupId.replace(".", "/"), "/"));
+
+            Map<String, String> moduleProperties = new HashMap<>(properties);
+            Map<String, String> moduleManagedVersions = new HashMap<>(managedVersions);
+            this.loadDependencies(moduleDoc, moduleProperties, moduleManagedVersions);
+
+            this.loadModules(moduleDoc, modulePath, moduleGroupId, moduleProperties, moduleManagedVersions);
+        }
+    }
+
+    private static Document readPom(File pom) {
+        try {
             DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
             DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
             Document doc = dBuilder.parse(pom);
 
             doc.getDocumentElement().normalize();
 
-            NodeList groupIds = doc.getElementsByTagName("groupId");
-            String mavenGroupId = groupIds.item(0).getTextContent();
+            return doc;
+        } catch (ParserConfigurationException | SAXException | IOException e) {
+            throw new PlasterException("Could not properly parse " + pom.getPath());
+        }
+    }
+
+    /**
+     * Finds the group id of the project described by the pom. This is the group id
+     * declared directly on the project, falling back to the one declared on its parent.
+     *
+     * @param doc
+     *          parsed pom
+     * @param inheritedGroupId
+     *          group id to use if the pom declares neither
+     * @return the group id of the project
+     */
+    private static String getGroupId(Document doc, String inheritedGroupId) {
+        Element project = doc.getDocumentElement();
 
-            this.configMap.put(Setting.MAVEN_GROUP_ID, mavenGroupId);
-            this.configMap.put(Setting.APP_PATH, PathUtil.
-                    normalize(mavenGroupId.replace(".", "/"), "/"));
+        String groupId = getChildText(project, "groupId");
+        if (isNull(groupId) && nonNull(getChild(project, "parent"))) {
+            groupId = getChildText(getChild(project, "parent"), "groupId");
+        }
+
+        if (isNull(groupId)) {
+            groupId = inheritedGroupId;
+        }
 
-            /*
-                This part inspects the dependencies to see what we can turn on
-             */
-            NodeList dependencies = doc.getElementsByTagName("dependency");
-            for (int i=0; i < dependencies.getLength(); i++) {
-                Element curDependency = (Element) dependencies.item(i);
+        if (isNull(groupId)) {
+            throw new PlasterException("Could not find a groupId in pom.xml");
+        }
 
-                // Since we are in a dependency, there should only ever be one
-                NodeList curGroupIds = curDependency.getElementsByTagName("groupId");
-                if (curGroupIds.getLength() > 0) {
+        return groupId;
+    }
 
-                    // Search for lombok
-                    String dependencyId = curGroupIds.item(0).getTextContent();
-                    if (dependencyId.contains("org.projectlombok")) {
-                        this.configMap.put(Setting.IS_LOMBOK_ENABLED, "true");
-                    }
+    private static String getChildText(Element element, String tagName) {
+        Element child = getChild(element, tagName);
 
-                }
+        return isNull(child) ? null : child.getTextContent().trim();
+    }
+
+    /**
+     * Gets the child elements with the given tag name, or all child elements if the tag name is null
+     */
+    private static List<Element> getChildren(Element element, String tagName) {
+        List<Element> found = new ArrayList<>();
+        if (isNull(element)) {
+            return found;
+        }
+
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child instanceof Element && (isNull(tagName) || tagName.equals(child.getNodeName()))) {
+                found.add((Element) child);
             }
+        }
 
-        } catch (ParserConfigurationException | SAXException | IOException e) {
-            throw new PlasterException("Could not properly parse pom.xml");
+        return found;
+    }
+
+    private static Element getChild(Element element, String tagName) {
+        NodeList children = element.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            if (children.item(i) instanceof Element && tagName.equals(children.item(i).getNodeName())) {
+                return (Element) children.item(i);
+            }
         }
 
+        return null;
     }
 
     private void loadFromSettingsFile() {
@@ -173,6 +514,9 @@ public class ConfigurationService {
             loadProperties(customization.getProperty());
             loadDirectories(customization.getDirectory());
             loadLombok(customization.getLombok());
+            loadSearch(customization.getSearch());
+            loadTypes(customization.getTypes());
+            loadRenderer(customization.getRenderer());
         } catch (IOException e) {
             // This just means the file is empty and isn't really an error
             // Todo: make this more reliable
@@ -276,4 +620,89 @@ public class ConfigurationService {
         }
     }
 
+    /**
+     * Loads the customizations from the search tag
+     *
+     * Supported configurations:
+     *
+     *      threads:int ->              how many threads to use when walking the source tree
+     *      exclude:list ->             .gitignore style patterns for paths that are never searched
+     *      repository:string ->        local maven repository holding the jars of the project's dependencies
+     *
+     * @param customization
+     *          object containing the customizations from the search tag
+     */
+    private void loadSearch(SearchCustomization customization) {
+        if (isNull(customization)) {
+            return;
+        }
+
+        if (nonNull(customization.getThreads()) && customization.getThreads() > 0) {
+            this.configMap.put(Setting.SEARCH_THREADS, customization.getThreads().toString());
+        }
+
+        if (nonNull(customization.getExclude())) {
+            List<String> excludes = customization.getExclude().stream()
+                    .filter(StringUtils::isNotBlank)
+                    .map(String::trim)
+                    .collect(Collectors.toList());
+            this.configMap.put(Setting.SEARCH_EXCLUDE, StringUtils.join(excludes, ","));
+        }
+
+        if (StringUtils.isNotBlank(customization.getRepository())) {
+            this.configMap.put(Setting.MAVEN_REPOSITORY, customization.getRepository().trim());
+        }
+    }
+
+    /**
+     * Loads the aliases from the types tag
+     *
+     * Supported configurations:
+     *
+     *      alias:string ->             fully qualified class the alias stands for
+     *
+     * @param types
+     *          aliases mapped to their classes
+     */
+    private void loadTypes(Map<String, String> types) {
+        if (isNull(types)) {
+            return;
+        }
+
+        List<String> aliases = new ArrayList<>();
+        for (Map.Entry<String, String> type : types.entrySet()) {
+            String alias = StringUtils.trim(type.getKey());
+            String className = StringUtils.trim(type.getValue());
+
+            if (isNull(alias) || !Regex.JAVA_IDENTIFIER.matcher(alias).matches()) {
+                throw new PlasterException("Type alias must be a single word: " + alias);
+            } else if (isNull(className) || !Regex.JAVA_QUALIFIED_CLASS_NAME.matcher(className).matches()) {
+                throw new PlasterException(String.format(
+                        "Type alias %s must be given a fully qualified class, such as java.util.UUID: %s", alias, className));
+            }
+
+            aliases.add(alias + "=" + className);
+        }
+
+        this.configMap.put(Setting.TYPE_ALIASES, StringUtils.join(aliases, ","));
+    }
+
+    /**
+     * Loads the renderer from the renderer tag
+     *
+     * Supported configurations:
+     *
+     *      renderer:string ->          jtwig to render the templates, java to write the files directly
+     *
+     * @param renderer
+     *          name of the renderer
+     */
+    private void loadRenderer(String renderer) {
+        if (StringUtils.isBlank(renderer)) {
+            return;
+        }
+
+        this.configMap.put(Setting.RENDERER, Renderer.getRenderer(renderer).name);
+    }
+
 }
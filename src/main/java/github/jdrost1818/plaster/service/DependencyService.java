@@ -1,16 +1,12 @@
 package github.jdrost1818.plaster.service;
 
-import github.jdrost1818.plaster.data.StoredJavaType;
+import github.jdrost1818.plaster.domain.CustomTypeResolution;
 import github.jdrost1818.plaster.domain.Dependency;
-import github.jdrost1818.plaster.exception.EnumSearchException;
+import github.jdrost1818.plaster.domain.RegisteredType;
 import github.jdrost1818.plaster.exception.PlasterException;
-import github.jdrost1818.plaster.util.PathUtil;
 import lombok.AllArgsConstructor;
-import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.List;
-
 import static java.util.Objects.nonNull;
 
 @AllArgsConstructor
@@ -18,6 +14,10 @@ public class DependencyService {
 
     private final SearchService searchService;
 
+    private final TypeResolutionCache typeResolutionCache;
+
+    private final TypeRegistry typeRegistry;
+
     /**
      * Fetches the dependency for the given class name, if one is required.
      * Supports only single, non-typed classes. So Class will fetch correctly,
@@ -32,42 +32,36 @@ public class DependencyService {
             return null;
         }
 
-        StoredJavaType storedJavaType = null;
-        try {
-            storedJavaType = StoredJavaType.getStoredJavaType(className);
-        } catch (EnumSearchException e) {
-            // This really isn't an error in this case. The type
-            // isn't guaranteed to be a stored type here
-        }
+        RegisteredType registeredType = this.typeRegistry.find(className);
 
         // We are making a safe assumptions here:
         //      We can use primitives regardless of configuration here.
         //      Since we are getting the dependencies, there are no
         //      objects related to primitives that need to be imported
-        return nonNull(storedJavaType)
-                ? storedJavaType.getType(true).getDependency() : this.fetchCustomDependency(className);
+        return nonNull(registeredType)
+                ? registeredType.getType(true).getDependency() : this.fetchCustomDependency(className);
     }
 
     /**
      * Finds a dependency that is not part of the java language. This searches
-     * for any classes that have been defined in the project.
+     * for any classes that have been defined in the project, unless the class
+     * has already been resolved during this run.
      *
      * @param className
      *          class for which to find a dependency
      * @return the dependency for the class, null if not found
      */
     private Dependency fetchCustomDependency(String className) {
-        List<String> matchingClassPaths = this.searchService.findClassesWithName(className);
+        CustomTypeResolution resolution = this.typeResolutionCache.resolve(className, this.searchService::findClassesWithName);
 
-        if (matchingClassPaths.size() > 1) {
-            String possibleChoices = StringUtils.join(matchingClassPaths, ",\n\t");
+        if (resolution.isAmbiguous()) {
+            String possibleChoices = StringUtils.join(resolution.getMatchingClassPaths(), ",\n\t");
             throw new PlasterException("Could not decide which type to import. Options: " + possibleChoices);
-        } else if (matchingClassPaths.isEmpty()) {
+        } else if (!resolution.isFound()) {
             throw new PlasterException("Could not find custom type: " + className);
         }
 
-        String extensionlessClassPath = FilenameUtils.removeExtension(matchingClassPaths.get(0));
-        return new Dependency(PathUtil.pathToPackage(extensionlessClassPath));
+        return resolution.getType().getDependency();
     }
 
 }
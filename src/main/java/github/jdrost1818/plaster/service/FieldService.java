@@ -9,6 +9,7 @@ import lombok.AllArgsConstructor;
 import lombok.Setter;
 import org.apache.commons.collections4.CollectionUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,7 +22,8 @@ public class FieldService {
     private TypeService typeService = ServiceProvider.getTypeService();
 
     /**
-     * Converts the list name:type strings to a list of {@link Field}
+     * Converts the list name:type strings to a list of {@link Field}. All the types
+     * are converted together so that custom types are only searched for once.
      *
      * @param fieldStrings
      *          strings to convert
@@ -32,9 +34,21 @@ public class FieldService {
             return Lists.newArrayList();
         }
 
-        return fieldStrings.stream()
-                .map(this::convertToField)
+        fieldStrings.forEach(FieldService::validateFieldPair);
+
+        List<String> typeStrings = fieldStrings.stream()
+                .map(f -> f.split(":")[1])
                 .collect(Collectors.toList());
+
+        List<TypeDeclaration> typeDeclarations = this.typeService.convertToTypeDeclarations(typeStrings);
+
+        List<Field> fields = new ArrayList<>();
+        for (int i = 0; i < fieldStrings.size(); i++) {
+            String name = TypeUtil.normalizeVariableName(fieldStrings.get(i).split(":")[0]);
+            fields.add(new Field(typeDeclarations.get(i), name));
+        }
+
+        return fields;
     }
 
     /**
@@ -0,0 +1,203 @@
+package github.jdrost1818.plaster.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.domain.Artifact;
+import github.jdrost1818.plaster.domain.ClassIndex;
+import github.jdrost1818.plaster.domain.IndexedDirectory;
+import github.jdrost1818.plaster.domain.IndexedJar;
+import github.jdrost1818.plaster.util.CacheFileUtil;
+import github.jdrost1818.plaster.util.PathUtil;
+import github.jdrost1818.plaster.util.ZipUtil;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Keeps a {@link ClassIndex} of the classes in the jars of the project's dependencies,
+ * as found in the local maven repository configured by {@link Setting#MAVEN_REPOSITORY}.
+ *
+ * A jar is listed by reading its zip central directory, see {@link ZipUtil}. The listing
+ * of each jar is persisted to .plaster/index/jars.json, keyed by the jar's path along with
+ * its modification time, so a jar is only ever read again once it changes.
+ */
+@RequiredArgsConstructor
+public class JarIndexService {
+
+    private static final String INDEX_FILE = ".plaster/index/jars.json";
+
+    private final ConfigurationService configurationService;
+
+    private ClassIndex refreshedIndex;
+
+    /**
+     * Gets the index of every class in the jars of the given dependencies. Paths in the
+     * index are relative to the root of the jar, such as org/joda/money/Money.class
+     *
+     * @param projectPath
+     *          path to the root of the project, this is where the index is stored
+     * @param artifacts
+     *          dependencies of the project
+     * @return the index, empty if none of the jars could be found
+     */
+    public synchronized ClassIndex getIndex(String projectPath, List<Artifact> artifacts) {
+        if (nonNull(this.refreshedIndex)) {
+            return this.refreshedIndex;
+        }
+
+        String repositoryPath = this.configurationService.get(Setting.MAVEN_REPOSITORY);
+        if (artifacts.isEmpty() || StringUtils.isBlank(repositoryPath)) {
+            this.refreshedIndex = ClassIndex.empty();
+            return this.refreshedIndex;
+        }
+
+        File repository = new File(repositoryPath);
+        File indexFile = new File(PathUtil.joinPath(projectPath, INDEX_FILE));
+        Map<String, IndexedJar> known = CacheFileUtil.read(indexFile, new TypeReference<Map<String, IndexedJar>>() {}, new HashMap<>());
+        Map<String, IndexedJar> refreshed = new HashMap<>();
+
+        for (Artifact artifact : artifacts) {
+            File jar = findJar(repository, artifact);
+            if (isNull(jar)) {
+                continue;
+            }
+
+            String jarPath = jar.getAbsolutePath();
+            IndexedJar indexedJar = known.get(jarPath);
+            if (isNull(indexedJar) || indexedJar.getLastModified() != jar.lastModified()) {
+                indexedJar = readJar(jar);
+            }
+
+            if (nonNull(indexedJar)) {
+                refreshed.put(jarPath, indexedJar);
+            }
+        }
+
+        if (!refreshed.equals(known)) {
+            CacheFileUtil.write(indexFile, refreshed);
+        }
+
+        this.refreshedIndex = toClassIndex(refreshed);
+        return this.refreshedIndex;
+    }
+
+    /**
+     * Forgets the index built during this run, so the next request
+     * for it will check the jars for changes again.
+     */
+    public synchronized void invalidate() {
+        this.refreshedIndex = null;
+    }
+
+    /**
+     * Checks the jars for changes, the same as {@link #invalidate()}, and tells which classes
+     * changed since the index was last built by this process. An index which has not been
+     * built yet is left to be built when it is first needed, as nothing can depend on it.
+     *
+     * @param projectPath
+     *          path to the root of the project, this is where the index is stored
+     * @param artifacts
+     *          dependencies of the project
+     * @return the lower-cased names of the classes which were added, moved or removed
+     */
+    public synchronized Set<String> refresh(String projectPath, List<Artifact> artifacts) {
+        ClassIndex previousIndex = this.refreshedIndex;
+        this.invalidate();
+
+        if (isNull(previousIndex)) {
+            return new HashSet<>();
+        }
+
+        return this.getIndex(projectPath, artifacts).findChangedClassNames(previousIndex);
+    }
+
+    /**
+     * Finds the jar of the artifact in the repository. When the version is unknown, or
+     * has not been downloaded, the most recently modified version is used instead, as
+     * the packages of a library's classes rarely change between versions.
+     */
+    private static File findJar(File repository, Artifact artifact) {
+        File artifactDir = new File(repository, artifact.getRepositoryPath());
+
+        if (nonNull(artifact.getVersion())) {
+            File jar = getJar(artifactDir, artifact.getArtifactId(), artifact.getVersion());
+            if (jar.isFile()) {
+                return jar;
+            }
+        }
+
+        File[] versionDirs = artifactDir.listFiles(File::isDirectory);
+        if (isNull(versionDirs)) {
+            return null;
+        }
+
+        Optional<File> latestJar = Arrays.stream(versionDirs)
+                .sorted(Comparator.comparingLong(File::lastModified).reversed())
+                .map(d -> getJar(artifactDir, artifact.getArtifactId(), d.getName()))
+                .filter(File::isFile)
+                .findFirst();
+
+        return latestJar.orElse(null);
+    }
+
+    private static File getJar(File artifactDir, String artifactId, String version) {
+        return new File(artifactDir, version + "/" + artifactId + "-" + version + ".jar");
+    }
+
+    /**
+     * Lists the top level classes of the jar. Inner classes, package-info and
+     * module-info are left out, as are the versioned classes under META-INF.
+     */
+    private static IndexedJar readJar(File jar) {
+        long lastModified = jar.lastModified();
+
+        try {
+            List<String> classFiles = ZipUtil.readEntryNames(jar).stream()
+                    .filter(n -> n.endsWith(".class") && !n.contains("$") && !n.startsWith("META-INF/"))
+                    .filter(n -> !n.endsWith("package-info.class") && !n.endsWith("module-info.class"))
+                    .collect(Collectors.toList());
+
+            return new IndexedJar(lastModified, classFiles);
+        } catch (IOException e) {
+            // A broken jar would fail the build too, there are no classes to be found in it
+            return null;
+        }
+    }
+
+    private static ClassIndex toClassIndex(Map<String, IndexedJar> jars) {
+        Map<String, Set<String>> classFilesByDir = new HashMap<>();
+        for (IndexedJar jar : jars.values()) {
+            for (String classFile : jar.getClassFiles()) {
+                int lastSlash = classFile.lastIndexOf('/');
+                String dir = lastSlash < 0 ? "" : classFile.substring(0, lastSlash);
+
+                classFilesByDir.computeIfAbsent(dir, k -> new LinkedHashSet<>()).add(FilenameUtils.getName(classFile));
+            }
+        }
+
+        Map<String, IndexedDirectory> directories = new HashMap<>();
+        for (Map.Entry<String, Set<String>> dir : classFilesByDir.entrySet()) {
+            directories.put(dir.getKey(), new IndexedDirectory(0, 0, new ArrayList<>(dir.getValue()), new ArrayList<>()));
+        }
+
+        return new ClassIndex(directories);
+    }
+
+}
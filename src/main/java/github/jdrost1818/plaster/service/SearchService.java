@@ -1,12 +1,17 @@
 package github.jdrost1818.plaster.service;
 
 import github.jdrost1818.plaster.data.Setting;
-import github.jdrost1818.plaster.util.PathUtil;
+import github.jdrost1818.plaster.domain.ClassIndex;
+import github.jdrost1818.plaster.domain.SourceRoot;
 import lombok.AllArgsConstructor;
 
-import java.io.File;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @AllArgsConstructor
@@ -14,53 +19,79 @@ public class SearchService {
 
     private final ConfigurationService configurationService;
 
+    private final ClassIndexService classIndexService;
+
+    private final JarIndexService jarIndexService;
+
     /**
-     * Finds the system path for classes with the given name, ignoring case
+     * Finds the system path for classes with the given name, ignoring case.
+     * This is answered from the project's {@link ClassIndex}, which is brought
+     * up to date the first time it is used during a run.
      *
      * @param className
      *          class name to search for
      * @return the java paths for all found class names
      */
     public List<String> findClassesWithName(String className) {
-        String projectPath = this.configurationService.get(Setting.PROJECT_PATH);
-        String basePath = this.configurationService.get(Setting.BASE_PATH);
-        String appPath = this.configurationService.get(Setting.APP_PATH);
-
-        String startSearchPath = PathUtil.joinPath(projectPath, basePath, appPath);
-
-        return this.findFilesWithName(new File(startSearchPath), className + ".java").stream()
-                .map(File::getPath)
-                .map(p -> p.split(basePath)[1])
-                .map(p -> PathUtil.normalize(p, "/"))
-                .collect(Collectors.toList());
+        return this.findClassesWithNames(Collections.singleton(className)).get(className);
     }
 
     /**
-     * Finds all file recursively from the root file given with the given search name.
+     * Finds the system paths for all the given class names at once, ignoring case.
+     * No matter how many names are given, the source tree is traversed at most once.
+     * In a multi-module project, the sources of every module are searched.
+     *
+     * Classes in the project always take precedence. Only names which match nothing in the
+     * project are searched for in the jars of the project's dependencies, in which case the
+     * found paths are those of class files, such as org/joda/money/Money.class
      *
-     * @param root
-     *          place to start search
-     * @param searchName
-     *          name of file to look for
-     * @return all files with the given name
+     * @param classNames
+     *          class names to search for
+     * @return the java paths for each class name searched for, empty if none were found
      */
-    private List<File> findFilesWithName(File root, String searchName) {
-        List<File> foundFiles = new ArrayList<>();
+    public Map<String, List<String>> findClassesWithNames(Set<String> classNames) {
+        String projectPath = this.configurationService.get(Setting.PROJECT_PATH);
+        List<SourceRoot> sourceRoots = this.configurationService.getSourceRoots();
 
-        File[] files = root.listFiles();
-        if (files == null) {
-            return foundFiles;
+        List<ClassIndex> indexes = this.classIndexService.getIndexes(projectPath, sourceRoots);
+
+        Map<String, List<String>> foundClasses = new HashMap<>();
+        for (String className : classNames) {
+            List<String> classPaths = new ArrayList<>();
+            for (ClassIndex index : indexes) {
+                classPaths.addAll(index.find(className));
+            }
+            foundClasses.put(className, classPaths);
         }
 
-        for (File file : files) {
-            if (file.isFile() && file.getName().equalsIgnoreCase(searchName)) {
-                foundFiles.add(file);
-            } else if (file.isDirectory()) {
-                foundFiles.addAll(findFilesWithName(file, searchName));
+        List<String> missingClassNames = foundClasses.entrySet().stream()
+                .filter(e -> e.getValue().isEmpty())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        if (!missingClassNames.isEmpty()) {
+            ClassIndex jarIndex = this.jarIndexService.getIndex(projectPath, this.configurationService.getDependencies());
+            for (String className : missingClassNames) {
+                foundClasses.put(className, jarIndex.find(className));
             }
         }
 
-        return foundFiles;
+        return foundClasses;
+    }
+
+    /**
+     * Checks the project's sources, and the jars of its dependencies, for changes since
+     * they were last searched by this process. Searching for any of the changed classes
+     * may now give a different answer.
+     *
+     * @return the lower-cased names of the classes which were added, moved or removed
+     */
+    public Set<String> refresh() {
+        String projectPath = this.configurationService.get(Setting.PROJECT_PATH);
+
+        Set<String> changed = new HashSet<>(this.classIndexService.refresh(projectPath, this.configurationService.getSourceRoots()));
+        changed.addAll(this.jarIndexService.refresh(projectPath, this.configurationService.getDependencies()));
+
+        return changed;
     }
 
 }
@@ -1,11 +1,17 @@
 package github.jdrost1818.plaster.service;
 
+import com.google.common.collect.ImmutableMap;
+import github.jdrost1818.plaster.service.importer.DdlReader;
+import github.jdrost1818.plaster.service.importer.ImportService;
+import github.jdrost1818.plaster.service.importer.OpenApiReader;
 import github.jdrost1818.plaster.service.modifier.EditService;
 import github.jdrost1818.plaster.service.modifier.GenerateService;
+import github.jdrost1818.plaster.service.output.OutputService;
 import github.jdrost1818.plaster.service.template.ControllerTemplateService;
 import github.jdrost1818.plaster.service.template.ModelTemplateService;
 import github.jdrost1818.plaster.service.template.RepositoryTemplateService;
 import github.jdrost1818.plaster.service.template.ServiceTemplateService;
+import github.jdrost1818.plaster.service.template.TemplateCache;
 import lombok.Getter;
 import lombok.experimental.UtilityClass;
 
@@ -20,28 +26,46 @@ public class ServiceProvider {
     private static final ConfigurationService configurationService = new ConfigurationService().load("");
 
     @Getter
-    private static final SearchService searchService = new SearchService(configurationService);
+    private static final ClassIndexService classIndexService = new ClassIndexService(configurationService);
 
     @Getter
-    private static final DependencyService dependencyService = new DependencyService(searchService);
+    private static final JarIndexService jarIndexService = new JarIndexService(configurationService);
 
     @Getter
-    private static final TypeService typeService = new TypeService(searchService, dependencyService);
+    private static final SearchService searchService = new SearchService(configurationService, classIndexService, jarIndexService);
+
+    @Getter
+    private static final TypeResolutionCache typeResolutionCache = new TypeResolutionCache();
+
+    @Getter
+    private static final TypeRegistry typeRegistry = new TypeRegistry(configurationService);
+
+    @Getter
+    private static final DependencyService dependencyService = new DependencyService(searchService, typeResolutionCache, typeRegistry);
+
+    @Getter
+    private static final TypeService typeService = new TypeService(searchService, typeResolutionCache, typeRegistry);
 
     @Getter
     private static final FieldService fieldService = new FieldService(typeService);
 
     @Getter
-    private static final ModelTemplateService modelTemplateService = new ModelTemplateService(configurationService);
+    private static final TemplateCache templateCache = new TemplateCache();
 
     @Getter
-    private static final ControllerTemplateService controllerTemplateService = new ControllerTemplateService(configurationService);
+    private static final ModelTemplateService modelTemplateService = new ModelTemplateService(configurationService, templateCache);
 
     @Getter
-    private static final RepositoryTemplateService repositoryTemplateService = new RepositoryTemplateService(configurationService);
+    private static final ControllerTemplateService controllerTemplateService = new ControllerTemplateService(configurationService, templateCache);
 
     @Getter
-    private static final ServiceTemplateService serviceTemplateService = new ServiceTemplateService(configurationService);
+    private static final RepositoryTemplateService repositoryTemplateService = new RepositoryTemplateService(configurationService, templateCache);
+
+    @Getter
+    private static final ServiceTemplateService serviceTemplateService = new ServiceTemplateService(configurationService, templateCache);
+
+    @Getter
+    private static final OutputService outputService = new OutputService();
 
     @Getter
     private static final GenerateService generateService = new GenerateService(
@@ -49,10 +73,20 @@ public class ServiceProvider {
             modelTemplateService,
             controllerTemplateService,
             serviceTemplateService,
-            repositoryTemplateService
+            repositoryTemplateService,
+            outputService
     );
 
     @Getter
     private static final EditService editService = new EditService();
 
+    @Getter
+    private static final BatchService batchService = new BatchService(configurationService, fieldService, generateService, templateCache,
+            classIndexService, typeResolutionCache);
+
+    @Getter
+    private static final ImportService importService = new ImportService(configurationService, fieldService, generateService, templateCache,
+            classIndexService, typeResolutionCache,
+            ImmutableMap.of(DdlReader.FORMAT, new DdlReader(), OpenApiReader.FORMAT, new OpenApiReader()));
+
 }
@@ -0,0 +1,112 @@
+package github.jdrost1818.plaster.service;
+
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.data.StoredJavaType;
+import github.jdrost1818.plaster.domain.Dependency;
+import github.jdrost1818.plaster.domain.RegisteredType;
+import github.jdrost1818.plaster.domain.Type;
+import github.jdrost1818.plaster.util.TypeUtil;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Knows every type whose class can be found without searching the project. These are
+ * the types of {@link StoredJavaType}, along with the aliases the project gives in
+ * plaster.yml, see {@link Setting#TYPE_ALIASES}. An alias for a name plaster already
+ * knows replaces it.
+ *
+ * Names are looked up ignoring case, the same way the project is searched. The table
+ * is only built again once the aliases change.
+ */
+@RequiredArgsConstructor
+public class TypeRegistry {
+
+    private final ConfigurationService configurationService;
+
+    private volatile Table table;
+
+    /**
+     * Finds the type registered under the given name
+     *
+     * @param typeName
+     *          name of the type, such as an alias or a class name
+     * @return the type, null if no type is registered under the name
+     */
+    public RegisteredType find(String typeName) {
+        if (StringUtils.isBlank(typeName)) {
+            return null;
+        }
+
+        return this.getTable().types.get(toKey(typeName));
+    }
+
+    public boolean isRegistered(String typeName) {
+        return nonNull(this.find(typeName));
+    }
+
+    private Table getTable() {
+        String aliases = this.configurationService.get(Setting.TYPE_ALIASES);
+
+        Table currentTable = this.table;
+        if (isNull(currentTable) || !Objects.equals(currentTable.aliases, aliases)) {
+            currentTable = new Table(aliases, this.buildTypes(aliases));
+            this.table = currentTable;
+        }
+
+        return currentTable;
+    }
+
+    private Map<String, RegisteredType> buildTypes(String aliases) {
+        Map<String, RegisteredType> types = new HashMap<>();
+        for (StoredJavaType storedJavaType : StoredJavaType.values()) {
+            for (String searchTerm : storedJavaType.getSearchTerms()) {
+                types.put(toKey(searchTerm), storedJavaType.toRegisteredType());
+            }
+        }
+
+        if (StringUtils.isNotBlank(aliases)) {
+            for (Map.Entry<String, String> alias : this.configurationService.getMap(Setting.TYPE_ALIASES).entrySet()) {
+                String className = alias.getValue();
+                String simpleName = className.substring(className.lastIndexOf('.') + 1);
+
+                // The type arguments of a library's classes are unknown, so any number is allowed
+                RegisteredType registeredType = new RegisteredType(
+                        Type.of(simpleName, Dependency.of(className)),
+                        null,
+                        RegisteredType.ANY_TYPE_ARGUMENTS);
+
+                types.put(toKey(simpleName), registeredType);
+                types.put(toKey(alias.getKey()), registeredType);
+            }
+        }
+
+        return Collections.unmodifiableMap(types);
+    }
+
+    /**
+     * Names are normalized the same way as the types they are looked up for, so
+     * an alias such as joda_money is found when JodaMoney is asked for
+     */
+    private static String toKey(String typeName) {
+        return TypeUtil.normalizeTypeString(typeName).toLowerCase();
+    }
+
+    @AllArgsConstructor
+    private static class Table {
+
+        private final String aliases;
+
+        private final Map<String, RegisteredType> types;
+
+    }
+
+}
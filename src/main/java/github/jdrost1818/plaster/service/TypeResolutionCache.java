@@ -0,0 +1,102 @@
+package github.jdrost1818.plaster.service;
+
+import github.jdrost1818.plaster.domain.CustomTypeResolution;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Memo of every custom type resolved during a run, shared by {@link TypeService} and
+ * {@link DependencyService} so that a custom type is only ever searched for once,
+ * no matter how many fields use it or which service asks first.
+ *
+ * Types are keyed by their lower-cased name, the same way the search ignores case.
+ * Types that could not be found and types that matched several classes are kept too.
+ */
+public class TypeResolutionCache {
+
+    private final Map<String, CustomTypeResolution> resolutions = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Gets the resolution of the given type, searching for it only if it has not
+     * been resolved before
+     *
+     * @param typeName
+     *          name of the custom type to resolve
+     * @param classFinder
+     *          finds the paths of all classes with a given name
+     * @return the resolution of the type
+     */
+    public CustomTypeResolution resolve(String typeName, Function<String, List<String>> classFinder) {
+        String key = typeName.toLowerCase();
+
+        CustomTypeResolution resolution = this.resolutions.get(key);
+        if (nonNull(resolution)) {
+            this.hits.incrementAndGet();
+            return resolution;
+        }
+
+        this.misses.incrementAndGet();
+        resolution = new CustomTypeResolution(typeName, classFinder.apply(typeName));
+
+        CustomTypeResolution existing = this.resolutions.putIfAbsent(key, resolution);
+        return nonNull(existing) ? existing : resolution;
+    }
+
+    public boolean isResolved(String typeName) {
+        return this.resolutions.containsKey(typeName.toLowerCase());
+    }
+
+    public int getSize() {
+        return this.resolutions.size();
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Forgets the resolutions of the given types, such as classes generated since they
+     * were searched for, while keeping the counts
+     *
+     * @param typeNames
+     *          names of the custom types to search for again
+     */
+    public void forget(Collection<String> typeNames) {
+        typeNames.forEach(typeName -> this.resolutions.remove(typeName.toLowerCase()));
+    }
+
+    /**
+     * Starts counting hits and misses from zero again, while keeping the resolutions,
+     * so that the counts reported by a long-lived process are those of a single run
+     */
+    public void resetCounts() {
+        this.hits.set(0);
+        this.misses.set(0);
+    }
+
+    /**
+     * Forgets every resolution and resets the counts. The source tree may have changed
+     * since the types were resolved, so this is done between runs of a long-lived process
+     * which cannot tell which types changed.
+     */
+    public void clear() {
+        this.resolutions.clear();
+        this.resetCounts();
+    }
+
+}
@@ -1,19 +1,20 @@
 package github.jdrost1818.plaster.service;
 
-import github.jdrost1818.plaster.data.Regex;
-import github.jdrost1818.plaster.data.StoredJavaType;
+import github.jdrost1818.plaster.domain.CustomTypeResolution;
+import github.jdrost1818.plaster.domain.GenericType;
+import github.jdrost1818.plaster.domain.RegisteredType;
 import github.jdrost1818.plaster.domain.Type;
 import github.jdrost1818.plaster.domain.TypeDeclaration;
-import github.jdrost1818.plaster.exception.EnumSearchException;
 import github.jdrost1818.plaster.exception.PlasterException;
 import github.jdrost1818.plaster.util.TypeUtil;
 import lombok.AllArgsConstructor;
-import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.Stack;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.nonNull;
@@ -24,25 +25,27 @@ import static java.util.Objects.nonNull;
 @AllArgsConstructor
 public class TypeService {
 
-    private static final Pattern POP_PATTERN = Pattern.compile("[>,]");
-
     private final SearchService searchService;
 
-    private final DependencyService dependencyService;
+    private final TypeResolutionCache typeResolutionCache;
+
+    private final TypeRegistry typeRegistry;
 
     /**
-     * Validates that the string is correctly formatted for a Java type
+     * Validates that the string is correctly formatted for a Java type. Only the syntax
+     * is checked, the number of type arguments is checked once the classes are known.
      *
      * @param typeString
      *          string to validate
      * @return whether the string is valid
      */
     public boolean validateType(String typeString) {
-        String normalizedTypeString = TypeUtil.normalizeTypeString(typeString).replaceAll(" ", "");
-
-        return typeString.contains("<")
-                ? this.validateComplexType(normalizedTypeString, new Stack<>())
-                : this.validateClassName(normalizedTypeString, true);
+        try {
+            TypeUtil.parseType(typeString);
+            return true;
+        } catch (PlasterException e) {
+            return false;
+        }
     }
 
     /**
@@ -53,19 +56,42 @@ public class TypeService {
      * @return the converted declaration
      */
     public TypeDeclaration convertToTypeDeclaration(String typeString) {
-        String normalizedTypeString = TypeUtil.normalizeTypeString(typeString);
+        GenericType genericType = TypeUtil.parseType(typeString);
 
-        if (StringUtils.isBlank(normalizedTypeString) || !this.validateType(normalizedTypeString)) {
-            throw new PlasterException("Malformed type provided: " + typeString);
-        }
+        return TypeDeclaration.of(this.resolveTypes(genericType, this.searchService::findClassesWithName));
+    }
 
-        List<Type> types = TypeUtil.splitToIndividualTypes(normalizedTypeString).stream()
-                .map(t -> this.convertToType(t, false))
+    /**
+     * Converts all the given strings into fully populated {@link TypeDeclaration}s. Every
+     * custom type used by any of the strings that has not already been resolved is collected
+     * up front and resolved with a single search, so the cost of searching does not grow
+     * with the number of strings.
+     *
+     * @param typeStrings
+     *          strings to convert
+     * @return the converted declarations, in the same order as the strings
+     */
+    public List<TypeDeclaration> convertToTypeDeclarations(List<String> typeStrings) {
+        List<GenericType> genericTypes = typeStrings.stream()
+                .map(TypeUtil::parseType)
                 .collect(Collectors.toList());
 
-        String mergedTypeString = TypeUtil.mergeTypeStringAndListOfTypes(typeString, types);
+        Set<String> customTypeNames = genericTypes.stream()
+                .map(GenericType::getNames)
+                .flatMap(List::stream)
+                .filter(t -> !this.typeRegistry.isRegistered(t))
+                .filter(t -> !this.typeResolutionCache.isResolved(t))
+                .collect(Collectors.toSet());
+
+        Map<String, List<String>> foundClasses = customTypeNames.isEmpty()
+                ? new HashMap<>() : this.searchService.findClassesWithNames(customTypeNames);
 
-        return new TypeDeclaration(mergedTypeString, types);
+        Function<String, List<String>> classFinder = t -> foundClasses.containsKey(t)
+                ? foundClasses.get(t) : this.searchService.findClassesWithName(t);
+
+        return genericTypes.stream()
+                .map(t -> TypeDeclaration.of(this.resolveTypes(t, classFinder)))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -78,126 +104,54 @@ public class TypeService {
      * @return the converted type
      */
     public Type convertToType(String typeString, boolean shouldUsePrimitive) {
-        String normalizedTypeString = TypeUtil.normalizeTypeString(typeString);
+        GenericType genericType = TypeUtil.parseType(typeString);
 
-        if (!validateType(normalizedTypeString)) {
-            throw new PlasterException("Malformed type provided: " + typeString);
+        if (genericType.getArity() > 0) {
+            throw new PlasterException("Expected a type without type arguments: " + typeString);
         }
 
-        StoredJavaType storedJavaType = null;
-        try {
-            storedJavaType = StoredJavaType.getStoredJavaType(normalizedTypeString);
-        } catch (EnumSearchException e) {
-            // This really isn't an error in this case. The type
-            // isn't guaranteed to be a stored type here
-        }
+        RegisteredType registeredType = this.typeRegistry.find(genericType.getName());
 
-        return nonNull(storedJavaType)
-                ? storedJavaType.getType(shouldUsePrimitive) : this.fetchCustomType(normalizedTypeString);
+        return nonNull(registeredType)
+                ? registeredType.getType(shouldUsePrimitive)
+                : this.fetchCustomType(genericType.getName(), this.searchService::findClassesWithName);
     }
 
-    private Type fetchCustomType(String typeString) {
-        List<String> matchingClassPaths = this.searchService.findClassesWithName(typeString);
+    /**
+     * Builds a copy of the tree with the class of every type resolved. Types known to
+     * plaster must be given the number of type arguments they take, or none at all.
+     * Custom types may be given any number, as there is no way to know how many they take.
+     */
+    private GenericType resolveTypes(GenericType genericType, Function<String, List<String>> classFinder) {
+        RegisteredType registeredType = this.typeRegistry.find(genericType.getName());
 
-        if (matchingClassPaths.size() > 1) {
-            String possibleChoices = StringUtils.join(matchingClassPaths, ",\n\t");
-            throw new PlasterException("Could not decide which type to use. Options: " + possibleChoices);
-        } else if (matchingClassPaths.isEmpty()) {
-            throw new PlasterException("Could not find custom type: " + typeString);
+        int arity = genericType.getArity();
+        if (nonNull(registeredType) && !registeredType.acceptsTypedArgs(arity)) {
+            throw new PlasterException(String.format("%s takes %d type arguments, but was given %d: %s",
+                    genericType.getName(), registeredType.getNumTypedArgsRequired(), arity, genericType));
         }
 
-        String matchingClass = FilenameUtils.getBaseName(matchingClassPaths.get(0));
+        Type type = nonNull(registeredType)
+                ? registeredType.getType(false)
+                : this.fetchCustomType(genericType.getName(), classFinder);
+
+        List<GenericType> arguments = genericType.getArguments().stream()
+                .map(a -> this.resolveTypes(a, classFinder))
+                .collect(Collectors.toList());
 
-        return new Type(matchingClass, this.dependencyService.fetchDependency(matchingClass));
+        return new GenericType(type.getClassName(), type, arguments);
     }
 
-    /**
-     * Recursive function to determine whether or not the given string is a valid
-     * Java type. This examines the parameterized types to ensure everything is properly
-     * formatted
-     *
-     * @param typeString
-     *          string to check
-     * @param stack
-     *          the stack of typed parameters so far
-     * @return whether the string is a properly formatted java type
-     */
-    private boolean validateComplexType(String typeString, Stack<String> stack) {
-        if (typeString.isEmpty()) {
-            // Since there is nothing left to parse, there should be
-            // exactly one item on the stack left to verify, if there
-            // are more or less, it means the string is not valid
-            return stack.size() == 1 && validateClassName(stack.pop(), false);
-        } else if (POP_PATTERN.matcher(typeString.substring(0, 1)).matches()) {
-            // If we've hit a closing tag '>' or a ',', it
-            // signifies we should pop an element of the stack
-            // Thus we validate that item, and remove the pop indicator
-            //
-            // The typeString will look like ",Something>" or ">..."
-            String newTypeString = typeString.substring(1);
-            return validateClassName(stack.pop(), false)
-                    && validateComplexType(newTypeString, stack);
-        } else {
-            // This means we are adding something needs to be added to the stack
-            // because we are not done, and we are not removing anything from the stack
-            //
-            // The typeString will look like "Something..."
-            String strToAddToStack;
-            int leftIndex = !typeString.contains("<") ? Integer.MAX_VALUE : typeString.indexOf("<");
-            int rightIndex = !typeString.contains(">") ? Integer.MAX_VALUE : typeString.indexOf(">");
-            int commaIndex = !typeString.contains(",") ? Integer.MAX_VALUE : typeString.indexOf(",");
-
-            // We just need to get the text between the next indicator,
-            // whether that's an "<", ">", or "," doesn't matter now,
-            // we will be adding something to the stack regardless
-            if (leftIndex < commaIndex && leftIndex < rightIndex) {
-                // Since "<" isn't a pop indicator, we don't want to keep it
-                strToAddToStack = typeString.substring(0, leftIndex);
-                typeString = typeString.substring(leftIndex + 1);
-            } else if (rightIndex < commaIndex) {
-                // Since ">" is a pop indicator, we want to keep it
-                strToAddToStack = typeString.substring(0, rightIndex);
-                typeString = typeString.substring(rightIndex);
-            } else if (commaIndex != Integer.MAX_VALUE){
-                // Since "," is a pop indicator, we want to keep it
-                strToAddToStack = typeString.substring(0, commaIndex);
-                typeString = typeString.substring(commaIndex);
-            } else {
-                // Since we are dealing with typed parameters in this function,
-                // there will never be an instance for a valid string where
-                // the string isn't empty and there are no "<", ">", or ","s left
-                return false;
-            }
-
-            // Add the new string and recurse
-            stack.add(strToAddToStack);
-            return validateComplexType(typeString, stack);
+    private Type fetchCustomType(String typeString, Function<String, List<String>> classFinder) {
+        CustomTypeResolution resolution = this.typeResolutionCache.resolve(typeString, classFinder);
+
+        if (resolution.isAmbiguous()) {
+            String possibleChoices = StringUtils.join(resolution.getMatchingClassPaths(), ",\n\t");
+            throw new PlasterException("Could not decide which type to use. Options: " + possibleChoices);
+        } else if (!resolution.isFound()) {
+            throw new PlasterException("Could not find custom type: " + typeString);
         }
-    }
 
-    /**
-     * Validates that the string provided is a proper class. This only works
-     * for non-parameterized types.
-     *
-     * Examples:
-     * <pre>
-     *     Integer, false ->                true
-     *     integer, false ->                false
-     *     int, true ->                     true
-     *     int, false ->                    false
-     *     Something<Something>, false      false -> all parameterized types will be false
-     * </pre>
-     *
-     * @param str
-     *          string to check
-     * @param allowForPrimitives
-     *          whether to allow primitives such as "int", "float", etc.
-     * @return whether the string is a valid class name
-     */
-    private boolean validateClassName(String str, boolean allowForPrimitives) {
-        return StringUtils.isNotBlank(str)
-                && allowForPrimitives
-                    ? Regex.JAVA_CLASS_NAME_WITH_PRIMITIVES.matcher(str).matches()
-                    : Regex.JAVA_CLASS_NAME.matcher(str).matches();
+        return resolution.getType();
     }
 }
@@ -0,0 +1,372 @@
+package github.jdrost1818.plaster.service.importer;
+
+import com.google.common.collect.Sets;
+import github.jdrost1818.plaster.data.StoredJavaType;
+import github.jdrost1818.plaster.domain.batch.BatchEntity;
+import github.jdrost1818.plaster.exception.PlasterException;
+import github.jdrost1818.plaster.service.importer.DdlTokenizer.Kind;
+import github.jdrost1818.plaster.service.importer.DdlTokenizer.Token;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Reads the tables of a SQL schema, such as a dump made by pg_dump or mysqldump, as
+ * classes to generate. Each CREATE TABLE becomes a class named after the table, with a
+ * field for each of its columns, which is handed on as soon as the closing parenthesis
+ * of the table is read. Every other statement is skipped without being kept, so only
+ * a single table is ever held in memory, however large the file.
+ *
+ *      CREATE TABLE customer_order (
+ *          id BIGINT PRIMARY KEY,
+ *          placed_at TIMESTAMP NOT NULL,
+ *          total NUMERIC(10, 2)
+ *      );
+ *
+ *      -> customer_order, key id:long, fields placed_at:timestamp, total:double
+ *
+ * Column types are mapped onto the {@link StoredJavaType}s. Any other type, such as a
+ * postgres enum, is left for the project to provide as a custom type. A primary key of
+ * a single column becomes the key of the class, otherwise the key is left to
+ * {@link ImportService}.
+ */
+public class DdlReader implements SchemaReader {
+
+    public static final String FORMAT = "ddl";
+
+    private static final Map<String, StoredJavaType> SQL_TYPES;
+
+    static {
+        Map<String, StoredJavaType> sqlTypes = new HashMap<>();
+        put(sqlTypes, StoredJavaType.INTEGER,
+                "int", "integer", "int2", "int4", "smallint", "tinyint", "mediumint", "serial", "serial4", "smallserial");
+        put(sqlTypes, StoredJavaType.LONG,
+                "bigint", "int8", "bigserial", "serial8");
+        put(sqlTypes, StoredJavaType.FLOAT,
+                "real", "float4");
+        put(sqlTypes, StoredJavaType.DOUBLE,
+                "float", "float8", "double", "decimal", "dec", "numeric", "number", "money");
+        put(sqlTypes, StoredJavaType.BOOLEAN,
+                "bool", "boolean", "bit");
+        put(sqlTypes, StoredJavaType.STRING,
+                "char", "character", "nchar", "varchar", "varchar2", "nvarchar", "nvarchar2", "text", "tinytext",
+                "mediumtext", "longtext", "ntext", "clob", "nclob", "citext", "uuid", "uniqueidentifier", "json",
+                "jsonb", "xml", "enum");
+        put(sqlTypes, StoredJavaType.DATE,
+                "date");
+        put(sqlTypes, StoredJavaType.TIMESTAMP,
+                "timestamp", "timestamptz", "datetime", "datetime2", "smalldatetime", "datetimeoffset", "time",
+                "timetz");
+
+        SQL_TYPES = Collections.unmodifiableMap(sqlTypes);
+    }
+
+    /**
+     * Words which may follow CREATE in front of TABLE
+     */
+    private static final Set<String> TABLE_MODIFIERS = Sets.newHashSet(
+            "OR", "REPLACE", "TEMP", "TEMPORARY", "GLOBAL", "LOCAL", "UNLOGGED");
+
+    /**
+     * Words which start a constraint of the table rather than a column
+     */
+    private static final Set<String> TABLE_CONSTRAINTS = Sets.newHashSet(
+            "PRIMARY", "UNIQUE", "KEY", "INDEX", "FOREIGN", "CHECK", "FULLTEXT", "SPATIAL", "EXCLUDE", "LIKE",
+            "PERIOD");
+
+    /**
+     * Words which start a constraint of a column, and so end its type, or stand in for it
+     * when sqlite leaves the type out
+     */
+    private static final Set<String> COLUMN_CONSTRAINTS = Sets.newHashSet(
+            "NOT", "NULL", "PRIMARY", "REFERENCES", "DEFAULT", "UNIQUE", "CHECK", "CONSTRAINT", "COLLATE", "GENERATED",
+            "AS");
+
+    @Override
+    public void read(InputStream input, Consumer<BatchEntity> entities) throws IOException {
+        DdlTokenizer tokenizer = new DdlTokenizer(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+
+        Token token = tokenizer.next();
+        while (token.kind != Kind.END) {
+            if (token.isWord("CREATE")) {
+                token = this.readCreate(tokenizer, entities);
+            }
+            token = skipStatement(tokenizer, token);
+        }
+    }
+
+    /**
+     * Reads what follows CREATE, handing on the table if it is one
+     *
+     * @return the first token which was not read
+     */
+    private Token readCreate(DdlTokenizer tokenizer, Consumer<BatchEntity> entities) throws IOException {
+        Token token = tokenizer.next();
+        while (token.kind == Kind.WORD && TABLE_MODIFIERS.contains(upper(token))) {
+            token = tokenizer.next();
+        }
+        if (!token.isWord("TABLE")) {
+            return token;
+        }
+
+        token = tokenizer.next();
+        if (token.isWord("IF")) {
+            // IF NOT EXISTS
+            tokenizer.next();
+            tokenizer.next();
+            token = tokenizer.next();
+        }
+
+        // Only the last part of a qualified name such as public.customer is kept
+        String tableName = null;
+        while (token.isIdentifier()) {
+            tableName = identifier(token);
+            token = tokenizer.next();
+            if (!token.isSymbol(".")) {
+                break;
+            }
+            token = tokenizer.next();
+        }
+
+        // Such as CREATE TABLE copy AS SELECT ..., which has no columns of its own
+        if (isNull(tableName) || !token.isSymbol("(")) {
+            return token;
+        }
+
+        entities.accept(this.readTable(tokenizer, tableName, token.line));
+
+        return tokenizer.next();
+    }
+
+    /**
+     * Reads the columns and constraints of a table, up to its closing parenthesis
+     */
+    private BatchEntity readTable(DdlTokenizer tokenizer, String tableName, int startLine) throws IOException {
+        Map<String, String> columns = new LinkedHashMap<>();
+        List<String> primaryKey = new ArrayList<>();
+
+        List<Token> element = new ArrayList<>();
+        int depth = 1;
+        while (depth > 0) {
+            Token token = tokenizer.next();
+            if (token.kind == Kind.END) {
+                throw new PlasterException(String.format(
+                        "Unexpected end of file in table %s starting on line %d", tableName, startLine));
+            } else if (token.isSymbol("(")) {
+                depth++;
+            } else if (token.isSymbol(")")) {
+                depth--;
+            }
+
+            if (depth == 0 || (depth == 1 && token.isSymbol(","))) {
+                this.readElement(element, columns, primaryKey);
+                element.clear();
+            } else {
+                element.add(token);
+            }
+        }
+
+        BatchEntity entity = new BatchEntity();
+        entity.setName(tableName);
+        if (primaryKey.size() == 1 && columns.containsKey(primaryKey.get(0))) {
+            String keyName = primaryKey.get(0);
+            entity.setKey(keyName + ":" + columns.remove(keyName));
+        }
+
+        List<String> fields = new ArrayList<>();
+        columns.forEach((name, type) -> fields.add(name + ":" + type));
+        entity.setFields(fields);
+
+        return entity;
+    }
+
+    /**
+     * Reads either a column, along with whether it is the primary key, or a constraint
+     * of the table, of which only the primary key matters
+     */
+    private void readElement(List<Token> element, Map<String, String> columns, List<String> primaryKey) {
+        if (element.isEmpty()) {
+            return;
+        }
+
+        int start = element.get(0).isWord("CONSTRAINT") ? 2 : 0;
+        if (start >= element.size()) {
+            return;
+        }
+
+        if (isTableConstraint(element, start)) {
+            if (element.get(start).isWord("PRIMARY")) {
+                primaryKey.addAll(readColumnNames(element, start));
+            }
+            return;
+        }
+
+        String name = identifier(element.get(0));
+
+        // A column may leave out its type in sqlite, going straight on to its constraints
+        String sqlType = null;
+        int position = 1;
+        while (position < element.size() && element.get(position).isIdentifier() && !isColumnConstraint(element.get(position))) {
+            sqlType = identifier(element.get(position));
+            position++;
+            if (position >= element.size() || !element.get(position).isSymbol(".")) {
+                break;
+            }
+            position++;
+        }
+
+        boolean isArray = false;
+        boolean isPrimaryKey = false;
+        int depth = 0;
+        for (int i = position; i < element.size(); i++) {
+            Token token = element.get(i);
+            if (token.isSymbol("(")) {
+                depth++;
+            } else if (token.isSymbol(")")) {
+                depth--;
+            } else if (depth == 0) {
+                isArray |= token.isSymbol("[]") || token.isWord("ARRAY");
+                isPrimaryKey |= token.isWord("PRIMARY") && i + 1 < element.size() && element.get(i + 1).isWord("KEY");
+            }
+        }
+
+        String javaType = toJavaType(sqlType);
+        columns.put(name, isArray ? "list<" + javaType + ">" : javaType);
+        if (isPrimaryKey) {
+            primaryKey.add(name);
+        }
+    }
+
+    private static boolean isColumnConstraint(Token token) {
+        return token.kind == Kind.WORD && COLUMN_CONSTRAINTS.contains(upper(token));
+    }
+
+    /**
+     * Postgres lets columns be named after some of the words which start a constraint,
+     * such as key, so those are only taken as a constraint when not followed by a type
+     */
+    private static boolean isTableConstraint(List<Token> element, int start) {
+        Token first = element.get(start);
+        if (first.kind != Kind.WORD || !TABLE_CONSTRAINTS.contains(upper(first))) {
+            return false;
+        }
+
+        if (start + 1 < element.size()) {
+            Token next = element.get(start + 1);
+
+            return next.kind != Kind.WORD || !SQL_TYPES.containsKey(next.text.toLowerCase(Locale.ROOT));
+        }
+
+        return true;
+    }
+
+    /**
+     * Reads the names of the columns listed within the parentheses of a constraint,
+     * such as PRIMARY KEY (order_id, line ASC), skipping anything after each name
+     */
+    private static List<String> readColumnNames(List<Token> element, int start) {
+        List<String> names = new ArrayList<>();
+
+        int depth = 0;
+        boolean expectName = false;
+        for (int i = start; i < element.size(); i++) {
+            Token token = element.get(i);
+            if (token.isSymbol("(")) {
+                depth++;
+                expectName = depth == 1;
+            } else if (token.isSymbol(")")) {
+                depth--;
+                if (depth == 0) {
+                    break;
+                }
+            } else if (depth == 1 && token.isSymbol(",")) {
+                expectName = true;
+            } else if (expectName && token.isIdentifier()) {
+                names.add(identifier(token));
+                expectName = false;
+            }
+        }
+
+        return names;
+    }
+
+    /**
+     * Skips the rest of a statement, up to and including the ; or GO which ends it
+     *
+     * @return the first token of the next statement
+     */
+    private static Token skipStatement(DdlTokenizer tokenizer, Token token) throws IOException {
+        boolean isCopy = token.isWord("COPY");
+        boolean isFromStdin = false;
+
+        int depth = 0;
+        while (token.kind != Kind.END) {
+            if (token.isSymbol("(")) {
+                depth++;
+            } else if (token.isSymbol(")")) {
+                depth = Math.max(0, depth - 1);
+            } else if (token.isWord("STDIN")) {
+                isFromStdin = true;
+            } else if (depth == 0 && token.isSymbol(";")) {
+                if (isCopy && isFromStdin) {
+                    tokenizer.skipCopyData();
+                }
+                return tokenizer.next();
+            } else if (depth == 0 && token.isWord("GO")) {
+                return tokenizer.next();
+            }
+
+            token = tokenizer.next();
+        }
+
+        return token;
+    }
+
+    private static String toJavaType(String sqlType) {
+        if (isNull(sqlType)) {
+            return StoredJavaType.STRING.getSearchTerms().get(0);
+        }
+
+        StoredJavaType storedJavaType = SQL_TYPES.get(sqlType.toLowerCase(Locale.ROOT));
+
+        return nonNull(storedJavaType) ? storedJavaType.getSearchTerms().get(0) : sqlType;
+    }
+
+    /**
+     * Identifiers are often written in upper case, which does not carry over to java
+     * names, so CUSTOMER_ID is taken as customer_id. Anything else is kept as it is written.
+     */
+    private static String identifier(Token token) {
+        if (token.text.equals(token.text.toUpperCase(Locale.ROOT))) {
+            return token.text.toLowerCase(Locale.ROOT);
+        }
+
+        return token.text;
+    }
+
+    private static String upper(Token token) {
+        return token.text.toUpperCase(Locale.ROOT);
+    }
+
+    private static void put(Map<String, StoredJavaType> sqlTypes, StoredJavaType storedJavaType, String... names) {
+        for (String name : names) {
+            sqlTypes.put(name, storedJavaType);
+        }
+    }
+
+}
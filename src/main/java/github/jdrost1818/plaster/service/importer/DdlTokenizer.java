@@ -0,0 +1,309 @@
+package github.jdrost1818.plaster.service.importer;
+
+import github.jdrost1818.plaster.exception.PlasterException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits SQL into tokens as it is read, so a file of any size is never held in memory
+ * at once. Comments are skipped, and so is the content of string literals, as nothing
+ * is generated from it. The largest token held is therefore the longest identifier.
+ *
+ *      CREATE TABLE "order" (id bigint, -- the key
+ *
+ *      -> CREATE TABLE order ( id bigint ,
+ */
+class DdlTokenizer {
+
+    enum Kind {
+        /**
+         * Keyword, unquoted identifier or number, such as CREATE, customer or 255
+         */
+        WORD,
+        /**
+         * Identifier in "double quotes", `backticks` or [brackets], without them
+         */
+        QUOTED,
+        /**
+         * String literal in 'single quotes' or $tag$dollar quotes$tag$, without its content
+         */
+        LITERAL,
+        /**
+         * Any other single character, such as ( or ;, and [] which marks an array type
+         */
+        SYMBOL,
+        END
+    }
+
+    static final class Token {
+
+        final Kind kind;
+
+        final String text;
+
+        final int line;
+
+        private Token(Kind kind, String text, int line) {
+            this.kind = kind;
+            this.text = text;
+            this.line = line;
+        }
+
+        boolean isWord(String word) {
+            return this.kind == Kind.WORD && this.text.equalsIgnoreCase(word);
+        }
+
+        boolean isSymbol(String symbol) {
+            return this.kind == Kind.SYMBOL && this.text.equals(symbol);
+        }
+
+        boolean isIdentifier() {
+            return this.kind == Kind.WORD || this.kind == Kind.QUOTED;
+        }
+
+    }
+
+    private static final int EOF = -1;
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+
+    private final StringBuilder text = new StringBuilder();
+
+    private int peeked = NONE;
+
+    private int line = 1;
+
+    DdlTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the next token
+     *
+     * @return the token, of kind {@link Kind#END} once everything has been read
+     * @throws PlasterException if a quote or comment is never closed
+     */
+    Token next() throws IOException {
+        int c = this.skipWhitespaceAndComments();
+        int startLine = this.line;
+        this.text.setLength(0);
+
+        if (c == EOF) {
+            return new Token(Kind.END, "", startLine);
+        } else if (c == '\'') {
+            this.skipString(startLine);
+            return new Token(Kind.LITERAL, "", startLine);
+        } else if (c == '"' || c == '`') {
+            this.readQuoted(c, startLine);
+            return new Token(Kind.QUOTED, this.text.toString(), startLine);
+        } else if (c == '[') {
+            return this.readBracket(startLine);
+        } else if (c == '$') {
+            return this.readDollar(startLine);
+        } else if (isWordPart(c)) {
+            this.text.append((char) c);
+            this.readWhile(true);
+            return new Token(Kind.WORD, this.text.toString(), startLine);
+        }
+
+        return new Token(Kind.SYMBOL, String.valueOf((char) c), startLine);
+    }
+
+    /**
+     * Skips the rows which follow a COPY ... FROM stdin statement, as written by pg_dump.
+     * These are plain text up to a line holding only \., rather than SQL.
+     */
+    void skipCopyData() throws IOException {
+        // The rest of the line of the statement itself
+        this.skipLine();
+
+        StringBuilder row = new StringBuilder();
+        for (int c = this.read(); c != EOF; c = this.read()) {
+            if (c != '\n') {
+                // Only the start of the row matters to tell whether it is the end marker
+                if (row.length() < 3) {
+                    row.append((char) c);
+                }
+                continue;
+            }
+
+            String ended = row.toString().trim();
+            row.setLength(0);
+            if (ended.equals("\\.")) {
+                return;
+            }
+        }
+    }
+
+    private int skipWhitespaceAndComments() throws IOException {
+        while (true) {
+            int c = this.read();
+            if (c == EOF) {
+                return EOF;
+            } else if (Character.isWhitespace(c)) {
+                continue;
+            } else if (c == '#') {
+                this.skipLine();
+                continue;
+            } else if (c == '-' || c == '/') {
+                int n = this.read();
+                if (c == '-' && n == '-') {
+                    this.skipLine();
+                    continue;
+                } else if (c == '/' && n == '*') {
+                    this.skipBlockComment();
+                    continue;
+                }
+                this.unread(n);
+            }
+
+            return c;
+        }
+    }
+
+    private void skipLine() throws IOException {
+        int c = this.read();
+        while (c != EOF && c != '\n') {
+            c = this.read();
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+        int startLine = this.line;
+        int previous = EOF;
+        for (int c = this.read(); c != EOF; c = this.read()) {
+            if (previous == '*' && c == '/') {
+                return;
+            }
+            previous = c;
+        }
+
+        throw unterminated("comment", startLine);
+    }
+
+    /**
+     * Skips a string literal, where a quote is escaped either by doubling it or,
+     * as mysqldump writes them, with a backslash
+     */
+    private void skipString(int startLine) throws IOException {
+        for (int c = this.read(); c != EOF; c = this.read()) {
+            if (c == '\\') {
+                this.read();
+            } else if (c == '\'') {
+                int n = this.read();
+                if (n != '\'') {
+                    this.unread(n);
+                    return;
+                }
+            }
+        }
+
+        throw unterminated("string", startLine);
+    }
+
+    private void readQuoted(int quote, int startLine) throws IOException {
+        for (int c = this.read(); c != EOF; c = this.read()) {
+            if (c == quote) {
+                int n = this.read();
+                if (n != quote) {
+                    this.unread(n);
+                    return;
+                }
+            }
+            this.text.append((char) c);
+        }
+
+        throw unterminated("identifier", startLine);
+    }
+
+    /**
+     * Brackets either quote an identifier, as in [dbo].[customer], or mark an array
+     * type, as in integer[] or integer[3]
+     */
+    private Token readBracket(int startLine) throws IOException {
+        for (int c = this.read(); c != EOF; c = this.read()) {
+            if (c == ']') {
+                String content = this.text.toString();
+                return content.trim().matches("[0-9]*")
+                        ? new Token(Kind.SYMBOL, "[]", startLine)
+                        : new Token(Kind.QUOTED, content, startLine);
+            }
+            this.text.append((char) c);
+        }
+
+        throw unterminated("identifier", startLine);
+    }
+
+    /**
+     * Either a dollar quoted string, $$...$$ or $tag$...$tag$, or a parameter such as $1
+     */
+    private Token readDollar(int startLine) throws IOException {
+        this.readWhile(false);
+
+        int n = this.read();
+        if (n != '$') {
+            this.unread(n);
+            return new Token(Kind.WORD, "$" + this.text, startLine);
+        }
+
+        String tag = "$" + this.text + "$";
+        int matched = 0;
+        for (int c = this.read(); c != EOF; c = this.read()) {
+            if (c == tag.charAt(matched)) {
+                matched++;
+                if (matched == tag.length()) {
+                    return new Token(Kind.LITERAL, "", startLine);
+                }
+            } else {
+                // A tag only holds a $ at its ends, so a mismatch can only restart on a $
+                matched = c == '$' ? 1 : 0;
+            }
+        }
+
+        throw unterminated("string", startLine);
+    }
+
+    private void readWhile(boolean allowDollar) throws IOException {
+        int c = this.read();
+        while (isWordPart(c) || (allowDollar && c == '$')) {
+            this.text.append((char) c);
+            c = this.read();
+        }
+        this.unread(c);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (this.peeked != NONE) {
+            c = this.peeked;
+            this.peeked = NONE;
+        } else {
+            c = this.reader.read();
+        }
+
+        if (c == '\n') {
+            this.line++;
+        }
+
+        return c;
+    }
+
+    private void unread(int c) {
+        if (c == '\n') {
+            this.line--;
+        }
+        this.peeked = c;
+    }
+
+    private static boolean isWordPart(int c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    private static PlasterException unterminated(String what, int line) {
+        return new PlasterException(String.format("Unterminated %s starting on line %d", what, line));
+    }
+
+}
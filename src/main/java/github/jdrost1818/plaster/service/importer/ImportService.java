@@ -0,0 +1,314 @@
+package github.jdrost1818.plaster.service.importer;
+
+import github.jdrost1818.plaster.data.Mode;
+import github.jdrost1818.plaster.data.ModeScope;
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.domain.Field;
+import github.jdrost1818.plaster.domain.FileInformation;
+import github.jdrost1818.plaster.domain.ImportResult;
+import github.jdrost1818.plaster.domain.batch.BatchEntity;
+import github.jdrost1818.plaster.exception.PlasterException;
+import github.jdrost1818.plaster.service.ClassIndexService;
+import github.jdrost1818.plaster.service.ConfigurationService;
+import github.jdrost1818.plaster.service.FieldService;
+import github.jdrost1818.plaster.service.TypeResolutionCache;
+import github.jdrost1818.plaster.service.modifier.GenerateService;
+import github.jdrost1818.plaster.service.template.TemplateCache;
+import github.jdrost1818.plaster.util.ArgParseUtil;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Generates the classes described by a file of another format, such as a SQL schema,
+ * see {@link SchemaReader}.
+ *
+ * The file is never held in memory at once. Each class is validated and the types of
+ * its fields resolved as soon as it has been read, then it is handed to a pool of
+ * threads to generate while the rest of the file is read. Only a few classes may wait
+ * to be generated; once the pool falls behind, the reader generates the next class
+ * itself before reading on. A class which cannot be generated is reported at the end
+ * without stopping the others.
+ *
+ * A class may use another class of the file as the type of a field, such as a $ref
+ * to another schema. A class whose types cannot all be found is therefore set aside
+ * while reading when it uses other classes of the file. Once the file has been read
+ * and those classes generated, the index of the project is brought up to date and
+ * the classes set aside are tried again, round after round, for as long as each
+ * round generates more of them. A name the file only later gives another type for,
+ * such as a $ref to an enum further down, is replaced by that type before they are.
+ *
+ *      plaster import ddl schema.sql
+ *      plaster import openapi openapi.yml
+ */
+@AllArgsConstructor
+public class ImportService {
+
+    public static final String COMMAND = "import";
+
+    /**
+     * How many classes may be read ahead of the ones being generated
+     */
+    private static final int QUEUE_SIZE = 64;
+
+    private final ConfigurationService configurationService;
+
+    private final FieldService fieldService;
+
+    private final GenerateService generateService;
+
+    private final TemplateCache templateCache;
+
+    private final ClassIndexService classIndexService;
+
+    private final TypeResolutionCache typeResolutionCache;
+
+    /**
+     * Reader of each format which can be imported, by the name given on the command line
+     */
+    private final Map<String, SchemaReader> readers;
+
+    /**
+     * Whether the arguments ask for a file to be imported
+     *
+     * @param args
+     *          command line arguments
+     * @return true if the arguments are "import" followed by a format and a file
+     */
+    public static boolean isImportCommand(String[] args) {
+        return args.length == 3 && COMMAND.equals(args[0]);
+    }
+
+    /**
+     * Generates every class described by a file
+     *
+     * @param format
+     *          format of the file, such as ddl
+     * @param file
+     *          file to import
+     * @return how many classes were read and generated, and why each one that could not be generated failed
+     * @throws PlasterException if the format is unknown, or the file cannot be read
+     */
+    public ImportResult importFile(String format, File file) {
+        SchemaReader reader = this.readers.get(StringUtils.lowerCase(format));
+        if (isNull(reader)) {
+            throw new PlasterException(String.format("Cannot import %s. Supported formats: %s",
+                    format, StringUtils.join(new TreeSet<>(this.readers.keySet()), ", ")));
+        }
+        if (!file.isFile()) {
+            throw new PlasterException("Cannot find file to import: " + file.getPath());
+        }
+
+        this.templateCache.warmUp();
+        String defaultKey = this.configurationService.get(Setting.KEY);
+
+        AtomicInteger total = new AtomicInteger();
+        AtomicInteger generated = new AtomicInteger();
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+        // Only touched by the thread reading the file
+        Set<String> names = new HashSet<>();
+        Map<String, String> aliases = new HashMap<>();
+        List<SetAside> setAside = new ArrayList<>();
+
+        ThreadPoolExecutor pool = newPool();
+        try (InputStream input = new BufferedInputStream(new FileInputStream(file))) {
+            reader.read(input, entity -> {
+                String name = describe(entity, total.incrementAndGet());
+                if (StringUtils.isNotBlank(entity.getName())) {
+                    names.add(entity.getName().toLowerCase());
+                }
+
+                try {
+                    execute(pool, name, this.prepare(entity, defaultKey), generated, failures);
+                } catch (PlasterException e) {
+                    // It may use a class of the file which has not been generated yet
+                    setAside.add(new SetAside(entity, name, e.getMessage()));
+                }
+            }, aliases::put);
+        } catch (PlasterException e) {
+            // The classes read before the file turned out to be malformed are still generated
+            failures.add(e.getMessage());
+        } catch (IOException e) {
+            throw new PlasterException("Error reading file to import: " + file.getPath(), e);
+        } finally {
+            awaitGenerations(pool);
+        }
+
+        this.retrySetAside(setAside, names, aliases, defaultKey, generated, failures);
+
+        return new ImportResult(total.get(), generated.get(), new ArrayList<>(failures));
+    }
+
+    /**
+     * Tries again the classes set aside while reading, round after round, bringing the
+     * index up to date before each so that it finds the classes generated since. This
+     * stops once a round generates nothing, as nothing more could then be found. A class
+     * which used a name the file later gave another type for is tried with that type. A
+     * class which uses no other class of the file is reported straight away.
+     */
+    private void retrySetAside(List<SetAside> setAside, Set<String> names, Map<String, String> aliases,
+                               String defaultKey, AtomicInteger generated, List<String> failures) {
+        List<SetAside> waiting = new ArrayList<>();
+        for (SetAside entry : setAside) {
+            if (entry.entity.replaceTypeNames(aliases) || usesOthers(entry.entity, names)) {
+                waiting.add(entry);
+            } else {
+                failures.add(entry.name + ": " + entry.reason);
+            }
+        }
+
+        int generatedBefore = -1;
+        while (!waiting.isEmpty() && generated.get() != generatedBefore) {
+            generatedBefore = generated.get();
+            this.classIndexService.invalidate();
+            this.typeResolutionCache.forget(names);
+
+            List<SetAside> stillWaiting = new ArrayList<>();
+            ThreadPoolExecutor pool = newPool();
+            try {
+                for (SetAside entry : waiting) {
+                    try {
+                        execute(pool, entry.name, this.prepare(entry.entity, defaultKey), generated, failures);
+                    } catch (PlasterException e) {
+                        stillWaiting.add(new SetAside(entry.entity, entry.name, e.getMessage()));
+                    }
+                }
+            } finally {
+                awaitGenerations(pool);
+            }
+
+            waiting = stillWaiting;
+        }
+
+        waiting.forEach(entry -> failures.add(entry.name + ": " + entry.reason));
+    }
+
+    /**
+     * Validates a class the same way the command line arguments are, and resolves the
+     * types of its key and fields. A class read without a key takes the configured one,
+     * unless it has a field of the same name, which then becomes the key.
+     *
+     * @return what generates the class
+     * @throws PlasterException if the class is invalid, or any of its types cannot be found
+     */
+    private Runnable prepare(BatchEntity entity, String defaultKey) {
+        ArgParseUtil.validateClassName(entity.getName());
+        ModeScope scope = Mode.GENERATE.getScope(entity.getScope());
+        ArgParseUtil.validateDir(entity.getDir());
+
+        String keyPair = entity.getKey();
+        List<String> fieldPairs = new ArrayList<>(entity.getFields());
+        if (StringUtils.isBlank(keyPair)) {
+            keyPair = defaultKey;
+
+            // A field named like the configured key, such as the id property of a schema, is taken as the key
+            String keyName = StringUtils.substringBefore(defaultKey, ":");
+            for (Iterator<String> fieldPair = fieldPairs.iterator(); fieldPair.hasNext(); ) {
+                String pair = fieldPair.next();
+                if (StringUtils.substringBefore(pair, ":").equalsIgnoreCase(keyName)) {
+                    keyPair = pair;
+                    fieldPair.remove();
+                    break;
+                }
+            }
+        }
+
+        Field key = this.fieldService.convertToField(keyPair);
+        List<Field> fields = this.fieldService.convertToFields(fieldPairs);
+
+        String subDirPath = StringUtils.isBlank(entity.getDir()) ? "" : "/" + entity.getDir();
+        FileInformation fileInformation = new FileInformation(entity.getName(), key, fields, subDirPath);
+
+        return () -> scope.modify(this.generateService, fileInformation);
+    }
+
+    /**
+     * Whether a class uses, as the type of its key or a field, another class of the file
+     */
+    private static boolean usesOthers(BatchEntity entity, Set<String> names) {
+        String ownName = StringUtils.lowerCase(entity.getName());
+
+        return entity.findTypeNames().stream()
+                .map(String::toLowerCase)
+                .anyMatch(typeName -> !typeName.equals(ownName) && names.contains(typeName));
+    }
+
+    private static ThreadPoolExecutor newPool() {
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "plaster-import");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    private static void execute(ThreadPoolExecutor pool, String name, Runnable generation,
+                                AtomicInteger generated, List<String> failures) {
+        pool.execute(() -> {
+            try {
+                generation.run();
+                generated.incrementAndGet();
+            } catch (PlasterException e) {
+                failures.add(name + ": " + e.getMessage());
+            } catch (RuntimeException e) {
+                failures.add(name + ": " + e);
+            }
+        });
+    }
+
+    private static void awaitGenerations(ThreadPoolExecutor pool) {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new PlasterException("Interrupted while generating imported classes", e);
+        }
+    }
+
+    private static String describe(BatchEntity entity, int number) {
+        return StringUtils.isBlank(entity.getName()) ? "Class " + number : entity.getName();
+    }
+
+    /**
+     * A class which could not be prepared, and why
+     */
+    @RequiredArgsConstructor
+    private static class SetAside {
+
+        private final BatchEntity entity;
+
+        private final String name;
+
+        private final String reason;
+
+    }
+
+}
@@ -0,0 +1,367 @@
+package github.jdrost1818.plaster.service.importer;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.google.common.collect.Sets;
+import github.jdrost1818.plaster.data.StoredJavaType;
+import github.jdrost1818.plaster.domain.batch.BatchEntity;
+import github.jdrost1818.plaster.exception.PlasterException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Reads the schemas of an OpenAPI document, or the definitions of a JSON Schema, as
+ * classes to generate. The document is walked as a stream of tokens, skipping over
+ * everything but the schemas, and only one schema at a time is read as a whole. Each
+ * object schema becomes a class named after the schema, with a field for each of its
+ * properties, which is handed on as soon as it has been read.
+ *
+ *      components:
+ *        schemas:
+ *          Customer:
+ *            type: object
+ *            properties:
+ *              id:
+ *                type: integer
+ *                format: int64
+ *              addresses:
+ *                type: array
+ *                items:
+ *                  $ref: '#/components/schemas/Address'
+ *
+ *      -> Customer, fields id:long, addresses:list<Address>
+ *
+ * Property types are mapped onto the {@link StoredJavaType}s, while a $ref is taken as
+ * the class of the schema it points to. A $ref to a schema which is not an object, such
+ * as an enum or a string with a format, is taken as the type that schema maps to. A
+ * class with a $ref to a schema further down the document is still handed on straight
+ * away, naming that schema as the type. Only the names of such schemas are kept, and
+ * any of them which turns out not to be an object is handed to the aliases along with
+ * its type once read. The document is either json or yml.
+ */
+public class OpenApiReader implements SchemaReader {
+
+    public static final String FORMAT = "openapi";
+
+    /**
+     * Where the schemas are kept: components.schemas in OpenAPI 3, definitions in
+     * swagger 2 and JSON Schema drafts up to 7, and $defs in later drafts
+     */
+    private static final String COMPONENTS = "components";
+
+    private static final String SCHEMAS = "schemas";
+
+    private static final Set<String> DEFINITIONS = Sets.newHashSet("definitions", "$defs");
+
+    /**
+     * How far into the document to look for the { which starts a json document
+     */
+    private static final int SNIFF_LIMIT = 1024;
+
+    private static final String STRING = StoredJavaType.STRING.getSearchTerms().get(0);
+
+    @Override
+    public void read(InputStream input, Consumer<BatchEntity> entities) throws IOException {
+        this.read(input, entities, (name, type) -> { });
+    }
+
+    @Override
+    public void read(InputStream input, Consumer<BatchEntity> entities, BiConsumer<String, String> aliases) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(input);
+
+        JsonFactory factory = isJson(buffered) ? new JsonFactory() : new YAMLFactory();
+        factory.configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+        ObjectMapper mapper = new ObjectMapper(factory);
+
+        SchemaCollector schemas = new SchemaCollector(entities, aliases);
+        try (JsonParser parser = factory.createParser(buffered)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new PlasterException("Expected the document to be an object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                } else if (COMPONENTS.equals(name)) {
+                    readComponents(parser, mapper, schemas);
+                } else if (DEFINITIONS.contains(name)) {
+                    readSchemas(parser, mapper, schemas);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new PlasterException("Malformed document: " + e.getMessage(), e);
+        }
+    }
+
+    private static void readComponents(JsonParser parser, ObjectMapper mapper, SchemaCollector schemas) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.START_OBJECT && SCHEMAS.equals(name)) {
+                readSchemas(parser, mapper, schemas);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Reads each schema as a whole, one at a time
+     */
+    private static void readSchemas(JsonParser parser, ObjectMapper mapper, SchemaCollector schemas) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+
+            JsonNode schema = mapper.readTree(parser);
+            if (nonNull(schema)) {
+                schemas.accept(name, schema);
+            }
+        }
+    }
+
+    /**
+     * Whether a schema describes an object with properties of its own, rather than
+     * such as an enum or a map
+     */
+    private static boolean isClass(JsonNode schema) {
+        if (isObject(schema) && (schema.has("properties") || !schema.has("additionalProperties"))) {
+            return true;
+        }
+
+        for (JsonNode member : schema.path("allOf")) {
+            if (isObject(member) || member.has("$ref")) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the schemas which together describe the properties of an object, which are
+     * the schema itself and the members of its allOf. Members which are a $ref cannot
+     * be followed without reading the whole document, so they are left out.
+     */
+    private static List<JsonNode> getParts(JsonNode schema) {
+        List<JsonNode> parts = new ArrayList<>();
+        parts.add(schema);
+
+        for (JsonNode member : schema.path("allOf")) {
+            if (isObject(member)) {
+                parts.add(member);
+            }
+        }
+
+        return parts;
+    }
+
+    /**
+     * Gets the type of a schema, which OpenAPI 3.1 may give as a list such as
+     * [string, "null"], and which is left out of objects and arrays at times
+     */
+    private static String getType(JsonNode schema) {
+        JsonNode type = schema.path("type");
+        if (type.isTextual()) {
+            return type.asText();
+        }
+
+        for (JsonNode option : type) {
+            if (option.isTextual() && !"null".equals(option.asText())) {
+                return option.asText();
+            }
+        }
+
+        if (schema.has("items")) {
+            return "array";
+        }
+
+        return schema.has("properties") || schema.has("additionalProperties") ? "object" : "";
+    }
+
+    /**
+     * Gets the name of the schema a $ref points to, such as Address for #/components/schemas/Address
+     */
+    private static String getRefName(JsonNode ref) {
+        String path = ref.asText();
+
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static boolean isObject(JsonNode schema) {
+        return "object".equals(getType(schema)) && !schema.has("$ref");
+    }
+
+    /**
+     * Property names may hold characters such as - which cannot be part of a java name
+     */
+    private static String toVariableName(String propertyName) {
+        return propertyName.replaceAll("[^A-Za-z0-9_$]", "_");
+    }
+
+    private static String searchTerm(StoredJavaType storedJavaType) {
+        return storedJavaType.getSearchTerms().get(0);
+    }
+
+    /**
+     * Tells a json document from a yml one by whether it starts with {
+     */
+    private static boolean isJson(BufferedInputStream input) throws IOException {
+        input.mark(SNIFF_LIMIT);
+        try {
+            for (int i = 0; i < SNIFF_LIMIT; i++) {
+                int c = input.read();
+                if (c == -1 || !Character.isWhitespace(c)) {
+                    return c == '{';
+                }
+            }
+
+            return false;
+        } finally {
+            input.reset();
+        }
+    }
+
+    /**
+     * Turns each schema into a class as soon as it has been read, keeping only the names
+     * later schemas may need: the type each schema which is not a class maps to, the
+     * names of the classes, and the names pointed to before they were read
+     */
+    private static class SchemaCollector {
+
+        private final Consumer<BatchEntity> entities;
+
+        private final BiConsumer<String, String> aliasConsumer;
+
+        /**
+         * Type of each schema which is not a class, such as string for an enum, by its name
+         */
+        private final Map<String, String> aliases = new HashMap<>();
+
+        private final Set<String> classNames = new HashSet<>();
+
+        /**
+         * Names of the schemas a class pointed to before they were read
+         */
+        private final Set<String> unread = new HashSet<>();
+
+        private SchemaCollector(Consumer<BatchEntity> entities, BiConsumer<String, String> aliasConsumer) {
+            this.entities = entities;
+            this.aliasConsumer = aliasConsumer;
+        }
+
+        private void accept(String name, JsonNode schema) {
+            boolean pointedTo = this.unread.remove(name);
+
+            if (!isClass(schema)) {
+                String type = this.toJavaType(schema);
+                this.aliases.put(name, type);
+                if (pointedTo) {
+                    this.aliasConsumer.accept(name, type);
+                }
+                return;
+            }
+
+            this.classNames.add(name);
+
+            List<JsonNode> parts = getParts(schema);
+            this.collectUnread(parts);
+            this.entities.accept(this.toEntity(name, parts));
+        }
+
+        private void collectUnread(List<JsonNode> parts) {
+            for (JsonNode part : parts) {
+                for (JsonNode ref : part.path("properties").findValues("$ref")) {
+                    String refName = getRefName(ref);
+                    if (!this.aliases.containsKey(refName) && !this.classNames.contains(refName)) {
+                        this.unread.add(refName);
+                    }
+                }
+            }
+        }
+
+        private BatchEntity toEntity(String name, List<JsonNode> parts) {
+            List<String> fields = new ArrayList<>();
+            for (JsonNode part : parts) {
+                Iterator<Map.Entry<String, JsonNode>> properties = part.path("properties").fields();
+                while (properties.hasNext()) {
+                    Map.Entry<String, JsonNode> property = properties.next();
+                    fields.add(toVariableName(property.getKey()) + ":" + this.toJavaType(property.getValue()));
+                }
+            }
+
+            BatchEntity entity = new BatchEntity();
+            entity.setName(name);
+            entity.setFields(fields);
+
+            return entity;
+        }
+
+        /**
+         * Maps the schema of a property onto a type string, such as list<Address> for an
+         * array of $refs. Anything which cannot be told apart, such as a oneOf of several
+         * schemas, is taken as a string.
+         */
+        private String toJavaType(JsonNode schema) {
+            JsonNode ref = schema.get("$ref");
+            if (nonNull(ref)) {
+                String refName = getRefName(ref);
+
+                return this.aliases.getOrDefault(refName, refName);
+            }
+
+            for (String combination : new String[] { "allOf", "oneOf", "anyOf" }) {
+                JsonNode members = schema.path(combination);
+                if (members.size() == 1) {
+                    return this.toJavaType(members.get(0));
+                }
+            }
+
+            String format = schema.path("format").asText();
+            switch (getType(schema)) {
+                case "array":
+                    return "list<" + this.toJavaType(schema.path("items")) + ">";
+                case "object":
+                    JsonNode values = schema.path("additionalProperties");
+                    return "map<" + STRING + ", " + (values.isObject() ? this.toJavaType(values) : STRING) + ">";
+                case "integer":
+                    return searchTerm("int64".equals(format) ? StoredJavaType.LONG : StoredJavaType.INTEGER);
+                case "number":
+                    return searchTerm("float".equals(format) ? StoredJavaType.FLOAT : StoredJavaType.DOUBLE);
+                case "boolean":
+                    return searchTerm(StoredJavaType.BOOLEAN);
+                case "string":
+                    if ("date".equals(format)) {
+                        return searchTerm(StoredJavaType.DATE);
+                    } else if ("date-time".equals(format)) {
+                        return searchTerm(StoredJavaType.TIMESTAMP);
+                    }
+                    return STRING;
+                default:
+                    return STRING;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+package github.jdrost1818.plaster.service.importer;
+
+import github.jdrost1818.plaster.domain.batch.BatchEntity;
+import github.jdrost1818.plaster.exception.PlasterException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Reads the classes to generate out of a file which describes them in another
+ * format, such as a SQL schema. Each class is handed on as soon as it has been read,
+ * so it can be generated while the rest of the file is still being read.
+ */
+public interface SchemaReader {
+
+    /**
+     * Reads every class described by the input
+     *
+     * @param input
+     *          content to read, which is left open
+     * @param entities
+     *          receives each class as soon as it has been read
+     * @throws IOException if the input cannot be read
+     * @throws PlasterException if the input is malformed
+     */
+    void read(InputStream input, Consumer<BatchEntity> entities) throws IOException;
+
+    /**
+     * Reads every class described by the input, where a class may use as the type of a
+     * field a name the input only describes further on. Such a name may turn out to stand
+     * for another type rather than a class, such as a $ref to an enum in an OpenAPI
+     * document, in which case it is handed to the aliases once read.
+     *
+     * @param input
+     *          content to read, which is left open
+     * @param entities
+     *          receives each class as soon as it has been read
+     * @param aliases
+     *          receives each name a class used before it was read and the type it stands for
+     * @throws IOException if the input cannot be read
+     * @throws PlasterException if the input is malformed
+     */
+    default void read(InputStream input, Consumer<BatchEntity> entities, BiConsumer<String, String> aliases) throws IOException {
+        this.read(input, entities);
+    }
+
+}
@@ -6,18 +6,50 @@ import github.jdrost1818.plaster.domain.FileInformation;
 import github.jdrost1818.plaster.domain.GenTypeModel;
 import github.jdrost1818.plaster.exception.PlasterException;
 import github.jdrost1818.plaster.service.ConfigurationService;
+import github.jdrost1818.plaster.service.output.OutputService;
+import github.jdrost1818.plaster.service.output.OutputTransaction;
 import github.jdrost1818.plaster.service.template.*;
 import github.jdrost1818.plaster.service.type.*;
 import github.jdrost1818.plaster.util.PathUtil;
 import lombok.AllArgsConstructor;
 
-import java.io.File;
-import java.io.FileOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 @AllArgsConstructor
-public class GenerateService implements ModelModifier, ControllerModifier, ServiceModifier, RepositoryModifier, FieldModifier {
+public class GenerateService implements ModelModifier, ControllerModifier, ServiceModifier, RepositoryModifier, FieldModifier, ScaffoldModifier {
+
+    /**
+     * The files of a scaffold, in the order they are written
+     */
+    private static final List<TemplateType> SCAFFOLD_TYPES = Collections.unmodifiableList(Arrays.asList(
+            TemplateType.MODEL, TemplateType.CONTROLLER, TemplateType.SERVICE, TemplateType.REPOSITORY));
+
+    /**
+     * Renders the files of scaffolds, with one thread per processor. A batch or an import
+     * generates as many scaffolds at once as there are processors, each waiting on its
+     * own files, so the renders of all of them together must be able to use every
+     * processor. The threads are only started once needed, and are daemons, so they
+     * never keep plaster from exiting.
+     */
+    private final ExecutorService renderExecutor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "plaster-render");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     private final ConfigurationService configurationService;
 
@@ -29,6 +61,8 @@ public class GenerateService implements ModelModifier, ControllerModifier, Servi
 
     private final RepositoryTemplateService repositoryTemplateService;
 
+    private final OutputService outputService;
+
     @Override
     public void modifyModel(FileInformation fileInformation) {
         this.generate(fileInformation, TemplateType.MODEL, this.modelTemplateService);
@@ -49,52 +83,143 @@ public class GenerateService implements ModelModifier, ControllerModifier, Servi
         this.generate(fileInformation, TemplateType.REPOSITORY, this.repositoryTemplateService);
     }
 
+    /**
+     * Generates the model, controller, service and repository of a class together.
+     * The files are rendered concurrently into memory, and only written once every
+     * one of them has rendered and none of them exists yet. Otherwise nothing is
+     * written, and every failure is reported at once. All of the files are rendered
+     * from the same {@link RenderContext}.
+     */
+    @Override
+    public void modifyScaffold(FileInformation fileInformation) {
+        RenderContext renderContext = this.createRenderContext(fileInformation);
+
+        Map<TemplateType, Future<byte[]>> renders = new LinkedHashMap<>();
+        for (TemplateType templateType : SCAFFOLD_TYPES) {
+            TemplateService templateService = this.getTemplateService(templateType);
+            renders.put(templateType, this.renderExecutor.submit(() -> render(templateService, renderContext)));
+        }
+
+        List<Throwable> failures = new ArrayList<>();
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        for (Map.Entry<TemplateType, Future<byte[]>> render : renders.entrySet()) {
+            String genFilePath = this.getRenderLocation(renderContext, render.getKey());
+            try {
+                files.put(genFilePath, render.getValue().get());
+            } catch (ExecutionException e) {
+                failures.add(e.getCause());
+            } catch (InterruptedException e) {
+                renders.values().forEach(r -> r.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new PlasterException("Interrupted while generating: " + fileInformation.getClassName(), e);
+            }
+
+            if (this.outputService.exists(genFilePath)) {
+                failures.add(new PlasterException("Cannot generate. Already exists: " + genFilePath));
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw toScaffoldException(fileInformation, failures);
+        }
+
+        this.writeAll(files);
+    }
+
     @Override
     public void modifyField(FileInformation fileInformation) {
         throw new UnsupportedOperationException("Adding fields to already existing fields is not supported. Sorry.");
     }
 
     private void generate(FileInformation fileInformation, TemplateType templateType, TemplateService templateService) {
-        GenTypeModel genTypeModel = new GenTypeModel(
-                fileInformation.getClassName(),
-                this.configurationService.getBoolean(Setting.IS_LOMBOK_ENABLED));
+        RenderContext renderContext = this.createRenderContext(fileInformation);
 
-        String genFilePath = this.getRenderLocation(templateType.relPathSetting, fileInformation.getClassName() + templateType.suffix);
-        String renderedFileString = templateService.renderTemplate(
-                fileInformation,
-                genTypeModel);
+        String genFilePath = this.getRenderLocation(renderContext, templateType);
 
-        try {
-            this.getOutputStream(genFilePath).write(renderedFileString.getBytes());
+        // The file is rendered straight into its staged file, and only appears once fully written
+        try (OutputTransaction transaction = this.outputService.begin()) {
+            try (OutputStream out = transaction.stage(genFilePath)) {
+                templateService.renderTemplate(renderContext, out);
+            }
+            transaction.commit();
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new PlasterException("Error writing file. Ensure you have permissions to perform this action: " + genFilePath, e);
         }
     }
 
-    private OutputStream getOutputStream(String location) {
-        File file = new File(location);
-        if (file.exists()) {
-            throw new PlasterException("Cannot generate. Already exists: " + location);
+    /**
+     * Writes every file rendered for a scaffold in one {@link OutputTransaction}, so
+     * either every file of the scaffold is written or none of them is.
+     *
+     * @param files
+     *          content of each file, by its location
+     */
+    private void writeAll(Map<String, byte[]> files) {
+        try (OutputTransaction transaction = this.outputService.begin()) {
+            files.forEach(transaction::stage);
+            transaction.commit();
         }
-        try {
-            File dir = file.getParentFile();
-            if ((dir.exists() || dir.mkdirs()) && file.createNewFile()) {
-                return new FileOutputStream(new File(location));
-            } else {
-                throw new PlasterException("Error creating file. Ensure you have permissions to perform this action: " + location);
-            }
-        } catch (IOException e) {
-            throw new PlasterException("Error creating file. Ensure you have permissions to perform this action: " + location);
+    }
+
+    private static byte[] render(TemplateService templateService, RenderContext renderContext) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        templateService.renderTemplate(renderContext, out);
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Reports every failure of a scaffold in one exception. The first failure is its
+     * cause, and the rest are suppressed by it.
+     */
+    private static PlasterException toScaffoldException(FileInformation fileInformation, List<Throwable> failures) {
+        StringBuilder message = new StringBuilder("Cannot generate scaffold, nothing was written: ")
+                .append(fileInformation.getClassName());
+        for (Throwable failure : failures) {
+            message.append(System.lineSeparator())
+                    .append("\t")
+                    .append(failure instanceof PlasterException ? failure.getMessage() : failure.toString());
+        }
+
+        PlasterException exception = new PlasterException(message.toString(), failures.get(0));
+        failures.stream().skip(1).forEach(exception::addSuppressed);
+
+        return exception;
+    }
+
+    private TemplateService getTemplateService(TemplateType templateType) {
+        switch (templateType) {
+            case MODEL:
+                return this.modelTemplateService;
+            case REPOSITORY:
+                return this.repositoryTemplateService;
+            case SERVICE:
+                return this.serviceTemplateService;
+            case CONTROLLER:
+                return this.controllerTemplateService;
+            default:
+                throw new IllegalArgumentException("Unknown template type: " + templateType);
         }
     }
 
-    private String getRenderLocation(Setting setting, String className) {
+    /**
+     * Works out what the templates read about the class once, for every file generated for it
+     */
+    private RenderContext createRenderContext(FileInformation fileInformation) {
+        GenTypeModel genTypeModel = new GenTypeModel(
+                fileInformation.getClassName(),
+                this.configurationService.getBoolean(Setting.IS_LOMBOK_ENABLED));
+
+        return RenderContext.create(this.configurationService, fileInformation, genTypeModel);
+    }
+
+    private String getRenderLocation(RenderContext renderContext, TemplateType templateType) {
         String projectPath = this.configurationService.get(Setting.PROJECT_PATH);
         String basePath = this.configurationService.get(Setting.BASE_PATH);
         String appPath = this.configurationService.get(Setting.APP_PATH);
-        String dirPath = this.configurationService.get(setting);
-        String customPath = this.configurationService.get(Setting.SUB_DIR_PATH);
-        String fileName = className + ".java";
+        String dirPath = this.configurationService.get(templateType.relPathSetting);
+        String customPath = renderContext.getSubDirPath();
+        String fileName = renderContext.getClassName() + templateType.suffix + ".java";
 
         return PathUtil.joinPath(projectPath, basePath, appPath, dirPath, customPath, fileName);
     }
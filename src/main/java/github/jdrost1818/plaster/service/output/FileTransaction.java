@@ -0,0 +1,249 @@
+package github.jdrost1818.plaster.service.output;
+
+import github.jdrost1818.plaster.exception.PlasterException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Writes a set of new files to disk so that either all of them appear or none do.
+ * When asked to, it replaces existing files instead, in which case either all of
+ * them are replaced or none are.
+ *
+ * Each file is first staged in a temporary file next to where it belongs, and
+ * only moved into place, with {@link StandardCopyOption#ATOMIC_MOVE}, once every
+ * file has been staged. A file is therefore never seen half written. The files are
+ * not synced one by one. Instead each directory is created, and synced once its
+ * files are in place, only once per transaction.
+ *
+ * A new file gets the same permissions as any other file created in the project,
+ * following the umask, while a replaced file keeps the permissions it had.
+ *
+ * Example:
+ *
+ *      try (FileTransaction transaction = new FileTransaction()) {
+ *          try (OutputStream out = transaction.stage("/app/model/Example.java")) {
+ *              out.write(modelContent);
+ *          }
+ *          try (OutputStream out = transaction.stage("/app/service/ExampleService.java")) {
+ *              out.write(serviceContent);
+ *          }
+ *          transaction.commit();
+ *      }
+ *
+ * Anything staged but not committed is removed when the transaction is closed.
+ */
+public class FileTransaction implements OutputTransaction {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final String BACKUP_SUFFIX = ".bak";
+
+    private final boolean replaceExisting;
+
+    /**
+     * Temporary file of each staged file, by where it belongs
+     */
+    private final Map<Path, Path> staged = new LinkedHashMap<>();
+
+    private final Set<Path> createdDirectories = new HashSet<>();
+
+    private boolean committed;
+
+    /**
+     * Creates a transaction which only writes files that do not exist yet
+     */
+    public FileTransaction() {
+        this(false);
+    }
+
+    /**
+     * @param replaceExisting
+     *          whether files which already exist are replaced, rather than refused
+     */
+    public FileTransaction(boolean replaceExisting) {
+        this.replaceExisting = replaceExisting;
+    }
+
+    /**
+     * Opens a new file to stage, which must not exist yet unless existing files are
+     * replaced. The file is written
+     * through a buffer straight to its temporary file.
+     *
+     * @param location
+     *          where the file belongs
+     * @return stream to write the content of the file to, which must be closed before committing
+     * @throws PlasterException if the file already exists or cannot be staged
+     */
+    @Override
+    public OutputStream stage(String location) {
+        Path target = Paths.get(location).toAbsolutePath();
+        if ((!this.replaceExisting && Files.exists(target)) || this.staged.containsKey(target)) {
+            throw new PlasterException("Cannot generate. Already exists: " + location);
+        }
+
+        try {
+            Path directory = target.getParent();
+            if (this.createdDirectories.add(directory)) {
+                // Safe when several classes are generated into the same new directory at once
+                Files.createDirectories(directory);
+            }
+
+            Path temp = createNextTo(target, TEMP_SUFFIX);
+            this.staged.put(target, temp);
+
+            return new BufferedOutputStream(Files.newOutputStream(temp, StandardOpenOption.WRITE), BUFFER_SIZE);
+        } catch (IOException e) {
+            throw new PlasterException("Error creating file. Ensure you have permissions to perform this action: " + location, e);
+        }
+    }
+
+    /**
+     * Moves every staged file into place. If any of them cannot be, such as because
+     * the file was created in the meantime, the ones already moved are removed again,
+     * the files they replaced are put back, and nothing is left behind.
+     *
+     * @throws PlasterException if not every file could be moved into place
+     */
+    @Override
+    public void commit() {
+        List<Path> moved = new ArrayList<>();
+        Map<Path, Path> backups = new LinkedHashMap<>();
+        Set<Path> directories = new LinkedHashSet<>();
+
+        for (Map.Entry<Path, Path> file : this.staged.entrySet()) {
+            Path target = file.getKey();
+            try {
+                if (this.replaceExisting && Files.exists(target)) {
+                    // Kept until every file is in place, so the replaced file can be put back
+                    Path backup = createNextTo(target, BACKUP_SUFFIX);
+                    Files.copy(target, backup, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+                    backups.put(target, backup);
+                    copyPermissions(target, file.getValue());
+                } else if (Files.exists(target)) {
+                    // A move replaces an existing file, so check one was not created since staging
+                    throw new PlasterException("Cannot generate. Already exists: " + target);
+                }
+
+                Files.move(file.getValue(), target, StandardCopyOption.ATOMIC_MOVE);
+                moved.add(target);
+                directories.add(target.getParent());
+            } catch (IOException | PlasterException e) {
+                rollBack(moved, backups);
+                this.close();
+
+                throw e instanceof PlasterException
+                        ? (PlasterException) e
+                        : new PlasterException("Error writing file. Ensure you have permissions to perform this action: " + target, e);
+            }
+        }
+
+        directories.forEach(FileTransaction::syncDirectory);
+        backups.values().forEach(FileTransaction::deleteQuietly);
+        this.staged.clear();
+        this.committed = true;
+    }
+
+    /**
+     * Removes every file staged but not committed
+     */
+    @Override
+    public void close() {
+        if (!this.committed) {
+            this.staged.values().forEach(FileTransaction::deleteQuietly);
+            this.staged.clear();
+        }
+    }
+
+    /**
+     * Undoes the moves of a failed commit. Files which were new are removed, and
+     * files which were replaced get their backup moved back into place.
+     */
+    private static void rollBack(List<Path> moved, Map<Path, Path> backups) {
+        for (Path target : moved) {
+            Path backup = backups.get(target);
+            try {
+                if (isNull(backup)) {
+                    Files.deleteIfExists(target);
+                } else {
+                    Files.move(backup, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } catch (IOException e) {
+                // Nothing more can be done about it
+            }
+        }
+
+        // Backups of files which were never replaced
+        backups.values().forEach(FileTransaction::deleteQuietly);
+    }
+
+    /**
+     * Creates an empty file with a name of its own next to where a file belongs. Unlike
+     * {@link Files#createTempFile}, which only lets the owner read it, the file gets the
+     * permissions of the umask, which the move into place keeps.
+     */
+    private static Path createNextTo(Path target, String suffix) throws IOException {
+        while (true) {
+            Path file = target.resolveSibling(
+                    "." + target.getFileName() + "." + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + suffix);
+            try {
+                return Files.createFile(file);
+            } catch (FileAlreadyExistsException e) {
+                // Taken by another transaction, try another name
+            }
+        }
+    }
+
+    /**
+     * Gives a file the permissions of another, where the platform has them
+     */
+    private static void copyPermissions(Path from, Path to) throws IOException {
+        PosixFileAttributeView view = Files.getFileAttributeView(to, PosixFileAttributeView.class);
+        if (nonNull(view)) {
+            view.setPermissions(Files.getPosixFilePermissions(from));
+        }
+    }
+
+    /**
+     * Makes the moves into a directory durable. Not every platform can sync a
+     * directory, in which case it is left to the file system.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened on this platform
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // Nothing more can be done about it
+        }
+    }
+
+}
@@ -0,0 +1,149 @@
+package github.jdrost1818.plaster.service.output;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import github.jdrost1818.plaster.domain.GeneratedFile;
+import github.jdrost1818.plaster.exception.PlasterException;
+import github.jdrost1818.plaster.util.CacheFileUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * The content hash of every file plaster generated in a project, persisted to
+ * .plaster/generated.json. Files are keyed by their path relative to the project:
+ *
+ *      src/main/java/com/example/app/model/Example.java -> 9f86d08..., 1024 bytes, modified at ...
+ *
+ * The hash of a file is only trusted while its size and modification time stay the
+ * same, otherwise the file is read and hashed again. A missing or corrupt manifest is
+ * simply rebuilt, see {@link CacheFileUtil}.
+ *
+ * Files may be looked up and recorded from several threads at once.
+ */
+public class HashManifest {
+
+    static final String MANIFEST_FILE = ".plaster/generated.json";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Path projectDir;
+
+    private final Map<String, GeneratedFile> files = new ConcurrentHashMap<>();
+
+    private HashManifest(Path projectDir) {
+        this.projectDir = projectDir;
+    }
+
+    /**
+     * Reads the manifest of a project
+     *
+     * @param projectPath
+     *          path to the root of the project, this is where the manifest is stored
+     * @return the manifest, empty if there is none yet
+     */
+    public static HashManifest load(String projectPath) {
+        HashManifest manifest = new HashManifest(new File(projectPath).getAbsoluteFile().toPath().normalize());
+
+        manifest.files.putAll(CacheFileUtil.read(
+                manifest.getManifestFile(), new TypeReference<Map<String, GeneratedFile>>() {}, new HashMap<>()));
+
+        return manifest;
+    }
+
+    /**
+     * Gets the hash of a file on disk, reading it only if it changed since it was recorded
+     *
+     * @param file
+     *          file to hash
+     * @return the hash, null if the file does not exist
+     */
+    public String getHash(Path file) {
+        try {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            GeneratedFile recorded = this.files.get(this.getKey(file));
+            if (nonNull(recorded) && recorded.isUpToDate(attributes.size(), attributes.lastModifiedTime().toMillis())) {
+                return recorded.getHash();
+            }
+
+            return hash(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new PlasterException("Error reading file. Ensure you have permissions to perform this action: " + file, e);
+        }
+    }
+
+    /**
+     * Records the hash of a file as it is now on disk
+     *
+     * @param file
+     *          file which was generated
+     * @param hash
+     *          hash of its content, see {@link #hash(byte[])}
+     */
+    public void record(Path file, String hash) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+
+            this.files.put(this.getKey(file), new GeneratedFile(
+                    hash, attributes.size(), attributes.lastModifiedTime().toMillis(), System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Without a record the file is simply read again next time
+            this.files.remove(this.getKey(file));
+        }
+    }
+
+    /**
+     * Writes the manifest to the project
+     */
+    public void save() {
+        CacheFileUtil.write(this.getManifestFile(), new TreeMap<>(this.files));
+    }
+
+    /**
+     * Hashes content the way the manifest does
+     *
+     * @param content
+     *          content to hash
+     * @return the SHA-256 of the content, in hex
+     */
+    public static String hash(byte[] content) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            // Every java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX[digest[i] & 0xf];
+        }
+
+        return new String(hex);
+    }
+
+    private File getManifestFile() {
+        return this.projectDir.resolve(MANIFEST_FILE).toFile();
+    }
+
+    private String getKey(Path file) {
+        return this.projectDir.relativize(file.toAbsolutePath().normalize()).toString().replace(File.separatorChar, '/');
+    }
+
+}
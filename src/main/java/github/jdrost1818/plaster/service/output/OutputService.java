@@ -0,0 +1,148 @@
+package github.jdrost1818.plaster.service.output;
+
+import github.jdrost1818.plaster.domain.FileChange;
+import github.jdrost1818.plaster.exception.PlasterException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Decides where generated files go. Normally they are written to disk, see
+ * {@link FileTransaction}. During a dry run they are kept in a {@link VirtualFileTree}
+ * instead, which can then be compared to the files on disk without writing anything.
+ * While regenerating, existing files are replaced, but only if their content changed,
+ * see {@link RegenerateTransaction}.
+ */
+public class OutputService {
+
+    private volatile VirtualFileTree dryRunTree;
+
+    private volatile HashManifest regenerateManifest;
+
+    /**
+     * Starts writing a set of new files
+     *
+     * @return the transaction, which writes to disk unless a dry run is in progress
+     */
+    public OutputTransaction begin() {
+        VirtualFileTree tree = this.dryRunTree;
+        if (nonNull(tree)) {
+            return tree.begin();
+        }
+
+        HashManifest hashManifest = this.regenerateManifest;
+
+        return isNull(hashManifest) ? new FileTransaction() : new RegenerateTransaction(hashManifest);
+    }
+
+    /**
+     * Whether a file has already been generated. During a dry run only the files
+     * generated by it count, so files already on disk can be generated again.
+     * While regenerating, every file can be generated again.
+     *
+     * @param location
+     *          where the file belongs
+     * @return true if the file exists
+     */
+    public boolean exists(String location) {
+        VirtualFileTree tree = this.dryRunTree;
+        if (nonNull(tree)) {
+            return tree.exists(location);
+        }
+
+        return isNull(this.regenerateManifest) && new File(location).exists();
+    }
+
+    /**
+     * Keeps every file generated from now on in memory, until {@link #stopDryRun()}
+     *
+     * @return the tree the files are kept in
+     */
+    public VirtualFileTree startDryRun() {
+        VirtualFileTree tree = new VirtualFileTree();
+        this.dryRunTree = tree;
+
+        return tree;
+    }
+
+    /**
+     * Writes generated files to disk again
+     */
+    public void stopDryRun() {
+        this.dryRunTree = null;
+    }
+
+    /**
+     * Replaces existing files from now on when their content changed, until {@link #stopRegenerate()}
+     *
+     * @param projectPath
+     *          path to the root of the project, where the hashes of the generated files are kept
+     */
+    public void startRegenerate(String projectPath) {
+        this.regenerateManifest = HashManifest.load(projectPath);
+    }
+
+    /**
+     * Stores the hashes of the files generated while regenerating, and stops replacing existing files
+     */
+    public void stopRegenerate() {
+        HashManifest hashManifest = this.regenerateManifest;
+        this.regenerateManifest = null;
+
+        if (nonNull(hashManifest)) {
+            hashManifest.save();
+        }
+    }
+
+    /**
+     * Compares every file generated during a dry run to the file on disk
+     *
+     * @param tree
+     *          files generated during the dry run
+     * @return how each file compares, in order of location
+     */
+    public List<FileChange> compareToDisk(VirtualFileTree tree) {
+        List<FileChange> changes = new ArrayList<>();
+        for (Map.Entry<String, byte[]> file : tree.getFiles().entrySet()) {
+            byte[] current = read(file.getKey());
+
+            FileChange.Type type;
+            if (isNull(current)) {
+                type = FileChange.Type.ADDED;
+            } else if (Arrays.equals(current, file.getValue())) {
+                type = FileChange.Type.UNCHANGED;
+            } else {
+                type = FileChange.Type.MODIFIED;
+            }
+
+            changes.add(new FileChange(file.getKey(), type, current, file.getValue()));
+        }
+
+        return changes;
+    }
+
+    /**
+     * @return the content of the file, null if it does not exist
+     */
+    private static byte[] read(String location) {
+        File file = new File(location);
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            throw new PlasterException("Error reading file. Ensure you have permissions to perform this action: " + location, e);
+        }
+    }
+
+}
@@ -0,0 +1,58 @@
+package github.jdrost1818.plaster.service.output;
+
+import github.jdrost1818.plaster.exception.PlasterException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a set of new files so that either all of them appear or none do.
+ * Files are staged first, and only appear once the transaction is committed.
+ * Anything staged but not committed is discarded when the transaction is closed.
+ *
+ * See {@link OutputService#begin()}
+ */
+public interface OutputTransaction extends Closeable {
+
+    /**
+     * Opens a new file to stage, which must not exist yet
+     *
+     * @param location
+     *          where the file belongs
+     * @return stream to write the content of the file to, which must be closed before committing
+     * @throws PlasterException if the file already exists or cannot be staged
+     */
+    OutputStream stage(String location);
+
+    /**
+     * Stages a new file whose content is already known
+     *
+     * @param location
+     *          where the file belongs
+     * @param content
+     *          content of the file
+     * @throws PlasterException if the file already exists or cannot be staged
+     */
+    default void stage(String location, byte[] content) {
+        try (OutputStream out = this.stage(location)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new PlasterException("Error writing file. Ensure you have permissions to perform this action: " + location, e);
+        }
+    }
+
+    /**
+     * Makes every staged file appear
+     *
+     * @throws PlasterException if not every file could be, in which case none of them appear
+     */
+    void commit();
+
+    /**
+     * Discards every file staged but not committed
+     */
+    @Override
+    void close();
+
+}
@@ -0,0 +1,74 @@
+package github.jdrost1818.plaster.service.output;
+
+import github.jdrost1818.plaster.exception.PlasterException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Writes a set of files whether or not they already exist, but leaves alone every
+ * file whose content would stay the same. Files are staged in memory, and their hash
+ * compared to the one of the file on disk, see {@link HashManifest}. Only the files
+ * which changed are written, through a {@link FileTransaction}, so the rest keep their
+ * modification time and are not seen as changed by compilers and IDEs.
+ */
+class RegenerateTransaction implements OutputTransaction {
+
+    private final HashManifest hashManifest;
+
+    private final Map<String, ByteArrayOutputStream> staged = new LinkedHashMap<>();
+
+    RegenerateTransaction(HashManifest hashManifest) {
+        this.hashManifest = hashManifest;
+    }
+
+    @Override
+    public OutputStream stage(String location) {
+        if (this.staged.containsKey(location)) {
+            throw new PlasterException("Cannot generate. Already exists: " + location);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        this.staged.put(location, out);
+
+        return out;
+    }
+
+    /**
+     * Writes every staged file whose content differs from the one on disk
+     *
+     * @throws PlasterException if not every changed file could be written, in which case none of them are
+     */
+    @Override
+    public void commit() {
+        Map<Path, String> hashes = new LinkedHashMap<>();
+
+        try (FileTransaction transaction = new FileTransaction(true)) {
+            for (Map.Entry<String, ByteArrayOutputStream> file : this.staged.entrySet()) {
+                byte[] content = file.getValue().toByteArray();
+                Path target = Paths.get(file.getKey());
+                String hash = HashManifest.hash(content);
+
+                if (!hash.equals(this.hashManifest.getHash(target))) {
+                    transaction.stage(file.getKey(), content);
+                }
+                hashes.put(target, hash);
+            }
+
+            transaction.commit();
+        }
+
+        hashes.forEach(this.hashManifest::record);
+        this.staged.clear();
+    }
+
+    @Override
+    public void close() {
+        this.staged.clear();
+    }
+
+}
@@ -0,0 +1,91 @@
+package github.jdrost1818.plaster.service.output;
+
+import github.jdrost1818.plaster.exception.PlasterException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Holds generated files in memory instead of writing them to disk, so what
+ * would be generated can be compared to what is on disk without changing it.
+ *
+ * The tree starts out empty rather than mirroring the disk, so files which
+ * already exist on disk can still be generated into it.
+ */
+public class VirtualFileTree {
+
+    /**
+     * Content of each file, by its location
+     */
+    private final SortedMap<String, byte[]> files = new TreeMap<>();
+
+    /**
+     * Starts staging files to add to the tree
+     *
+     * @return the transaction
+     */
+    public OutputTransaction begin() {
+        return new VirtualTransaction();
+    }
+
+    public synchronized boolean exists(String location) {
+        return this.files.containsKey(location);
+    }
+
+    /**
+     * Gets every file in the tree
+     *
+     * @return content of each file, by its location, in order of location
+     */
+    public synchronized SortedMap<String, byte[]> getFiles() {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(this.files));
+    }
+
+    private synchronized void addAll(Map<String, byte[]> staged) {
+        for (String location : staged.keySet()) {
+            if (this.files.containsKey(location)) {
+                throw new PlasterException("Cannot generate. Already exists: " + location);
+            }
+        }
+
+        this.files.putAll(staged);
+    }
+
+    private class VirtualTransaction implements OutputTransaction {
+
+        private final Map<String, ByteArrayOutputStream> staged = new LinkedHashMap<>();
+
+        @Override
+        public OutputStream stage(String location) {
+            if (VirtualFileTree.this.exists(location) || this.staged.containsKey(location)) {
+                throw new PlasterException("Cannot generate. Already exists: " + location);
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            this.staged.put(location, out);
+
+            return out;
+        }
+
+        @Override
+        public void commit() {
+            Map<String, byte[]> content = new LinkedHashMap<>();
+            this.staged.forEach((location, out) -> content.put(location, out.toByteArray()));
+
+            VirtualFileTree.this.addAll(content);
+            this.staged.clear();
+        }
+
+        @Override
+        public void close() {
+            this.staged.clear();
+        }
+
+    }
+
+}
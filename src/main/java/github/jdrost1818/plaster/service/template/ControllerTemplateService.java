@@ -1,46 +1,124 @@
 package github.jdrost1818.plaster.service.template;
 
 import github.jdrost1818.plaster.data.TemplateType;
-import github.jdrost1818.plaster.domain.FileInformation;
-import github.jdrost1818.plaster.domain.GenTypeModel;
+import github.jdrost1818.plaster.domain.template.FlattenedField;
 import github.jdrost1818.plaster.service.ConfigurationService;
+import github.jdrost1818.plaster.template.JavaSourceWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.jtwig.JtwigModel;
 import org.jtwig.JtwigTemplate;
 
+import java.io.IOException;
+
 public class ControllerTemplateService extends TemplateService {
 
-    public ControllerTemplateService(ConfigurationService configurationService) {
-        super(configurationService);
+    public ControllerTemplateService(ConfigurationService configurationService, TemplateCache templateCache) {
+        super(configurationService, templateCache);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    JtwigModel addCustomInformation(JtwigModel model, FileInformation fileInformation, GenTypeModel genTypeModel) {
+    JtwigModel addCustomInformation(JtwigModel model, RenderContext renderContext) {
         JtwigModel controllerModel;
 
-        controllerModel = super.addTypeField(model, genTypeModel, TemplateType.CONTROLLER);
-        controllerModel = super.addTypeField(controllerModel, genTypeModel, TemplateType.MODEL);
-        controllerModel = super.addTypeField(controllerModel, genTypeModel, TemplateType.SERVICE);
-        controllerModel = super.addDependencies(controllerModel, fileInformation.getId());
-        controllerModel = super.addId(controllerModel, fileInformation);
-        controllerModel = addBaseRoute(controllerModel, fileInformation);
+        controllerModel = super.addTypeField(model, renderContext, TemplateType.CONTROLLER);
+        controllerModel = super.addTypeField(controllerModel, renderContext, TemplateType.MODEL);
+        controllerModel = super.addTypeField(controllerModel, renderContext, TemplateType.SERVICE);
+        controllerModel = super.addDependencies(controllerModel, renderContext.getIdDependencies());
+        controllerModel = super.addId(controllerModel, renderContext);
+        controllerModel = addBaseRoute(controllerModel, renderContext);
 
         return controllerModel;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void writeSource(JavaSourceWriter writer, RenderContext renderContext) throws IOException {
+        FlattenedField controllerField = renderContext.getTypeField(TemplateType.CONTROLLER);
+        FlattenedField modelField = renderContext.getTypeField(TemplateType.MODEL);
+        FlattenedField serviceField = renderContext.getTypeField(TemplateType.SERVICE);
+        FlattenedField idField = renderContext.getIdField();
+
+        String model = modelField.getClassName() + " " + modelField.getVarName();
+        String id = idField.getClassName() + " " + idField.getVarName();
+        String idRoute = "/{" + idField.getVarName() + "}";
+        String service = "this." + serviceField.getVarName();
+
+        writer.packageDeclaration(controllerField.getPackagePath())
+                .blankLine()
+                .importDeclaration("org.springframework.beans.factory.annotation.Autowired")
+                .importDeclaration("org.springframework.web.bind.annotation.*")
+                .blankLine();
+
+        super.writeImports(writer, renderContext.getIdDependencies());
+
+        // The bodies of the methods are indented twice, as they are in the template
+        writer.importDeclaration(serviceField.getPackagePath() + "." + serviceField.getClassName())
+                .importDeclaration(modelField.getPackagePath() + "." + modelField.getClassName())
+                .blankLine()
+                .annotation("RestController")
+                .annotation("RequestMapping(\"/" + getBaseRoute(renderContext) + "\")")
+                .beginBlock("public class " + controllerField.getClassName())
+                .blankLine()
+                .field("private final", serviceField.getClassName(), serviceField.getVarName())
+                .blankLine()
+                .annotation("Autowired")
+                .beginBlock(String.format("public %s(%s %s)",
+                        controllerField.getClassName(), serviceField.getClassName(), serviceField.getVarName()))
+                .indent()
+                .statement(String.format("%s = %s", service, serviceField.getVarName()))
+                .outdent()
+                .endBlock()
+                .blankLine()
+                .annotation("RequestMapping(value = \"/\", method = RequestMethod.POST)")
+                .beginBlock(String.format("public %s create(@RequestBody %s)", modelField.getClassName(), model))
+                .indent()
+                .statement(String.format("return %s.create(%s)", service, modelField.getVarName()))
+                .outdent()
+                .endBlock()
+                .blankLine()
+                .annotation("RequestMapping(value = \"" + idRoute + "\", method = RequestMethod.GET)")
+                .beginBlock(String.format("public %s read(@PathVariable %s)", modelField.getClassName(), id))
+                .indent()
+                .statement(String.format("return %s.read(%s)", service, idField.getVarName()))
+                .outdent()
+                .endBlock()
+                .blankLine()
+                .annotation("RequestMapping(value = \"" + idRoute + "\", method = RequestMethod.PUT)")
+                .beginBlock(String.format("public %s update(@PathVariable %s, @RequestBody %s)", modelField.getClassName(), id, model))
+                .indent()
+                .statement(String.format("return %s.update(%s)", service, modelField.getVarName()))
+                .outdent()
+                .endBlock()
+                .blankLine()
+                .annotation("RequestMapping(value = \"" + idRoute + "\", method = RequestMethod.DELETE)")
+                .beginBlock(String.format("public void delete(@PathVariable %s)", id))
+                .indent()
+                .statement(String.format("%s.delete(%s)", service, idField.getVarName()))
+                .outdent()
+                .endBlock()
+                .blankLine()
+                .endBlock();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     JtwigTemplate getTemplate() {
-        return JtwigTemplate.classpathTemplate("template/controller/controller.twig");
+        return super.getTemplate(TemplateType.CONTROLLER);
+    }
+
+    private JtwigModel addBaseRoute(JtwigModel model, RenderContext renderContext) {
+        return model.with("baseRoute", getBaseRoute(renderContext));
     }
 
-    private JtwigModel addBaseRoute(JtwigModel model, FileInformation fileInformation) {
-        return model.with("baseRoute", StringUtils.uncapitalize(fileInformation.getClassName()));
+    private static String getBaseRoute(RenderContext renderContext) {
+        return StringUtils.uncapitalize(renderContext.getClassName());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,142 @@
+package github.jdrost1818.plaster.service.template;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Formats a rendered file as it is written, rather than once it has been rendered
+ * in full. Runs of three or more line breaks are collapsed into a single blank line,
+ * and tabs are expanded to four spaces.
+ *
+ * Only line breaks and tabs are looked at, which never appear within a multi-byte
+ * character, so the rendered bytes can be formatted without decoding them. At most
+ * two line breaks are held back at a time, and are written once it is known whether
+ * the run they belong to is collapsed.
+ */
+final class FormattingOutputStream extends FilterOutputStream {
+
+    private static final int MAX_LINE_BREAKS = 2;
+
+    private static final byte[] INDENT = { ' ', ' ', ' ', ' ' };
+
+    private static final byte[] BLANK_LINE = { '\n', '\n' };
+
+    /**
+     * The line breaks held back, as they were written, either \n or \r\n
+     */
+    private final byte[] lineBreaks = new byte[MAX_LINE_BREAKS * 2];
+
+    private int lineBreaksLength;
+
+    private int lineBreakCount;
+
+    /**
+     * Whether a \r was written that may be the start of a \r\n
+     */
+    private boolean pendingCarriageReturn;
+
+    FormattingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        this.write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        int end = off + len;
+        int textStart = off;
+        for (int i = off; i < end; i++) {
+            byte c = b[i];
+            if (c != '\r' && c != '\n' && c != '\t' && !this.isHoldingBack()) {
+                continue;
+            }
+
+            this.out.write(b, textStart, i - textStart);
+            textStart = i + 1;
+            this.format(c);
+        }
+
+        this.out.write(b, textStart, end - textStart);
+    }
+
+    /**
+     * Writes whatever is still held back, without closing the underlying stream.
+     * The end of the file also ends any run of line breaks.
+     *
+     * @throws IOException
+     *          if the underlying stream cannot be written to
+     */
+    void finish() throws IOException {
+        this.writeLineBreaks();
+        if (this.pendingCarriageReturn) {
+            this.pendingCarriageReturn = false;
+            this.out.write('\r');
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.finish();
+        super.close();
+    }
+
+    private boolean isHoldingBack() {
+        return this.pendingCarriageReturn || this.lineBreakCount > 0;
+    }
+
+    private void format(byte c) throws IOException {
+        if (this.pendingCarriageReturn) {
+            this.pendingCarriageReturn = false;
+            if (c == '\n') {
+                this.addLineBreak(true);
+                return;
+            }
+
+            this.writeLineBreaks();
+            this.out.write('\r');
+        }
+
+        switch (c) {
+            case '\r':
+                this.pendingCarriageReturn = true;
+                break;
+            case '\n':
+                this.addLineBreak(false);
+                break;
+            case '\t':
+                this.writeLineBreaks();
+                this.out.write(INDENT);
+                break;
+            default:
+                this.writeLineBreaks();
+                this.out.write(c);
+        }
+    }
+
+    private void addLineBreak(boolean hasCarriageReturn) {
+        if (this.lineBreakCount < MAX_LINE_BREAKS) {
+            if (hasCarriageReturn) {
+                this.lineBreaks[this.lineBreaksLength++] = '\r';
+            }
+            this.lineBreaks[this.lineBreaksLength++] = '\n';
+        }
+
+        this.lineBreakCount++;
+    }
+
+    private void writeLineBreaks() throws IOException {
+        if (this.lineBreakCount > MAX_LINE_BREAKS) {
+            this.out.write(BLANK_LINE);
+        } else {
+            this.out.write(this.lineBreaks, 0, this.lineBreaksLength);
+        }
+
+        this.lineBreakCount = 0;
+        this.lineBreaksLength = 0;
+    }
+
+}
@@ -2,59 +2,108 @@ package github.jdrost1818.plaster.service.template;
 
 import com.google.common.collect.Lists;
 import github.jdrost1818.plaster.data.TemplateType;
-import github.jdrost1818.plaster.domain.Field;
-import github.jdrost1818.plaster.domain.FileInformation;
-import github.jdrost1818.plaster.domain.GenTypeModel;
+import github.jdrost1818.plaster.domain.template.FlattenedField;
 import github.jdrost1818.plaster.service.ConfigurationService;
+import github.jdrost1818.plaster.template.JavaSourceWriter;
 import github.jdrost1818.plaster.template.Template;
+import org.apache.commons.lang3.StringUtils;
 import org.jtwig.JtwigModel;
 import org.jtwig.JtwigTemplate;
 
+import java.io.IOException;
 import java.util.List;
 
 public class ModelTemplateService extends TemplateService {
 
-    public ModelTemplateService(ConfigurationService configurationService) {
-        super(configurationService);
+    private static final List<String> LOMBOK_ANNOTATIONS = Lists.newArrayList(
+            "AllArgsConstructor", "Builder", "Data", "NoArgsConstructor");
+
+    public ModelTemplateService(ConfigurationService configurationService, TemplateCache templateCache) {
+        super(configurationService, templateCache);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    JtwigModel addCustomInformation(JtwigModel model, FileInformation fileInformation, GenTypeModel genTypeModel) {
+    JtwigModel addCustomInformation(JtwigModel model, RenderContext renderContext) {
         JtwigModel modelModel;
 
-        modelModel = super.addTypeField(model, genTypeModel, TemplateType.MODEL);
-        modelModel = super.addDependencies(modelModel, fileInformation);
-        modelModel = super.addFields(modelModel, fileInformation);
-        modelModel = super.addId(modelModel, fileInformation);
+        modelModel = super.addTypeField(model, renderContext, TemplateType.MODEL);
+        modelModel = super.addDependencies(modelModel, renderContext.getDependencies());
+        modelModel = super.addFields(modelModel, renderContext);
+        modelModel = super.addId(modelModel, renderContext);
 
-        if (genTypeModel.isLombokEnabled()) {
+        if (renderContext.isLombokEnabled()) {
             modelModel = addLombokHeader(modelModel);
         } else {
-            modelModel = addGettersAndSetters(modelModel, fileInformation);
+            modelModel = addGettersAndSetters(modelModel, renderContext);
         }
 
         return modelModel;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void writeSource(JavaSourceWriter writer, RenderContext renderContext) throws IOException {
+        FlattenedField modelField = renderContext.getTypeField(TemplateType.MODEL);
+        FlattenedField idField = renderContext.getIdField();
+
+        writer.packageDeclaration(modelField.getPackagePath())
+                .blankLine()
+                .importDeclaration("javax.persistence.*")
+                .blankLine();
+
+        super.writeImports(writer, renderContext.getDependencies());
+
+        if (renderContext.isLombokEnabled()) {
+            for (String annotation : LOMBOK_ANNOTATIONS) {
+                writer.importDeclaration("lombok." + annotation);
+            }
+            writer.blankLine();
+            for (String annotation : LOMBOK_ANNOTATIONS) {
+                writer.annotation(annotation);
+            }
+        }
+
+        writer.annotation("Entity")
+                .beginBlock("public class " + modelField.getClassName())
+                .blankLine()
+                .annotation("Id")
+                .annotation("GeneratedValue(strategy = GenerationType.AUTO)")
+                .field("private", idField.getClassName(), idField.getVarName())
+                .blankLine();
+
+        for (FlattenedField field : renderContext.getFields()) {
+            writer.field("private", field.getClassName(), field.getVarName())
+                    .blankLine();
+        }
+
+        if (!renderContext.isLombokEnabled()) {
+            writeGettersAndSetters(writer, renderContext);
+        }
+
+        writer.endBlock();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     JtwigTemplate getTemplate() {
-        return JtwigTemplate.classpathTemplate("template/model/model.twig");
+        return super.getTemplate(TemplateType.MODEL);
     }
 
-    private JtwigModel addGettersAndSetters(JtwigModel model, FileInformation fileInformation) {
+    private JtwigModel addGettersAndSetters(JtwigModel model, RenderContext renderContext) {
         StringBuilder methodString = new StringBuilder();
-        List<Field> fields = Lists.newArrayList(fileInformation.getId());
-        fields.addAll(fileInformation.getFields());
+        List<FlattenedField> fields = Lists.newArrayList(renderContext.getIdField());
+        fields.addAll(renderContext.getFields());
 
-        for (Field field : fields) {
-            String className = field.getTypeDeclaration().getDeclaration();
-            String varName = field.getVariableName();
+        for (FlattenedField field : fields) {
+            String className = field.getClassName();
+            String varName = field.getVarName();
 
             methodString.append(Template.getGetterTemplate(className, varName));
             methodString.append("\n");
@@ -65,6 +114,26 @@ public class ModelTemplateService extends TemplateService {
         return model.with("methods", methodString.toString());
     }
 
+    private void writeGettersAndSetters(JavaSourceWriter writer, RenderContext renderContext) throws IOException {
+        List<FlattenedField> fields = Lists.newArrayList(renderContext.getIdField());
+        fields.addAll(renderContext.getFields());
+
+        for (FlattenedField field : fields) {
+            String className = field.getClassName();
+            String varName = field.getVarName();
+            String propertyName = StringUtils.capitalize(varName);
+
+            writer.beginBlock(String.format("public %s get%s()", className, propertyName))
+                    .statement("return this." + varName)
+                    .endBlock()
+                    .blankLine()
+                    .beginBlock(String.format("public void set%s(%s %s)", propertyName, className, varName))
+                    .statement(String.format("this.%s = %s", varName, varName))
+                    .endBlock()
+                    .blankLine();
+        }
+    }
+
     private JtwigModel addLombokHeader(JtwigModel model) {
         return model.with("header",
                 "import lombok.AllArgsConstructor;\n" +
@@ -0,0 +1,170 @@
+package github.jdrost1818.plaster.service.template;
+
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.data.TemplateType;
+import github.jdrost1818.plaster.domain.*;
+import github.jdrost1818.plaster.domain.template.FlattenedField;
+import github.jdrost1818.plaster.service.ConfigurationService;
+import github.jdrost1818.plaster.util.PathUtil;
+import github.jdrost1818.plaster.util.TypeUtil;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Everything the templates read about the class being generated, worked out once
+ * per class rather than once per template. A scaffold renders all of its files
+ * from the same context.
+ *
+ * The context is not changed once created, and may be shared between threads.
+ * The {@link FlattenedField}s it holds must not be changed either.
+ */
+@Getter
+public final class RenderContext {
+
+    /**
+     * Name of the class being generated, see {@link FileInformation#getClassName()}
+     */
+    private final String className;
+
+    private final boolean lombokEnabled;
+
+    /**
+     * Sub directory the files are generated in, see {@link FileInformation#getSubDirPath()}
+     */
+    private final String subDirPath;
+
+    private final FlattenedField idField;
+
+    private final List<FlattenedField> fields;
+
+    /**
+     * The unique dependencies of the fields and the id, in the order they are first used
+     */
+    private final List<Dependency> dependencies;
+
+    /**
+     * The dependencies of the id alone
+     */
+    private final List<Dependency> idDependencies;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<TemplateType, FlattenedField> typeFields;
+
+    private RenderContext(FileInformation fileInformation, GenTypeModel genTypeModel, String subDirPath, Map<TemplateType, FlattenedField> typeFields) {
+        List<Field> allFields = new ArrayList<>(fileInformation.getFields());
+        allFields.add(fileInformation.getId());
+
+        this.className = fileInformation.getClassName();
+        this.lombokEnabled = genTypeModel.isLombokEnabled();
+        this.subDirPath = subDirPath;
+        this.idField = new FlattenedField(fileInformation.getId());
+        this.fields = Collections.unmodifiableList(fileInformation.getFields().stream()
+                .map(FlattenedField::new)
+                .collect(Collectors.toList()));
+        this.dependencies = Collections.unmodifiableList(getDependencies(allFields));
+        this.idDependencies = Collections.unmodifiableList(getDependencies(Collections.singletonList(fileInformation.getId())));
+        this.typeFields = Collections.unmodifiableMap(typeFields);
+    }
+
+    /**
+     * Works out the context in which to render every file of a class
+     *
+     * @param configurationService
+     *          configuration of the project, which holds the packages to generate in
+     * @param fileInformation
+     *          information about the class to generate
+     * @param genTypeModel
+     *          model store
+     * @return the context
+     */
+    public static RenderContext create(ConfigurationService configurationService, FileInformation fileInformation, GenTypeModel genTypeModel) {
+        String subDirPath = nonNull(fileInformation.getSubDirPath())
+                ? fileInformation.getSubDirPath()
+                : configurationService.get(Setting.SUB_DIR_PATH);
+
+        Map<TemplateType, FlattenedField> typeFields = new EnumMap<>(TemplateType.class);
+        for (TemplateType templateType : TemplateType.values()) {
+            typeFields.put(templateType, createTypeField(configurationService, genTypeModel, subDirPath, templateType));
+        }
+
+        return new RenderContext(fileInformation, genTypeModel, subDirPath, typeFields);
+    }
+
+    /**
+     * Gets the package, class and variable name of a generated type
+     *
+     * @param templateType
+     *          which type to get
+     * @return the type as a field
+     */
+    public FlattenedField getTypeField(TemplateType templateType) {
+        return this.typeFields.get(templateType);
+    }
+
+    /**
+     * Gets the unique {@link Dependency}s for the given fields. Resolved types share
+     * their dependencies, see {@link Dependency#of(String)}, so comparing two of them
+     * mostly comes down to checking they are the same instance, while a dependency
+     * built any other way is still told apart by its path.
+     *
+     * @param fields
+     *          fields which contain the dependencies
+     * @return the dependencies, in the order they are first used
+     */
+    static List<Dependency> getDependencies(List<Field> fields) {
+        Set<Dependency> dependencies = new LinkedHashSet<>();
+        for (Field field : fields) {
+            for (Type type : field.getTypeDeclaration().getTypes()) {
+                Dependency dependency = type.getDependency();
+                if (nonNull(dependency)) {
+                    dependencies.add(dependency);
+                }
+            }
+        }
+
+        return new ArrayList<>(dependencies);
+    }
+
+    private static FlattenedField createTypeField(ConfigurationService configurationService, GenTypeModel genTypeModel, String subDirPath, TemplateType templateType) {
+        String packageName = getCustomPackage(configurationService, templateType.relPathSetting, subDirPath);
+        String className = TypeUtil.normalizeTypeString(genTypeModel.getClassName() + templateType.suffix);
+        String varName = TypeUtil.normalizeVariableName(genTypeModel.getClassName()) + templateType.suffix;
+
+        return new FlattenedField(packageName, className, varName);
+    }
+
+    /**
+     * Gets the full path in which to generate a file for a given setting.
+     *
+     * Concatenates the {@link Setting#APP_PATH}, the giving setting path,
+     * and the sub directory and joins them in a safe and consistent way.
+     *
+     * @param configurationService
+     *          configuration of the project
+     * @param setting
+     *          setting for which to get a path
+     * @param subDirPath
+     *          sub directory to generate in
+     * @return the path to generate the given path
+     */
+    private static String getCustomPackage(ConfigurationService configurationService, Setting setting, String subDirPath) {
+        String appPackage = configurationService.get(Setting.APP_PATH);
+        String relGenPackage = configurationService.get(setting);
+
+        String path = PathUtil.joinPath(appPackage, relGenPackage, subDirPath);
+
+        return PathUtil.pathToPackage(path);
+    }
+
+}
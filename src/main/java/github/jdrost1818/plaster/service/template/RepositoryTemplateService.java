@@ -1,39 +1,74 @@
 package github.jdrost1818.plaster.service.template;
 
 import github.jdrost1818.plaster.data.TemplateType;
-import github.jdrost1818.plaster.domain.FileInformation;
-import github.jdrost1818.plaster.domain.GenTypeModel;
+import github.jdrost1818.plaster.domain.template.FlattenedField;
 import github.jdrost1818.plaster.service.ConfigurationService;
+import github.jdrost1818.plaster.template.JavaSourceWriter;
 import org.jtwig.JtwigModel;
 import org.jtwig.JtwigTemplate;
 
+import java.io.IOException;
+
 public class RepositoryTemplateService extends TemplateService {
 
-    public RepositoryTemplateService(ConfigurationService configurationService) {
-        super(configurationService);
+    public RepositoryTemplateService(ConfigurationService configurationService, TemplateCache templateCache) {
+        super(configurationService, templateCache);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    JtwigModel addCustomInformation(JtwigModel model, FileInformation fileInformation, GenTypeModel genTypeModel) {
+    JtwigModel addCustomInformation(JtwigModel model, RenderContext renderContext) {
         JtwigModel repoModel;
 
-        repoModel = super.addTypeField(model, genTypeModel, TemplateType.REPOSITORY);
-        repoModel = super.addTypeField(repoModel, genTypeModel, TemplateType.MODEL);
-        repoModel = super.addDependencies(repoModel, fileInformation.getId());
-        repoModel = super.addId(repoModel, fileInformation);
+        repoModel = super.addTypeField(model, renderContext, TemplateType.REPOSITORY);
+        repoModel = super.addTypeField(repoModel, renderContext, TemplateType.MODEL);
+        repoModel = super.addDependencies(repoModel, renderContext.getIdDependencies());
+        repoModel = super.addId(repoModel, renderContext);
 
         return repoModel;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void writeSource(JavaSourceWriter writer, RenderContext renderContext) throws IOException {
+        FlattenedField repoField = renderContext.getTypeField(TemplateType.REPOSITORY);
+        FlattenedField modelField = renderContext.getTypeField(TemplateType.MODEL);
+        FlattenedField idField = renderContext.getIdField();
+
+        String model = modelField.getClassName();
+
+        writer.packageDeclaration(repoField.getPackagePath())
+                .blankLine()
+                .importDeclaration("org.springframework.data.domain.Page")
+                .importDeclaration("org.springframework.data.domain.Pageable")
+                .importDeclaration("org.springframework.data.jpa.domain.Specification")
+                .importDeclaration("org.springframework.data.repository.CrudRepository")
+                .blankLine();
+
+        super.writeImports(writer, renderContext.getIdDependencies());
+
+        writer.importDeclaration(modelField.getPackagePath() + "." + model)
+                .blankLine()
+                .beginBlock(String.format("public interface %s extends CrudRepository<%s, %s>",
+                        repoField.getClassName(), model, idField.getClassName()))
+                .blankLine()
+                .methodDeclaration(String.format("Page<%s> findAll(Specification<%s> spec, Pageable pageInfo)", model, model))
+                .blankLine()
+                .methodDeclaration(String.format("%s findOne(Specification<%s> spec)", model, model))
+                .blankLine()
+                .endLastBlock();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     JtwigTemplate getTemplate() {
-        return JtwigTemplate.classpathTemplate("template/repository/repository.twig");
+        return super.getTemplate(TemplateType.REPOSITORY);
     }
 
 }
@@ -1,40 +1,97 @@
 package github.jdrost1818.plaster.service.template;
 
 import github.jdrost1818.plaster.data.TemplateType;
-import github.jdrost1818.plaster.domain.FileInformation;
-import github.jdrost1818.plaster.domain.GenTypeModel;
+import github.jdrost1818.plaster.domain.template.FlattenedField;
 import github.jdrost1818.plaster.service.ConfigurationService;
+import github.jdrost1818.plaster.template.JavaSourceWriter;
 import org.jtwig.JtwigModel;
 import org.jtwig.JtwigTemplate;
 
+import java.io.IOException;
+
 public class ServiceTemplateService extends TemplateService {
 
-    public ServiceTemplateService(ConfigurationService configurationService) {
-        super(configurationService);
+    public ServiceTemplateService(ConfigurationService configurationService, TemplateCache templateCache) {
+        super(configurationService, templateCache);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    JtwigModel addCustomInformation(JtwigModel model, FileInformation fileInformation, GenTypeModel genTypeModel) {
+    JtwigModel addCustomInformation(JtwigModel model, RenderContext renderContext) {
         JtwigModel serviceModel;
 
-        serviceModel = super.addTypeField(model, genTypeModel, TemplateType.MODEL);
-        serviceModel = super.addTypeField(serviceModel, genTypeModel, TemplateType.SERVICE);
-        serviceModel = super.addTypeField(serviceModel, genTypeModel, TemplateType.REPOSITORY);
-        serviceModel = super.addDependencies(serviceModel, fileInformation.getId());
-        serviceModel = super.addId(serviceModel, fileInformation);
+        serviceModel = super.addTypeField(model, renderContext, TemplateType.MODEL);
+        serviceModel = super.addTypeField(serviceModel, renderContext, TemplateType.SERVICE);
+        serviceModel = super.addTypeField(serviceModel, renderContext, TemplateType.REPOSITORY);
+        serviceModel = super.addDependencies(serviceModel, renderContext.getIdDependencies());
+        serviceModel = super.addId(serviceModel, renderContext);
 
         return serviceModel;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void writeSource(JavaSourceWriter writer, RenderContext renderContext) throws IOException {
+        FlattenedField modelField = renderContext.getTypeField(TemplateType.MODEL);
+        FlattenedField serviceField = renderContext.getTypeField(TemplateType.SERVICE);
+        FlattenedField repoField = renderContext.getTypeField(TemplateType.REPOSITORY);
+        FlattenedField idField = renderContext.getIdField();
+
+        String model = modelField.getClassName() + " " + modelField.getVarName();
+        String id = idField.getClassName() + " " + idField.getVarName();
+        String repo = "this." + repoField.getVarName();
+
+        writer.packageDeclaration(serviceField.getPackagePath())
+                .blankLine()
+                .importDeclaration("org.springframework.beans.factory.annotation.Autowired")
+                .importDeclaration("org.springframework.stereotype.Service")
+                .blankLine();
+
+        super.writeImports(writer, renderContext.getIdDependencies());
+
+        writer.importDeclaration(modelField.getPackagePath() + "." + modelField.getClassName())
+                .importDeclaration(repoField.getPackagePath() + "." + repoField.getClassName())
+                .blankLine()
+                .annotation("Service")
+                .beginBlock("public class " + serviceField.getClassName())
+                .blankLine()
+                .field("private final", repoField.getClassName(), repoField.getVarName())
+                .indentedBlankLine()
+                .annotation("Autowired")
+                .beginBlock(String.format("public %s(%s %s)",
+                        serviceField.getClassName(), repoField.getClassName(), repoField.getVarName()))
+                .statement(String.format("%s = %s", repo, repoField.getVarName()))
+                .endBlock()
+                .indentedBlankLine()
+                .beginBlock(String.format("public %s create(%s)", modelField.getClassName(), model))
+                .statement(String.format("return %s.save(%s)", repo, modelField.getVarName()))
+                .endBlock()
+                .indentedBlankLine()
+                .beginBlock(String.format("public %s read(%s)", modelField.getClassName(), id))
+                .statement(String.format("return %s.findOne(%s)", repo, idField.getVarName()))
+                .endBlock()
+                .indentedBlankLine()
+                .beginBlock(String.format("public %s update(%s)", modelField.getClassName(), model))
+                .statement(String.format("return %s.save(%s)", repo, modelField.getVarName()))
+                .endBlock()
+                .indentedBlankLine()
+                .beginBlock(String.format("public void delete(%s)", id))
+                .statement(String.format("%s.delete(%s)", repo, idField.getVarName()))
+                .endBlock()
+                .blankLine()
+                .endLastBlock();
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     JtwigTemplate getTemplate() {
-        return JtwigTemplate.classpathTemplate("template/service/service.twig");
+        return super.getTemplate(TemplateType.SERVICE);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package github.jdrost1818.plaster.service.template;
+
+import github.jdrost1818.plaster.data.TemplateType;
+import org.jtwig.JtwigTemplate;
+import org.jtwig.environment.Environment;
+import org.jtwig.environment.EnvironmentConfiguration;
+import org.jtwig.environment.EnvironmentConfigurationBuilder;
+import org.jtwig.environment.EnvironmentFactory;
+import org.jtwig.resource.reference.ResourceReference;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the template of every {@link TemplateType}, shared by all {@link TemplateService}s.
+ *
+ * All templates are built against a single Jtwig environment. The environment's parser
+ * keeps every resource it has parsed, the included templates such as imports.twig too,
+ * so no template is read or parsed more than once while plaster runs. Templates are
+ * parsed the first time they are rendered, or all up front by {@link #warmUp()}.
+ */
+public class TemplateCache {
+
+    private static final String TEMPLATE_DIR = "template/";
+
+    private final Environment environment;
+
+    private final Map<TemplateType, JtwigTemplate> templates = new ConcurrentHashMap<>();
+
+    public TemplateCache() {
+        this(EnvironmentConfigurationBuilder.configuration().build());
+    }
+
+    public TemplateCache(EnvironmentConfiguration configuration) {
+        this.environment = new EnvironmentFactory().create(configuration);
+    }
+
+    /**
+     * Gets the template with which to render the given type
+     *
+     * @param templateType
+     *          type of file to render
+     * @return the template, the same instance on every call
+     */
+    public JtwigTemplate get(TemplateType templateType) {
+        return this.templates.computeIfAbsent(templateType,
+                t -> new JtwigTemplate(this.environment, toResourceReference(t)));
+    }
+
+    /**
+     * Parses every template ahead of the first render, so a daemon or a batch
+     * pays for parsing before it starts generating files
+     */
+    public void warmUp() {
+        for (TemplateType templateType : TemplateType.values()) {
+            this.get(templateType);
+            this.environment.getParser().parse(this.environment, toResourceReference(templateType));
+        }
+    }
+
+    private static ResourceReference toResourceReference(TemplateType templateType) {
+        return new ResourceReference(ResourceReference.CLASSPATH, TEMPLATE_DIR + templateType.templateLocation);
+    }
+
+}
@@ -1,42 +1,55 @@
 package github.jdrost1818.plaster.service.template;
 
-import com.google.common.collect.Lists;
+import github.jdrost1818.plaster.data.Renderer;
 import github.jdrost1818.plaster.data.Setting;
 import github.jdrost1818.plaster.data.TemplateType;
 import github.jdrost1818.plaster.domain.*;
 import github.jdrost1818.plaster.domain.template.FlattenedField;
 import github.jdrost1818.plaster.service.ConfigurationService;
-import github.jdrost1818.plaster.util.PathUtil;
-import github.jdrost1818.plaster.util.TypeUtil;
+import github.jdrost1818.plaster.template.JavaSourceWriter;
 import lombok.AllArgsConstructor;
 import org.jtwig.JtwigModel;
 import org.jtwig.JtwigTemplate;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
-import java.io.PrintStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 @AllArgsConstructor
 public abstract class TemplateService {
 
     private final ConfigurationService configurationService;
 
+    private final TemplateCache templateCache;
+
     /**
      * Adds information not applicable to all types of rendering being done.
      *
      * @param model
      *          model to which to add information
-     * @param fileInformation
-     *          information about the file to generate
-     * @param genTypeModel
-     *          model store
+     * @param renderContext
+     *          context of the class being generated
      * @return the fully-customized model object
      */
-    abstract JtwigModel addCustomInformation(JtwigModel model, FileInformation fileInformation, GenTypeModel genTypeModel);
+    abstract JtwigModel addCustomInformation(JtwigModel model, RenderContext renderContext);
+
+    /**
+     * Writes the same file as the template does, straight from the information given,
+     * for when {@link Renderer#JAVA} is used.
+     *
+     * @param writer
+     *          writer to write the file with
+     * @param renderContext
+     *          context of the class being generated
+     * @throws IOException
+     *          if the file cannot be written to
+     */
+    abstract void writeSource(JavaSourceWriter writer, RenderContext renderContext) throws IOException;
 
     /**
      * Gets the appropriate template with which to perform the rendering
@@ -46,109 +59,146 @@ public abstract class TemplateService {
     abstract JtwigTemplate getTemplate();
 
     /**
-     * The entry point to render a template.
+     * Gets the shared template for the given type, see {@link TemplateCache}
+     *
+     * @param templateType
+     *          type of file to render
+     * @return the Jtwig template
+     */
+    JtwigTemplate getTemplate(TemplateType templateType) {
+        return this.templateCache.get(templateType);
+    }
+
+    /**
+     * Renders a template into a string, formatted the same way as a generated file.
+     *
      * @param fileInformation
+     *          information about the file to generate
      * @param genTypeModel
-     * @return
+     *          model store
+     * @return the formatted file content
      */
     public final String renderTemplate(FileInformation fileInformation, GenTypeModel genTypeModel) {
-        JtwigTemplate template = getTemplate();
-
-        JtwigModel model = JtwigModel.newModel();
-        model = addCustomInformation(model, fileInformation, genTypeModel);
-
         ByteArrayOutputStream inMemOut = new ByteArrayOutputStream();
-        PrintStream inMemPrint = new PrintStream(inMemOut);
-
-        template.render(model, inMemPrint);
-
-        String fileContent = new String(inMemOut.toByteArray(), StandardCharsets.UTF_8);
+        try {
+            renderTemplate(fileInformation, genTypeModel, inMemOut);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
 
-        return formatFile(fileContent);
+        return new String(inMemOut.toByteArray(), StandardCharsets.UTF_8);
     }
 
     /**
-     * Adds the unique {@link Dependency}s for the fields attached to
-     * the file information provided
+     * Renders a template straight to the stream given, see {@link #renderTemplate(RenderContext, OutputStream)}
      *
-     * @param model
-     *          model to which to add the dependencies
      * @param fileInformation
      *          information about the file to generate
-     * @return the modified model
+     * @param genTypeModel
+     *          model store
+     * @param out
+     *          stream to write the file content to
+     * @throws IOException
+     *          if the stream cannot be written to
      */
-    JtwigModel addDependencies(JtwigModel model, FileInformation fileInformation) {
-        List<Field> fields = new ArrayList<>(fileInformation.getFields());
-        fields.add(fileInformation.getId());
-
-        return addDependencies(model, fields);
+    public final void renderTemplate(FileInformation fileInformation, GenTypeModel genTypeModel, OutputStream out) throws IOException {
+        renderTemplate(RenderContext.create(this.configurationService, fileInformation, genTypeModel), out);
     }
 
     /**
-     * Adds the {@link Dependency} for the given field to the model provided
+     * The entry point to render a template. The file is rendered by the project's
+     * {@link Renderer}, formatted as it is rendered, see {@link FormattingOutputStream},
+     * and written straight to the stream given, which is left open.
      *
-     * @param model
-     *          model to which to add the dependency
-     * @param field
-     *          field which contains the dependency to add
-     * @return the modified model
+     * @param renderContext
+     *          context of the class being generated, which may be shared by every
+     *          file generated for it
+     * @param out
+     *          stream to write the file content to
+     * @throws IOException
+     *          if the stream cannot be written to
      */
-    JtwigModel addDependencies(JtwigModel model, Field field) {
-        return addDependencies(model, Lists.newArrayList(field));
+    public final void renderTemplate(RenderContext renderContext, OutputStream out) throws IOException {
+        FormattingOutputStream formattedOut = new FormattingOutputStream(out);
+
+        if (Renderer.getRenderer(this.configurationService.get(Setting.RENDERER)) == Renderer.JAVA) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(formattedOut, StandardCharsets.UTF_8));
+            writeSource(new JavaSourceWriter(writer), renderContext);
+            writer.flush();
+        } else {
+            JtwigTemplate template = getTemplate();
+
+            JtwigModel model = JtwigModel.newModel();
+            model = addCustomInformation(model, renderContext);
+
+            template.render(model, formattedOut);
+        }
+
+        formattedOut.finish();
+        formattedOut.flush();
     }
 
     /**
-     * Adds the unique {@link Dependency}s for the given fields to the model provided
+     * Adds the given {@link Dependency}s to the model provided, see
+     * {@link RenderContext#getDependencies()} and {@link RenderContext#getIdDependencies()}
      *
      * @param model
      *          model to which to add the dependencies
-     * @param fields
-     *          fields which contain the dependencies to add
+     * @param dependencies
+     *          unique dependencies to import
      * @return the modified model
      */
-    JtwigModel addDependencies(JtwigModel model, List<Field> fields) {
-         List<Dependency> dependencies = fields.stream()
-                 .map(Field::getTypeDeclaration)
-                 .map(TypeDeclaration::getTypes)
-                 .flatMap(List::stream)
-                 .map(Type::getDependency)
-                 .filter(Objects::nonNull)
-                 .distinct()
-                 .collect(Collectors.toList());
-
+    JtwigModel addDependencies(JtwigModel model, List<Dependency> dependencies) {
         return model.with("dependencies", dependencies);
     }
 
     /**
-     * Adds the id field attached to the {@link FileInformation} as a {@link FlattenedField}
+     * Writes the imports of the given dependencies, followed by a blank line if there are any,
+     * the same as the imports template does
+     *
+     * @param writer
+     *          writer to write the imports with
+     * @param dependencies
+     *          dependencies to import
+     * @throws IOException
+     *          if the file cannot be written to
+     */
+    void writeImports(JavaSourceWriter writer, List<Dependency> dependencies) throws IOException {
+        for (Dependency dependency : dependencies) {
+            writer.importDeclaration(dependency.getPath());
+        }
+
+        if (!dependencies.isEmpty()) {
+            writer.blankLine();
+        }
+    }
+
+    /**
+     * Adds the id field of the class being generated as a {@link FlattenedField}
      * to the provided model.
      *
      * @param model
      *          model to which to add the id field
-     * @param fileInformation
-     *          information about the file to generate
+     * @param renderContext
+     *          context of the class being generated
      * @return the modified model
      */
-    JtwigModel addId(JtwigModel model, FileInformation fileInformation) {
-        return model.with("idField", new FlattenedField(fileInformation.getId()));
+    JtwigModel addId(JtwigModel model, RenderContext renderContext) {
+        return model.with("idField", renderContext.getIdField());
     }
 
     /**
-     * Adds the fields attached to the {@link FileInformation} as {@link FlattenedField}s
+     * Adds the fields of the class being generated as {@link FlattenedField}s
      * to the provided model.
      *
      * @param model
      *          model to which to add the fields
-     * @param fileInformation
-     *          information about the file to generate
+     * @param renderContext
+     *          context of the class being generated
      * @return the modified model
      */
-    JtwigModel addFields(JtwigModel model, FileInformation fileInformation) {
-        List<FlattenedField> fields = fileInformation.getFields().stream()
-                .map(FlattenedField::new)
-                .collect(Collectors.toList());
-
-        return model.with("fields", fields);
+    JtwigModel addFields(JtwigModel model, RenderContext renderContext) {
+        return model.with("fields", renderContext.getFields());
     }
 
     /**
@@ -156,50 +206,14 @@ public abstract class TemplateService {
      *
      * @param model
      *          model to which to add the field
-     * @param genTypeModel
-     *          model store
+     * @param renderContext
+     *          context of the class being generated
      * @param templateType
      *          which type are we adding
      * @return the modified model
      */
-    JtwigModel addTypeField(JtwigModel model, GenTypeModel genTypeModel, TemplateType templateType) {
-        String packageName = getCustomPackage(templateType.relPathSetting);
-        String className = TypeUtil.normalizeTypeString(genTypeModel.getClassName() + templateType.suffix);
-        String varName = TypeUtil.normalizeVariableName(genTypeModel.getClassName()) + templateType.suffix;
-
-        return model.with(templateType.templateVarName, new FlattenedField(packageName, className, varName));
-    }
-
-    /**
-     * Formats a string using the best Java formatting standards to ensure the generated
-     * file is of proper format.
-     *
-     * @param fileString
-     *          content to format
-     * @return the formatted file content
-     */
-    String formatFile(String fileString) {
-        return fileString.replaceAll("(\r?\n){3,}", "\n\n").replaceAll("\t", "    ");
-    }
-
-    /**
-     * Gets the full path in which to generate a file for a given setting.
-     *
-     * Concatenates the {@link Setting#APP_PATH}, the giving setting path,
-     * and the {@link Setting#SUB_DIR_PATH} and joins them in a safe and consistent way.
-     *
-     * @param setting
-     *          setting for which to get a path
-     * @return the path to generate the given path
-     */
-    private String getCustomPackage(Setting setting) {
-        String appPackage = configurationService.get(Setting.APP_PATH);
-        String relGenPackage = configurationService.get(setting);
-        String customGenPackage = configurationService.get(Setting.SUB_DIR_PATH);
-
-        String path = PathUtil.joinPath(appPackage, relGenPackage, customGenPackage);
-
-        return PathUtil.pathToPackage(path);
+    JtwigModel addTypeField(JtwigModel model, RenderContext renderContext, TemplateType templateType) {
+        return model.with(templateType.templateVarName, renderContext.getTypeField(templateType));
     }
 
 }
@@ -0,0 +1,9 @@
+package github.jdrost1818.plaster.service.type;
+
+import github.jdrost1818.plaster.domain.FileInformation;
+
+public interface ScaffoldModifier {
+
+    void modifyScaffold(FileInformation fileInformation);
+
+}
@@ -0,0 +1,151 @@
+package github.jdrost1818.plaster.template;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes a java source file a declaration at a time, without going through a template.
+ * Blocks indent what is written within them by four spaces.
+ *
+ * Example:
+ *
+ *      writer.packageDeclaration("com.example.app")
+ *              .blankLine()
+ *              .annotation("Entity")
+ *              .beginBlock("public class Example")
+ *              .field("private", "Long", "id")
+ *              .endBlock();
+ *
+ *      package com.example.app;
+ *
+ *      @Entity
+ *      public class Example {
+ *          private Long id;
+ *      }
+ */
+public class JavaSourceWriter {
+
+    private static final String INDENT = "    ";
+
+    private final Writer out;
+
+    private int depth;
+
+    public JavaSourceWriter(Writer out) {
+        this.out = out;
+    }
+
+    public JavaSourceWriter packageDeclaration(String packagePath) throws IOException {
+        return this.line("package " + packagePath + ";");
+    }
+
+    public JavaSourceWriter importDeclaration(String path) throws IOException {
+        return this.line("import " + path + ";");
+    }
+
+    /**
+     * @param annotation
+     *          the annotation without its @, such as RequestMapping("/")
+     */
+    public JavaSourceWriter annotation(String annotation) throws IOException {
+        return this.line("@" + annotation);
+    }
+
+    public JavaSourceWriter field(String modifiers, String className, String varName) throws IOException {
+        return this.line(modifiers + " " + className + " " + varName + ";");
+    }
+
+    /**
+     * Writes a method without a body, as declared by an interface
+     *
+     * @param declaration
+     *          the method's declaration, such as "Example findOne(Long id)"
+     */
+    public JavaSourceWriter methodDeclaration(String declaration) throws IOException {
+        return this.line(declaration + ";");
+    }
+
+    public JavaSourceWriter statement(String statement) throws IOException {
+        return this.line(statement + ";");
+    }
+
+    /**
+     * Opens a block, such as the body of a class or a method
+     *
+     * @param declaration
+     *          what the block belongs to, such as "public class Example"
+     */
+    public JavaSourceWriter beginBlock(String declaration) throws IOException {
+        this.line(declaration + " {");
+        this.depth++;
+
+        return this;
+    }
+
+    public JavaSourceWriter endBlock() throws IOException {
+        this.endLastBlock();
+        this.out.write('\n');
+
+        return this;
+    }
+
+    /**
+     * Closes a block which ends the file, without a line break after it
+     */
+    public JavaSourceWriter endLastBlock() throws IOException {
+        this.depth--;
+        this.writeIndent();
+        this.out.write('}');
+
+        return this;
+    }
+
+    /**
+     * Indents what follows further than the block it is in
+     */
+    public JavaSourceWriter indent() {
+        this.depth++;
+
+        return this;
+    }
+
+    public JavaSourceWriter outdent() {
+        this.depth--;
+
+        return this;
+    }
+
+    public JavaSourceWriter blankLine() throws IOException {
+        this.out.write('\n');
+
+        return this;
+    }
+
+    /**
+     * Writes a blank line which still holds the indentation of the block it is in
+     */
+    public JavaSourceWriter indentedBlankLine() throws IOException {
+        return this.line("");
+    }
+
+    /**
+     * Writes a line as is, at the indentation of the block it is in
+     *
+     * @param line
+     *          line to write, without a line break
+     */
+    public JavaSourceWriter line(String line) throws IOException {
+        this.writeIndent();
+        this.out.write(line);
+        this.out.write('\n');
+
+        return this;
+    }
+
+    private void writeIndent() throws IOException {
+        for (int i = 0; i < this.depth; i++) {
+            this.out.write(INDENT);
+        }
+    }
+
+}
@@ -13,6 +13,8 @@ import org.apache.commons.lang3.StringUtils;
 import java.util.Arrays;
 import java.util.List;
 
+import static java.util.Objects.isNull;
+
 @UtilityClass
 public final class ArgParseUtil {
 
@@ -101,27 +103,47 @@ public final class ArgParseUtil {
      *          args that were parsed from the command line
      */
     public static void validateParsedArgs(Namespace parsedArgs) {
-        String className = parsedArgs.getString(Arg.CLASS_NAME.key);
-        if (!className.matches("[a-zA-Z_-]*")) {
-            throw new PlasterException("Plaster doesn't support your weird class name. Use letters only");
-        }
+        validateClassName(parsedArgs.getString(Arg.CLASS_NAME.key));
 
         List<String> fieldPairs = parsedArgs.getList(Arg.FIELD.key);
         for (String fieldPair : fieldPairs) {
             FieldService.validateFieldPair(fieldPair);
         }
 
-        String customDir = parsedArgs.getString(Arg.DIR.key);
+        validateDir(parsedArgs.getString(Arg.DIR.key));
+
+        String customKey = parsedArgs.getString(Arg.KEY.key);
+        if (StringUtils.isNotBlank(customKey)) {
+            FieldService.validateFieldPair(customKey);
+        }
+    }
+
+    /**
+     * Ensures that the name of a class to generate is valid
+     *
+     * @param className
+     *          name of the class
+     * @throws PlasterException if not valid
+     */
+    public static void validateClassName(String className) {
+        if (isNull(className) || !className.matches("[a-zA-Z_-]*")) {
+            throw new PlasterException("Plaster doesn't support your weird class name. Use letters only");
+        }
+    }
+
+    /**
+     * Ensures that the sub directory to generate in, if any, is valid
+     *
+     * @param customDir
+     *          sub directory, may be blank
+     * @throws PlasterException if not valid
+     */
+    public static void validateDir(String customDir) {
         if (StringUtils.isNotBlank(customDir)) {
             String normalizedPath = PathUtil.normalize(customDir, "/");
             if (!normalizedPath.matches("[a-zA-Z0-9/]+")) {
                 throw new PlasterException("Invalid directory provided: " + customDir);
             }
         }
-
-        String customKey = parsedArgs.getString(Arg.KEY.key);
-        if (StringUtils.isNotBlank(customKey)) {
-            FieldService.validateFieldPair(customKey);
-        }
     }
 }
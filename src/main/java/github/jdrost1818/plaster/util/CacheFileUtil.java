@@ -0,0 +1,110 @@
+package github.jdrost1818.plaster.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.experimental.UtilityClass;
+
+import java.io.File;
+import java.io.IOException;
+
+import static java.util.Objects.isNull;
+
+/**
+ * Reads and writes the json files plaster keeps under .plaster/, such as the class
+ * index and the manifest of generated files. These files are only an optimization:
+ * one which is missing or corrupt is simply rebuilt, and one which cannot be written,
+ * e.g. because the project is read only, is just built again next run. So neither
+ * reading nor writing ever fails.
+ */
+@UtilityClass
+public class CacheFileUtil {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Some file systems only track modification times to the second, so a file that
+     * was modified right around the time it was recorded may have changed again without
+     * its modification time moving.
+     */
+    private static final long MODIFIED_TIME_GRANULARITY = 2000;
+
+    /**
+     * Reads a cache file
+     *
+     * @param file
+     *          file to read
+     * @param type
+     *          type of its content
+     * @param fallback
+     *          what to use if the file is missing or cannot be read
+     * @return the content of the file, or the fallback
+     */
+    public static <T> T read(File file, Class<T> type, T fallback) {
+        return read(file, MAPPER.getTypeFactory().constructType(type), fallback);
+    }
+
+    /**
+     * Reads a cache file holding a generic type, such as a map
+     *
+     * @see #read(File, Class, Object)
+     */
+    public static <T> T read(File file, TypeReference<T> type, T fallback) {
+        return read(file, MAPPER.getTypeFactory().constructType(type), fallback);
+    }
+
+    /**
+     * Writes a cache file, creating the directories above it as needed
+     *
+     * @param file
+     *          file to write
+     * @param content
+     *          what to write to it
+     */
+    public static void write(File file, Object content) {
+        File dir = file.getParentFile();
+        if (!dir.exists() && !dir.mkdirs()) {
+            return;
+        }
+
+        try {
+            MAPPER.writeValue(file, content);
+        } catch (IOException e) {
+            // Left for the next run to write
+        }
+    }
+
+    /**
+     * Determines whether what a cache file records about a file or directory can still
+     * be trusted, going by its modification time. It cannot once the modification time
+     * moved, nor when the file was modified too shortly before being recorded to tell.
+     *
+     * @param recordedLastModified
+     *          modification time of the file when it was recorded
+     * @param recordedAt
+     *          when the file was recorded
+     * @param currentLastModified
+     *          modification time of the file on disk
+     * @return whether the file is known not to have changed since it was recorded
+     */
+    public static boolean isUnchanged(long recordedLastModified, long recordedAt, long currentLastModified) {
+        return recordedLastModified == currentLastModified
+                && currentLastModified + MODIFIED_TIME_GRANULARITY < recordedAt;
+    }
+
+    private static <T> T read(File file, JavaType type, T fallback) {
+        if (!file.isFile()) {
+            return fallback;
+        }
+
+        try {
+            T content = MAPPER.readValue(file, type);
+
+            return isNull(content) ? fallback : content;
+        } catch (IOException e) {
+            // Rebuilt by the caller
+            return fallback;
+        }
+    }
+
+}
@@ -0,0 +1,219 @@
+package github.jdrost1818.plaster.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@UtilityClass
+public class DiffUtil {
+
+    /**
+     * Lines of unchanged content shown around each change
+     */
+    private static final int CONTEXT = 3;
+
+    private static final String NO_NEWLINE = "\n\\ No newline at end of file";
+
+    private enum Operation {
+        EQUAL(" "), DELETE("-"), INSERT("+");
+
+        private final String prefix;
+
+        Operation(String prefix) {
+            this.prefix = prefix;
+        }
+    }
+
+    /**
+     * Creates a unified diff between two versions of a file, as diff -u would.
+     *
+     * Example:
+     *
+     *      "a\nb\nc\n", "a\nB\nc\n" ->     --- original
+     *                                      +++ revised
+     *                                      @@ -1,3 +1,3 @@
+     *                                       a
+     *                                      -b
+     *                                      +B
+     *                                       c
+     *
+     * @param originalName
+     *          name of the original file, such as a/Example.java or /dev/null
+     * @param revisedName
+     *          name of the revised file
+     * @param original
+     *          content of the original file
+     * @param revised
+     *          content of the revised file
+     * @return the lines of the diff, which is empty when the content is the same
+     */
+    public static List<String> unifiedDiff(String originalName, String revisedName, String original, String revised) {
+        List<Edit> edits = diff(toLines(original), toLines(revised));
+
+        List<String> diff = new ArrayList<>();
+        int position = nextChange(edits, 0);
+        while (position < edits.size()) {
+            // Changes closer together than their context are shown in the same hunk
+            int lastChange = position;
+            int next = nextChange(edits, lastChange + 1);
+            while (next < edits.size() && next - lastChange - 1 <= 2 * CONTEXT) {
+                lastChange = next;
+                next = nextChange(edits, lastChange + 1);
+            }
+
+            int start = Math.max(0, position - CONTEXT);
+            int end = Math.min(edits.size(), lastChange + CONTEXT + 1);
+            if (diff.isEmpty()) {
+                diff.add("--- " + originalName);
+                diff.add("+++ " + revisedName);
+            }
+            addHunk(diff, edits.subList(start, end));
+
+            position = next;
+        }
+
+        return diff;
+    }
+
+    /**
+     * Splits content into lines. A last line without a line break is marked
+     * as such, so it differs from the same line with one.
+     */
+    static List<String> toLines(String content) {
+        List<String> lines = new ArrayList<>();
+
+        int start = 0;
+        int end = content.indexOf('\n');
+        while (end >= 0) {
+            lines.add(content.substring(start, end));
+            start = end + 1;
+            end = content.indexOf('\n', start);
+        }
+
+        if (start < content.length()) {
+            lines.add(content.substring(start) + NO_NEWLINE);
+        }
+
+        return lines;
+    }
+
+    private static void addHunk(List<String> diff, List<Edit> hunk) {
+        int originalCount = 0;
+        int revisedCount = 0;
+        for (Edit edit : hunk) {
+            originalCount += edit.operation == Operation.INSERT ? 0 : 1;
+            revisedCount += edit.operation == Operation.DELETE ? 0 : 1;
+        }
+
+        diff.add("@@ -" + range(hunk.get(0).originalLine, originalCount)
+                + " +" + range(hunk.get(0).revisedLine, revisedCount) + " @@");
+        for (Edit edit : hunk) {
+            diff.add(edit.operation.prefix + edit.line);
+        }
+    }
+
+    /**
+     * Formats the lines a hunk covers. An empty range is given by the line before it.
+     */
+    private static String range(int start, int count) {
+        if (count == 1) {
+            return String.valueOf(start + 1);
+        }
+
+        return (count == 0 ? start : start + 1) + "," + count;
+    }
+
+    private static int nextChange(List<Edit> edits, int from) {
+        int position = from;
+        while (position < edits.size() && edits.get(position).operation == Operation.EQUAL) {
+            position++;
+        }
+
+        return position;
+    }
+
+    /**
+     * Finds the shortest way to turn one list of lines into the other, through
+     * their longest common subsequence. The lines the two have in common at their
+     * start and end are left out of the search, as generated files mostly differ
+     * in only a few places.
+     */
+    private static List<Edit> diff(List<String> original, List<String> revised) {
+        int prefix = 0;
+        while (prefix < original.size() && prefix < revised.size() && original.get(prefix).equals(revised.get(prefix))) {
+            prefix++;
+        }
+
+        int suffix = 0;
+        while (suffix < original.size() - prefix && suffix < revised.size() - prefix
+                && original.get(original.size() - 1 - suffix).equals(revised.get(revised.size() - 1 - suffix))) {
+            suffix++;
+        }
+
+        int originalEnd = original.size() - suffix;
+        int revisedEnd = revised.size() - suffix;
+        int rows = originalEnd - prefix;
+        int columns = revisedEnd - prefix;
+
+        // common[i][j] is the length of the longest common subsequence of what follows line i and line j
+        int[][] common = new int[rows + 1][columns + 1];
+        for (int i = rows - 1; i >= 0; i--) {
+            for (int j = columns - 1; j >= 0; j--) {
+                common[i][j] = original.get(prefix + i).equals(revised.get(prefix + j))
+                        ? common[i + 1][j + 1] + 1
+                        : Math.max(common[i + 1][j], common[i][j + 1]);
+            }
+        }
+
+        List<Edit> edits = new ArrayList<>();
+        for (int i = 0; i < prefix; i++) {
+            edits.add(new Edit(Operation.EQUAL, original.get(i), i, i));
+        }
+
+        int i = 0;
+        int j = 0;
+        while (i < rows || j < columns) {
+            if (i < rows && j < columns && original.get(prefix + i).equals(revised.get(prefix + j))) {
+                edits.add(new Edit(Operation.EQUAL, original.get(prefix + i), prefix + i, prefix + j));
+                i++;
+                j++;
+            } else if (j == columns || (i < rows && common[i + 1][j] >= common[i][j + 1])) {
+                edits.add(new Edit(Operation.DELETE, original.get(prefix + i), prefix + i, prefix + j));
+                i++;
+            } else {
+                edits.add(new Edit(Operation.INSERT, revised.get(prefix + j), prefix + i, prefix + j));
+                j++;
+            }
+        }
+
+        for (int k = 0; k < suffix; k++) {
+            edits.add(new Edit(Operation.EQUAL, original.get(originalEnd + k), originalEnd + k, revisedEnd + k));
+        }
+
+        return edits;
+    }
+
+    /**
+     * A line of the diff, along with how many lines of each file come before it
+     */
+    private static class Edit {
+
+        private final Operation operation;
+
+        private final String line;
+
+        private final int originalLine;
+
+        private final int revisedLine;
+
+        private Edit(Operation operation, String line, int originalLine, int revisedLine) {
+            this.operation = operation;
+            this.line = line;
+            this.originalLine = originalLine;
+            this.revisedLine = revisedLine;
+        }
+
+    }
+
+}
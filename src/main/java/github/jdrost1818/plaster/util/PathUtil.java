@@ -5,6 +5,9 @@ import lombok.experimental.UtilityClass;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 @UtilityClass
 public class PathUtil {
 
@@ -34,6 +37,27 @@ public class PathUtil {
         return normalize(StringUtils.join(paths, "/"), "/");
     }
 
+    /**
+     * Gets a path relative to a base path, with / as the separator. A path which is
+     * not under the base path is given in full.
+     *
+     * Example
+     *      "/home/me/project", "/home/me/project/src/Something.java" ->    src/Something.java
+     *      "", "src/Something.java" ->                                     src/Something.java
+     *
+     * @param basePath
+     *          path to make the path relative to, empty for the working directory
+     * @param path
+     *          path to make relative
+     * @return the relative path
+     */
+    public static String relativize(String basePath, String path) {
+        Path base = Paths.get(basePath).toAbsolutePath().normalize();
+        Path target = Paths.get(path).toAbsolutePath().normalize();
+
+        return FilenameUtils.separatorsToUnix((target.startsWith(base) ? base.relativize(target) : target).toString());
+    }
+
     /**
      * Converts a fully qualified path to a java package.
      *
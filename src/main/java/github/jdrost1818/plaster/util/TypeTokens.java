@@ -0,0 +1,183 @@
+package github.jdrost1818.plaster.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+/**
+ * The tokens of a type string, found in a single pass over its characters. Each token
+ * is kept as its kind along with its offsets into the string, so no substrings are
+ * made unless the text of a name is asked for.
+ *
+ * Example:
+ *
+ *      "Map<String, List<Integer>>" -> Map < String , List < Integer > >
+ *
+ * Whitespace only separates tokens and is never part of one, except within a name
+ * such as "other class", where it is left for the caller to deal with.
+ */
+public final class TypeTokens {
+
+    public enum Kind {
+        NAME, OPEN, COMMA, CLOSE
+    }
+
+    private final String source;
+
+    private final Kind[] kinds;
+
+    private final int[] starts;
+
+    private final int[] ends;
+
+    private int size;
+
+    private TypeTokens(String source) {
+        // There can never be more tokens than characters
+        int capacity = source.length();
+
+        this.source = source;
+        this.kinds = new Kind[capacity];
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+    }
+
+    /**
+     * Splits the type string into its tokens
+     *
+     * @param typeString
+     *          string to split, null is treated as empty
+     * @return the tokens of the string
+     */
+    public static TypeTokens tokenize(String typeString) {
+        TypeTokens tokens = new TypeTokens(isNull(typeString) ? "" : typeString);
+        String source = tokens.source;
+
+        int nameStart = -1;
+        int nameEnd = -1;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            Kind delimiter = getDelimiterKind(c);
+
+            if (isNull(delimiter)) {
+                if (!Character.isWhitespace(c)) {
+                    if (nameStart < 0) {
+                        nameStart = i;
+                    }
+                    nameEnd = i + 1;
+                }
+                continue;
+            }
+
+            if (nameStart >= 0) {
+                tokens.add(Kind.NAME, nameStart, nameEnd);
+                nameStart = -1;
+            }
+            tokens.add(delimiter, i, i + 1);
+        }
+
+        if (nameStart >= 0) {
+            tokens.add(Kind.NAME, nameStart, nameEnd);
+        }
+
+        return tokens;
+    }
+
+    public String getSource() {
+        return this.source;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public Kind getKind(int index) {
+        return this.kinds[index];
+    }
+
+    public boolean isName(int index) {
+        return this.kinds[index] == Kind.NAME;
+    }
+
+    public int getStart(int index) {
+        return this.starts[index];
+    }
+
+    public int getEnd(int index) {
+        return this.ends[index];
+    }
+
+    /**
+     * Gets the text of the token, without any whitespace inside it
+     *
+     * @param index
+     *          index of the token
+     * @return the text of the token
+     */
+    public String getText(int index) {
+        int start = this.starts[index];
+        int end = this.ends[index];
+
+        for (int i = start; i < end; i++) {
+            if (Character.isWhitespace(this.source.charAt(i))) {
+                return removeWhitespace(this.source, start, end);
+            }
+        }
+
+        return this.source.substring(start, end);
+    }
+
+    /**
+     * Gets the text of every name, in the order they appear in the string
+     *
+     * Example:
+     *
+     *      "Map<String, List<Integer>>" -> [Map, String, List, Integer]
+     *
+     * @return the names in the string
+     */
+    public List<String> getNames() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < this.size; i++) {
+            if (this.isName(i)) {
+                names.add(this.getText(i));
+            }
+        }
+
+        return names;
+    }
+
+    private void add(Kind kind, int start, int end) {
+        this.kinds[this.size] = kind;
+        this.starts[this.size] = start;
+        this.ends[this.size] = end;
+        this.size++;
+    }
+
+    private static Kind getDelimiterKind(char c) {
+        switch (c) {
+            case '<':
+                return Kind.OPEN;
+            case ',':
+                return Kind.COMMA;
+            case '>':
+                return Kind.CLOSE;
+            default:
+                return null;
+        }
+    }
+
+    private static String removeWhitespace(String source, int start, int end) {
+        StringBuilder text = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                text.append(c);
+            }
+        }
+
+        return text.toString();
+    }
+
+}
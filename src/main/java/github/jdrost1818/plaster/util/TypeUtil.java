@@ -1,22 +1,29 @@
 package github.jdrost1818.plaster.util;
 
 import com.google.common.collect.Lists;
+import github.jdrost1818.plaster.data.Regex;
+import github.jdrost1818.plaster.domain.GenericType;
 import github.jdrost1818.plaster.domain.Type;
 import github.jdrost1818.plaster.exception.PlasterException;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 
-import java.util.Arrays;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+/**
+ * Every operation here works on the {@link TypeTokens} of the type string, which
+ * are found in one pass over its characters, rather than splitting it with regexes.
+ */
 @UtilityClass
 public class TypeUtil {
 
-    private static final String WITH_DELIMITER = "((?<=%1$s)|(?=%1$s))";
-
     /**
      * Converts potentially weirdly-formed, yet valid type declarations into something
      * standard.
@@ -34,9 +41,108 @@ public class TypeUtil {
             return "";
         }
 
-        return streamTypesWithSplitChars(typeString)
-                .map(TypeUtil::normalizeSingleType)
-                .collect(Collectors.joining()).replaceAll(",", ", ");
+        TypeTokens tokens = TypeTokens.tokenize(typeString);
+
+        StringBuilder normalized = new StringBuilder(typeString.length() + tokens.size());
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.isName(i)) {
+                appendCamelCase(normalized, typeString, tokens.getStart(i), tokens.getEnd(i), true);
+            } else {
+                appendDelimiter(normalized, tokens.getKind(i));
+            }
+        }
+
+        return normalized.toString();
+    }
+
+    /**
+     * Parses the type string into a tree of the type and its type arguments. The names
+     * in the tree are normalized the same way as {@link #normalizeTypeString(String)}.
+     * Only the syntax is checked, whether a type takes the number of type arguments it
+     * was given can only be known once its class has been found.
+     *
+     * Example:
+     *
+     *      "map<  string,list<integer>>" -> Map
+     *                                       |-- String
+     *                                       |-- List
+     *                                           |-- Integer
+     *
+     * @param typeString
+     *          string to parse
+     * @return the parsed type
+     * @throws PlasterException if the string is not a well formed java type
+     */
+    public static GenericType parseType(String typeString) {
+        TypeTokens tokens = TypeTokens.tokenize(typeString);
+
+        // The types whose "<" has been read, but not yet their ">"
+        Deque<String> openNames = new ArrayDeque<>();
+        Deque<List<GenericType>> openArguments = new ArrayDeque<>();
+
+        GenericType parsedType = null;
+        String name = null;
+        boolean expectName = true;
+        for (int i = 0; i < tokens.size(); i++) {
+            TypeTokens.Kind kind = tokens.getKind(i);
+
+            // Nothing may follow the ">" of the outermost type
+            if (nonNull(parsedType) || expectName != (kind == TypeTokens.Kind.NAME)) {
+                throw malformedType(typeString);
+            }
+
+            switch (kind) {
+                case NAME:
+                    StringBuilder normalizedName = new StringBuilder();
+                    appendCamelCase(normalizedName, typeString, tokens.getStart(i), tokens.getEnd(i), true);
+
+                    name = normalizedName.toString();
+                    expectName = false;
+                    break;
+                case OPEN:
+                    // A type which was just closed cannot be opened again
+                    if (isNull(name)) {
+                        throw malformedType(typeString);
+                    }
+
+                    openNames.push(name);
+                    openArguments.push(new ArrayList<>());
+                    name = null;
+                    expectName = true;
+                    break;
+                default:
+                    if (openNames.isEmpty()) {
+                        throw malformedType(typeString);
+                    }
+
+                    // The name is null when the argument was a type that was just closed
+                    if (nonNull(name)) {
+                        openArguments.peek().add(new GenericType(name, new ArrayList<>()));
+                        name = null;
+                    }
+
+                    if (kind == TypeTokens.Kind.COMMA) {
+                        expectName = true;
+                    } else {
+                        GenericType closedType = new GenericType(openNames.pop(), openArguments.pop());
+                        if (openArguments.isEmpty()) {
+                            parsedType = closedType;
+                        } else {
+                            openArguments.peek().add(closedType);
+                        }
+                    }
+            }
+        }
+
+        if (expectName || !openNames.isEmpty()) {
+            throw malformedType(typeString);
+        } else if (isNull(parsedType)) {
+            parsedType = new GenericType(name, new ArrayList<>());
+        }
+
+        validateClassNames(parsedType, typeString);
+
+        return parsedType;
     }
 
     /**
@@ -58,11 +164,10 @@ public class TypeUtil {
             return "";
         }
 
-        String varName = Arrays.stream(variableName.split("[_ ]"))
-                .map(StringUtils::capitalize)
-                .collect(Collectors.joining(""));
+        StringBuilder varName = new StringBuilder(variableName.length());
+        appendCamelCase(varName, variableName, 0, variableName.length(), false);
 
-        return StringUtils.uncapitalize(varName).replaceAll(" ", "");
+        return varName.toString();
     }
 
     /**
@@ -81,12 +186,7 @@ public class TypeUtil {
             return Lists.newArrayList();
         }
 
-        // Map<String, List<Something>> -> Map String List Something
-        return Arrays.asList(typeString
-                .replaceAll("[<>,]", " ")
-                .replaceAll(" +", " ")
-                .trim()
-                .split(" "));
+        return TypeTokens.tokenize(typeString).getNames();
     }
 
     /**
@@ -109,35 +209,92 @@ public class TypeUtil {
             throw new PlasterException(String.format("Cannot merge ['%s'} with empty list", typeString));
         }
 
-        List<String> splitStrings = streamTypesWithSplitChars(typeString).collect(Collectors.toList());
+        TypeTokens tokens = TypeTokens.tokenize(typeString);
 
         int typeIndex = 0;
-        StringBuilder finalString = new StringBuilder();
-        for (String splitString : splitStrings) {
-            // if the string is a splitting character, we can't replace it with
+        StringBuilder finalString = new StringBuilder(typeString.length());
+        for (int i = 0; i < tokens.size(); i++) {
+            // if the token is a splitting character, we can't replace it with
             // something from type, it is fine, just put it back into the final string
-            String strToAdd = splitString.matches("[<,>]") ? splitString : types.get(typeIndex++).getClassName();
-            finalString.append(strToAdd);
+            if (tokens.isName(i)) {
+                finalString.append(types.get(typeIndex++).getClassName());
+            } else {
+                finalString.append(typeString.charAt(tokens.getStart(i)));
+            }
         }
 
         return normalizeTypeString(finalString.toString());
     }
 
-    private static String normalizeSingleType(String type) {
-        if (type.matches("[<,>]")) {
-            return type;
+    /**
+     * A type without type arguments may also be a primitive, such as int. Type arguments
+     * and the types they are given to never can be.
+     */
+    private static void validateClassNames(GenericType parsedType, String typeString) {
+        if (parsedType.getArity() == 0) {
+            if (!Regex.JAVA_CLASS_NAME_WITH_PRIMITIVES.matcher(parsedType.getName()).matches()) {
+                throw malformedType(typeString);
+            }
+            return;
+        }
+
+        for (String name : parsedType.getNames()) {
+            if (!Regex.JAVA_CLASS_NAME.matcher(name).matches()) {
+                throw malformedType(typeString);
+            }
         }
-        return StringUtils.capitalize(normalizeVariableName(type));
     }
 
-    private static Stream<String> streamTypesWithSplitChars(String typeString) {
-        String noSpacesString = typeString.replaceAll(" ", "");
+    private static PlasterException malformedType(String typeString) {
+        return new PlasterException("Malformed type provided: " + typeString);
+    }
 
-        return Arrays.stream(noSpacesString.split(String.format(WITH_DELIMITER, "<")))
-                .map(s -> s.split(String.format(WITH_DELIMITER, ",")))
-                .flatMap(Arrays::stream)
-                .map(s -> s.split(String.format(WITH_DELIMITER, ">")))
-                .flatMap(Arrays::stream);
+    private static void appendDelimiter(StringBuilder builder, TypeTokens.Kind kind) {
+        switch (kind) {
+            case OPEN:
+                builder.append('<');
+                break;
+            case COMMA:
+                builder.append(", ");
+                break;
+            case CLOSE:
+                builder.append('>');
+                break;
+            default:
+                throw new IllegalArgumentException("Not a delimiter: " + kind);
+        }
+    }
+
+    /**
+     * Appends the text between the offsets in camel case. Underscores, and spaces in a
+     * variable name, start a new word. The first letter is upper case for a type
+     * and lower case for a variable.
+     *
+     * Example:
+     *
+     *      "other_class", type     -> OtherClass
+     *      "Some_var", variable    -> someVar
+     */
+    private static void appendCamelCase(StringBuilder builder, String source, int start, int end, boolean isType) {
+        boolean isFirstLetter = true;
+        boolean isWordStart = false;
+        for (int i = start; i < end; i++) {
+            char c = source.charAt(i);
+
+            if (c == '_' || (!isType && c == ' ')) {
+                isWordStart = true;
+            } else if (isType && Character.isWhitespace(c)) {
+                // Types never hold whitespace, "other class" is just Otherclass
+                continue;
+            } else if (isFirstLetter) {
+                builder.append(isType ? Character.toTitleCase(c) : Character.toLowerCase(c));
+                isFirstLetter = false;
+                isWordStart = false;
+            } else {
+                builder.append(isWordStart ? Character.toTitleCase(c) : c);
+                isWordStart = false;
+            }
+        }
     }
 
 }
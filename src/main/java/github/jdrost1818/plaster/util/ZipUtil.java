@@ -0,0 +1,122 @@
+package github.jdrost1818.plaster.util;
+
+import lombok.experimental.UtilityClass;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+@UtilityClass
+public class ZipUtil {
+
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR = 0x07064b50;
+
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY = 0x06064b50;
+
+    private static final int CENTRAL_DIRECTORY_ENTRY = 0x02014b50;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    /**
+     * Lists the names of every entry in a zip file, such as a jar. Only the central directory
+     * at the end of the file is read, and it is memory mapped rather than copied. None of
+     * the entries themselves are read or inflated.
+     *
+     * @param zipFile
+     *          zip file to list
+     * @return the names of the entries, in the order they appear in the central directory
+     * @throws IOException if the file cannot be read or is not a zip file
+     */
+    public static List<String> readEntryNames(File zipFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(zipFile.toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+
+            // The end of central directory record is followed only by a comment of up to 64KB
+            long tailStart = Math.max(0, fileSize - END_OF_CENTRAL_DIRECTORY_SIZE - MAX_COMMENT_SIZE);
+            MappedByteBuffer tail = map(channel, tailStart, fileSize - tailStart);
+
+            int endOfCentralDirectory = -1;
+            for (int i = tail.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+                if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY) {
+                    endOfCentralDirectory = i;
+                    break;
+                }
+            }
+
+            if (endOfCentralDirectory < 0) {
+                throw new IOException("Not a zip file: " + zipFile);
+            }
+
+            long entryCount = tail.getShort(endOfCentralDirectory + 10) & 0xFFFF;
+            long centralDirectorySize = tail.getInt(endOfCentralDirectory + 12) & 0xFFFFFFFFL;
+            long centralDirectoryOffset = tail.getInt(endOfCentralDirectory + 16) & 0xFFFFFFFFL;
+
+            // Zip64 archives keep the real values in another record just before this one
+            int locator = endOfCentralDirectory - ZIP64_LOCATOR_SIZE;
+            if (locator >= 0 && tail.getInt(locator) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR) {
+                MappedByteBuffer zip64 = map(channel, tail.getLong(locator + 8), 56);
+                if (zip64.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY) {
+                    throw new IOException("Corrupt zip64 file: " + zipFile);
+                }
+
+                entryCount = zip64.getLong(32);
+                centralDirectorySize = zip64.getLong(40);
+                centralDirectoryOffset = zip64.getLong(48);
+            }
+
+            if (centralDirectoryOffset + centralDirectorySize > fileSize) {
+                throw new IOException("Corrupt zip file: " + zipFile);
+            }
+
+            MappedByteBuffer centralDirectory = map(channel, centralDirectoryOffset, centralDirectorySize);
+
+            List<String> names = new ArrayList<>();
+            int position = 0;
+            for (long i = 0; i < entryCount; i++) {
+                if (centralDirectory.getInt(position) != CENTRAL_DIRECTORY_ENTRY) {
+                    throw new IOException("Corrupt zip file: " + zipFile);
+                }
+
+                int nameLength = centralDirectory.getShort(position + 28) & 0xFFFF;
+                int extraLength = centralDirectory.getShort(position + 30) & 0xFFFF;
+                int commentLength = centralDirectory.getShort(position + 32) & 0xFFFF;
+
+                if (position + 46 + nameLength > centralDirectory.limit()) {
+                    throw new IOException("Corrupt zip file: " + zipFile);
+                }
+
+                byte[] name = new byte[nameLength];
+                centralDirectory.position(position + 46);
+                centralDirectory.get(name);
+                names.add(new String(name, StandardCharsets.UTF_8));
+
+                position += 46 + nameLength + extraLength + commentLength;
+            }
+
+            return names;
+        } catch (IndexOutOfBoundsException | IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Corrupt zip file: " + zipFile, e);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        return buffer;
+    }
+
+}
@@ -0,0 +1,149 @@
+package github.jdrost1818.plaster.daemon;
+
+import github.jdrost1818.plaster.exception.PlasterException;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PlasterDaemonTest {
+
+    private static final int REQUEST_TIMEOUT_MILLIS = 200;
+
+    @Rule
+    public TemporaryFolder projectDir = new TemporaryFolder();
+
+    private List<String> ranCommands = Collections.synchronizedList(new ArrayList<>());
+
+    private PlasterDaemon daemon;
+
+    private Thread serveThread;
+
+    private ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    private ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @Before
+    public void setUp() throws Exception {
+        this.daemon = new PlasterDaemon(this.projectDir.getRoot(), args -> {
+            String command = StringUtils.join(args, " ");
+            this.ranCommands.add(command);
+
+            if (command.contains("fail")) {
+                throw new PlasterException("Failed: " + command);
+            }
+            System.out.println("Ran: " + command);
+        }, REQUEST_TIMEOUT_MILLIS);
+
+        this.daemon.start();
+        this.serveThread = new Thread(this.daemon::serve);
+        this.serveThread.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.daemon.stop();
+        this.serveThread.join(5000);
+    }
+
+    @Test
+    public void send_runs_command_in_daemon() throws Exception {
+        Integer status = this.send(this.projectDir.getRoot(), "g", "model", "Something");
+
+        assertThat(status, equalTo(PlasterDaemon.STATUS_OK));
+        assertThat(this.out.toString("UTF-8"), equalTo("Ran: g model Something" + System.lineSeparator()));
+        assertThat(this.ranCommands.size(), equalTo(1));
+    }
+
+    @Test
+    public void send_runs_each_command() throws Exception {
+        this.send(this.projectDir.getRoot(), "g", "model", "First");
+        this.send(this.projectDir.getRoot(), "g", "model", "Second");
+
+        assertThat(this.ranCommands.size(), equalTo(2));
+        assertThat(this.ranCommands.get(1), equalTo("g model Second"));
+    }
+
+    @Test
+    public void send_reports_failure() throws Exception {
+        Integer status = this.send(this.projectDir.getRoot(), "fail");
+
+        assertThat(status, equalTo(PlasterDaemon.STATUS_FAILED));
+        assertThat(this.err.toString("UTF-8"), equalTo("Failed: fail" + System.lineSeparator()));
+    }
+
+    @Test
+    public void send_after_stalled_client() throws Exception {
+        try (Socket stalled = new Socket(InetAddress.getLoopbackAddress(), this.getPort())) {
+            Integer status = this.send(this.projectDir.getRoot(), "g", "model", "Something");
+
+            assertThat(status, equalTo(PlasterDaemon.STATUS_OK));
+            assertThat(this.ranCommands.size(), equalTo(1));
+        }
+    }
+
+    @Test
+    public void send_rejects_other_project() throws Exception {
+        File otherProject = this.projectDir.newFolder("other");
+        File otherDaemonFile = PlasterDaemon.getDaemonFile(otherProject);
+        assertTrue(otherDaemonFile.getParentFile().mkdirs());
+        Files.copy(PlasterDaemon.getDaemonFile(this.projectDir.getRoot()).toPath(), otherDaemonFile.toPath());
+
+        Integer status = this.send(otherProject, "g", "model", "Something");
+
+        // Left for the client to run in its own process
+        assertThat(status, nullValue());
+        assertTrue(this.ranCommands.isEmpty());
+        assertThat(this.err.toString("UTF-8"), equalTo(""));
+    }
+
+    @Test
+    public void send_no_daemon_running() throws Exception {
+        Integer status = this.send(this.projectDir.newFolder("other"), "g", "model", "Something");
+
+        assertThat(status, nullValue());
+    }
+
+    @Test
+    public void send_stop() throws Exception {
+        Integer status = this.send(this.projectDir.getRoot(), PlasterDaemon.COMMAND, PlasterDaemon.STOP_COMMAND);
+        this.serveThread.join(5000);
+
+        assertThat(status, equalTo(PlasterDaemon.STATUS_OK));
+        assertFalse(this.serveThread.isAlive());
+        assertFalse(PlasterDaemon.getDaemonFile(this.projectDir.getRoot()).exists());
+        assertThat(this.send(this.projectDir.getRoot(), "g", "model", "Something"), nullValue());
+    }
+
+    @Test(expected = PlasterException.class)
+    public void start_already_running() throws Exception {
+        new PlasterDaemon(this.projectDir.getRoot(), args -> {}).start();
+    }
+
+    private int getPort() throws Exception {
+        return Integer.parseInt(Files.readAllLines(PlasterDaemon.getDaemonFile(this.projectDir.getRoot()).toPath()).get(0));
+    }
+
+    private Integer send(File projectDir, String... args) throws Exception {
+        return PlasterClient.send(projectDir, args, new PrintStream(this.out, true, "UTF-8"), new PrintStream(this.err, true, "UTF-8"));
+    }
+
+}
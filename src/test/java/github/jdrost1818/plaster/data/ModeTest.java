@@ -26,4 +26,19 @@ public class ModeTest {
         Mode.getMode("this will return no results");
     }
 
-}
\ No newline at end of file
+    @Test
+    public void getScope() throws Exception {
+        assertThat(GENERATE.getScope("Scaffold"), equalTo(ModeScope.SCAFFOLD));
+    }
+
+    @Test(expected = PlasterException.class)
+    public void getScope_no_result() throws Exception {
+        GENERATE.getScope("everything");
+    }
+
+    @Test(expected = PlasterException.class)
+    public void getScope_not_supported() throws Exception {
+        Mode.MODIFY.getScope("scaffold");
+    }
+
+}
@@ -3,6 +3,7 @@ package github.jdrost1818.plaster.domain;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class DependencyTest {
@@ -14,4 +15,11 @@ public class DependencyTest {
         assertThat(dependency.getTemplate(), equalTo("import somewhere.Class;"));
     }
 
+    @Test
+    public void of_shares_instances() throws Exception {
+        Dependency dependency = Dependency.of(new String("somewhere.Class"));
+
+        assertThat(Dependency.of(new String("somewhere.Class")), sameInstance(dependency));
+    }
+
 }
\ No newline at end of file
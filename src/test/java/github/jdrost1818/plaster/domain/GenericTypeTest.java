@@ -0,0 +1,74 @@
+package github.jdrost1818.plaster.domain;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class GenericTypeTest {
+
+    private static GenericType buildMapOfLists() {
+        Type map = new Type("Map", new Dependency("java.util.Map"));
+        Type list = new Type("List", new Dependency("java.util.List"));
+        Type string = new Type("String");
+        Type integer = new Type("Integer");
+
+        return new GenericType("Map", map, Lists.newArrayList(
+                new GenericType("String", string, Lists.newArrayList()),
+                new GenericType("List", list, Lists.newArrayList(
+                        new GenericType("Integer", integer, Lists.newArrayList())))));
+    }
+
+    @Test
+    public void getDeclaration() throws Exception {
+        assertThat(buildMapOfLists().getDeclaration(), equalTo("Map<String, List<Integer>>"));
+    }
+
+    @Test
+    public void getNames_in_written_order() throws Exception {
+        assertThat(buildMapOfLists().getNames(), equalTo(Lists.newArrayList("Map", "String", "List", "Integer")));
+    }
+
+    @Test
+    public void getTypes_in_written_order() throws Exception {
+        List<Type> types = buildMapOfLists().getTypes();
+
+        assertThat(types, equalTo(Lists.newArrayList(
+                new Type("Map", new Dependency("java.util.Map")),
+                new Type("String"),
+                new Type("List", new Dependency("java.util.List")),
+                new Type("Integer"))));
+    }
+
+    @Test
+    public void getTypes_unresolved() throws Exception {
+        GenericType genericType = new GenericType("List", Lists.newArrayList(new GenericType("Something", Lists.newArrayList())));
+
+        assertThat(genericType.getTypes(), equalTo(Lists.newArrayList()));
+    }
+
+    @Test
+    public void getArity() throws Exception {
+        GenericType genericType = buildMapOfLists();
+
+        assertThat(genericType.getArity(), equalTo(2));
+        assertThat(genericType.getArguments().get(0).getArity(), equalTo(0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void arguments_cannot_be_changed() throws Exception {
+        buildMapOfLists().getArguments().clear();
+    }
+
+    @Test
+    public void typeDeclaration_from_tree() throws Exception {
+        TypeDeclaration declaration = new TypeDeclaration(buildMapOfLists());
+
+        assertThat(declaration.getDeclaration(), equalTo("Map<String, List<Integer>>"));
+        assertThat(declaration.getTypes(), equalTo(buildMapOfLists().getTypes()));
+    }
+
+}
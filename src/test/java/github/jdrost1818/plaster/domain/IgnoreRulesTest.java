@@ -0,0 +1,76 @@
+package github.jdrost1818.plaster.domain;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IgnoreRulesTest {
+
+    @Test
+    public void isIgnored_no_rules() throws Exception {
+        IgnoreRules rules = IgnoreRules.none();
+
+        assertFalse(rules.isIgnored("src/main/java/com/example", true));
+        assertFalse(rules.isIgnored("src/main/java/com/example/Something.java", false));
+    }
+
+    @Test
+    public void isIgnored_not_a_package() throws Exception {
+        IgnoreRules rules = IgnoreRules.none();
+
+        assertTrue(rules.isIgnored("src/main/java/.git", true));
+        assertTrue(rules.isIgnored("src/main/java/generated-sources", true));
+        assertFalse(rules.isIgnored("src/main/java/generated-sources", false));
+    }
+
+    @Test
+    public void isIgnored_name_matches_at_any_depth() throws Exception {
+        IgnoreRules rules = new IgnoreRules(Arrays.asList("# comment", "", "target", "*.generated.java"));
+
+        assertTrue(rules.isIgnored("target", true));
+        assertTrue(rules.isIgnored("src/main/java/com/target", true));
+        assertTrue(rules.isIgnored("src/main/java/com/Something.generated.java", false));
+        assertFalse(rules.isIgnored("src/main/java/com/targets", true));
+        assertFalse(rules.isIgnored("src/main/java/com/Something.java", false));
+    }
+
+    @Test
+    public void isIgnored_anchored() throws Exception {
+        IgnoreRules rules = new IgnoreRules(Arrays.asList("/build", "src/main/java/com/legacy"));
+
+        assertTrue(rules.isIgnored("build", true));
+        assertTrue(rules.isIgnored("src/main/java/com/legacy", true));
+        assertFalse(rules.isIgnored("src/main/java/build", true));
+        assertFalse(rules.isIgnored("module/src/main/java/com/legacy", true));
+    }
+
+    @Test
+    public void isIgnored_directory_only() throws Exception {
+        IgnoreRules rules = new IgnoreRules(Arrays.asList("vendor/"));
+
+        assertTrue(rules.isIgnored("src/main/java/vendor", true));
+        assertFalse(rules.isIgnored("src/main/java/vendor", false));
+    }
+
+    @Test
+    public void isIgnored_double_star() throws Exception {
+        IgnoreRules rules = new IgnoreRules(Arrays.asList("src/**/generated", "**/tmp/**"));
+
+        assertTrue(rules.isIgnored("src/generated", true));
+        assertTrue(rules.isIgnored("src/main/java/com/generated", true));
+        assertTrue(rules.isIgnored("src/main/java/tmp/Something.java", false));
+        assertFalse(rules.isIgnored("src/main/java/tmp", true));
+    }
+
+    @Test
+    public void isIgnored_last_match_wins() throws Exception {
+        IgnoreRules rules = new IgnoreRules(Arrays.asList("*.java", "!Keep.java"));
+
+        assertTrue(rules.isIgnored("src/main/java/Something.java", false));
+        assertFalse(rules.isIgnored("src/main/java/Keep.java", false));
+    }
+
+}
@@ -5,6 +5,7 @@ import org.junit.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class TypeDeclarationTest {
 
@@ -30,4 +31,15 @@ public class TypeDeclarationTest {
         assertThat(declaration.getDeclaration(), equalTo("Map<List<Integer>, Integer>"));
     }
 
+    @Test
+    public void of_shares_instances() throws Exception {
+        GenericType list = new GenericType("List", Type.of("List", Dependency.of("java.util.List")), Lists.newArrayList(
+                new GenericType("Long", Type.of("Long"), Lists.newArrayList())));
+
+        TypeDeclaration declaration = TypeDeclaration.of(list);
+
+        assertThat(declaration.getDeclaration(), equalTo("List<Long>"));
+        assertThat(TypeDeclaration.of(list), sameInstance(declaration));
+    }
+
 }
\ No newline at end of file
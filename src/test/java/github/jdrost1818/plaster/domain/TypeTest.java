@@ -3,6 +3,7 @@ package github.jdrost1818.plaster.domain;
 import org.junit.Test;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 public class TypeTest {
@@ -14,4 +15,12 @@ public class TypeTest {
         assertThat(type.getTemplate(), equalTo("Type"));
     }
 
+    @Test
+    public void of_shares_instances() throws Exception {
+        Type type = Type.of("Type", new Dependency("somewhere.Type"));
+
+        assertThat(Type.of("Type", new Dependency("somewhere.Type")), sameInstance(type));
+        assertThat(type.getDependency(), sameInstance(Dependency.of("somewhere.Type")));
+    }
+
 }
\ No newline at end of file
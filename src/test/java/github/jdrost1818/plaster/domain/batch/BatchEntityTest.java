@@ -0,0 +1,51 @@
+package github.jdrost1818.plaster.domain.batch;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BatchEntityTest {
+
+    @Test
+    public void findTypeNames() throws Exception {
+        BatchEntity entity = new BatchEntity();
+        entity.setKey("id:Long");
+        entity.setFields(Lists.newArrayList("owner:Owner", "visits:Map<String, List<Visit>>", "broken:List<"));
+
+        assertThat(entity.findTypeNames(), contains("Owner", "Map", "String", "List", "Visit", "Long"));
+    }
+
+    @Test
+    public void replaceTypeNames() throws Exception {
+        BatchEntity entity = new BatchEntity();
+        entity.setKey("id:TagId");
+        entity.setFields(Lists.newArrayList("status:Status", "tags:map<Status, list<TagId>>", "owner:Owner"));
+
+        Map<String, String> replacements = new HashMap<>();
+        replacements.put("Status", "string");
+        replacements.put("TagId", "long");
+
+        assertTrue(entity.replaceTypeNames(replacements));
+        assertThat(entity.getKey(), equalTo("id:long"));
+        assertThat(entity.getFields(), contains("status:string", "tags:map<string, list<long>>", "owner:Owner"));
+        assertFalse(entity.replaceTypeNames(replacements));
+    }
+
+    @Test
+    public void findTypeNames_no_fields() throws Exception {
+        BatchEntity entity = new BatchEntity();
+        entity.setFields(null);
+
+        assertThat(entity.findTypeNames(), empty());
+    }
+
+}
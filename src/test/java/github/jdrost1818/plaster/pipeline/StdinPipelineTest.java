@@ -0,0 +1,118 @@
+package github.jdrost1818.plaster.pipeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import github.jdrost1818.plaster.exception.PlasterException;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class StdinPipelineTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final List<String> ranCommands = Collections.synchronizedList(new ArrayList<>());
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    @Test
+    public void isStdinCommand() throws Exception {
+        assertTrue(StdinPipeline.isStdinCommand(new String[] { "--stdin" }));
+        assertFalse(StdinPipeline.isStdinCommand(new String[] { "--stdin", "g" }));
+        assertFalse(StdinPipeline.isStdinCommand(new String[] { "g", "model", "Something" }));
+    }
+
+    @Test
+    public void run_runs_each_line_in_order() throws Exception {
+        int failures = this.run("g model First\n\ng  model   Second\n");
+
+        assertThat(failures, equalTo(0));
+        assertThat(this.ranCommands, contains("g model First", "g model Second"));
+
+        List<JsonNode> results = this.getResults();
+        assertThat(results, hasSize(2));
+        assertThat(results.get(0).get("line").asInt(), equalTo(1));
+        assertThat(results.get(0).get("command").asText(), equalTo("g model First"));
+        assertThat(results.get(0).get("status").asText(), equalTo(StdinPipeline.STATUS_OK));
+        assertThat(results.get(0).get("output").asText(), equalTo("Ran: g model First" + System.lineSeparator()));
+        assertFalse(results.get(0).has("error"));
+        assertThat(results.get(1).get("line").asInt(), equalTo(3));
+    }
+
+    @Test
+    public void run_invalid_line_does_not_stop_others() throws Exception {
+        int failures = this.run("g model First\ninvalid\ng model Second\n");
+
+        assertThat(failures, equalTo(1));
+        assertThat(this.ranCommands, contains("g model First", "g model Second"));
+
+        JsonNode result = this.getResults().get(1);
+        assertThat(result.get("status").asText(), equalTo(StdinPipeline.STATUS_FAILED));
+        assertThat(result.get("error").asText(), equalTo("Invalid: invalid"));
+    }
+
+    @Test
+    public void run_failed_command_does_not_stop_others() throws Exception {
+        int failures = this.run("g model fail\ng model Second");
+
+        assertThat(failures, equalTo(1));
+        assertThat(this.ranCommands, contains("g model fail", "g model Second"));
+
+        List<JsonNode> results = this.getResults();
+        assertThat(results.get(0).get("status").asText(), equalTo(StdinPipeline.STATUS_FAILED));
+        assertThat(results.get(0).get("error").asText(), equalTo("Failed: g model fail"));
+        assertThat(results.get(1).get("status").asText(), equalTo(StdinPipeline.STATUS_OK));
+    }
+
+    @Test
+    public void run_empty() throws Exception {
+        assertThat(this.run(""), equalTo(0));
+        assertThat(this.getResults(), hasSize(0));
+    }
+
+    private int run(String input) throws Exception {
+        StdinPipeline pipeline = new StdinPipeline(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                new PrintStream(this.out, true, StandardCharsets.UTF_8.name()),
+                args -> {
+                    String command = StringUtils.join(args, " ");
+                    if (args.length != 3) {
+                        throw new PlasterException("Invalid: " + command);
+                    }
+
+                    return () -> {
+                        this.ranCommands.add(command);
+                        if (command.contains("fail")) {
+                            throw new PlasterException("Failed: " + command);
+                        }
+                        System.out.println("Ran: " + command);
+                    };
+                });
+
+        return pipeline.run();
+    }
+
+    private List<JsonNode> getResults() throws Exception {
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : StringUtils.split(this.out.toString("UTF-8"), System.lineSeparator())) {
+            results.add(this.mapper.readTree(line));
+        }
+
+        return results;
+    }
+
+}
@@ -0,0 +1,188 @@
+package github.jdrost1818.plaster.service;
+
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.domain.ClassIndex;
+import github.jdrost1818.plaster.domain.SourceRoot;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class ClassIndexServiceTest {
+
+    @Rule
+    public TemporaryFolder projectDir = new TemporaryFolder();
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    private ClassIndexService classUnderTest;
+
+    private String projectPath;
+
+    @Before
+    public void setUp() throws Exception {
+        initMocks(this);
+
+        when(this.configurationService.getInt(Setting.SEARCH_THREADS)).thenReturn(2);
+
+        this.classUnderTest = new ClassIndexService(this.configurationService);
+
+        // PathUtil strips leading separators, so the project is given relative to the working directory
+        this.projectPath = new File("").getAbsoluteFile().toPath()
+                .relativize(this.projectDir.getRoot().toPath()).toString();
+
+        this.createSourceFile("src/main/java/com/example/app/dir1/Duplicate.java");
+        this.createSourceFile("src/main/java/com/example/app/dir2/Duplicate.java");
+        this.createSourceFile("src/main/java/com/example/app/Something.java");
+        this.createSourceFile("src/main/java/com/example/app/notes.txt");
+    }
+
+    @Test
+    public void getIndex_search_path_does_not_exist() throws Exception {
+        ClassIndex index = this.classUnderTest.getIndex(this.projectPath, "src/main/java", "com/does/not/exist");
+
+        assertThat(index.find("duplicate"), empty());
+    }
+
+    @Test
+    public void getIndex_finds_all_matches_ignoring_case() throws Exception {
+        ClassIndex index = this.classUnderTest.getIndex(this.projectPath, "src/main/java", "com/example/app");
+
+        assertThat(index.find("DUPLICATE"), containsInAnyOrder(
+                "com/example/app/dir1/Duplicate.java",
+                "com/example/app/dir2/Duplicate.java"));
+        assertThat(index.find("something"), equalTo(Collections.singletonList("com/example/app/Something.java")));
+        assertThat(index.find("notes"), empty());
+    }
+
+    @Test
+    public void getIndex_persists_index() throws Exception {
+        this.classUnderTest.getIndex(this.projectPath, "src/main/java", "com/example/app");
+
+        assertTrue(new File(this.projectDir.getRoot(), ".plaster/index/src.main.java.com.example.app.json").exists());
+
+        ClassIndex reloaded = new ClassIndexService(this.configurationService).getIndex(this.projectPath, "src/main/java", "com/example/app");
+
+        assertThat(reloaded.find("something"), equalTo(Collections.singletonList("com/example/app/Something.java")));
+    }
+
+    @Test
+    public void getIndex_picks_up_changes_after_invalidate() throws Exception {
+        this.classUnderTest.getIndex(this.projectPath, "src/main/java", "com/example/app");
+
+        this.createSourceFile("src/main/java/com/example/app/dir3/Added.java");
+
+        List<String> beforeInvalidate = this.classUnderTest
+                .getIndex(this.projectPath, "src/main/java", "com/example/app").find("added");
+
+        this.classUnderTest.invalidate();
+
+        List<String> afterInvalidate = this.classUnderTest
+                .getIndex(this.projectPath, "src/main/java", "com/example/app").find("added");
+
+        assertThat(beforeInvalidate, empty());
+        assertThat(afterInvalidate, equalTo(Collections.singletonList("com/example/app/dir3/Added.java")));
+    }
+
+    @Test
+    public void refresh_tells_changed_classes() throws Exception {
+        List<SourceRoot> sourceRoots = Collections.singletonList(new SourceRoot("src/main/java", "com/example/app"));
+        Set<String> firstChanged = this.classUnderTest.refresh(this.projectPath, sourceRoots);
+
+        this.createSourceFile("src/main/java/com/example/app/dir3/Added.java");
+        assertTrue(new File(this.projectDir.getRoot(), "src/main/java/com/example/app/dir2/Duplicate.java").delete());
+
+        Set<String> secondChanged = this.classUnderTest.refresh(this.projectPath, sourceRoots);
+
+        assertThat(firstChanged, containsInAnyOrder("duplicate", "something"));
+        assertThat(secondChanged, containsInAnyOrder("added", "duplicate"));
+        assertThat(this.classUnderTest.refresh(this.projectPath, sourceRoots), empty());
+    }
+
+    @Test
+    public void getIndexes_indexes_each_source_root() throws Exception {
+        this.createSourceFile("module-a/src/main/java/com/example/a/Customer.java");
+        this.createSourceFile("module-b/src/main/java/com/example/b/Address.java");
+
+        List<ClassIndex> indexes = this.classUnderTest.getIndexes(this.projectPath, Arrays.asList(
+                new SourceRoot("src/main/java", "com/example/app"),
+                new SourceRoot("module-a/src/main/java", "com/example/a"),
+                new SourceRoot("module-b/src/main/java", "com/example/b")));
+
+        assertThat(indexes.size(), equalTo(3));
+        assertThat(indexes.get(0).find("something"), equalTo(Collections.singletonList("com/example/app/Something.java")));
+        assertThat(indexes.get(1).find("customer"), equalTo(Collections.singletonList("com/example/a/Customer.java")));
+        assertThat(indexes.get(2).find("address"), equalTo(Collections.singletonList("com/example/b/Address.java")));
+        assertTrue(new File(this.projectDir.getRoot(), ".plaster/index/module-a.src.main.java.com.example.a.json").exists());
+    }
+
+    @Test
+    public void getIndex_prunes_ignored_paths() throws Exception {
+        when(this.configurationService.getList(Setting.SEARCH_EXCLUDE)).thenReturn(Collections.singletonList("legacy/"));
+        Files.write(new File(this.projectDir.getRoot(), ".gitignore").toPath(), "generated\n".getBytes(StandardCharsets.UTF_8));
+
+        this.createSourceFile("src/main/java/com/example/app/generated/Generated.java");
+        this.createSourceFile("src/main/java/com/example/app/legacy/Legacy.java");
+        this.createSourceFile("src/main/java/com/example/app/generated-sources/Other.java");
+
+        ClassIndex index = this.classUnderTest.getIndex(this.projectPath, "src/main/java", "com/example/app");
+
+        assertThat(index.find("generated"), empty());
+        assertThat(index.find("legacy"), empty());
+        assertThat(index.find("other"), empty());
+        assertThat(index.getDirectories().keySet(), not(hasItem("com/example/app/generated")));
+        assertThat(index.find("something"), equalTo(Collections.singletonList("com/example/app/Something.java")));
+    }
+
+    @Test
+    public void getIndex_rebuilds_when_rules_change() throws Exception {
+        this.createSourceFile("src/main/java/com/example/app/legacy/Legacy.java");
+        this.classUnderTest.getIndex(this.projectPath, "src/main/java", "com/example/app");
+
+        when(this.configurationService.getList(Setting.SEARCH_EXCLUDE)).thenReturn(Collections.singletonList("legacy/"));
+        this.classUnderTest.invalidate();
+
+        ClassIndex index = this.classUnderTest.getIndex(this.projectPath, "src/main/java", "com/example/app");
+
+        assertThat(index.find("legacy"), empty());
+    }
+
+    @Test
+    public void getIndex_skips_unreadable_entries() throws Exception {
+        File dir = new File(this.projectDir.getRoot(), "src/main/java/com/example/app");
+        Files.createSymbolicLink(new File(dir, "Dangling.java").toPath(), new File(dir, "missing").toPath());
+
+        ClassIndex index = this.classUnderTest.getIndex(this.projectPath, "src/main/java", "com/example/app");
+
+        assertThat(index.find("dangling"), empty());
+        assertThat(index.find("something"), equalTo(Collections.singletonList("com/example/app/Something.java")));
+        assertThat(index.find("duplicate").size(), equalTo(2));
+    }
+
+    private void createSourceFile(String path) throws Exception {
+        File file = new File(this.projectDir.getRoot(), path);
+        assertTrue(file.getParentFile().exists() || file.getParentFile().mkdirs());
+        assertTrue(file.createNewFile());
+    }
+
+}
@@ -1,17 +1,31 @@
 package github.jdrost1818.plaster.service;
 
 import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.domain.Artifact;
+import github.jdrost1818.plaster.domain.SourceRoot;
 import github.jdrost1818.plaster.exception.PlasterException;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class ConfigurationServiceTest {
-    
+
+    @Rule
+    public TemporaryFolder projectDir = new TemporaryFolder();
+
     public static ConfigurationService getTestConfigurationService(String root) {
         File file = new File(ConfigurationServiceTest.class.getClassLoader().getResource("testProject").getFile());
         return new ConfigurationService().load(file.getAbsolutePath() + "/" + root);
@@ -56,6 +70,10 @@ public class ConfigurationServiceTest {
         assertThat(configurationService.get(Setting.REL_SERVICE_PACKAGE), equalTo("service"));
         assertThat(configurationService.get(Setting.REL_CONTROLLER_PACKAGE), equalTo("controller"));
         assertThat(configurationService.get(Setting.SHOULD_USE_PRIMITIVES), equalTo("false"));
+        assertThat(configurationService.getInt(Setting.SEARCH_THREADS), equalTo(Runtime.getRuntime().availableProcessors()));
+        assertThat(configurationService.getList(Setting.SEARCH_EXCLUDE), empty());
+        assertThat(configurationService.getDependencies(), equalTo(Collections.singletonList(
+                new Artifact("org.projectlombok", "lombok", "1.16.16"))));
     }
 
     /**
@@ -78,6 +96,11 @@ public class ConfigurationServiceTest {
         assertThat(configurationService.get(Setting.REL_SERVICE_PACKAGE), equalTo("somewhere/service"));
         assertThat(configurationService.get(Setting.REL_CONTROLLER_PACKAGE), equalTo("somewhere/controller"));
         assertThat(configurationService.get(Setting.SHOULD_USE_PRIMITIVES), equalTo("true"));
+        assertThat(configurationService.getInt(Setting.SEARCH_THREADS), equalTo(2));
+        assertThat(configurationService.getList(Setting.SEARCH_EXCLUDE), equalTo(Arrays.asList("generated/", "legacy/**")));
+        assertThat(configurationService.get(Setting.TYPE_ALIASES), equalTo("uuid=java.util.UUID,money=org.joda.money.Money"));
+        assertThat(configurationService.getMap(Setting.TYPE_ALIASES).get("uuid"), equalTo("java.util.UUID"));
+        assertThat(configurationService.get(Setting.RENDERER), equalTo("java"));
     }
 
     /**
@@ -99,7 +122,79 @@ public class ConfigurationServiceTest {
         assertThat(configurationService.get(Setting.REL_SERVICE_PACKAGE), equalTo("service"));
         assertThat(configurationService.get(Setting.REL_CONTROLLER_PACKAGE), equalTo("controller"));
         assertThat(configurationService.get(Setting.SHOULD_USE_PRIMITIVES), equalTo("false"));
+        assertThat(configurationService.getInt(Setting.SEARCH_THREADS), equalTo(Runtime.getRuntime().availableProcessors()));
+        assertThat(configurationService.getList(Setting.SEARCH_EXCLUDE), empty());
+        assertThat(configurationService.getMap(Setting.TYPE_ALIASES).isEmpty(), equalTo(true));
+        assertThat(configurationService.get(Setting.RENDERER), equalTo("jtwig"));
+    }
+
+    /**
+     * Reactor is a multi-module project, one module inherits its group id from the parent
+     * and the other declares its own. A third module is only declared by a profile, so it
+     * is left out.
+     */
+    @Test
+    public void load_reactor() throws Exception {
+        ConfigurationService configurationService = getTestConfigurationService("/reactor");
+
+        assertThat(configurationService.get(Setting.MAVEN_GROUP_ID), equalTo("com.example.reactor"));
+        assertThat(configurationService.get(Setting.APP_PATH), equalTo("com/example/reactor"));
+        assertThat(configurationService.getSourceRoots(), equalTo(Arrays.asList(
+                new SourceRoot("src/main/java", "com/example/reactor"),
+                new SourceRoot("module-a/src/main/java", "com/example/reactor"),
+                new SourceRoot("module-b/src/main/java", "com/example/shared"))));
+        assertThat(configurationService.getDependencies(), equalTo(Collections.singletonList(
+                new Artifact("com.example.shared", "module-b", "1.0-SNAPSHOT"))));
+    }
+
+    @Test
+    public void refresh_forgets_command_line_settings() throws Exception {
+        ConfigurationService configurationService = getTestConfigurationService("/root1");
+        configurationService.put(Setting.KEY, "key:string");
+        configurationService.put(Setting.SUB_DIR_PATH, "/someplace");
+
+        boolean reloaded = configurationService.refresh();
+
+        assertFalse(reloaded);
+        assertThat(configurationService.get(Setting.KEY), equalTo("id:int"));
+        assertThat(configurationService.get(Setting.SUB_DIR_PATH), equalTo(""));
     }
 
+    @Test
+    public void refresh_reloads_changed_settings_file() throws Exception {
+        File root = this.projectDir.getRoot();
+        Files.copy(new File(ConfigurationServiceTest.class.getClassLoader().getResource("testProject/root1/pom.xml").getFile()).toPath(),
+                new File(root, "pom.xml").toPath());
+        ConfigurationService configurationService = new ConfigurationService().load(root.getAbsolutePath());
+
+        File plasterYaml = new File(root, "plaster.yml");
+        Files.write(plasterYaml.toPath(), "property:\n  key: key:string\n".getBytes(StandardCharsets.UTF_8));
+
+        boolean reloaded = configurationService.refresh();
+
+        assertTrue(reloaded);
+        assertThat(configurationService.get(Setting.KEY), equalTo("key:string"));
+        assertFalse(configurationService.refresh());
+    }
+
+    @Test(expected = PlasterException.class)
+    public void load_type_alias_not_qualified() throws Exception {
+        File root = this.projectDir.getRoot();
+        Files.copy(new File(ConfigurationServiceTest.class.getClassLoader().getResource("testProject/root1/pom.xml").getFile()).toPath(),
+                new File(root, "pom.xml").toPath());
+        Files.write(new File(root, "plaster.yml").toPath(), "types:\n  uuid: UUID\n".getBytes(StandardCharsets.UTF_8));
+
+        new ConfigurationService().load(root.getAbsolutePath());
+    }
+
+    @Test(expected = PlasterException.class)
+    public void load_unknown_renderer() throws Exception {
+        File root = this.projectDir.getRoot();
+        Files.copy(new File(ConfigurationServiceTest.class.getClassLoader().getResource("testProject/root1/pom.xml").getFile()).toPath(),
+                new File(root, "pom.xml").toPath());
+        Files.write(new File(root, "plaster.yml").toPath(), "renderer: velocity\n".getBytes(StandardCharsets.UTF_8));
+
+        new ConfigurationService().load(root.getAbsolutePath());
+    }
 
-}
\ No newline at end of file
+}
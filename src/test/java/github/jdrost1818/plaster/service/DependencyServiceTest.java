@@ -10,6 +10,9 @@ import org.mockito.Mock;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -18,6 +21,9 @@ public class DependencyServiceTest {
     @Mock
     private SearchService searchService;
 
+    @Mock
+    private ConfigurationService configurationService;
+
     @InjectMocks
     private DependencyService classUnderTest;
 
@@ -25,7 +31,7 @@ public class DependencyServiceTest {
     public void setUp() {
         initMocks(this);
 
-        this.classUnderTest = new DependencyService(searchService);
+        this.classUnderTest = new DependencyService(searchService, new TypeResolutionCache(), new TypeRegistry(configurationService));
     }
 
     @Test
@@ -79,4 +85,17 @@ public class DependencyServiceTest {
         assertThat(foundDependency.getPath(), equalTo("com.example.Something"));
     }
 
+    @Test
+    public void fetchCustomDependencies_searches_once() throws Exception {
+        String absPath = "com/example/Something.java";
+
+        when(this.searchService.findClassesWithName("Something")).thenReturn(Lists.newArrayList(absPath));
+
+        this.classUnderTest.fetchDependency("Something");
+        Dependency foundDependency = this.classUnderTest.fetchDependency("something");
+
+        assertThat(foundDependency.getPath(), equalTo("com.example.Something"));
+        verify(this.searchService, times(1)).findClassesWithName(anyString());
+    }
+
 }
\ No newline at end of file
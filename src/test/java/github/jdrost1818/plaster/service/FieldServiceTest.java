@@ -97,8 +97,8 @@ public class FieldServiceTest {
         TypeDeclaration somethingTypeDeclaration = new TypeDeclaration("", Lists.newArrayList());
         TypeDeclaration elseTypeDeclaration = new TypeDeclaration("", Lists.newArrayList());
 
-        when(this.typeService.convertToTypeDeclaration("List")).thenReturn(somethingTypeDeclaration);
-        when(this.typeService.convertToTypeDeclaration("Map<Integer, String>")).thenReturn(elseTypeDeclaration);
+        when(this.typeService.convertToTypeDeclarations(Lists.newArrayList("List", "Map<Integer, String>")))
+                .thenReturn(Lists.newArrayList(somethingTypeDeclaration, elseTypeDeclaration));
 
         List<Field> fields = this.classUnderTest.convertToFields(Lists.newArrayList("someVar:List", "otherVar:Map<Integer, String>"));
         List<Field> expectedFields = Lists.newArrayList(
@@ -0,0 +1,127 @@
+package github.jdrost1818.plaster.service;
+
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.domain.Artifact;
+import github.jdrost1818.plaster.domain.ClassIndex;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class JarIndexServiceTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    private JarIndexService classUnderTest;
+
+    private String projectPath;
+
+    private File jar;
+
+    @Before
+    public void setUp() throws Exception {
+        initMocks(this);
+
+        File repository = this.tempDir.newFolder("repository");
+        File project = this.tempDir.newFolder("project");
+        when(this.configurationService.get(Setting.MAVEN_REPOSITORY)).thenReturn(repository.getAbsolutePath());
+
+        this.classUnderTest = new JarIndexService(this.configurationService);
+
+        // PathUtil strips leading separators, so the project is given relative to the working directory
+        this.projectPath = new File("").getAbsoluteFile().toPath().relativize(project.toPath()).toString();
+
+        this.jar = new File(repository, "org/joda/joda-money/0.12/joda-money-0.12.jar");
+        createJar(this.jar,
+                "META-INF/MANIFEST.MF",
+                "org/joda/money/Money.class",
+                "org/joda/money/Money$1.class",
+                "org/joda/money/package-info.class",
+                "org/joda/money/format/MoneyFormatter.class");
+    }
+
+    @Test
+    public void getIndex_finds_top_level_classes() throws Exception {
+        ClassIndex index = this.classUnderTest.getIndex(this.projectPath, artifacts("0.12"));
+
+        assertThat(index.find("money"), equalTo(Collections.singletonList("org/joda/money/Money.class")));
+        assertThat(index.find("moneyformatter"), equalTo(Collections.singletonList("org/joda/money/format/MoneyFormatter.class")));
+        assertThat(index.find("money$1"), empty());
+        assertThat(index.find("package-info"), empty());
+        assertThat(index.find("manifest"), empty());
+    }
+
+    @Test
+    public void getIndex_unknown_version_uses_downloaded_version() throws Exception {
+        ClassIndex index = this.classUnderTest.getIndex(this.projectPath, artifacts(null));
+
+        assertThat(index.find("money"), equalTo(Collections.singletonList("org/joda/money/Money.class")));
+    }
+
+    @Test
+    public void getIndex_jar_not_downloaded() throws Exception {
+        List<Artifact> artifacts = Collections.singletonList(new Artifact("com.example", "missing", "1.0"));
+
+        ClassIndex index = this.classUnderTest.getIndex(this.projectPath, artifacts);
+
+        assertThat(index.find("money"), empty());
+    }
+
+    @Test
+    public void getIndex_reads_jar_again_only_when_modified() throws Exception {
+        this.classUnderTest.getIndex(this.projectPath, artifacts("0.12"));
+        assertTrue(new File(this.tempDir.getRoot(), "project/.plaster/index/jars.json").exists());
+
+        // Same modification time, so the listing persisted by the previous run is used
+        long lastModified = this.jar.lastModified();
+        createJar(this.jar, "org/joda/money/CurrencyUnit.class");
+        assertTrue(this.jar.setLastModified(lastModified));
+
+        ClassIndex cachedIndex = new JarIndexService(this.configurationService).getIndex(this.projectPath, artifacts("0.12"));
+
+        assertTrue(this.jar.setLastModified(lastModified + 10000));
+
+        ClassIndex modifiedIndex = new JarIndexService(this.configurationService).getIndex(this.projectPath, artifacts("0.12"));
+
+        assertThat(cachedIndex.find("money"), equalTo(Collections.singletonList("org/joda/money/Money.class")));
+        assertThat(cachedIndex.find("currencyunit"), empty());
+        assertThat(modifiedIndex.find("money"), empty());
+        assertThat(modifiedIndex.find("currencyunit"), equalTo(Collections.singletonList("org/joda/money/CurrencyUnit.class")));
+    }
+
+    private static List<Artifact> artifacts(String version) {
+        return Collections.singletonList(new Artifact("org.joda", "joda-money", version));
+    }
+
+    private static void createJar(File jar, String... entries) throws Exception {
+        assertTrue(jar.getParentFile().exists() || jar.getParentFile().mkdirs());
+
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (String entry : entries) {
+                out.putNextEntry(new ZipEntry(entry));
+                out.write(entry.getBytes("UTF-8"));
+                out.closeEntry();
+            }
+        }
+    }
+
+}
@@ -1,16 +1,28 @@
 package github.jdrost1818.plaster.service;
 
 import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.domain.Artifact;
+import github.jdrost1818.plaster.domain.ClassIndex;
+import github.jdrost1818.plaster.domain.IndexedDirectory;
+import github.jdrost1818.plaster.domain.SourceRoot;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -19,6 +31,9 @@ public class SearchServiceTest {
     @Mock
     ConfigurationService configurationService;
 
+    @Mock
+    JarIndexService jarIndexService;
+
     @InjectMocks
     SearchService classUnderTest;
 
@@ -28,7 +43,9 @@ public class SearchServiceTest {
     public void setUp() throws Exception {
         initMocks(this);
 
-        this.classUnderTest = new SearchService(configurationService);
+        this.classUnderTest = new SearchService(configurationService, new ClassIndexService(configurationService), jarIndexService);
+
+        when(this.jarIndexService.getIndex(anyString(), anyListOf(Artifact.class))).thenReturn(ClassIndex.empty());
 
         File file = new File(getClass().getClassLoader().getResource("testProject").getFile());
         this.resourceDir = file.getAbsolutePath();
@@ -43,4 +60,44 @@ public class SearchServiceTest {
         assertThat(foundPaths, empty());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void findClassesWithName_searches_every_module() throws Exception {
+        when(this.configurationService.get(Setting.PROJECT_PATH)).thenReturn("src/test/resources/testProject/reactor");
+        when(this.configurationService.getSourceRoots()).thenReturn(Arrays.asList(
+                new SourceRoot("src/main/java", "com/example/reactor"),
+                new SourceRoot("module-a/src/main/java", "com/example/reactor"),
+                new SourceRoot("module-b/src/main/java", "com/example/shared")));
+
+        assertThat(this.classUnderTest.findClassesWithName("customer"),
+                equalTo(Collections.singletonList("com/example/reactor/a/Customer.java")));
+        assertThat(this.classUnderTest.findClassesWithName("address"),
+                equalTo(Collections.singletonList("com/example/shared/Address.java")));
+    }
+
+    @Test
+    public void findClassesWithName_falls_back_to_dependency_jars() throws Exception {
+        Map<String, IndexedDirectory> jarDirectories = Collections.singletonMap("org/joda/money",
+                new IndexedDirectory(0, 0, Arrays.asList("Money.class", "Customer.class"), Collections.emptyList()));
+        when(this.jarIndexService.getIndex(anyString(), anyListOf(Artifact.class))).thenReturn(new ClassIndex(jarDirectories));
+        when(this.configurationService.get(Setting.PROJECT_PATH)).thenReturn("src/test/resources/testProject/reactor");
+        when(this.configurationService.getSourceRoots()).thenReturn(Collections.singletonList(
+                new SourceRoot("module-a/src/main/java", "com/example/reactor")));
+
+        assertThat(this.classUnderTest.findClassesWithName("money"),
+                equalTo(Collections.singletonList("org/joda/money/Money.class")));
+        assertThat(this.classUnderTest.findClassesWithName("customer"),
+                equalTo(Collections.singletonList("com/example/reactor/a/Customer.java")));
+    }
+
+    @Test
+    public void findClassesWithName_found_in_project_does_not_index_jars() throws Exception {
+        when(this.configurationService.get(Setting.PROJECT_PATH)).thenReturn("src/test/resources/testProject/reactor");
+        when(this.configurationService.getSourceRoots()).thenReturn(Collections.singletonList(
+                new SourceRoot("module-a/src/main/java", "com/example/reactor")));
+
+        this.classUnderTest.findClassesWithName("customer");
+
+        verify(this.jarIndexService, never()).getIndex(anyString(), anyListOf(Artifact.class));
+    }
+
+}
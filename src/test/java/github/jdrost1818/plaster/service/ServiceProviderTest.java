@@ -24,16 +24,46 @@ public class ServiceProviderTest {
         assertThat(ServiceProvider.getGenerateService(), sameInstance(ServiceProvider.getGenerateService()));
     }
 
+    @Test
+    public void getOutputService() throws Exception {
+        assertThat(ServiceProvider.getOutputService(), sameInstance(ServiceProvider.getOutputService()));
+    }
+
     @Test
     public void getTypeService() throws Exception {
         assertThat(ServiceProvider.getTypeService(), sameInstance(ServiceProvider.getTypeService()));
     }
 
+    @Test
+    public void getTypeRegistry() throws Exception {
+        assertThat(ServiceProvider.getTypeRegistry(), sameInstance(ServiceProvider.getTypeRegistry()));
+    }
+
+    @Test
+    public void getTemplateCache() throws Exception {
+        assertThat(ServiceProvider.getTemplateCache(), sameInstance(ServiceProvider.getTemplateCache()));
+    }
+
     @Test
     public void getSearchService() throws Exception {
         assertThat(ServiceProvider.getSearchService(), sameInstance(ServiceProvider.getSearchService()));
     }
 
+    @Test
+    public void getClassIndexService() throws Exception {
+        assertThat(ServiceProvider.getClassIndexService(), sameInstance(ServiceProvider.getClassIndexService()));
+    }
+
+    @Test
+    public void getJarIndexService() throws Exception {
+        assertThat(ServiceProvider.getJarIndexService(), sameInstance(ServiceProvider.getJarIndexService()));
+    }
+
+    @Test
+    public void getTypeResolutionCache() throws Exception {
+        assertThat(ServiceProvider.getTypeResolutionCache(), sameInstance(ServiceProvider.getTypeResolutionCache()));
+    }
+
     @Test
     public void getDependencyService() throws Exception {
         assertThat(ServiceProvider.getDependencyService(), sameInstance(ServiceProvider.getDependencyService()));
@@ -60,4 +90,14 @@ public class ServiceProviderTest {
         assertThat(ServiceProvider.getServiceTemplateService(), sameInstance(ServiceProvider.getServiceTemplateService()));
     }
 
+    @Test
+    public void getBatchService() throws Exception {
+        assertThat(ServiceProvider.getBatchService(), sameInstance(ServiceProvider.getBatchService()));
+    }
+
+    @Test
+    public void getImportService() throws Exception {
+        assertThat(ServiceProvider.getImportService(), sameInstance(ServiceProvider.getImportService()));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package github.jdrost1818.plaster.service;
+
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.data.StoredJavaType;
+import github.jdrost1818.plaster.domain.Dependency;
+import github.jdrost1818.plaster.domain.RegisteredType;
+import github.jdrost1818.plaster.domain.Type;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class TypeRegistryTest {
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    private TypeRegistry classUnderTest;
+
+    @Before
+    public void setUp() {
+        initMocks(this);
+
+        this.classUnderTest = new TypeRegistry(configurationService);
+    }
+
+    private void givenAliases(String... aliases) {
+        Map<String, String> aliasMap = new LinkedHashMap<>();
+        for (String alias : aliases) {
+            String[] parts = alias.split("=");
+            aliasMap.put(parts[0], parts[1]);
+        }
+
+        when(this.configurationService.get(Setting.TYPE_ALIASES)).thenReturn(String.join(",", aliases));
+        when(this.configurationService.getMap(Setting.TYPE_ALIASES)).thenReturn(aliasMap);
+    }
+
+    @Test
+    public void find_blank() throws Exception {
+        assertThat(this.classUnderTest.find(null), nullValue());
+        assertThat(this.classUnderTest.find(" "), nullValue());
+    }
+
+    @Test
+    public void find_stored_java_type() throws Exception {
+        RegisteredType registeredType = this.classUnderTest.find("INT");
+
+        assertThat(registeredType, equalTo(StoredJavaType.INTEGER.toRegisteredType()));
+        assertThat(registeredType.getType(true).getClassName(), equalTo("int"));
+        assertThat(registeredType.getType(false).getClassName(), equalTo("Integer"));
+    }
+
+    @Test
+    public void find_not_registered() throws Exception {
+        assertThat(this.classUnderTest.find("Customer"), nullValue());
+        assertFalse(this.classUnderTest.isRegistered("Customer"));
+    }
+
+    @Test
+    public void find_alias_and_simple_name() throws Exception {
+        givenAliases("uuid=java.util.UUID", "joda_money=org.joda.money.Money");
+
+        Type uuid = new Type("UUID", new Dependency("java.util.UUID"));
+        assertThat(this.classUnderTest.find("uuid").getType(true), equalTo(uuid));
+        assertThat(this.classUnderTest.find("Uuid").getType(false), equalTo(uuid));
+
+        Type money = new Type("Money", new Dependency("org.joda.money.Money"));
+        assertThat(this.classUnderTest.find("JodaMoney").getType(false), equalTo(money));
+        assertThat(this.classUnderTest.find("money").getType(false), equalTo(money));
+    }
+
+    @Test
+    public void find_alias_takes_any_type_arguments() throws Exception {
+        givenAliases("optional=java.util.Optional");
+
+        RegisteredType registeredType = this.classUnderTest.find("optional");
+
+        assertTrue(registeredType.acceptsTypedArgs(0));
+        assertTrue(registeredType.acceptsTypedArgs(1));
+        assertTrue(registeredType.acceptsTypedArgs(3));
+        assertFalse(StoredJavaType.MAP.toRegisteredType().acceptsTypedArgs(1));
+    }
+
+    @Test
+    public void find_alias_replaces_stored_java_type() throws Exception {
+        givenAliases("date=java.time.LocalDate");
+
+        assertThat(this.classUnderTest.find("date").getType(false), equalTo(new Type("LocalDate", new Dependency("java.time.LocalDate"))));
+    }
+
+    @Test
+    public void find_rebuilt_when_aliases_change() throws Exception {
+        RegisteredType integer = this.classUnderTest.find("int");
+        assertThat(this.classUnderTest.find("uuid"), nullValue());
+
+        givenAliases("uuid=java.util.UUID");
+
+        assertTrue(this.classUnderTest.isRegistered("uuid"));
+        assertThat(this.classUnderTest.find("int"), equalTo(integer));
+        assertThat(this.classUnderTest.find("uuid"), sameInstance(this.classUnderTest.find("UUID")));
+    }
+
+}
@@ -0,0 +1,104 @@
+package github.jdrost1818.plaster.service;
+
+import com.google.common.collect.Lists;
+import github.jdrost1818.plaster.domain.CustomTypeResolution;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypeResolutionCacheTest {
+
+    private TypeResolutionCache classUnderTest;
+
+    private AtomicInteger searches;
+
+    @Before
+    public void setUp() {
+        this.classUnderTest = new TypeResolutionCache();
+        this.searches = new AtomicInteger();
+    }
+
+    @Test
+    public void resolve_found() {
+        CustomTypeResolution resolution = this.classUnderTest.resolve("Example", n -> {
+            this.searches.incrementAndGet();
+            return Lists.newArrayList("com/example/app/Example.java");
+        });
+
+        assertTrue(resolution.isFound());
+        assertThat(resolution.getType().getClassName(), equalTo("Example"));
+        assertThat(resolution.getType().getDependency().getPath(), equalTo("com.example.app.Example"));
+    }
+
+    @Test
+    public void resolve_ambiguous() {
+        CustomTypeResolution resolution = this.classUnderTest.resolve("Duplicate",
+                n -> Lists.newArrayList("com/example/dir1/Duplicate.java", "com/example/dir2/Duplicate.java"));
+
+        assertTrue(resolution.isAmbiguous());
+        assertFalse(resolution.isFound());
+        assertThat(resolution.getType(), nullValue());
+    }
+
+    @Test
+    public void resolve_ignores_case_and_counts() {
+        CustomTypeResolution first = this.classUnderTest.resolve("Missing", n -> {
+            this.searches.incrementAndGet();
+            return Lists.newArrayList();
+        });
+        CustomTypeResolution second = this.classUnderTest.resolve("missing", n -> {
+            this.searches.incrementAndGet();
+            return Lists.newArrayList();
+        });
+
+        assertThat(second, sameInstance(first));
+        assertThat(this.searches.get(), equalTo(1));
+        assertThat(this.classUnderTest.getMisses(), equalTo(1L));
+        assertThat(this.classUnderTest.getHits(), equalTo(1L));
+        assertTrue(this.classUnderTest.isResolved("MISSING"));
+    }
+
+    @Test
+    public void forget() {
+        this.classUnderTest.resolve("Example", n -> Lists.newArrayList());
+        this.classUnderTest.resolve("Other", n -> Lists.newArrayList());
+
+        this.classUnderTest.forget(Lists.newArrayList("EXAMPLE"));
+
+        assertFalse(this.classUnderTest.isResolved("Example"));
+        assertTrue(this.classUnderTest.isResolved("Other"));
+        assertThat(this.classUnderTest.getMisses(), equalTo(2L));
+    }
+
+    @Test
+    public void resetCounts() {
+        this.classUnderTest.resolve("Example", n -> Lists.newArrayList("com/example/app/Example.java"));
+        this.classUnderTest.resolve("Example", n -> Lists.newArrayList("com/example/app/Example.java"));
+
+        this.classUnderTest.resetCounts();
+
+        assertTrue(this.classUnderTest.isResolved("Example"));
+        assertThat(this.classUnderTest.getSize(), equalTo(1));
+        assertThat(this.classUnderTest.getHits(), equalTo(0L));
+        assertThat(this.classUnderTest.getMisses(), equalTo(0L));
+    }
+
+    @Test
+    public void clear() {
+        this.classUnderTest.resolve("Example", n -> Lists.newArrayList("com/example/app/Example.java"));
+
+        this.classUnderTest.clear();
+
+        assertFalse(this.classUnderTest.isResolved("Example"));
+        assertThat(this.classUnderTest.getMisses(), equalTo(0L));
+    }
+
+}
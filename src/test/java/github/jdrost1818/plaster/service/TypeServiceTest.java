@@ -1,6 +1,8 @@
 package github.jdrost1818.plaster.service;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import github.jdrost1818.plaster.data.Setting;
 import github.jdrost1818.plaster.domain.Dependency;
 import github.jdrost1818.plaster.domain.Type;
 import github.jdrost1818.plaster.domain.TypeDeclaration;
@@ -10,7 +12,10 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -19,6 +24,11 @@ import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.CoreMatchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Matchers.anySetOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
 
@@ -28,7 +38,9 @@ public class TypeServiceTest {
     private SearchService searchService;
 
     @Mock
-    private DependencyService dependencyService;
+    private ConfigurationService configurationService;
+
+    private TypeResolutionCache typeResolutionCache;
 
     @InjectMocks
     private TypeService classUnderTest;
@@ -37,7 +49,8 @@ public class TypeServiceTest {
     public void setUp() {
         initMocks(this);
 
-        this.classUnderTest = new TypeService(searchService, dependencyService);
+        this.typeResolutionCache = new TypeResolutionCache();
+        this.classUnderTest = new TypeService(searchService, typeResolutionCache, new TypeRegistry(configurationService));
     }
 
     @Test(expected = PlasterException.class)
@@ -57,10 +70,8 @@ public class TypeServiceTest {
 
     @Test
     public void convertToTypeDeclaration() throws Exception {
-        when(this.dependencyService.fetchDependency("Something")).thenReturn(new Dependency("somethingDep"));
-        when(this.dependencyService.fetchDependency("Else")).thenReturn(new Dependency("elseDep"));
-        when(this.searchService.findClassesWithName("Something")).thenReturn(Lists.newArrayList("Something"));
-        when(this.searchService.findClassesWithName("Else")).thenReturn(Lists.newArrayList("Else"));
+        when(this.searchService.findClassesWithName("Something")).thenReturn(Lists.newArrayList("somethingDep/Something.java"));
+        when(this.searchService.findClassesWithName("Else")).thenReturn(Lists.newArrayList("elseDep/Else.java"));
 
         TypeDeclaration declaration = this.classUnderTest.convertToTypeDeclaration("something  <Else<String>, int>");
 
@@ -74,7 +85,67 @@ public class TypeServiceTest {
 
         List<String> dependencyNames = types.stream().map(Type::getDependency).filter(Objects::nonNull).map(Dependency::getPath).collect(Collectors.toList());
         assertThat(dependencyNames, hasSize(2));
-        assertThat(dependencyNames, hasItems("somethingDep", "elseDep"));
+        assertThat(dependencyNames, hasItems("somethingDep.Something", "elseDep.Else"));
+    }
+
+    @Test
+    public void convertToTypeDeclaration_raw_type() throws Exception {
+        TypeDeclaration declaration = this.classUnderTest.convertToTypeDeclaration("map");
+
+        assertThat(declaration.getDeclaration(), equalTo("Map"));
+        assertThat(declaration.getTypes(), hasSize(1));
+    }
+
+    @Test(expected = PlasterException.class)
+    public void convertToTypeDeclaration_too_few_type_arguments() throws Exception {
+        this.classUnderTest.convertToTypeDeclaration("Map<String>");
+    }
+
+    @Test(expected = PlasterException.class)
+    public void convertToTypeDeclaration_type_arguments_not_taken() throws Exception {
+        this.classUnderTest.convertToTypeDeclaration("List<Integer<String>>");
+    }
+
+    @Test
+    public void convertToTypeDeclaration_custom_type_any_type_arguments() throws Exception {
+        when(this.searchService.findClassesWithName("Something")).thenReturn(Lists.newArrayList("com/example/Something.java"));
+
+        TypeDeclaration declaration = this.classUnderTest.convertToTypeDeclaration("Something<int, str, Date>");
+
+        assertThat(declaration.getDeclaration(), equalTo("Something<Integer, String, Date>"));
+        assertThat(declaration.getTypes(), hasSize(4));
+    }
+
+    @Test
+    public void convertToTypeDeclaration_alias_not_searched() throws Exception {
+        when(this.configurationService.get(Setting.TYPE_ALIASES)).thenReturn("uuid=java.util.UUID");
+        when(this.configurationService.getMap(Setting.TYPE_ALIASES)).thenReturn(Collections.singletonMap("uuid", "java.util.UUID"));
+
+        TypeDeclaration declaration = this.classUnderTest.convertToTypeDeclaration("Map<uuid, List<UUID>>");
+
+        assertThat(declaration.getDeclaration(), equalTo("Map<UUID, List<UUID>>"));
+        assertThat(declaration.getTypes(), hasItems(new Type("UUID", new Dependency("java.util.UUID"))));
+        verify(this.searchService, never()).findClassesWithName(anyString());
+    }
+
+    @Test
+    public void convertToTypeDeclarations_searches_once() throws Exception {
+        Map<String, List<String>> foundClasses = new HashMap<>();
+        foundClasses.put("Something", Lists.newArrayList("com/example/Something.java"));
+        foundClasses.put("Else", Lists.newArrayList("com/example/Else.java"));
+
+        when(this.searchService.findClassesWithNames(Sets.newHashSet("Something", "Else"))).thenReturn(foundClasses);
+
+        List<TypeDeclaration> declarations = this.classUnderTest.convertToTypeDeclarations(
+                Lists.newArrayList("something", "List<Else>", "Map<int, Something>"));
+
+        assertThat(declarations, hasSize(3));
+        assertThat(declarations.get(0).getDeclaration(), equalTo("Something"));
+        assertThat(declarations.get(1).getDeclaration(), equalTo("List<Else>"));
+        assertThat(declarations.get(2).getDeclaration(), equalTo("Map<Integer, Something>"));
+
+        verify(this.searchService, times(1)).findClassesWithNames(anySetOf(String.class));
+        verify(this.searchService, never()).findClassesWithName(anyString());
     }
 
     @Test(expected = PlasterException.class)
@@ -82,6 +153,11 @@ public class TypeServiceTest {
         this.classUnderTest.convertToType("Map<<string>", true);
     }
 
+    @Test(expected = PlasterException.class)
+    public void convertToType_type_arguments() throws Exception {
+        this.classUnderTest.convertToType("List<String>", true);
+    }
+
     @Test
     public void convertToType_should_be_primitive() throws Exception {
         Type foundType = this.classUnderTest.convertToType("int", true);
@@ -119,18 +195,47 @@ public class TypeServiceTest {
     @Test
     public void convertToType_custom_type() throws Exception {
         String className = "CustomClass";
-        String filePath = "src/main/java/com/example/CustomClass.java";
+        String filePath = "com/example/CustomClass.java";
 
         List<String> expectedSearchResult = Lists.newArrayList(filePath);
-        Dependency dependency = new Dependency("com.example.Something");
 
         when(this.searchService.findClassesWithName(className)).thenReturn(expectedSearchResult);
-        when(this.dependencyService.fetchDependency(className)).thenReturn(dependency);
 
         Type type = this.classUnderTest.convertToType(className, true);
 
         assertThat(type.getClassName(), equalTo(className));
-        assertThat(type.getDependency(), sameInstance(dependency));
+        assertThat(type.getDependency(), equalTo(new Dependency("com.example.CustomClass")));
+    }
+
+    @Test
+    public void convertToType_custom_type_searched_once() throws Exception {
+        String className = "CustomClass";
+
+        when(this.searchService.findClassesWithName(className)).thenReturn(Lists.newArrayList("com/example/CustomClass.java"));
+
+        this.classUnderTest.convertToType(className, true);
+        this.classUnderTest.convertToType(className, false);
+
+        verify(this.searchService, times(1)).findClassesWithName(className);
+        assertThat(this.typeResolutionCache.getHits(), equalTo(1L));
+        assertThat(this.typeResolutionCache.getMisses(), equalTo(1L));
+    }
+
+    @Test
+    public void convertToType_custom_type_not_found_is_remembered() throws Exception {
+        String className = "CustomClass";
+
+        when(this.searchService.findClassesWithName(className)).thenReturn(Lists.newArrayList());
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                this.classUnderTest.convertToType(className, true);
+            } catch (PlasterException e) {
+                // expected, the type does not exist
+            }
+        }
+
+        verify(this.searchService, times(1)).findClassesWithName(className);
     }
 
     /*
@@ -0,0 +1,147 @@
+package github.jdrost1818.plaster.service.importer;
+
+import github.jdrost1818.plaster.domain.batch.BatchEntity;
+import github.jdrost1818.plaster.exception.PlasterException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+
+public class DdlReaderTest {
+
+    private DdlReader classUnderTest = new DdlReader();
+
+    @Test
+    public void read_postgres() throws Exception {
+        List<BatchEntity> entities = this.read("" +
+                "SET statement_timeout = 0;\n" +
+                "CREATE TYPE public.mood AS ENUM ('sad', 'happy');\n" +
+                "CREATE TABLE IF NOT EXISTS public.customer_order (\n" +
+                "    id bigint NOT NULL DEFAULT nextval('customer_order_id_seq'::regclass),\n" +
+                "    placed_at timestamp with time zone NOT NULL, -- when it was placed\n" +
+                "    total numeric(10,2) CHECK (total > 0),\n" +
+                "    tags text[],\n" +
+                "    current_mood public.mood,\n" +
+                "    key character varying(255),\n" +
+                "    CONSTRAINT customer_order_pkey PRIMARY KEY (id)\n" +
+                ");\n");
+
+        assertThat(entities, hasSize(1));
+        assertThat(entities.get(0).getName(), equalTo("customer_order"));
+        assertThat(entities.get(0).getKey(), equalTo("id:long"));
+        assertThat(entities.get(0).getFields(), contains(
+                "placed_at:timestamp",
+                "total:double",
+                "tags:list<string>",
+                "current_mood:mood",
+                "key:string"));
+    }
+
+    @Test
+    public void read_mysql() throws Exception {
+        List<BatchEntity> entities = this.read("" +
+                "/*!40101 SET NAMES utf8 */;\n" +
+                "CREATE TABLE `product` (\n" +
+                "  `ID` int(11) unsigned NOT NULL AUTO_INCREMENT,\n" +
+                "  `name` varchar(100) NOT NULL DEFAULT 'it\\'s',\n" +
+                "  `active` tinyint(1) DEFAULT NULL,\n" +
+                "  PRIMARY KEY (`ID`),\n" +
+                "  UNIQUE KEY `uk_name` (`name`(10)),\n" +
+                "  KEY `idx_active` (`active`)\n" +
+                ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;\n" +
+                "INSERT INTO `product` VALUES (1,'a\\'b; CREATE TABLE x (y int)',1);\n");
+
+        assertThat(entities, hasSize(1));
+        assertThat(entities.get(0).getName(), equalTo("product"));
+        assertThat(entities.get(0).getKey(), equalTo("id:int"));
+        assertThat(entities.get(0).getFields(), contains("name:string", "active:int"));
+    }
+
+    @Test
+    public void read_sql_server() throws Exception {
+        List<BatchEntity> entities = this.read("" +
+                "CREATE TABLE [dbo].[Invoice] ([InvoiceId] INT IDENTITY(1,1) PRIMARY KEY, AMOUNT MONEY)\n" +
+                "GO\n" +
+                "CREATE TABLE [dbo].[Payment] ([PaymentId] BIGINT PRIMARY KEY)\n" +
+                "GO\n");
+
+        assertThat(entities, hasSize(2));
+        assertThat(entities.get(0).getName(), equalTo("Invoice"));
+        assertThat(entities.get(0).getKey(), equalTo("InvoiceId:int"));
+        assertThat(entities.get(0).getFields(), contains("amount:double"));
+        assertThat(entities.get(1).getName(), equalTo("Payment"));
+    }
+
+    @Test
+    public void read_sqlite_columns_without_type() throws Exception {
+        List<BatchEntity> entities = this.read("" +
+                "CREATE TABLE note (\n" +
+                "    id PRIMARY KEY,\n" +
+                "    title NOT NULL,\n" +
+                "    body,\n" +
+                "    created DEFAULT CURRENT_TIMESTAMP,\n" +
+                "    author REFERENCES person (id),\n" +
+                "    tag UNIQUE COLLATE NOCASE,\n" +
+                "    words integer NOT NULL\n" +
+                ");\n");
+
+        assertThat(entities.get(0).getKey(), equalTo("id:string"));
+        assertThat(entities.get(0).getFields(), contains(
+                "title:string",
+                "body:string",
+                "created:string",
+                "author:string",
+                "tag:string",
+                "words:int"));
+    }
+
+    @Test
+    public void read_composite_key() throws Exception {
+        List<BatchEntity> entities = this.read(
+                "CREATE TABLE order_line (order_id int, line int, PRIMARY KEY (order_id, line));");
+
+        assertThat(entities.get(0).getKey(), nullValue());
+        assertThat(entities.get(0).getFields(), contains("order_id:int", "line:int"));
+    }
+
+    @Test
+    public void read_skips_everything_but_tables() throws Exception {
+        List<BatchEntity> entities = this.read("" +
+                "CREATE FUNCTION f() RETURNS trigger AS $fn$ BEGIN; CREATE TABLE a (x int); END; $fn$ LANGUAGE plpgsql;\n" +
+                "COPY customer (id) FROM stdin;\n" +
+                "1\tit's ; CREATE TABLE b (x int);\n" +
+                "\\.\n" +
+                "CREATE TABLE copy AS SELECT * FROM customer;\n" +
+                "CREATE INDEX i ON customer (name);\n" +
+                "CREATE TABLE c (x int);\n");
+
+        assertThat(entities, hasSize(1));
+        assertThat(entities.get(0).getName(), equalTo("c"));
+    }
+
+    @Test(expected = PlasterException.class)
+    public void read_unterminated_table() throws Exception {
+        this.read("CREATE TABLE customer (id int, name text");
+    }
+
+    @Test(expected = PlasterException.class)
+    public void read_unterminated_string() throws Exception {
+        this.read("INSERT INTO customer VALUES ('name);");
+    }
+
+    private List<BatchEntity> read(String ddl) throws Exception {
+        List<BatchEntity> entities = new ArrayList<>();
+        this.classUnderTest.read(new ByteArrayInputStream(ddl.getBytes(StandardCharsets.UTF_8)), entities::add);
+
+        return entities;
+    }
+
+}
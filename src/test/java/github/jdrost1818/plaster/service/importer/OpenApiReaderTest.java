@@ -0,0 +1,179 @@
+package github.jdrost1818.plaster.service.importer;
+
+import github.jdrost1818.plaster.domain.batch.BatchEntity;
+import github.jdrost1818.plaster.exception.PlasterException;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+
+public class OpenApiReaderTest {
+
+    private OpenApiReader classUnderTest = new OpenApiReader();
+
+    @Test
+    public void read_yml() throws Exception {
+        List<BatchEntity> entities = this.read("" +
+                "openapi: 3.0.0\n" +
+                "paths:\n" +
+                "  /pets:\n" +
+                "    get:\n" +
+                "      responses:\n" +
+                "        '200':\n" +
+                "          description: ok\n" +
+                "components:\n" +
+                "  schemas:\n" +
+                "    Pet:\n" +
+                "      type: object\n" +
+                "      properties:\n" +
+                "        id:\n" +
+                "          type: integer\n" +
+                "          format: int64\n" +
+                "        pet-name:\n" +
+                "          type: string\n" +
+                "        born:\n" +
+                "          type: string\n" +
+                "          format: date\n" +
+                "        owner:\n" +
+                "          $ref: '#/components/schemas/Owner'\n" +
+                "        tags:\n" +
+                "          type: array\n" +
+                "          items:\n" +
+                "            type: string\n" +
+                "        scores:\n" +
+                "          type: object\n" +
+                "          additionalProperties:\n" +
+                "            type: number\n" +
+                "    Status:\n" +
+                "      type: string\n" +
+                "      enum: [available, sold]\n" +
+                "    Owner:\n" +
+                "      properties:\n" +
+                "        name:\n" +
+                "          type: string\n");
+
+        assertThat(entities, hasSize(2));
+        assertThat(entities.get(0).getName(), equalTo("Pet"));
+        assertThat(entities.get(0).getFields(), contains(
+                "id:long",
+                "pet_name:string",
+                "born:date",
+                "owner:Owner",
+                "tags:list<string>",
+                "scores:map<string, double>"));
+        assertThat(entities.get(1).getName(), equalTo("Owner"));
+        assertThat(entities.get(1).getFields(), contains("name:string"));
+    }
+
+    @Test
+    public void read_json() throws Exception {
+        List<BatchEntity> entities = this.read("" +
+                "{\"swagger\": \"2.0\", \"definitions\": {\n" +
+                "  \"Dog\": {\"allOf\": [\n" +
+                "    {\"$ref\": \"#/definitions/Pet\"},\n" +
+                "    {\"type\": \"object\", \"properties\": {\"barks\": {\"type\": \"boolean\"}}}\n" +
+                "  ]},\n" +
+                "  \"Counts\": {\"type\": \"object\", \"additionalProperties\": {\"type\": \"integer\"}},\n" +
+                "  \"Visit\": {\"type\": \"object\", \"properties\": {\n" +
+                "    \"at\": {\"type\": [\"string\", \"null\"], \"format\": \"date-time\"},\n" +
+                "    \"vet\": {\"allOf\": [{\"$ref\": \"#/definitions/Vet\"}]},\n" +
+                "    \"notes\": {\"oneOf\": [{\"type\": \"string\"}, {\"type\": \"integer\"}]}\n" +
+                "  }}\n" +
+                "}}");
+
+        assertThat(entities, hasSize(2));
+        assertThat(entities.get(0).getName(), equalTo("Dog"));
+        assertThat(entities.get(0).getFields(), contains("barks:bool"));
+        assertThat(entities.get(1).getName(), equalTo("Visit"));
+        assertThat(entities.get(1).getFields(), contains("at:timestamp", "vet:Vet", "notes:string"));
+    }
+
+    @Test
+    public void read_refs() throws Exception {
+        List<BatchEntity> entities = new ArrayList<>();
+        Map<String, String> aliases = new HashMap<>();
+        this.classUnderTest.read(toInput("" +
+                "components:\n" +
+                "  schemas:\n" +
+                "    Status:\n" +
+                "      type: string\n" +
+                "      enum: [available, sold]\n" +
+                "    Owner:\n" +
+                "      type: object\n" +
+                "      properties:\n" +
+                "        status:\n" +
+                "          $ref: '#/components/schemas/Status'\n" +
+                "    Pet:\n" +
+                "      type: object\n" +
+                "      properties:\n" +
+                "        owner:\n" +
+                "          $ref: '#/components/schemas/Owner'\n" +
+                "        status:\n" +
+                "          $ref: '#/components/schemas/Status'\n" +
+                "        tag_ids:\n" +
+                "          type: array\n" +
+                "          items:\n" +
+                "            $ref: '#/components/schemas/TagId'\n" +
+                "        visits:\n" +
+                "          type: array\n" +
+                "          items:\n" +
+                "            $ref: '#/components/schemas/Visit'\n" +
+                "    TagId:\n" +
+                "      type: integer\n" +
+                "      format: int64\n" +
+                "    Visit:\n" +
+                "      type: object\n" +
+                "      properties:\n" +
+                "        at:\n" +
+                "          type: string\n" +
+                "          format: date-time\n" +
+                "    Unused:\n" +
+                "      type: string\n"), entities::add, aliases::put);
+
+        // TagId is only known to be a long once read, after Pet
+        assertThat(entities, hasSize(3));
+        assertThat(entities.get(0).getName(), equalTo("Owner"));
+        assertThat(entities.get(0).getFields(), contains("status:string"));
+        assertThat(entities.get(1).getName(), equalTo("Pet"));
+        assertThat(entities.get(1).getFields(), contains(
+                "owner:Owner",
+                "status:string",
+                "tag_ids:list<TagId>",
+                "visits:list<Visit>"));
+        assertThat(entities.get(2).getName(), equalTo("Visit"));
+        assertThat(aliases, equalTo(Collections.singletonMap("TagId", "long")));
+    }
+
+    @Test(expected = PlasterException.class)
+    public void read_malformed() throws Exception {
+        this.read("{\"components\": {\"schemas\": {\"Pet\": {\"type\": ");
+    }
+
+    @Test(expected = PlasterException.class)
+    public void read_not_an_object() throws Exception {
+        this.read("[1, 2]");
+    }
+
+    private List<BatchEntity> read(String document) throws Exception {
+        List<BatchEntity> entities = new ArrayList<>();
+        this.classUnderTest.read(toInput(document), entities::add);
+
+        return entities;
+    }
+
+    private static InputStream toInput(String document) {
+        return new ByteArrayInputStream(document.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,219 @@
+package github.jdrost1818.plaster.service.it;
+
+import github.jdrost1818.plaster.domain.batch.BatchManifest;
+import github.jdrost1818.plaster.exception.PlasterException;
+import github.jdrost1818.plaster.service.BatchService;
+import github.jdrost1818.plaster.service.ConfigurationServiceTest;
+import github.jdrost1818.plaster.service.ServiceProvider;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.List;
+
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertTrue;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+public class BatchServiceItTest {
+
+    private static final String GEN_DIR = "src/test/resources/testProject/src/main/java/com/example/app/somewhere/";
+
+    @Rule
+    public TemporaryFolder manifestDir = new TemporaryFolder();
+
+    private BatchService classUnderTest = ServiceProvider.getBatchService();
+
+    @Before
+    public void setUp() throws Exception {
+        ConfigurationServiceTest.transformToItService(ServiceProvider.getConfigurationService());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(new File(GEN_DIR));
+    }
+
+    @Test
+    public void generate_yml() throws Exception {
+        File manifestFile = this.writeManifest("manifest.yml", "" +
+                "entities:\n" +
+                "  - name: customer\n" +
+                "    dir: billing\n" +
+                "    key: id:long\n" +
+                "    fields:\n" +
+                "      - name:string\n" +
+                "      - tags:list<string>\n" +
+                "  - name: order\n" +
+                "    scope: repository\n" +
+                "    key: code:string\n" +
+                "    fields:\n" +
+                "      - total:int\n");
+
+        List<String> failures = this.classUnderTest.generate(this.classUnderTest.load(manifestFile));
+
+        assertThat(failures, hasSize(0));
+        assertTrue(new File(GEN_DIR + "model/billing/Customer.java").exists());
+        assertTrue(new File(GEN_DIR + "repository/billing/CustomerRepository.java").exists());
+        assertTrue(new File(GEN_DIR + "service/billing/CustomerService.java").exists());
+        assertTrue(new File(GEN_DIR + "controller/billing/CustomerController.java").exists());
+        assertTrue(new File(GEN_DIR + "repository/OrderRepository.java").exists());
+        assertFalse(new File(GEN_DIR + "model/Order.java").exists());
+
+        String customer = FileUtils.readFileToString(new File(GEN_DIR + "model/billing/Customer.java"));
+        assertThat(customer, containsString("package com.example.app.somewhere.model.billing;"));
+        assertThat(customer, containsString("private List<String> tags;"));
+    }
+
+    @Test
+    public void generate_json() throws Exception {
+        File manifestFile = this.writeManifest("manifest.json", "" +
+                "{\"entities\": [" +
+                "  {\"name\": \"customer\", \"key\": \"id:long\", \"fields\": [\"name:string\"]}" +
+                "]}");
+
+        List<String> failures = this.classUnderTest.generate(this.classUnderTest.load(manifestFile));
+
+        assertThat(failures, hasSize(0));
+        assertTrue(new File(GEN_DIR + "model/Customer.java").exists());
+        assertTrue(new File(GEN_DIR + "controller/CustomerController.java").exists());
+    }
+
+    @Test
+    public void generate_invalid_entity_generates_nothing() throws Exception {
+        File manifestFile = this.writeManifest("manifest.yml", "" +
+                "entities:\n" +
+                "  - name: customer\n" +
+                "    key: id:long\n" +
+                "  - name: order1\n" +
+                "    key: id:long\n");
+        BatchManifest manifest = this.classUnderTest.load(manifestFile);
+
+        PlasterException thrown = null;
+        try {
+            this.classUnderTest.generate(manifest);
+        } catch (PlasterException e) {
+            thrown = e;
+        }
+
+        assertThat(thrown.getMessage(), containsString("order1"));
+        assertFalse(new File(GEN_DIR + "model/Customer.java").exists());
+    }
+
+    @Test
+    public void generate_failure_does_not_stop_others() throws Exception {
+        FileUtils.writeStringToFile(new File(GEN_DIR + "model/Customer.java"), "existing");
+        File manifestFile = this.writeManifest("manifest.yml", "" +
+                "entities:\n" +
+                "  - name: customer\n" +
+                "    key: id:long\n" +
+                "  - name: order\n" +
+                "    key: id:long\n");
+
+        List<String> failures = this.classUnderTest.generate(this.classUnderTest.load(manifestFile));
+
+        assertThat(failures, hasSize(1));
+        assertThat(failures.get(0), startsWith("customer: "));
+        assertThat(FileUtils.readFileToString(new File(GEN_DIR + "model/Customer.java")), equalTo("existing"));
+        assertFalse(new File(GEN_DIR + "controller/CustomerController.java").exists());
+        assertTrue(new File(GEN_DIR + "model/Order.java").exists());
+    }
+
+    @Test
+    public void generate_entity_uses_another() throws Exception {
+        File manifestFile = this.writeManifest("manifest.yml", "" +
+                "entities:\n" +
+                "  - name: pet\n" +
+                "    key: id:long\n" +
+                "    fields:\n" +
+                "      - owner:owner\n" +
+                "      - visits:list<visit>\n" +
+                "  - name: owner\n" +
+                "    dir: people\n" +
+                "    key: id:long\n" +
+                "    fields:\n" +
+                "      - name:string\n" +
+                "  - name: visit\n" +
+                "    scope: model\n" +
+                "    key: id:long\n");
+
+        List<String> failures = this.classUnderTest.generate(this.classUnderTest.load(manifestFile));
+
+        assertThat(failures, hasSize(0));
+        assertTrue(new File(GEN_DIR + "model/people/Owner.java").exists());
+        assertTrue(new File(GEN_DIR + "model/Visit.java").exists());
+
+        String pet = FileUtils.readFileToString(new File(GEN_DIR + "model/Pet.java"));
+        assertThat(pet, containsString("model.people.Owner;"));
+        assertThat(pet, containsString("private Owner owner;"));
+        assertThat(pet, containsString("private List<Visit> visits;"));
+    }
+
+    @Test
+    public void generate_entities_using_each_other() throws Exception {
+        File manifestFile = this.writeManifest("manifest.yml", "" +
+                "entities:\n" +
+                "  - name: pet\n" +
+                "    key: id:long\n" +
+                "    fields:\n" +
+                "      - owner:owner\n" +
+                "  - name: owner\n" +
+                "    key: id:long\n" +
+                "    fields:\n" +
+                "      - pet:pet\n" +
+                "  - name: vet\n" +
+                "    key: id:long\n" +
+                "    fields:\n" +
+                "      - patient:nobody\n" +
+                "  - name: visit\n" +
+                "    key: id:long\n");
+
+        List<String> failures = this.classUnderTest.generate(this.classUnderTest.load(manifestFile));
+
+        assertThat(failures, hasSize(3));
+        assertThat(failures.get(0), startsWith("pet: "));
+        assertThat(failures.get(0), containsString("owner"));
+        assertThat(failures.get(1), startsWith("owner: "));
+        assertThat(failures.get(2), equalTo("vet: Could not find custom type: nobody"));
+        assertFalse(new File(GEN_DIR + "model/Pet.java").exists());
+        assertTrue(new File(GEN_DIR + "model/Visit.java").exists());
+    }
+
+    @Test
+    public void generate_empty() throws Exception {
+        File manifestFile = this.writeManifest("manifest.yml", "entities:\n");
+
+        assertThat(this.classUnderTest.generate(this.classUnderTest.load(manifestFile)), hasSize(0));
+    }
+
+    @Test(expected = PlasterException.class)
+    public void load_does_not_exist() throws Exception {
+        this.classUnderTest.load(new File(this.manifestDir.getRoot(), "manifest.yml"));
+    }
+
+    @Test(expected = PlasterException.class)
+    public void load_unknown_extension() throws Exception {
+        this.classUnderTest.load(this.writeManifest("manifest.txt", "entities:\n"));
+    }
+
+    @Test(expected = PlasterException.class)
+    public void load_malformed() throws Exception {
+        this.classUnderTest.load(this.writeManifest("manifest.json", "{\"entities\": ["));
+    }
+
+    private File writeManifest(String name, String content) throws Exception {
+        File manifestFile = this.manifestDir.newFile(name);
+        FileUtils.writeStringToFile(manifestFile, content);
+
+        return manifestFile;
+    }
+
+}
@@ -4,9 +4,12 @@ import com.google.common.collect.Lists;
 import github.jdrost1818.plaster.data.Setting;
 import github.jdrost1818.plaster.data.StoredJavaType;
 import github.jdrost1818.plaster.domain.*;
+import github.jdrost1818.plaster.exception.PlasterException;
 import github.jdrost1818.plaster.service.ConfigurationServiceTest;
 import github.jdrost1818.plaster.service.modifier.GenerateService;
 import github.jdrost1818.plaster.service.ServiceProvider;
+import github.jdrost1818.plaster.service.output.OutputService;
+import github.jdrost1818.plaster.service.output.VirtualFileTree;
 import org.apache.commons.io.FileUtils;
 import org.junit.Before;
 import org.junit.Test;
@@ -14,10 +17,14 @@ import org.junit.Test;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.List;
 
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNotNull;
 import static junit.framework.TestCase.assertTrue;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
 
 public class GenerateServiceItTest {
 
@@ -121,4 +128,78 @@ public class GenerateServiceItTest {
         assertThat(content, equalTo(expected));
     }
 
+    @Test
+    public void generateScaffold() throws Exception {
+        this.classUnderTest.modifyScaffold(this.fileInformation);
+        String dir = "src/test/resources/testProject/src/main/java/com/example/app/somewhere/";
+
+        String model = new String(Files.readAllBytes(new File(dir + "model/ExampleClass.java").toPath()));
+        String controller = new String(Files.readAllBytes(new File(dir + "controller/ExampleClassController.java").toPath()));
+        String service = new String(Files.readAllBytes(new File(dir + "service/ExampleClassService.java").toPath()));
+        String repository = new String(Files.readAllBytes(new File(dir + "repository/ExampleClassRepository.java").toPath()));
+
+        FileUtils.deleteDirectory(new File(dir));
+
+        assertThat(model, equalTo(GeneratedContent.MODEL_CLASS_LOMBOK_IT));
+        assertThat(controller, equalTo(GeneratedContent.CONTROLLER_CLASS_IT));
+        assertThat(service, equalTo(GeneratedContent.SERVICE_CLASS_IT));
+        assertThat(repository, equalTo(GeneratedContent.REPOSITORY_CLASS_IT));
+    }
+
+    @Test
+    public void generateScaffold_existing_file_writes_nothing() throws Exception {
+        String dir = "src/test/resources/testProject/src/main/java/com/example/app/somewhere/";
+        File existing = new File(dir + "service/ExampleClassService.java");
+        FileUtils.writeStringToFile(existing, "existing");
+
+        PlasterException thrown = null;
+        try {
+            this.classUnderTest.modifyScaffold(this.fileInformation);
+        } catch (PlasterException e) {
+            thrown = e;
+        }
+
+        boolean modelExists = new File(dir + "model/ExampleClass.java").exists();
+        boolean controllerExists = new File(dir + "controller/ExampleClassController.java").exists();
+        boolean repositoryExists = new File(dir + "repository/ExampleClassRepository.java").exists();
+        String content = FileUtils.readFileToString(existing);
+
+        FileUtils.deleteDirectory(new File(dir));
+
+        assertNotNull(thrown);
+        assertFalse(modelExists);
+        assertFalse(controllerExists);
+        assertFalse(repositoryExists);
+        assertThat(content, equalTo("existing"));
+    }
+
+    @Test
+    public void generateScaffold_dry_run_writes_nothing() throws Exception {
+        String dir = "src/test/resources/testProject/src/main/java/com/example/app/somewhere/";
+        File existing = new File(dir + "service/ExampleClassService.java");
+        FileUtils.writeStringToFile(existing, "existing");
+        OutputService outputService = ServiceProvider.getOutputService();
+
+        VirtualFileTree tree = outputService.startDryRun();
+        try {
+            this.classUnderTest.modifyScaffold(this.fileInformation);
+        } finally {
+            outputService.stopDryRun();
+        }
+        List<FileChange> changes = outputService.compareToDisk(tree);
+
+        boolean modelExists = new File(dir + "model/ExampleClass.java").exists();
+        String content = FileUtils.readFileToString(existing);
+
+        FileUtils.deleteDirectory(new File(dir));
+
+        assertThat(changes, hasSize(4));
+        assertThat(changes.get(0).getType(), equalTo(FileChange.Type.ADDED));
+        assertThat(changes.get(3).getLocation(), equalTo(dir + "service/ExampleClassService.java"));
+        assertThat(changes.get(3).getType(), equalTo(FileChange.Type.MODIFIED));
+        assertThat(changes.get(3).getGeneratedContent(), equalTo(GeneratedContent.SERVICE_CLASS_IT));
+        assertFalse(modelExists);
+        assertThat(content, equalTo("existing"));
+    }
+
 }
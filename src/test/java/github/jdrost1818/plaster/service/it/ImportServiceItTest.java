@@ -0,0 +1,182 @@
+package github.jdrost1818.plaster.service.it;
+
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.domain.ImportResult;
+import github.jdrost1818.plaster.exception.PlasterException;
+import github.jdrost1818.plaster.service.ConfigurationServiceTest;
+import github.jdrost1818.plaster.service.ServiceProvider;
+import github.jdrost1818.plaster.service.importer.ImportService;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static junit.framework.TestCase.assertTrue;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+
+public class ImportServiceItTest {
+
+    private static final String GEN_DIR = "src/test/resources/testProject/src/main/java/com/example/app/somewhere/";
+
+    @Rule
+    public TemporaryFolder importDir = new TemporaryFolder();
+
+    private ImportService classUnderTest = ServiceProvider.getImportService();
+
+    @Before
+    public void setUp() throws Exception {
+        ConfigurationServiceTest.transformToItService(ServiceProvider.getConfigurationService());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(new File(GEN_DIR));
+    }
+
+    @Test
+    public void importFile_ddl() throws Exception {
+        File schema = this.writeFile("schema.sql", "" +
+                "CREATE TABLE customer_order (\n" +
+                "    order_id bigint PRIMARY KEY,\n" +
+                "    placed_at timestamp NOT NULL,\n" +
+                "    total numeric(10, 2)\n" +
+                ");\n" +
+                "INSERT INTO customer_order VALUES (1, now(), 9.99);\n" +
+                "CREATE TABLE product (name varchar(100), tags text[]);\n");
+
+        ImportResult result = this.classUnderTest.importFile("ddl", schema);
+
+        assertThat(result.getFailures(), hasSize(0));
+        assertThat(result.getTotal(), equalTo(2));
+        assertThat(result.getGenerated(), equalTo(2));
+        assertTrue(new File(GEN_DIR + "controller/CustomerOrderController.java").exists());
+        assertTrue(new File(GEN_DIR + "model/Product.java").exists());
+
+        String order = FileUtils.readFileToString(new File(GEN_DIR + "model/CustomerOrder.java"));
+        assertThat(order, containsString("private Long orderId;"));
+        assertThat(order, containsString("private Double total;"));
+
+        String product = FileUtils.readFileToString(new File(GEN_DIR + "model/Product.java"));
+        assertThat(product, containsString("private List<String> tags;"));
+    }
+
+    @Test
+    public void importFile_openapi() throws Exception {
+        String keyName = StringUtils.substringBefore(ServiceProvider.getConfigurationService().get(Setting.KEY), ":");
+        File spec = this.writeFile("openapi.yml", "" +
+                "openapi: 3.0.0\n" +
+                "components:\n" +
+                "  schemas:\n" +
+                "    Pet:\n" +
+                "      type: object\n" +
+                "      properties:\n" +
+                "        " + keyName + ":\n" +
+                "          type: integer\n" +
+                "          format: int64\n" +
+                "        nick-name:\n" +
+                "          type: string\n" +
+                "        scores:\n" +
+                "          type: object\n" +
+                "          additionalProperties:\n" +
+                "            type: integer\n");
+
+        ImportResult result = this.classUnderTest.importFile("openapi", spec);
+
+        assertThat(result.getFailures(), hasSize(0));
+        assertThat(result.getGenerated(), equalTo(1));
+
+        String pet = FileUtils.readFileToString(new File(GEN_DIR + "model/Pet.java"));
+        assertThat(pet, containsString("private Long " + keyName + ";"));
+        assertThat(pet, containsString("private String nickName;"));
+        assertThat(pet, containsString("private Map<String, Integer> scores;"));
+    }
+
+    @Test
+    public void importFile_openapi_refs() throws Exception {
+        File spec = this.writeFile("openapi.yml", "" +
+                "openapi: 3.0.0\n" +
+                "components:\n" +
+                "  schemas:\n" +
+                "    Pet:\n" +
+                "      type: object\n" +
+                "      properties:\n" +
+                "        owner:\n" +
+                "          $ref: '#/components/schemas/Owner'\n" +
+                "        status:\n" +
+                "          $ref: '#/components/schemas/Status'\n" +
+                "    Status:\n" +
+                "      type: string\n" +
+                "      enum: [available, sold]\n" +
+                "    Owner:\n" +
+                "      type: object\n" +
+                "      properties:\n" +
+                "        name:\n" +
+                "          type: string\n");
+
+        ImportResult result = this.classUnderTest.importFile("openapi", spec);
+
+        assertThat(result.getFailures(), hasSize(0));
+        assertThat(result.getTotal(), equalTo(2));
+        assertThat(result.getGenerated(), equalTo(2));
+
+        String pet = FileUtils.readFileToString(new File(GEN_DIR + "model/Pet.java"));
+        assertThat(pet, containsString("private Owner owner;"));
+        assertThat(pet, containsString("private String status;"));
+    }
+
+    @Test
+    public void importFile_failure_does_not_stop_others() throws Exception {
+        File schema = this.writeFile("schema.sql", "" +
+                "CREATE TABLE customer (id int PRIMARY KEY, mood no_such_type);\n" +
+                "CREATE TABLE product (id int PRIMARY KEY);\n");
+
+        ImportResult result = this.classUnderTest.importFile("ddl", schema);
+
+        assertThat(result.getFailures(), hasSize(1));
+        assertThat(result.getFailures().get(0), startsWith("customer: "));
+        assertThat(result.getTotal(), equalTo(2));
+        assertThat(result.getGenerated(), equalTo(1));
+        assertTrue(new File(GEN_DIR + "model/Product.java").exists());
+    }
+
+    @Test
+    public void importFile_malformed_keeps_tables_read_before() throws Exception {
+        File schema = this.writeFile("schema.sql", "" +
+                "CREATE TABLE product (id int PRIMARY KEY);\n" +
+                "CREATE TABLE customer (id int PRIMARY KEY, name text\n");
+
+        ImportResult result = this.classUnderTest.importFile("ddl", schema);
+
+        assertThat(result.getFailures(), hasSize(1));
+        assertThat(result.getFailures().get(0), containsString("customer"));
+        assertThat(result.getGenerated(), equalTo(1));
+        assertTrue(new File(GEN_DIR + "model/Product.java").exists());
+    }
+
+    @Test(expected = PlasterException.class)
+    public void importFile_unknown_format() throws Exception {
+        this.classUnderTest.importFile("xml", this.writeFile("schema.xml", ""));
+    }
+
+    @Test(expected = PlasterException.class)
+    public void importFile_does_not_exist() throws Exception {
+        this.classUnderTest.importFile("ddl", new File(this.importDir.getRoot(), "schema.sql"));
+    }
+
+    private File writeFile(String name, String content) throws Exception {
+        File file = this.importDir.newFile(name);
+        FileUtils.writeStringToFile(file, content);
+
+        return file;
+    }
+
+}
@@ -1,5 +1,6 @@
 package github.jdrost1818.plaster.service.it;
 
+import com.google.common.collect.Sets;
 import github.jdrost1818.plaster.service.ConfigurationServiceTest;
 import github.jdrost1818.plaster.service.SearchService;
 import github.jdrost1818.plaster.service.ServiceProvider;
@@ -7,8 +8,11 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.isIn;
 
@@ -31,4 +35,13 @@ public class SearchServiceIt {
         assertThat("com/example/app/dir2/Duplicate.java", isIn(filesFound));
     }
 
+    @Test
+    public void findClassesWithNames() {
+        Map<String, List<String>> filesFound = this.classUnderTest.findClassesWithNames(Sets.newHashSet("duplicate", "example", "missing"));
+
+        assertThat(filesFound.get("duplicate"), hasSize(2));
+        assertThat(filesFound.get("example"), contains("com/example/app/dir1/Example.java"));
+        assertThat(filesFound.get("missing"), empty());
+    }
+
 }
@@ -0,0 +1,213 @@
+package github.jdrost1818.plaster.service.output;
+
+import github.jdrost1818.plaster.exception.PlasterException;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class FileTransactionTest {
+
+    @Rule
+    public TemporaryFolder dir = new TemporaryFolder();
+
+    @Test
+    public void commit() throws Exception {
+        File model = new File(this.dir.getRoot(), "model/Example.java");
+        File service = new File(this.dir.getRoot(), "service/ExampleService.java");
+
+        try (FileTransaction transaction = new FileTransaction()) {
+            transaction.stage(model.getPath(), bytes("model"));
+            try (OutputStream out = transaction.stage(service.getPath())) {
+                out.write(bytes("service"));
+            }
+
+            assertFalse(model.exists());
+            assertFalse(service.exists());
+
+            transaction.commit();
+        }
+
+        assertThat(FileUtils.readFileToString(model), equalTo("model"));
+        assertThat(FileUtils.readFileToString(service), equalTo("service"));
+        assertThat(model.getParentFile().listFiles(), arrayWithSize(1));
+        assertThat(service.getParentFile().listFiles(), arrayWithSize(1));
+    }
+
+    @Test
+    public void close_without_commit_leaves_nothing() throws Exception {
+        File model = new File(this.dir.getRoot(), "model/Example.java");
+
+        try (FileTransaction transaction = new FileTransaction()) {
+            transaction.stage(model.getPath(), bytes("model"));
+        }
+
+        assertFalse(model.exists());
+        assertThat(model.getParentFile().listFiles(), arrayWithSize(0));
+    }
+
+    @Test
+    public void stage_existing_file() throws Exception {
+        File model = this.dir.newFile("Example.java");
+
+        PlasterException thrown = null;
+        try (FileTransaction transaction = new FileTransaction()) {
+            transaction.stage(model.getPath(), bytes("model"));
+        } catch (PlasterException e) {
+            thrown = e;
+        }
+
+        assertThat(thrown.getMessage(), equalTo("Cannot generate. Already exists: " + model.getPath()));
+        assertThat(this.dir.getRoot().listFiles(), arrayWithSize(1));
+    }
+
+    @Test
+    public void stage_same_file_twice() throws Exception {
+        File model = new File(this.dir.getRoot(), "Example.java");
+
+        PlasterException thrown = null;
+        try (FileTransaction transaction = new FileTransaction()) {
+            transaction.stage(model.getPath(), bytes("first"));
+            transaction.stage(model.getPath(), bytes("second"));
+        } catch (PlasterException e) {
+            thrown = e;
+        }
+
+        assertTrue(thrown.getMessage().startsWith("Cannot generate. Already exists: "));
+        assertThat(this.dir.getRoot().listFiles(), arrayWithSize(0));
+    }
+
+    @Test
+    public void stage_cannot_create_directory() throws Exception {
+        File blocker = this.dir.newFile("model");
+        File model = new File(blocker, "Example.java");
+
+        PlasterException thrown = null;
+        try (FileTransaction transaction = new FileTransaction()) {
+            transaction.stage(model.getPath());
+        } catch (PlasterException e) {
+            thrown = e;
+        }
+
+        assertTrue(thrown.getMessage().startsWith("Error creating file. "));
+        assertTrue(thrown.getCause() instanceof IOException);
+    }
+
+    @Test
+    public void commit_file_created_after_staging_moves_nothing() throws Exception {
+        File model = new File(this.dir.getRoot(), "Example.java");
+        File service = new File(this.dir.getRoot(), "ExampleService.java");
+
+        PlasterException thrown = null;
+        try (FileTransaction transaction = new FileTransaction()) {
+            transaction.stage(model.getPath(), bytes("model"));
+            transaction.stage(service.getPath(), bytes("service"));
+
+            FileUtils.writeStringToFile(service, "existing");
+
+            transaction.commit();
+        } catch (PlasterException e) {
+            thrown = e;
+        }
+
+        assertTrue(thrown.getMessage().startsWith("Cannot generate. Already exists: "));
+        assertFalse(model.exists());
+        assertThat(FileUtils.readFileToString(service), equalTo("existing"));
+        assertThat(this.dir.getRoot().listFiles(), arrayWithSize(1));
+    }
+
+    @Test
+    public void commit_replace_existing() throws Exception {
+        File model = this.dir.newFile("Example.java");
+        FileUtils.writeStringToFile(model, "before");
+
+        try (FileTransaction transaction = new FileTransaction(true)) {
+            transaction.stage(model.getPath(), bytes("after"));
+            transaction.commit();
+        }
+
+        assertThat(FileUtils.readFileToString(model), equalTo("after"));
+        assertThat(this.dir.getRoot().listFiles(), arrayWithSize(1));
+    }
+
+    @Test
+    public void commit_replace_failure_puts_back_replaced_files() throws Exception {
+        File model = this.dir.newFile("Example.java");
+        File service = new File(this.dir.getRoot(), "ExampleService.java");
+        FileUtils.writeStringToFile(model, "before");
+
+        PlasterException thrown = null;
+        try (FileTransaction transaction = new FileTransaction(true)) {
+            transaction.stage(model.getPath(), bytes("after"));
+            transaction.stage(service.getPath(), bytes("service"));
+
+            // A directory in the way cannot be replaced by a file
+            assertTrue(service.mkdir());
+            new File(service, "Other.java").createNewFile();
+
+            transaction.commit();
+        } catch (PlasterException e) {
+            thrown = e;
+        }
+
+        assertTrue(thrown.getMessage().startsWith("Error writing file. "));
+        assertThat(FileUtils.readFileToString(model), equalTo("before"));
+        assertThat(this.dir.getRoot().listFiles(), arrayWithSize(2));
+    }
+
+    @Test
+    public void commit_new_file_permissions_follow_umask() throws Exception {
+        assumeTrue(isPosix());
+        File model = new File(this.dir.getRoot(), "Example.java");
+        File reference = this.dir.newFile("Reference.java");
+
+        try (FileTransaction transaction = new FileTransaction()) {
+            transaction.stage(model.getPath(), bytes("model"));
+            transaction.commit();
+        }
+
+        assertThat(Files.getPosixFilePermissions(model.toPath()), equalTo(Files.getPosixFilePermissions(reference.toPath())));
+    }
+
+    @Test
+    public void commit_replace_keeps_permissions() throws Exception {
+        assumeTrue(isPosix());
+        File model = this.dir.newFile("Example.java");
+        Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rwxr-x---");
+        Files.setPosixFilePermissions(model.toPath(), permissions);
+
+        try (FileTransaction transaction = new FileTransaction(true)) {
+            transaction.stage(model.getPath(), bytes("after"));
+            transaction.commit();
+        }
+
+        assertThat(FileUtils.readFileToString(model), equalTo("after"));
+        assertThat(Files.getPosixFilePermissions(model.toPath()), equalTo(permissions));
+    }
+
+    private static boolean isPosix() {
+        return FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
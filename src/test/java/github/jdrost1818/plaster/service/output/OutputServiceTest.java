@@ -0,0 +1,175 @@
+package github.jdrost1818.plaster.service.output;
+
+import github.jdrost1818.plaster.domain.FileChange;
+import github.jdrost1818.plaster.exception.PlasterException;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OutputServiceTest {
+
+    @Rule
+    public TemporaryFolder dir = new TemporaryFolder();
+
+    private static final long LAST_MODIFIED = 1000000000000L;
+
+    private OutputService classUnderTest = new OutputService();
+
+    @After
+    public void tearDown() throws Exception {
+        this.classUnderTest.stopDryRun();
+        this.classUnderTest.stopRegenerate();
+    }
+
+    @Test
+    public void begin() throws Exception {
+        assertThat(this.classUnderTest.begin(), instanceOf(FileTransaction.class));
+    }
+
+    @Test
+    public void begin_dry_run_writes_nothing() throws Exception {
+        File model = new File(this.dir.getRoot(), "model/Example.java");
+
+        VirtualFileTree tree = this.classUnderTest.startDryRun();
+        try (OutputTransaction transaction = this.classUnderTest.begin()) {
+            transaction.stage(model.getPath(), bytes("model"));
+            transaction.commit();
+        }
+
+        assertTrue(tree.exists(model.getPath()));
+        assertTrue(this.classUnderTest.exists(model.getPath()));
+        assertThat(tree.getFiles().get(model.getPath()), equalTo(bytes("model")));
+        assertThat(this.dir.getRoot().listFiles(), arrayWithSize(0));
+    }
+
+    @Test
+    public void exists_dry_run_ignores_disk() throws Exception {
+        File model = this.dir.newFile("Example.java");
+
+        assertTrue(this.classUnderTest.exists(model.getPath()));
+
+        this.classUnderTest.startDryRun();
+
+        assertFalse(this.classUnderTest.exists(model.getPath()));
+    }
+
+    @Test(expected = PlasterException.class)
+    public void begin_dry_run_same_file_twice() throws Exception {
+        File model = new File(this.dir.getRoot(), "Example.java");
+
+        this.classUnderTest.startDryRun();
+        try (OutputTransaction transaction = this.classUnderTest.begin()) {
+            transaction.stage(model.getPath(), bytes("model"));
+            transaction.commit();
+        }
+        try (OutputTransaction transaction = this.classUnderTest.begin()) {
+            transaction.stage(model.getPath(), bytes("model"));
+        }
+    }
+
+    @Test
+    public void compareToDisk() throws Exception {
+        File added = new File(this.dir.getRoot(), "Added.java");
+        File modified = this.dir.newFile("Modified.java");
+        File unchanged = this.dir.newFile("Unchanged.java");
+        FileUtils.writeStringToFile(modified, "before");
+        FileUtils.writeStringToFile(unchanged, "same");
+
+        VirtualFileTree tree = this.classUnderTest.startDryRun();
+        try (OutputTransaction transaction = this.classUnderTest.begin()) {
+            transaction.stage(unchanged.getPath(), bytes("same"));
+            transaction.stage(modified.getPath(), bytes("after"));
+            transaction.stage(added.getPath(), bytes("new"));
+            transaction.commit();
+        }
+
+        List<FileChange> changes = this.classUnderTest.compareToDisk(tree);
+
+        assertThat(changes, hasSize(3));
+        assertThat(changes.get(0).getLocation(), equalTo(added.getPath()));
+        assertThat(changes.get(0).getType(), equalTo(FileChange.Type.ADDED));
+        assertThat(changes.get(0).getCurrentContent(), equalTo(""));
+        assertThat(changes.get(1).getType(), equalTo(FileChange.Type.MODIFIED));
+        assertThat(changes.get(1).getCurrentContent(), equalTo("before"));
+        assertThat(changes.get(1).getGeneratedContent(), equalTo("after"));
+        assertThat(changes.get(2).getType(), equalTo(FileChange.Type.UNCHANGED));
+        assertThat(FileUtils.readFileToString(modified), equalTo("before"));
+        assertFalse(added.exists());
+    }
+
+    @Test
+    public void begin_regenerate() throws Exception {
+        this.classUnderTest.startRegenerate(this.dir.getRoot().getPath());
+
+        assertThat(this.classUnderTest.begin(), instanceOf(RegenerateTransaction.class));
+    }
+
+    @Test
+    public void exists_regenerate_ignores_disk() throws Exception {
+        File model = this.dir.newFile("Example.java");
+
+        this.classUnderTest.startRegenerate(this.dir.getRoot().getPath());
+
+        assertFalse(this.classUnderTest.exists(model.getPath()));
+    }
+
+    @Test
+    public void regenerate_writes_only_changed_files() throws Exception {
+        File unchanged = this.dir.newFile("Unchanged.java");
+        File modified = this.dir.newFile("Modified.java");
+        File added = new File(this.dir.getRoot(), "Added.java");
+        FileUtils.writeStringToFile(unchanged, "same");
+        FileUtils.writeStringToFile(modified, "before");
+        assertTrue(unchanged.setLastModified(LAST_MODIFIED));
+        assertTrue(modified.setLastModified(LAST_MODIFIED));
+
+        this.classUnderTest.startRegenerate(this.dir.getRoot().getPath());
+        try (OutputTransaction transaction = this.classUnderTest.begin()) {
+            transaction.stage(unchanged.getPath(), bytes("same"));
+            transaction.stage(modified.getPath(), bytes("after"));
+            transaction.stage(added.getPath(), bytes("new"));
+            transaction.commit();
+        }
+        this.classUnderTest.stopRegenerate();
+
+        assertThat(unchanged.lastModified(), equalTo(LAST_MODIFIED));
+        assertThat(FileUtils.readFileToString(modified), equalTo("after"));
+        assertThat(FileUtils.readFileToString(added), equalTo("new"));
+        assertTrue(new File(this.dir.getRoot(), HashManifest.MANIFEST_FILE).isFile());
+    }
+
+    @Test
+    public void regenerate_uses_saved_hashes() throws Exception {
+        File model = new File(this.dir.getRoot(), "Example.java");
+
+        this.classUnderTest.startRegenerate(this.dir.getRoot().getPath());
+        try (OutputTransaction transaction = this.classUnderTest.begin()) {
+            transaction.stage(model.getPath(), bytes("model"));
+            transaction.commit();
+        }
+        this.classUnderTest.stopRegenerate();
+
+        HashManifest hashManifest = HashManifest.load(this.dir.getRoot().getPath());
+
+        assertThat(hashManifest.getHash(model.toPath()), equalTo(HashManifest.hash(bytes("model"))));
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
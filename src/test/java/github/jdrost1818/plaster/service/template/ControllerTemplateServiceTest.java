@@ -32,7 +32,7 @@ public class ControllerTemplateServiceTest {
     public void setUp() throws Exception {
         initMocks(this);
 
-        this.classUnderTest = new ControllerTemplateService(configurationService);
+        this.classUnderTest = new ControllerTemplateService(configurationService, new TemplateCache());
 
         Field id = new Field(new TypeDeclaration("List", Lists.newArrayList(StoredJavaType.LIST.getType(false))), "id");
         Field mapField = new Field(new TypeDeclaration("Map", Lists.newArrayList(StoredJavaType.MAP.getType(false))), "var1");
@@ -54,7 +54,7 @@ public class ControllerTemplateServiceTest {
         when(this.configurationService.get(Setting.REL_CONTROLLER_PACKAGE)).thenReturn("/controller");
         when(this.configurationService.get(Setting.SUB_DIR_PATH)).thenReturn("/somewhere");
 
-        JtwigModel modifiedModel = this.classUnderTest.addTypeField(model, genTypeModel, TemplateType.CONTROLLER);
+        JtwigModel modifiedModel = this.classUnderTest.addTypeField(model, RenderContext.create(this.configurationService, this.fileInformation, genTypeModel), TemplateType.CONTROLLER);
 
         FlattenedField x = (FlattenedField) modifiedModel.get("controllerField").get().getValue();
 
@@ -75,7 +75,7 @@ public class ControllerTemplateServiceTest {
         JtwigModel model = JtwigModel.newModel();
         GenTypeModel genTypeModel = new GenTypeModel("example_class", false);
 
-        JtwigModel modifiedModel = this.classUnderTest.addCustomInformation(model, this.fileInformation, genTypeModel);
+        JtwigModel modifiedModel = this.classUnderTest.addCustomInformation(model, RenderContext.create(this.configurationService, this.fileInformation, genTypeModel));
 
         assertThat(modifiedModel.get("dependencies").get().getValue(), equalTo(Lists.newArrayList(new Dependency("java.util.List"))));
         assertThat(modifiedModel.get("controllerField").get().getValue(), equalTo(new FlattenedField("", "ExampleClassController", "exampleClassController")));
@@ -142,4 +142,23 @@ public class ControllerTemplateServiceTest {
 
         assertThat(expected, equalTo(actual));
     }
+
+    @Test
+    public void renderTemplate_java_renderer() throws Exception {
+        GenTypeModel genTypeModel = new GenTypeModel("ExampleClass", false);
+
+        when(this.configurationService.get(Setting.APP_PATH)).thenReturn("/com/example/app");
+        when(this.configurationService.get(Setting.REL_MODEL_PACKAGE)).thenReturn("/model");
+        when(this.configurationService.get(Setting.REL_CONTROLLER_PACKAGE)).thenReturn("/controller");
+        when(this.configurationService.get(Setting.REL_SERVICE_PACKAGE)).thenReturn("/service");
+        when(this.configurationService.get(Setting.SUB_DIR_PATH)).thenReturn("/somewhere");
+
+        String rendered = this.classUnderTest.renderTemplate(this.fileInformation, genTypeModel);
+
+        when(this.configurationService.get(Setting.RENDERER)).thenReturn("java");
+
+        String written = this.classUnderTest.renderTemplate(this.fileInformation, genTypeModel);
+
+        assertThat(written, equalTo(rendered));
+    }
 }
\ No newline at end of file
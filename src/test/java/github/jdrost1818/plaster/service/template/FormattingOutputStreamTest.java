@@ -0,0 +1,60 @@
+package github.jdrost1818.plaster.service.template;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class FormattingOutputStreamTest {
+
+    @Test
+    public void write_collapses_line_breaks() throws Exception {
+        assertThat(format("a\n\n\n\nb"), equalTo("a\n\nb"));
+        assertThat(format("a\r\n\r\n\r\nb"), equalTo("a\n\nb"));
+        assertThat(format("a\n\r\n\nb\n\n\n"), equalTo("a\n\nb\n\n"));
+    }
+
+    @Test
+    public void write_keeps_single_blank_lines() throws Exception {
+        assertThat(format("a\nb\n\nc"), equalTo("a\nb\n\nc"));
+        assertThat(format("a\r\n\r\nb"), equalTo("a\r\n\r\nb"));
+    }
+
+    @Test
+    public void write_expands_tabs() throws Exception {
+        assertThat(format("\tprivate int a;\n\n\t\n\n"), equalTo("    private int a;\n\n    \n\n"));
+    }
+
+    @Test
+    public void write_carriage_return_without_line_break() throws Exception {
+        assertThat(format("a\n\n\n\rb\r"), equalTo("a\n\n\rb\r"));
+    }
+
+    @Test
+    public void write_one_byte_at_a_time() throws Exception {
+        byte[] bytes = "class \u00c4 {\n\n\n\n\tint a;\r\n}\n\n\n".getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FormattingOutputStream formattedOut = new FormattingOutputStream(out);
+        for (byte b : bytes) {
+            formattedOut.write(b);
+        }
+        formattedOut.close();
+
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8), equalTo("class \u00c4 {\n\n    int a;\r\n}\n\n"));
+    }
+
+    private static String format(String content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        FormattingOutputStream formattedOut = new FormattingOutputStream(out);
+        formattedOut.write(content.getBytes(StandardCharsets.UTF_8));
+        formattedOut.finish();
+
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+}
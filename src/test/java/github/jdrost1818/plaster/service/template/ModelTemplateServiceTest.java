@@ -38,7 +38,7 @@ public class ModelTemplateServiceTest {
     public void setUp() throws Exception {
         initMocks(this);
 
-        this.classUnderTest = new ModelTemplateService(configurationService);
+        this.classUnderTest = new ModelTemplateService(configurationService, new TemplateCache());
 
         Field id = new Field(new TypeDeclaration("List", Lists.newArrayList(StoredJavaType.LIST.getType(false))), "id");
         Field mapField = new Field(new TypeDeclaration("Map", Lists.newArrayList(StoredJavaType.MAP.getType(false))), "var1");
@@ -60,7 +60,7 @@ public class ModelTemplateServiceTest {
         when(this.configurationService.get(Setting.REL_MODEL_PACKAGE)).thenReturn("/model");
         when(this.configurationService.get(Setting.SUB_DIR_PATH)).thenReturn("/somewhere");
 
-        JtwigModel modifiedModel = this.classUnderTest.addTypeField(model, genTypeModel, TemplateType.MODEL);
+        JtwigModel modifiedModel = this.classUnderTest.addTypeField(model, RenderContext.create(this.configurationService, this.fileInformation, genTypeModel), TemplateType.MODEL);
 
         FlattenedField x = (FlattenedField) modifiedModel.get("modelField").get().getValue();
 
@@ -81,7 +81,7 @@ public class ModelTemplateServiceTest {
         JtwigModel model = JtwigModel.newModel();
         GenTypeModel genTypeModel = new GenTypeModel("example_class", true);
 
-        JtwigModel modifiedModel = this.classUnderTest.addCustomInformation(model, this.fileInformation, genTypeModel);
+        JtwigModel modifiedModel = this.classUnderTest.addCustomInformation(model, RenderContext.create(this.configurationService, this.fileInformation, genTypeModel));
 
         List<FlattenedField> addedFields = (List<FlattenedField>) modifiedModel.get("fields").get().getValue();
         List<Dependency> dependencies = (List<Dependency>)modifiedModel.get("dependencies").get().getValue();
@@ -103,7 +103,7 @@ public class ModelTemplateServiceTest {
         JtwigModel model = JtwigModel.newModel();
         GenTypeModel genTypeModel = new GenTypeModel("example_class", false);
 
-        JtwigModel modifiedModel = this.classUnderTest.addCustomInformation(model, this.fileInformation, genTypeModel);
+        JtwigModel modifiedModel = this.classUnderTest.addCustomInformation(model, RenderContext.create(this.configurationService, this.fileInformation, genTypeModel));
 
         List<FlattenedField> addedFields = (List<FlattenedField>) modifiedModel.get("fields").get().getValue();
         List<Dependency> dependencies = (List<Dependency>)modifiedModel.get("dependencies").get().getValue();
@@ -166,6 +166,23 @@ public class ModelTemplateServiceTest {
         assertThat(expected, equalTo(actual));
     }
 
+    @Test
+    public void renderTemplate_java_renderer_lombok_enabled() throws Exception {
+        GenTypeModel genTypeModel = new GenTypeModel("ExampleClass", true);
+
+        when(this.configurationService.get(Setting.APP_PATH)).thenReturn("/com/example/app");
+        when(this.configurationService.get(Setting.REL_MODEL_PACKAGE)).thenReturn("/model");
+        when(this.configurationService.get(Setting.SUB_DIR_PATH)).thenReturn("/somewhere");
+
+        String rendered = this.classUnderTest.renderTemplate(this.fileInformation, genTypeModel);
+
+        when(this.configurationService.get(Setting.RENDERER)).thenReturn("java");
+
+        String written = this.classUnderTest.renderTemplate(this.fileInformation, genTypeModel);
+
+        assertThat(written, equalTo(rendered));
+    }
+
     @Test
     public void renderTemplate_lombok_not_enabled() throws Exception {
         String expected = "" +
@@ -235,4 +252,21 @@ public class ModelTemplateServiceTest {
         assertThat(expected, equalTo(actual));
     }
 
+    @Test
+    public void renderTemplate_java_renderer_lombok_not_enabled() throws Exception {
+        GenTypeModel genTypeModel = new GenTypeModel("ExampleClass", false);
+
+        when(this.configurationService.get(Setting.APP_PATH)).thenReturn("/com/example/app");
+        when(this.configurationService.get(Setting.REL_MODEL_PACKAGE)).thenReturn("/model");
+        when(this.configurationService.get(Setting.SUB_DIR_PATH)).thenReturn("/somewhere");
+
+        String rendered = this.classUnderTest.renderTemplate(this.fileInformation, genTypeModel);
+
+        when(this.configurationService.get(Setting.RENDERER)).thenReturn("java");
+
+        String written = this.classUnderTest.renderTemplate(this.fileInformation, genTypeModel);
+
+        assertThat(written, equalTo(rendered));
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package github.jdrost1818.plaster.service.template;
+
+import com.google.common.collect.Lists;
+import github.jdrost1818.plaster.data.Setting;
+import github.jdrost1818.plaster.data.StoredJavaType;
+import github.jdrost1818.plaster.data.TemplateType;
+import github.jdrost1818.plaster.domain.*;
+import github.jdrost1818.plaster.domain.template.FlattenedField;
+import github.jdrost1818.plaster.service.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+public class RenderContextTest {
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    private FileInformation fileInformation;
+
+    @Before
+    public void setUp() throws Exception {
+        initMocks(this);
+
+        Field id = new Field(new TypeDeclaration("List", Lists.newArrayList(StoredJavaType.LIST.getType(false))), "id");
+        Field mapField = new Field(new TypeDeclaration("Map", Lists.newArrayList(StoredJavaType.MAP.getType(false))), "var1");
+        Field listField = new Field(new TypeDeclaration("List", Lists.newArrayList(StoredJavaType.LIST.getType(false))), "var2");
+        Field exampleField = new Field(new TypeDeclaration("Example", Lists.newArrayList(new Type("Example", new Dependency("com.example.app.Example")))), "var3");
+
+        this.fileInformation = new FileInformation("example_class", id, Lists.newArrayList(
+                mapField, listField, exampleField
+        ));
+    }
+
+    @Test
+    public void create() throws Exception {
+        RenderContext renderContext = RenderContext.create(this.configurationService, this.fileInformation, new GenTypeModel("example_class", true));
+
+        assertThat(renderContext.getClassName(), equalTo("ExampleClass"));
+        assertThat(renderContext.isLombokEnabled(), equalTo(true));
+        assertThat(renderContext.getIdField(), equalTo(new FlattenedField("", "List", "id")));
+        assertThat(renderContext.getFields(), contains(
+                new FlattenedField("", "Map", "var1"),
+                new FlattenedField("", "List", "var2"),
+                new FlattenedField("", "Example", "var3")));
+        assertThat(renderContext.getDependencies(), contains(
+                new Dependency("java.util.Map"),
+                new Dependency("java.util.List"),
+                new Dependency("com.example.app.Example")));
+        assertThat(renderContext.getIdDependencies(), contains(new Dependency("java.util.List")));
+    }
+
+    @Test
+    public void create_type_fields() throws Exception {
+        when(this.configurationService.get(Setting.APP_PATH)).thenReturn("/com/example/app");
+        when(this.configurationService.get(Setting.REL_MODEL_PACKAGE)).thenReturn("/model");
+        when(this.configurationService.get(Setting.REL_REPOSITORY_PACKAGE)).thenReturn("/repository");
+        when(this.configurationService.get(Setting.REL_SERVICE_PACKAGE)).thenReturn("/service");
+        when(this.configurationService.get(Setting.REL_CONTROLLER_PACKAGE)).thenReturn("/controller");
+        when(this.configurationService.get(Setting.SUB_DIR_PATH)).thenReturn("/somewhere");
+
+        RenderContext renderContext = RenderContext.create(this.configurationService, this.fileInformation, new GenTypeModel("example_class", false));
+
+        assertThat(renderContext.getTypeField(TemplateType.MODEL), equalTo(
+                new FlattenedField("com.example.app.model.somewhere", "ExampleClass", "exampleClass")));
+        assertThat(renderContext.getTypeField(TemplateType.REPOSITORY), equalTo(
+                new FlattenedField("com.example.app.repository.somewhere", "ExampleClassRepository", "exampleClassRepository")));
+        assertThat(renderContext.getTypeField(TemplateType.SERVICE), equalTo(
+                new FlattenedField("com.example.app.service.somewhere", "ExampleClassService", "exampleClassService")));
+        assertThat(renderContext.getTypeField(TemplateType.CONTROLLER), equalTo(
+                new FlattenedField("com.example.app.controller.somewhere", "ExampleClassController", "exampleClassController")));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void create_fields_cannot_be_modified() throws Exception {
+        RenderContext renderContext = RenderContext.create(this.configurationService, this.fileInformation, new GenTypeModel("example_class", false));
+
+        renderContext.getFields().clear();
+    }
+
+    @Test
+    public void getDependencies_no_dependencies() throws Exception {
+        Field field = new Field(new TypeDeclaration("Integer", Lists.newArrayList(StoredJavaType.INTEGER.getType(false))), "var1");
+
+        List<Dependency> dependencies = RenderContext.getDependencies(Lists.newArrayList(field));
+
+        assertThat(dependencies, hasSize(0));
+    }
+
+    @Test
+    public void getDependencies_multiple_same_dependencies() throws Exception {
+        Field field1 = new Field(new TypeDeclaration("Map", Lists.newArrayList(StoredJavaType.MAP.getType(false))), "var1");
+        Field field2 = new Field(new TypeDeclaration("Map", Lists.newArrayList(StoredJavaType.MAP.getType(false))), "var2");
+
+        List<Dependency> dependencies = RenderContext.getDependencies(Lists.newArrayList(field1, field2));
+
+        assertThat(dependencies, hasSize(1));
+        assertThat(dependencies.get(0), equalTo(new Dependency("java.util.Map")));
+    }
+
+    @Test
+    public void getDependencies_equal_dependencies_not_shared() throws Exception {
+        Field field1 = new Field(new TypeDeclaration("Example", Lists.newArrayList(new Type("Example", new Dependency("com.example.app.Example")))), "var1");
+        Field field2 = new Field(new TypeDeclaration("Example", Lists.newArrayList(new Type("Example", new Dependency("com.example.app.Example")))), "var2");
+
+        List<Dependency> dependencies = RenderContext.getDependencies(Lists.newArrayList(field1, field2));
+
+        assertThat(dependencies, contains(new Dependency("com.example.app.Example")));
+    }
+
+    @Test
+    public void getDependencies_single_field() throws Exception {
+        Field field1 = new Field(new TypeDeclaration("Map", Lists.newArrayList(StoredJavaType.MAP.getType(false))), "var1");
+
+        List<Dependency> dependencies = RenderContext.getDependencies(Lists.newArrayList(field1));
+
+        assertThat(dependencies, hasSize(1));
+        assertThat(dependencies.get(0), equalTo(new Dependency("java.util.Map")));
+    }
+
+}
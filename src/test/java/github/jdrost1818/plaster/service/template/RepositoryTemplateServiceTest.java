@@ -35,7 +35,7 @@ public class RepositoryTemplateServiceTest {
     public void setUp() throws Exception {
         initMocks(this);
 
-        this.classUnderTest = new RepositoryTemplateService(configurationService);
+        this.classUnderTest = new RepositoryTemplateService(configurationService, new TemplateCache());
 
         Field id = new Field(new TypeDeclaration("List", Lists.newArrayList(StoredJavaType.LIST.getType(false))), "id");
         Field mapField = new Field(new TypeDeclaration("Map", Lists.newArrayList(StoredJavaType.MAP.getType(false))), "var1");
@@ -57,7 +57,7 @@ public class RepositoryTemplateServiceTest {
         when(this.configurationService.get(Setting.REL_REPOSITORY_PACKAGE)).thenReturn("/repository");
         when(this.configurationService.get(Setting.SUB_DIR_PATH)).thenReturn("/somewhere");
 
-        JtwigModel modifiedModel = this.classUnderTest.addTypeField(model, genTypeModel, TemplateType.REPOSITORY);
+        JtwigModel modifiedModel = this.classUnderTest.addTypeField(model, RenderContext.create(this.configurationService, this.fileInformation, genTypeModel), TemplateType.REPOSITORY);
 
         FlattenedField x = (FlattenedField) modifiedModel.get("repoField").get().getValue();
 
@@ -78,7 +78,7 @@ public class RepositoryTemplateServiceTest {
         JtwigModel model = JtwigModel.newModel();
         GenTypeModel genTypeModel = new GenTypeModel("example_class", true);
 
-        JtwigModel modifiedModel = this.classUnderTest.addCustomInformation(model, this.fileInformation, genTypeModel);
+        JtwigModel modifiedModel = this.classUnderTest.addCustomInformation(model, RenderContext.create(this.configurationService, this.fileInformation, genTypeModel));
 
         List<Dependency> dependencies = (List<Dependency>)modifiedModel.get("dependencies").get().getValue();
 
@@ -123,4 +123,24 @@ public class RepositoryTemplateServiceTest {
 
         assertThat(expected, equalTo(actual));
     }
+
+    @Test
+    public void renderTemplate_java_renderer() throws Exception {
+        GenTypeModel genTypeModel = new GenTypeModel("ExampleClass", false);
+
+        when(this.configurationService.get(Setting.APP_PATH)).thenReturn("/com/example/app");
+        when(this.configurationService.get(Setting.REL_MODEL_PACKAGE)).thenReturn("/model");
+        when(this.configurationService.get(Setting.REL_REPOSITORY_PACKAGE)).thenReturn("/repository");
+        when(this.configurationService.get(Setting.REL_CONTROLLER_PACKAGE)).thenReturn("/controller");
+        when(this.configurationService.get(Setting.REL_SERVICE_PACKAGE)).thenReturn("/service");
+        when(this.configurationService.get(Setting.SUB_DIR_PATH)).thenReturn("/somewhere");
+
+        String rendered = this.classUnderTest.renderTemplate(this.fileInformation, genTypeModel);
+
+        when(this.configurationService.get(Setting.RENDERER)).thenReturn("java");
+
+        String written = this.classUnderTest.renderTemplate(this.fileInformation, genTypeModel);
+
+        assertThat(written, equalTo(rendered));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package github.jdrost1818.plaster.service.template;
+
+import github.jdrost1818.plaster.data.TemplateType;
+import org.jtwig.JtwigTemplate;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TemplateCacheTest {
+
+    private TemplateCache templateCache;
+
+    @Before
+    public void setUp() throws Exception {
+        this.templateCache = new TemplateCache();
+    }
+
+    @Test
+    public void get_same_template() throws Exception {
+        for (TemplateType templateType : TemplateType.values()) {
+            assertThat(this.templateCache.get(templateType), sameInstance(this.templateCache.get(templateType)));
+        }
+    }
+
+    @Test
+    public void get_different_templates() throws Exception {
+        assertThat(this.templateCache.get(TemplateType.MODEL), not(sameInstance(this.templateCache.get(TemplateType.SERVICE))));
+    }
+
+    @Test
+    public void warmUp() throws Exception {
+        JtwigTemplate template = this.templateCache.get(TemplateType.MODEL);
+
+        this.templateCache.warmUp();
+
+        assertThat(this.templateCache.get(TemplateType.MODEL), sameInstance(template));
+    }
+
+}
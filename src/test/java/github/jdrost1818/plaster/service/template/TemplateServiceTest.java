@@ -5,6 +5,7 @@ import github.jdrost1818.plaster.data.StoredJavaType;
 import github.jdrost1818.plaster.domain.*;
 import github.jdrost1818.plaster.domain.template.FlattenedField;
 import github.jdrost1818.plaster.service.ConfigurationService;
+import github.jdrost1818.plaster.template.JavaSourceWriter;
 import org.jtwig.JtwigModel;
 import org.jtwig.JtwigTemplate;
 import org.junit.Before;
@@ -48,7 +49,7 @@ public class TemplateServiceTest {
     public void addFields() throws Exception {
         JtwigModel model = JtwigModel.newModel();
 
-        JtwigModel modifiedModel = this.templateService.addFields(model, this.fileInformation);
+        JtwigModel modifiedModel = this.templateService.addFields(model, RenderContext.create(this.configurationService, this.fileInformation, new GenTypeModel("example_class", false)));
 
         List<FlattenedField> addedFields = (List<FlattenedField>) modifiedModel.get("fields").get().getValue();
 
@@ -63,55 +64,19 @@ public class TemplateServiceTest {
     public void addId() throws Exception {
         JtwigModel model = JtwigModel.newModel();
 
-        JtwigModel modifiedModel = this.templateService.addId(model, this.fileInformation);
+        JtwigModel modifiedModel = this.templateService.addId(model, RenderContext.create(this.configurationService, this.fileInformation, new GenTypeModel("example_class", false)));
 
         FlattenedField idField = (FlattenedField) modifiedModel.get("idField").get().getValue();
 
         assertThat(idField, equalTo(new FlattenedField("", "List", "id")));
     }
 
-    @Test
-    public void addDependencies_no_dependencies() throws Exception {
-        JtwigModel model = JtwigModel.newModel();
-
-        Field field = new Field(new TypeDeclaration("Integer", Lists.newArrayList(StoredJavaType.INTEGER.getType(false))), "var1");
-
-        List<Dependency> dependencies = (List<Dependency>) this.templateService.addDependencies(model, Lists.newArrayList(field)).get("dependencies").get().getValue();
-
-        assertThat(dependencies, hasSize(0));
-    }
-
-    @Test
-    public void addDependencies_multiple_same_dependencies() throws Exception {
-        JtwigModel model = JtwigModel.newModel();
-
-        Field field1 = new Field(new TypeDeclaration("Map", Lists.newArrayList(StoredJavaType.MAP.getType(false))), "var1");
-        Field field2 = new Field(new TypeDeclaration("Map", Lists.newArrayList(StoredJavaType.MAP.getType(false))), "var2");
-
-        List<Dependency> dependencies = (List<Dependency>) this.templateService.addDependencies(model, Lists.newArrayList(field1, field2)).get("dependencies").get().getValue();;
-
-        assertThat(dependencies, hasSize(1));
-        assertThat(dependencies.get(0), equalTo(new Dependency("java.util.Map")));
-    }
-
-    @Test
-    public void addDependency() throws Exception {
-        JtwigModel model = JtwigModel.newModel();
-
-        Field field1 = new Field(new TypeDeclaration("Map", Lists.newArrayList(StoredJavaType.MAP.getType(false))), "var1");
-
-        List<Dependency> dependencies = (List<Dependency>) this.templateService.addDependencies(model, field1).get("dependencies").get().getValue();
-
-        assertThat(dependencies, hasSize(1));
-        assertThat(dependencies.get(0), equalTo(new Dependency("java.util.Map")));
-    }
-
     @Test
     public void addDependencies() throws Exception {
         JtwigModel model = JtwigModel.newModel();
+        RenderContext renderContext = RenderContext.create(this.configurationService, this.fileInformation, new GenTypeModel("example_class", false));
 
-
-        List<Dependency> dependencies = (List<Dependency>) this.templateService.addDependencies(model, fileInformation).get("dependencies").get().getValue();
+        List<Dependency> dependencies = (List<Dependency>) this.templateService.addDependencies(model, renderContext.getDependencies()).get("dependencies").get().getValue();
 
         assertThat(dependencies, hasSize(3));
         assertThat(dependencies, hasItems(
@@ -123,11 +88,11 @@ public class TemplateServiceTest {
     private class TemplateServiceImpl extends TemplateService {
 
         public TemplateServiceImpl(ConfigurationService configurationService) {
-            super(configurationService);
+            super(configurationService, new TemplateCache());
         }
 
         @Override
-        public JtwigModel addCustomInformation(JtwigModel model, FileInformation fileInformation, GenTypeModel genTypeModel) {
+        public JtwigModel addCustomInformation(JtwigModel model, RenderContext renderContext) {
             return null;
         }
 
@@ -135,6 +100,10 @@ public class TemplateServiceTest {
         public JtwigTemplate getTemplate() {
             return null;
         }
+
+        @Override
+        public void writeSource(JavaSourceWriter writer, RenderContext renderContext) {
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package github.jdrost1818.plaster.template;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringWriter;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class JavaSourceWriterTest {
+
+    private StringWriter out;
+
+    private JavaSourceWriter writer;
+
+    @Before
+    public void setUp() throws Exception {
+        this.out = new StringWriter();
+        this.writer = new JavaSourceWriter(this.out);
+    }
+
+    @Test
+    public void write_class() throws Exception {
+        this.writer.packageDeclaration("com.example.app")
+                .blankLine()
+                .importDeclaration("java.util.List")
+                .blankLine()
+                .annotation("Entity")
+                .beginBlock("public class Example")
+                .field("private", "List<String>", "names")
+                .indentedBlankLine()
+                .beginBlock("public List<String> getNames()")
+                .statement("return this.names")
+                .endBlock()
+                .endBlock();
+
+        assertThat(this.out.toString(), equalTo("" +
+                "package com.example.app;\n" +
+                "\n" +
+                "import java.util.List;\n" +
+                "\n" +
+                "@Entity\n" +
+                "public class Example {\n" +
+                "    private List<String> names;\n" +
+                "    \n" +
+                "    public List<String> getNames() {\n" +
+                "        return this.names;\n" +
+                "    }\n" +
+                "}\n"));
+    }
+
+    @Test
+    public void write_interface() throws Exception {
+        this.writer.beginBlock("public interface ExampleRepository")
+                .methodDeclaration("Example findOne(Long id)")
+                .endLastBlock();
+
+        assertThat(this.out.toString(), equalTo("" +
+                "public interface ExampleRepository {\n" +
+                "    Example findOne(Long id);\n" +
+                "}"));
+    }
+
+    @Test
+    public void indent() throws Exception {
+        this.writer.beginBlock("void run()")
+                .indent()
+                .statement("go()")
+                .outdent()
+                .endBlock();
+
+        assertThat(this.out.toString(), equalTo("" +
+                "void run() {\n" +
+                "        go();\n" +
+                "}\n"));
+    }
+
+}
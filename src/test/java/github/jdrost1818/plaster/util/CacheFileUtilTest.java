@@ -0,0 +1,73 @@
+package github.jdrost1818.plaster.util;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CacheFileUtilTest {
+
+    private static final TypeReference<Map<String, Integer>> COUNTS = new TypeReference<Map<String, Integer>>() {};
+
+    @Rule
+    public TemporaryFolder projectDir = new TemporaryFolder();
+
+    @Test
+    public void testCannotInstantiate() throws Exception {
+        assertTrue(TestUtil.testUtilClass(CacheFileUtil.class));
+    }
+
+    @Test
+    public void write_then_read() throws Exception {
+        File file = new File(this.projectDir.getRoot(), ".plaster/index/counts.json");
+
+        CacheFileUtil.write(file, Collections.singletonMap("a", 1));
+
+        assertThat(CacheFileUtil.read(file, COUNTS, new HashMap<>()), equalTo(Collections.singletonMap("a", 1)));
+    }
+
+    @Test
+    public void read_missing() throws Exception {
+        File file = new File(this.projectDir.getRoot(), ".plaster/counts.json");
+
+        assertThat(CacheFileUtil.read(file, String.class, "fallback"), equalTo("fallback"));
+    }
+
+    @Test
+    public void read_corrupt() throws Exception {
+        File file = this.projectDir.newFile("counts.json");
+        FileUtils.writeStringToFile(file, "{\"a\": ");
+
+        assertThat(CacheFileUtil.read(file, COUNTS, Collections.emptyMap()), equalTo(Collections.emptyMap()));
+    }
+
+    @Test
+    public void write_cannot_create_dir() throws Exception {
+        File blocker = this.projectDir.newFile(".plaster");
+        File file = new File(blocker, "counts.json");
+
+        CacheFileUtil.write(file, Collections.singletonMap("a", 1));
+
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void isUnchanged() throws Exception {
+        assertTrue(CacheFileUtil.isUnchanged(1000, 5000, 1000));
+        assertFalse(CacheFileUtil.isUnchanged(1000, 5000, 1001));
+        // Recorded within the granularity of the modification time
+        assertFalse(CacheFileUtil.isUnchanged(1000, 2500, 1000));
+    }
+
+}
@@ -0,0 +1,75 @@
+package github.jdrost1818.plaster.util;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertTrue;
+
+public class DiffUtilTest {
+
+    @Test
+    public void testCannotInstantiate() throws Exception {
+        assertTrue(TestUtil.testUtilClass(DiffUtil.class));
+    }
+
+    @Test
+    public void unifiedDiff_same() throws Exception {
+        assertThat(DiffUtil.unifiedDiff("a/Example.java", "b/Example.java", "a\nb\n", "a\nb\n"), empty());
+    }
+
+    @Test
+    public void unifiedDiff_changed_line() throws Exception {
+        assertThat(DiffUtil.unifiedDiff("a/Example.java", "b/Example.java", "a\nb\nc\n", "a\nB\nc\n"), contains(
+                "--- a/Example.java",
+                "+++ b/Example.java",
+                "@@ -1,3 +1,3 @@",
+                " a",
+                "-b",
+                "+B",
+                " c"));
+    }
+
+    @Test
+    public void unifiedDiff_added_file() throws Exception {
+        assertThat(DiffUtil.unifiedDiff("/dev/null", "b/Example.java", "", "a\nb"), contains(
+                "--- /dev/null",
+                "+++ b/Example.java",
+                "@@ -0,0 +1,2 @@",
+                "+a",
+                "+b\n\\ No newline at end of file"));
+    }
+
+    @Test
+    public void unifiedDiff_missing_newline() throws Exception {
+        assertThat(DiffUtil.unifiedDiff("a/Example.java", "b/Example.java", "a\nb", "a\nb\n"), contains(
+                "--- a/Example.java",
+                "+++ b/Example.java",
+                "@@ -1,2 +1,2 @@",
+                " a",
+                "-b\n\\ No newline at end of file",
+                "+b"));
+    }
+
+    @Test
+    public void unifiedDiff_distant_changes() throws Exception {
+        String original = "1\n2\n3\n4\n5\n6\n7\n8\n9\n10\n";
+        String revised = "0\n1\n2\n3\n4\n5\n6\n7\n8\n9\n10\n11\n";
+
+        assertThat(DiffUtil.unifiedDiff("a/Example.java", "b/Example.java", original, revised), contains(
+                "--- a/Example.java",
+                "+++ b/Example.java",
+                "@@ -1,3 +1,4 @@",
+                "+0",
+                " 1",
+                " 2",
+                " 3",
+                "@@ -8,3 +9,4 @@",
+                " 8",
+                " 9",
+                " 10",
+                "+11"));
+    }
+
+}
@@ -1,9 +1,12 @@
 package github.jdrost1818.plaster.util;
 
 import github.jdrost1818.plaster.exception.PlasterException;
+import org.apache.commons.io.FilenameUtils;
 import org.hamcrest.MatcherAssert;
 import org.junit.Test;
 
+import java.io.File;
+
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -25,6 +28,27 @@ public class PathUtilTest {
         assertThat(PathUtil.normalize("/src/main/", "/"), equalTo("src/main"));
     }
 
+    @Test
+    public void relativize_absolute() throws Exception {
+        File project = new File("somewhere/project").getAbsoluteFile();
+        File file = new File(project, "src/main/java/Something.java");
+
+        assertThat(PathUtil.relativize(project.getPath(), file.getPath()), equalTo("src/main/java/Something.java"));
+    }
+
+    @Test
+    public void relativize_working_directory() throws Exception {
+        assertThat(PathUtil.relativize("", "src/main/../main/java/Something.java"), equalTo("src/main/java/Something.java"));
+    }
+
+    @Test
+    public void relativize_outside_base() throws Exception {
+        File elsewhere = new File("elsewhere/Something.java").getAbsoluteFile();
+
+        assertThat(PathUtil.relativize("somewhere/project", elsewhere.getPath()),
+                equalTo(FilenameUtils.separatorsToUnix(elsewhere.getPath())));
+    }
+
     @Test
     public void convertSystemPathToJavaPath_null() throws Exception {
         MatcherAssert.assertThat(PathUtil.pathToPackage(null, "anything"), equalTo(null));
@@ -0,0 +1,67 @@
+package github.jdrost1818.plaster.util;
+
+import com.google.common.collect.Lists;
+import github.jdrost1818.plaster.util.TypeTokens.Kind;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class TypeTokensTest {
+
+    @Test
+    public void tokenize_null() throws Exception {
+        TypeTokens tokens = TypeTokens.tokenize(null);
+
+        assertThat(tokens.size(), equalTo(0));
+        assertThat(tokens.getSource(), equalTo(""));
+    }
+
+    @Test
+    public void tokenize_blank() throws Exception {
+        assertThat(TypeTokens.tokenize("   ").size(), equalTo(0));
+    }
+
+    @Test
+    public void tokenize_single_name() throws Exception {
+        TypeTokens tokens = TypeTokens.tokenize("  Integer ");
+
+        assertThat(tokens.size(), equalTo(1));
+        assertThat(tokens.getKind(0), equalTo(Kind.NAME));
+        assertThat(tokens.getStart(0), equalTo(2));
+        assertThat(tokens.getEnd(0), equalTo(9));
+        assertThat(tokens.getText(0), equalTo("Integer"));
+    }
+
+    @Test
+    public void tokenize_nested() throws Exception {
+        TypeTokens tokens = TypeTokens.tokenize("Map<String, List<Integer>>");
+
+        Kind[] expected = {Kind.NAME, Kind.OPEN, Kind.NAME, Kind.COMMA, Kind.NAME, Kind.OPEN, Kind.NAME, Kind.CLOSE, Kind.CLOSE};
+        assertThat(tokens.size(), equalTo(expected.length));
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(tokens.getKind(i), equalTo(expected[i]));
+        }
+
+        assertThat(tokens.getStart(4), equalTo(12));
+        assertThat(tokens.getText(4), equalTo("List"));
+        assertThat(tokens.getNames(), equalTo(Lists.newArrayList("Map", "String", "List", "Integer")));
+    }
+
+    @Test
+    public void tokenize_whitespace_inside_name() throws Exception {
+        TypeTokens tokens = TypeTokens.tokenize("<other class>");
+
+        assertThat(tokens.size(), equalTo(3));
+        assertThat(tokens.getText(1), equalTo("otherclass"));
+    }
+
+    @Test
+    public void tokenize_only_delimiters() throws Exception {
+        TypeTokens tokens = TypeTokens.tokenize("<,>");
+
+        assertThat(tokens.size(), equalTo(3));
+        assertThat(tokens.getNames(), equalTo(Lists.newArrayList()));
+    }
+
+}
@@ -1,6 +1,7 @@
 package github.jdrost1818.plaster.util;
 
 import com.google.common.collect.Lists;
+import github.jdrost1818.plaster.domain.GenericType;
 import github.jdrost1818.plaster.domain.Type;
 import github.jdrost1818.plaster.exception.PlasterException;
 import org.junit.Test;
@@ -41,6 +42,54 @@ public class TypeUtilTest {
         assertThat(TypeUtil.normalizeTypeString(input), equalTo(expected));
     }
 
+    @Test
+    public void normalizeTypeString_spaces_inside_names() throws Exception {
+        assertThat(TypeUtil.normalizeTypeString(" other class <some_thing >"), equalTo("Otherclass<SomeThing>"));
+    }
+
+    @Test
+    public void parseType_single() throws Exception {
+        GenericType parsedType = TypeUtil.parseType(" integer ");
+
+        assertThat(parsedType.getName(), equalTo("Integer"));
+        assertThat(parsedType.getArity(), equalTo(0));
+    }
+
+    @Test
+    public void parseType_nested() throws Exception {
+        GenericType parsedType = TypeUtil.parseType("map<customClass,    List<  other_class>>");
+
+        assertThat(parsedType.getDeclaration(), equalTo("Map<CustomClass, List<OtherClass>>"));
+        assertThat(parsedType.getArity(), equalTo(2));
+        assertThat(parsedType.getArguments().get(1).getArity(), equalTo(1));
+        assertThat(parsedType.getNames(), equalTo(Lists.newArrayList("Map", "CustomClass", "List", "OtherClass")));
+    }
+
+    @Test(expected = PlasterException.class)
+    public void parseType_empty() throws Exception {
+        TypeUtil.parseType("");
+    }
+
+    @Test(expected = PlasterException.class)
+    public void parseType_no_type_arguments() throws Exception {
+        TypeUtil.parseType("Map<>");
+    }
+
+    @Test(expected = PlasterException.class)
+    public void parseType_missing_type_argument() throws Exception {
+        TypeUtil.parseType("Map<String,>");
+    }
+
+    @Test(expected = PlasterException.class)
+    public void parseType_text_after_type() throws Exception {
+        TypeUtil.parseType("List<String>Integer");
+    }
+
+    @Test(expected = PlasterException.class)
+    public void parseType_not_a_class_name() throws Exception {
+        TypeUtil.parseType("List<java.util.Date>");
+    }
+
     @Test
     public void normalizeVariableName_null() throws Exception {
         assertThat(TypeUtil.normalizeVariableName(null), equalTo(""));
@@ -98,6 +147,11 @@ public class TypeUtilTest {
         assertThat(TypeUtil.splitToIndividualTypes("Map<List<Integer>, String>"), equalTo(expected));
     }
 
+    @Test
+    public void splitToIndividualTypes_only_delimiters() throws Exception {
+        assertThat(TypeUtil.splitToIndividualTypes("<,>"), equalTo(Lists.newArrayList()));
+    }
+
     @Test
     public void mergeTypeStringAndListOfTypes_null_string() throws Exception {
         assertThat(TypeUtil.mergeTypeStringAndListOfTypes(null, Lists.newArrayList()), equalTo(""));
@@ -0,0 +1,89 @@
+package github.jdrost1818.plaster.util;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ZipUtilTest {
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+
+    @Test
+    public void testCannotInstantiate() throws Exception {
+        assertTrue(TestUtil.testUtilClass(ZipUtil.class));
+    }
+
+    @Test
+    public void readEntryNames() throws Exception {
+        File zip = this.tempDir.newFile("test.jar");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("com/example/Deflated.class"));
+            out.write(new byte[1024]);
+            out.closeEntry();
+
+            byte[] content = "stored".getBytes("UTF-8");
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            ZipEntry stored = new ZipEntry("com/example/Stored.class");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(content.length);
+            stored.setCrc(crc.getValue());
+            out.putNextEntry(stored);
+            out.write(content);
+            out.closeEntry();
+
+            out.putNextEntry(new ZipEntry("com/example/empty/"));
+            out.closeEntry();
+
+            out.setComment("a comment after the central directory");
+        }
+
+        assertThat(ZipUtil.readEntryNames(zip), equalTo(Arrays.asList(
+                "com/example/Deflated.class",
+                "com/example/Stored.class",
+                "com/example/empty/")));
+    }
+
+    @Test(expected = IOException.class)
+    public void readEntryNames_truncated_central_directory() throws Exception {
+        File zip = this.tempDir.newFile("truncated.jar");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("com/example/Example.class"));
+            out.closeEntry();
+        }
+
+        // Declare a name far longer than what is left of the central directory
+        byte[] content = Files.readAllBytes(zip.toPath());
+        ByteBuffer buffer = ByteBuffer.wrap(content).order(ByteOrder.LITTLE_ENDIAN);
+        int centralDirectory = buffer.getInt(content.length - 22 + 16);
+        buffer.putShort(centralDirectory + 28, (short) 0xFFFF);
+        Files.write(zip.toPath(), content);
+
+        ZipUtil.readEntryNames(zip);
+    }
+
+    @Test(expected = IOException.class)
+    public void readEntryNames_not_a_zip() throws Exception {
+        File notZip = this.tempDir.newFile("notZip.jar");
+        Files.write(notZip.toPath(), "this is not a zip file".getBytes("UTF-8"));
+
+        ZipUtil.readEntryNames(notZip);
+    }
+
+}
@@ -0,0 +1,4 @@
+package com.example.reactor.a;
+
+public class Customer {
+}
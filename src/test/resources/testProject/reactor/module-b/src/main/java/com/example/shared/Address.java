@@ -0,0 +1,4 @@
+package com.example.shared;
+
+public class Address {
+}